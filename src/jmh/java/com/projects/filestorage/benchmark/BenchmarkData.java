@@ -0,0 +1,45 @@
+package com.projects.filestorage.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkData {
+
+    static final String USER_ROOT = "user-42-files/";
+
+    private static final String[] DIRECTORIES = {
+            "documents/", "photos/2023/", "photos/2024/summer/", "projects/file-storage/src/", "музыка/альбомы/"
+    };
+
+    private static final String[] FILE_NAMES = {
+            "report", "IMG_", "invoice-", "notes", "track ", "build.", "отчёт-"
+    };
+
+    private static final String[] EXTENSIONS = {
+            ".pdf", ".jpg", ".txt", ".csv", ".mp3", ".log"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static List<String> absoluteObjectPaths(int count, long seed) {
+        var random = new Random(seed);
+        var paths = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            var directory = DIRECTORIES[random.nextInt(DIRECTORIES.length)];
+            var name = FILE_NAMES[random.nextInt(FILE_NAMES.length)] + i + EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+            paths.add(USER_ROOT + directory + name);
+        }
+        return paths;
+    }
+
+    static byte[] content(int size, long seed) {
+        var random = new Random(seed);
+        var content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) ('a' + random.nextInt(16));
+        }
+        return content;
+    }
+}
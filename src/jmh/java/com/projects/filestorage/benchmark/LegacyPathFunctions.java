@@ -0,0 +1,62 @@
+package com.projects.filestorage.benchmark;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+final class LegacyPathFunctions {
+
+    private static final Pattern VALID_PATH_PATTERN = Pattern.compile(
+            "^(?!.*(?:^|/)\\.\\.?(?:/|$))(?:[\\p{L}\\p{N} _.-]+/)*[\\p{L}\\p{N} _.-]+/?$|^$"
+    );
+
+    private static final Pattern VALID_DIRECTORY_PATH_PATTERN = Pattern.compile(
+            "^(?!.*(?:^|/)(\\.{1,2})(?:/|$))" +
+                    "(?!.*(?:^|/)(\\.\\.[^/]*)(?:/|$))" +
+                    "(([\\p{L}\\p{N}_.][\\p{L}\\p{N} _.-]*/)*$|^$)"
+    );
+
+    private LegacyPathFunctions() {
+    }
+
+    static boolean isValidPathFormat(String path) {
+        return path != null && path.matches(String.valueOf(VALID_PATH_PATTERN));
+    }
+
+    static boolean isValidDirectoryPathFormat(String path) {
+        return path != null && path.matches(String.valueOf(VALID_DIRECTORY_PATH_PATTERN));
+    }
+
+    static String extractResourceName(String path) {
+        if (path == null || path.isBlank()) return "";
+
+        var segments = new ArrayList<>(List.of(path.split("/")));
+        var lastSegment = segments.getLast();
+
+        return path.endsWith("/") ? lastSegment + "/" : lastSegment;
+    }
+
+    static String extractParentPath(String path) {
+        if (path == null || path.isBlank()) return "";
+
+        path = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+
+        var lastSlash = path.lastIndexOf("/");
+        if (lastSlash == -1) return "";
+
+        return path.substring(0, lastSlash + 1);
+    }
+
+    static String getRelativePath(String userRootDirectory, String absolutePath) {
+        if (!absolutePath.startsWith(userRootDirectory)) {
+            throw new IllegalArgumentException("Path does not start with user root directory");
+        }
+        return absolutePath.substring(userRootDirectory.length());
+    }
+
+    static boolean fileNameMatchesQuery(String path, String query) {
+        var fileName = Paths.get(path).getFileName().toString();
+        return fileName.toLowerCase().contains(query);
+    }
+}
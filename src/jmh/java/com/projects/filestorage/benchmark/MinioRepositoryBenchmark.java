@@ -0,0 +1,133 @@
+package com.projects.filestorage.benchmark;
+
+import com.projects.filestorage.config.properties.CacheInvalidationProperties;
+import com.projects.filestorage.config.properties.CompressionProperties;
+import com.projects.filestorage.config.properties.StorageBackendProperties;
+import com.projects.filestorage.metrics.StorageCallTracker;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.backend.LocalDiskStorageBackend;
+import com.projects.filestorage.repository.backend.MinioStorageBackend;
+import com.projects.filestorage.repository.backend.StorageBackend;
+import com.projects.filestorage.repository.compression.ContentCompressor;
+import com.projects.filestorage.service.cache.CacheInvalidationBus;
+import com.projects.filestorage.testing.s3.InMemoryS3Server;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.MinioClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MinioRepositoryBenchmark {
+
+    private static final String BUCKET = "user-files";
+
+    @Param({"minio", "local"})
+    private String backend;
+
+    @Param({"0", "5"})
+    private int latencyMillis;
+
+    @Param({"1000"})
+    private int objectCount;
+
+    private InMemoryS3Server server;
+    private MinioClient minioClient;
+    private MinioRepository minioRepository;
+    private List<String> objectPaths;
+    private String directoryPath;
+    private Path localRoot;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = InMemoryS3Server.builder()
+                .latency(Duration.ofMillis(latencyMillis))
+                .build()
+                .start()
+                .createBucket(BUCKET);
+
+        minioClient = MinioClient.builder()
+                .endpoint(server.endpoint())
+                .credentials("benchmark", "benchmark")
+                .build();
+
+        var storageBackend = createStorageBackend();
+        objectPaths = BenchmarkData.absoluteObjectPaths(objectCount, 42);
+        var content = BenchmarkData.content(64 * 1024, 7);
+        for (var objectPath : objectPaths) {
+            storageBackend.putObject(BUCKET, objectPath, new ByteArrayInputStream(content), content.length,
+                    "application/octet-stream", Map.of());
+        }
+        directoryPath = objectPaths.getFirst().substring(0, objectPaths.getFirst().lastIndexOf('/') + 1);
+
+        var storageMetrics = new StorageMetrics(new SimpleMeterRegistry(), new StorageCallTracker());
+        var cacheInvalidationProperties = new CacheInvalidationProperties();
+        cacheInvalidationProperties.setEnabled(false);
+        minioRepository = new MinioRepository(storageBackend, storageMetrics,
+                new CacheInvalidationBus(null, null, cacheInvalidationProperties, storageMetrics, List.of()),
+                new ContentCompressor(new CompressionProperties()));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        minioClient.close();
+        server.close();
+        if (localRoot != null) {
+            try (var files = Files.walk(localRoot)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean statObject() {
+        return minioRepository.isFileExists(BUCKET, objectPaths.getFirst());
+    }
+
+    @Benchmark
+    public List<String> listDirectory() {
+        return minioRepository.listDirectObjectPaths(BUCKET, directoryPath);
+    }
+
+    @Benchmark
+    public List<String> listRecursive() {
+        return minioRepository.listRecursiveObjectPaths(BUCKET, BenchmarkData.USER_ROOT);
+    }
+
+    @Benchmark
+    public long getObject() throws IOException {
+        try (var object = minioRepository.getObject(BUCKET, objectPaths.getFirst())) {
+            return object.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private StorageBackend createStorageBackend() throws IOException {
+        if (!"local".equals(backend)) {
+            return new MinioStorageBackend(minioClient);
+        }
+        localRoot = Files.createTempDirectory("storage-benchmark-");
+        var properties = new StorageBackendProperties();
+        properties.getLocal().setRootDirectory(localRoot);
+        return new LocalDiskStorageBackend(properties);
+    }
+}
@@ -0,0 +1,55 @@
+package com.projects.filestorage.benchmark;
+
+import com.projects.filestorage.utils.MinioUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MinioUtilsBenchmark {
+
+    private List<String> absoluteObjectPaths;
+
+    @Setup
+    public void setUp() {
+        absoluteObjectPaths = BenchmarkData.absoluteObjectPaths(64, 42);
+    }
+
+    @Benchmark
+    public void extractResourceName(Blackhole blackhole) {
+        for (var absolutePath : absoluteObjectPaths) {
+            blackhole.consume(MinioUtils.extractResourceName(absolutePath));
+        }
+    }
+
+    @Benchmark
+    public void extractParentPath(Blackhole blackhole) {
+        for (var absolutePath : absoluteObjectPaths) {
+            blackhole.consume(MinioUtils.extractParentPath(absolutePath));
+        }
+    }
+
+    @Benchmark
+    public void getRelativePath(Blackhole blackhole) {
+        for (var absolutePath : absoluteObjectPaths) {
+            blackhole.consume(MinioUtils.getRelativePath(BenchmarkData.USER_ROOT, absolutePath));
+        }
+    }
+
+    @Benchmark
+    public void buildUserRootPath(Blackhole blackhole) {
+        for (long userId = 1; userId <= 64; userId++) {
+            blackhole.consume(MinioUtils.buildUserRootPath(userId));
+        }
+    }
+}
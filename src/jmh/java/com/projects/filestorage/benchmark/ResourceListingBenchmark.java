@@ -0,0 +1,60 @@
+package com.projects.filestorage.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.filestorage.path.ResourcePath;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import com.projects.filestorage.web.mapper.ResourceInfoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResourceListingBenchmark {
+
+    @Param({"100", "10000"})
+    private int entryCount;
+
+    private final ResourceInfoMapper resourceInfoMapper = new ResourceInfoMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<String> absoluteObjectPaths;
+    private List<ResourceInfoResponseDto> listing;
+
+    @Setup
+    public void setUp() {
+        absoluteObjectPaths = BenchmarkData.absoluteObjectPaths(entryCount, 42);
+        listing = mapListing();
+    }
+
+    @Benchmark
+    public List<ResourceInfoResponseDto> mapListing() {
+        var result = new ArrayList<ResourceInfoResponseDto>(absoluteObjectPaths.size());
+        for (var absolutePath : absoluteObjectPaths) {
+            var relativePath = ResourcePath.fromAbsolute(BenchmarkData.USER_ROOT, absolutePath);
+            result.add(resourceInfoMapper.toResourceInfo(
+                    relativePath.parentPath(),
+                    relativePath.name(),
+                    (long) absolutePath.length(),
+                    ResourceType.FILE
+            ));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeListing() throws Exception {
+        return objectMapper.writeValueAsBytes(listing);
+    }
+}
@@ -0,0 +1,107 @@
+package com.projects.filestorage.benchmark;
+
+import com.projects.filestorage.path.ResourcePath;
+import com.projects.filestorage.path.ResourcePathScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResourcePathBenchmark {
+
+    private static final String USER_ROOT = "user-42-files/";
+
+    private String[] relativePaths;
+    private String[] directoryPaths;
+    private String[] absolutePaths;
+
+    @Setup
+    public void setUp() {
+        relativePaths = new String[]{
+                "report.pdf",
+                "documents/2024/quarterly report.xlsx",
+                "фото/отпуск/IMG_0042.jpg",
+                "projects/file-storage/src/main/java/App.java",
+                "archive/old/"
+        };
+        directoryPaths = new String[]{
+                "documents/",
+                "documents/2024/",
+                "фото/отпуск/",
+                "projects/file-storage/src/main/java/"
+        };
+        absolutePaths = new String[relativePaths.length];
+        for (int i = 0; i < relativePaths.length; i++) {
+            absolutePaths[i] = USER_ROOT + relativePaths[i];
+        }
+    }
+
+    @Benchmark
+    public void validatePath_Regex(Blackhole blackhole) {
+        for (var path : relativePaths) {
+            blackhole.consume(LegacyPathFunctions.isValidPathFormat(path));
+        }
+    }
+
+    @Benchmark
+    public void validatePath_Scanner(Blackhole blackhole) {
+        for (var path : relativePaths) {
+            blackhole.consume(ResourcePathScanner.isValidPath(path));
+        }
+    }
+
+    @Benchmark
+    public void validateDirectoryPath_Regex(Blackhole blackhole) {
+        for (var path : directoryPaths) {
+            blackhole.consume(LegacyPathFunctions.isValidDirectoryPathFormat(path));
+        }
+    }
+
+    @Benchmark
+    public void validateDirectoryPath_Scanner(Blackhole blackhole) {
+        for (var path : directoryPaths) {
+            blackhole.consume(ResourcePathScanner.isValidDirectoryPath(path));
+        }
+    }
+
+    @Benchmark
+    public void listingEntry_Legacy(Blackhole blackhole) {
+        for (var absolutePath : absolutePaths) {
+            var relativePath = LegacyPathFunctions.getRelativePath(USER_ROOT, absolutePath);
+            blackhole.consume(LegacyPathFunctions.extractParentPath(relativePath));
+            blackhole.consume(LegacyPathFunctions.extractResourceName(relativePath));
+        }
+    }
+
+    @Benchmark
+    public void listingEntry_ResourcePath(Blackhole blackhole) {
+        for (var absolutePath : absolutePaths) {
+            var relativePath = ResourcePath.fromAbsolute(USER_ROOT, absolutePath);
+            blackhole.consume(relativePath.parentPath());
+            blackhole.consume(relativePath.name());
+        }
+    }
+
+    @Benchmark
+    public void searchMatch_Legacy(Blackhole blackhole) {
+        for (var path : relativePaths) {
+            blackhole.consume(LegacyPathFunctions.fileNameMatchesQuery(path, "report"));
+        }
+    }
+
+    @Benchmark
+    public void searchMatch_ResourcePath(Blackhole blackhole) {
+        for (var path : relativePaths) {
+            blackhole.consume(ResourcePath.of(path).nameContainsIgnoreCase("report"));
+        }
+    }
+}
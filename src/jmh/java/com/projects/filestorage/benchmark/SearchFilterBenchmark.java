@@ -0,0 +1,49 @@
+package com.projects.filestorage.benchmark;
+
+import com.projects.filestorage.path.ResourcePath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchFilterBenchmark {
+
+    @Param({"1000", "100000"})
+    private int entryCount;
+
+    @Param({"report", "отчёт", "missing"})
+    private String query;
+
+    private List<String> absoluteObjectPaths;
+
+    @Setup
+    public void setUp() {
+        absoluteObjectPaths = BenchmarkData.absoluteObjectPaths(entryCount, 42);
+    }
+
+    @Benchmark
+    public List<ResourcePath> filter() {
+        return absoluteObjectPaths.stream()
+                .map(absolutePath -> ResourcePath.fromAbsolute(BenchmarkData.USER_ROOT, absolutePath))
+                .filter(relativePath -> relativePath.nameContainsIgnoreCase(query))
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> filter_Legacy() {
+        return absoluteObjectPaths.stream()
+                .map(absolutePath -> LegacyPathFunctions.getRelativePath(BenchmarkData.USER_ROOT, absolutePath))
+                .filter(relativePath -> LegacyPathFunctions.fileNameMatchesQuery(relativePath, query))
+                .toList();
+    }
+}
@@ -0,0 +1,129 @@
+package com.projects.filestorage.benchmark;
+
+import com.projects.filestorage.config.CachingConfig;
+import com.projects.filestorage.domain.Role;
+import com.projects.filestorage.domain.User;
+import com.projects.filestorage.repository.RoleRepository;
+import com.projects.filestorage.repository.UserRepository;
+import com.projects.filestorage.security.DefaultUserDetailsService;
+import com.projects.filestorage.service.UserRoleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.Repository;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserLookupBenchmark {
+
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("postgres:16.0");
+    private static final String SCHEMA = "file_storage";
+    private static final String USERNAME = "benchmark-user";
+    private static final String DEFAULT_ROLE_NAME = "ROLE_USER";
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private DefaultUserDetailsService userDetailsService;
+    private LegacyUserRepository legacyUserRepository;
+    private UserRoleService cachedUserRoleService;
+    private UserRoleService userRoleService;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+        postgres.start();
+
+        context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.flyway.schemas=" + SCHEMA,
+                        "--spring.jpa.properties.hibernate.default_schema=" + SCHEMA);
+
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        userDetailsService = context.getBean(DefaultUserDetailsService.class);
+        legacyUserRepository = context.getBean(LegacyUserRepository.class);
+        cachedUserRoleService = context.getBean(UserRoleService.class);
+
+        var roleRepository = context.getBean(RoleRepository.class);
+        userRoleService = new UserRoleService(roleRepository);
+
+        var user = new User(USERNAME, "benchmark-password");
+        user.addRole(roleRepository.findByName(DEFAULT_ROLE_NAME).orElseThrow());
+        context.getBean(UserRepository.class).save(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return transactionTemplate.execute(status -> userDetailsService.loadUserByUsername(USERNAME));
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername_Legacy() {
+        return transactionTemplate.execute(status ->
+                userDetailsService.toUserDetails(legacyUserRepository.findByUsername(USERNAME).orElseThrow()));
+    }
+
+    @Benchmark
+    public Role getDefaultUserRole() {
+        return cachedUserRoleService.getDefaultUserRole();
+    }
+
+    @Benchmark
+    public Role getDefaultUserRole_Legacy() {
+        return userRoleService.getDefaultUserRole();
+    }
+
+    public interface LegacyUserRepository extends Repository<User, Long> {
+
+        Optional<User> findByUsername(String username);
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            FlywayAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = {UserRepository.class, UserLookupBenchmark.class},
+            considerNestedRepositories = true)
+    @Import({CachingConfig.class, UserRoleService.class, DefaultUserDetailsService.class})
+    static class BenchmarkConfig {
+    }
+}
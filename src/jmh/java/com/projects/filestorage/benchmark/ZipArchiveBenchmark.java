@@ -0,0 +1,56 @@
+package com.projects.filestorage.benchmark;
+
+import com.projects.filestorage.service.archive.ZipArchiveWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ZipArchiveBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int entryCount;
+
+    @Param({"1024", "65536", "1048576"})
+    private int entrySize;
+
+    private final ZipArchiveWriter zipArchiveWriter = new ZipArchiveWriter();
+
+    private List<String> objectPaths;
+    private Map<String, byte[]> objects;
+
+    @Setup
+    public void setUp() {
+        objectPaths = BenchmarkData.absoluteObjectPaths(entryCount, 42);
+        objects = new HashMap<>();
+        var content = BenchmarkData.content(entrySize, 7);
+        for (var objectPath : objectPaths) {
+            objects.put(objectPath, content);
+        }
+    }
+
+    @Benchmark
+    public long writeArchive() throws IOException {
+        return zipArchiveWriter.writeArchive(
+                BenchmarkData.USER_ROOT,
+                objectPaths,
+                objectPath -> new ByteArrayInputStream(objects.get(objectPath)),
+                OutputStream.nullOutputStream()
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.projects.filestorage.loadtest;
+
+import java.util.Arrays;
+
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    public synchronized void recordSuccess(long latencyNanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = latencyNanos;
+    }
+
+    public synchronized void recordError() {
+        errors++;
+    }
+
+    public synchronized Snapshot snapshot() {
+        var sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Snapshot(sorted, errors);
+    }
+
+    public record Snapshot(long[] sortedLatencies, long errors) {
+
+        public long count() {
+            return sortedLatencies.length;
+        }
+
+        public double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            var index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1_000_000.0;
+        }
+
+        public double maxMillis() {
+            return sortedLatencies.length == 0 ? 0 : sortedLatencies[sortedLatencies.length - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.projects.filestorage.loadtest;
+
+import java.util.Locale;
+
+public enum LoadOperation {
+    LIST,
+    UPLOAD,
+    DOWNLOAD,
+    SEARCH,
+    MOVE,
+    ZIP,
+    SIGN_IN,
+    ME;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static LoadOperation fromLabel(String label) {
+        return valueOf(label.trim().toUpperCase(Locale.ROOT));
+    }
+}
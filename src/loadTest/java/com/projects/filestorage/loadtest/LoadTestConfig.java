@@ -0,0 +1,68 @@
+package com.projects.filestorage.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public record LoadTestConfig(URI baseUrl,
+                             int users,
+                             Duration duration,
+                             Duration warmup,
+                             Duration rampUp,
+                             Duration thinkTime,
+                             Duration requestTimeout,
+                             int seedFiles,
+                             int fileSizeBytes,
+                             long seed,
+                             Map<LoadOperation, Integer> mix,
+                             Path reportFile) {
+
+    private static final String DEFAULT_MIX = "list:35,download:25,upload:15,search:10,move:10,zip:5";
+
+    public static LoadTestConfig fromArgs(String[] args) {
+        var values = new HashMap<String, String>();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value argument but got: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return new LoadTestConfig(
+                URI.create(values.getOrDefault("base-url", "http://localhost:8080")),
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                Duration.parse(values.getOrDefault("warmup", "PT10S")),
+                Duration.parse(values.getOrDefault("ramp-up", "PT10S")),
+                Duration.parse(values.getOrDefault("think-time", "PT0.1S")),
+                Duration.parse(values.getOrDefault("request-timeout", "PT30S")),
+                Integer.parseInt(values.getOrDefault("seed-files", "20")),
+                Integer.parseInt(values.getOrDefault("file-size", "65536")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                values.containsKey("report") ? Path.of(values.get("report")) : null
+        );
+    }
+
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        var weights = new EnumMap<LoadOperation, Integer>(LoadOperation.class);
+        for (var entry : mix.split(",")) {
+            var separator = entry.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected operation:weight in mix but got: " + entry);
+            }
+            var weight = Integer.parseInt(entry.substring(separator + 1).trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.fromLabel(entry.substring(0, separator)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix must contain at least one operation with positive weight");
+        }
+        return weights;
+    }
+}
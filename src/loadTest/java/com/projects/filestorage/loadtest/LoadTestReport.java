@@ -0,0 +1,73 @@
+package com.projects.filestorage.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+final class LoadTestReport {
+
+    private LoadTestReport() {
+    }
+
+    static String toTable(Map<LoadOperation, LatencyRecorder> recorders, Duration measured, int users) {
+        var seconds = measured.toMillis() / 1000.0;
+        var table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, "Users: %d, measured: %.1fs%n", users, seconds));
+        table.append(String.format(Locale.ROOT, "%-10s %10s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (var entry : recorders.entrySet()) {
+            var snapshot = entry.getValue().snapshot();
+            totalRequests += snapshot.count();
+            totalErrors += snapshot.errors();
+            table.append(String.format(Locale.ROOT, "%-10s %10d %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    entry.getKey().label(),
+                    snapshot.count(),
+                    snapshot.errors(),
+                    snapshot.count() / seconds,
+                    snapshot.percentileMillis(50),
+                    snapshot.percentileMillis(95),
+                    snapshot.percentileMillis(99),
+                    snapshot.maxMillis()));
+        }
+        table.append(String.format(Locale.ROOT, "%-10s %10d %10d %10.1f%n", "total", totalRequests, totalErrors,
+                totalRequests / seconds));
+        return table.toString();
+    }
+
+    static void writeJson(LoadTestConfig config, Map<LoadOperation, LatencyRecorder> recorders, Duration measured)
+            throws IOException {
+        var seconds = measured.toMillis() / 1000.0;
+        var json = new StringBuilder()
+                .append("{\"users\":").append(config.users())
+                .append(",\"measuredSeconds\":").append(seconds)
+                .append(",\"operations\":{");
+
+        var first = true;
+        for (var entry : recorders.entrySet()) {
+            var snapshot = entry.getValue().snapshot();
+            if (!first) json.append(',');
+            first = false;
+            json.append(String.format(Locale.ROOT,
+                    "\"%s\":{\"requests\":%d,\"errors\":%d,\"throughput\":%.3f,\"p50\":%.3f,\"p95\":%.3f,\"p99\":%.3f,\"max\":%.3f}",
+                    entry.getKey().label(),
+                    snapshot.count(),
+                    snapshot.errors(),
+                    snapshot.count() / seconds,
+                    snapshot.percentileMillis(50),
+                    snapshot.percentileMillis(95),
+                    snapshot.percentileMillis(99),
+                    snapshot.maxMillis()));
+        }
+        json.append("}}");
+
+        if (config.reportFile().getParent() != null) {
+            Files.createDirectories(config.reportFile().getParent());
+        }
+        Files.writeString(config.reportFile(), json);
+    }
+}
@@ -0,0 +1,132 @@
+package com.projects.filestorage.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadTestRunner {
+
+    private final LoadTestConfig config;
+    private final Map<LoadOperation, LatencyRecorder> recorders = new EnumMap<>(LoadOperation.class);
+    private final AtomicBoolean recording = new AtomicBoolean(false);
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final List<LoadOperation> weightedOperations = new ArrayList<>();
+
+    public LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        config.mix().forEach((operation, weight) -> {
+            recorders.put(operation, new LatencyRecorder());
+            for (var i = 0; i < weight; i++) {
+                weightedOperations.add(operation);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.fromArgs(args);
+        new LoadTestRunner(config).run();
+    }
+
+    public void run() throws Exception {
+        var users = signUpUsers();
+        System.out.printf("Signed up and prepared %d virtual users against %s%n", users.size(), config.baseUrl());
+
+        var finished = new CountDownLatch(users.size());
+        var rampStepNanos = users.isEmpty() ? 0 : config.rampUp().toNanos() / users.size();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var i = 0; i < users.size(); i++) {
+                var user = users.get(i);
+                var startDelay = Duration.ofNanos(rampStepNanos * i);
+                executor.submit(() -> {
+                    try {
+                        Thread.sleep(startDelay);
+                        drive(user);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+
+            Thread.sleep(config.rampUp().plus(config.warmup()));
+            recording.set(true);
+            var measureStart = System.nanoTime();
+            Thread.sleep(config.duration());
+            recording.set(false);
+            var measured = Duration.ofNanos(System.nanoTime() - measureStart);
+            running.set(false);
+            finished.await();
+
+            System.out.println(LoadTestReport.toTable(recorders, measured, users.size()));
+            if (config.reportFile() != null) {
+                LoadTestReport.writeJson(config, recorders, measured);
+                System.out.printf("Report written to %s%n", config.reportFile().toAbsolutePath());
+            }
+        }
+    }
+
+    private List<VirtualUser> signUpUsers() throws Exception {
+        var runId = Long.toString(System.currentTimeMillis() % 1_000_000L, 36);
+        var users = new ArrayList<VirtualUser>(config.users());
+        for (var i = 0; i < config.users(); i++) {
+            users.add(new VirtualUser(config, "lt" + runId + "u" + i, "load_test_password", config.seed() + i));
+        }
+
+        var failures = new AtomicInteger();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var user : users) {
+                executor.submit(() -> {
+                    try {
+                        user.signUp();
+                        user.prepareWorkspace();
+                    } catch (Exception ex) {
+                        failures.incrementAndGet();
+                        System.err.printf("Failed to prepare user '%s': %s%n", user.username(), ex.getMessage());
+                    }
+                });
+            }
+        }
+
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " virtual users could not be prepared");
+        }
+        return users;
+    }
+
+    private void drive(VirtualUser user) throws InterruptedException {
+        while (running.get()) {
+            var operation = weightedOperations.get(user.random().nextInt(weightedOperations.size()));
+            var startNanos = System.nanoTime();
+            var success = false;
+            try {
+                success = VirtualUser.isSuccess(user.execute(operation));
+            } catch (InterruptedException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                success = false;
+            }
+            var latencyNanos = System.nanoTime() - startNanos;
+
+            if (recording.get()) {
+                var recorder = recorders.get(operation);
+                if (success) {
+                    recorder.recordSuccess(latencyNanos);
+                } else {
+                    recorder.recordError();
+                }
+            }
+
+            if (!config.thinkTime().isZero()) {
+                Thread.sleep(config.thinkTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.projects.filestorage.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+final class MultipartBody {
+
+    private final String boundary = "----load-test-" + UUID.randomUUID();
+    private final byte[] body;
+
+    MultipartBody(String fieldName, String fileName, byte[] content) {
+        var out = new ByteArrayOutputStream(content.length + 256);
+        var header = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + fieldName + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n";
+        out.writeBytes(header.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(content);
+        out.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        this.body = out.toByteArray();
+    }
+
+    String contentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    byte[] bytes() {
+        return body;
+    }
+}
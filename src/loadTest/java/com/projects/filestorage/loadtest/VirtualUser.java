@@ -0,0 +1,143 @@
+package com.projects.filestorage.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class VirtualUser {
+
+    static final String WORKSPACE = "load/";
+
+    private final LoadTestConfig config;
+    private final String username;
+    private final String password;
+    private final HttpClient httpClient;
+    private final Random random;
+    private final List<String> files = new ArrayList<>();
+    private int fileSequence;
+
+    VirtualUser(LoadTestConfig config, String username, String password, long seed) {
+        this.config = config;
+        this.username = username;
+        this.password = password;
+        this.random = new Random(seed);
+        this.httpClient = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    String username() {
+        return username;
+    }
+
+    Random random() {
+        return random;
+    }
+
+    void signUp() throws IOException, InterruptedException {
+        expectSuccess("sign-up", sendCredentials("/api/auth/sign-up"));
+    }
+
+    void prepareWorkspace() throws IOException, InterruptedException {
+        expectSuccess("create workspace", send(HttpRequest.newBuilder(uri("/api/directory", "path", WORKSPACE))
+                .POST(HttpRequest.BodyPublishers.noBody())));
+        for (var i = 0; i < config.seedFiles(); i++) {
+            expectSuccess("seed upload", upload());
+        }
+    }
+
+    int execute(LoadOperation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LIST -> send(HttpRequest.newBuilder(uri("/api/directory", "path", WORKSPACE)).GET());
+            case UPLOAD -> upload();
+            case DOWNLOAD -> send(HttpRequest.newBuilder(uri("/api/resource/download", "path", randomFile())).GET());
+            case SEARCH -> send(HttpRequest.newBuilder(uri("/api/resource/search", "query", searchQuery())).GET());
+            case MOVE -> move();
+            case ZIP -> send(HttpRequest.newBuilder(uri("/api/resource/download", "path", WORKSPACE)).GET());
+            case SIGN_IN -> sendCredentials("/api/auth/sign-in");
+            case ME -> send(HttpRequest.newBuilder(uri("/api/user/me")).GET());
+        };
+    }
+
+    private int sendCredentials(String path) throws IOException, InterruptedException {
+        var body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        return send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private int upload() throws IOException, InterruptedException {
+        var fileName = "file-" + fileSequence++ + ".bin";
+        var content = new byte[config.fileSizeBytes()];
+        random.nextBytes(content);
+        var multipartBody = new MultipartBody("object", fileName, content);
+
+        var status = send(HttpRequest.newBuilder(uri("/api/resource", "path", WORKSPACE))
+                .header("Content-Type", multipartBody.contentType())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody.bytes())));
+        if (isSuccess(status)) {
+            files.add(WORKSPACE + fileName);
+        }
+        return status;
+    }
+
+    private int move() throws IOException, InterruptedException {
+        if (files.isEmpty()) {
+            return upload();
+        }
+        var index = random.nextInt(files.size());
+        var from = files.get(index);
+        var to = WORKSPACE + "moved-" + fileSequence++ + ".bin";
+
+        var status = send(HttpRequest.newBuilder(uri("/api/resource/move", "from", from, "to", to)).GET());
+        if (isSuccess(status)) {
+            files.set(index, to);
+        }
+        return status;
+    }
+
+    private String randomFile() {
+        return files.isEmpty() ? WORKSPACE : files.get(random.nextInt(files.size()));
+    }
+
+    private String searchQuery() {
+        return random.nextBoolean() ? "file-" + random.nextInt(Math.max(1, fileSequence)) : "moved";
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        var response = httpClient.send(request.timeout(config.requestTimeout()).build(),
+                HttpResponse.BodyHandlers.discarding());
+        return response.statusCode();
+    }
+
+    private URI uri(String path, String... parameters) {
+        var query = new StringBuilder();
+        for (var i = 0; i + 1 < parameters.length; i += 2) {
+            query.append(query.isEmpty() ? "?" : "&")
+                    .append(parameters[i])
+                    .append('=')
+                    .append(URLEncoder.encode(parameters[i + 1], StandardCharsets.UTF_8).replace("+", "%20"));
+        }
+        return config.baseUrl().resolve(path + query);
+    }
+
+    static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private void expectSuccess(String step, int status) {
+        if (!isSuccess(status)) {
+            throw new IllegalStateException(String.format("%s failed for user '%s' with status %d", step, username, status));
+        }
+    }
+}
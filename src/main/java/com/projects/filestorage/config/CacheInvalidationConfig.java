@@ -0,0 +1,27 @@
+package com.projects.filestorage.config;
+
+import com.projects.filestorage.config.properties.CacheInvalidationProperties;
+import com.projects.filestorage.service.cache.CacheInvalidationBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "storage.cache-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationConfig {
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            CacheInvalidationBus cacheInvalidationBus,
+                                                                            CacheInvalidationProperties properties) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(properties.getChannel()));
+        container.setRecoveryInterval(properties.getHeartbeatInterval().toMillis());
+        container.setErrorHandler(cacheInvalidationBus::onSubscriptionError);
+        return container;
+    }
+}
@@ -0,0 +1,20 @@
+package com.projects.filestorage.config;
+
+import com.projects.filestorage.service.UserRoleService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CachingConfig {
+
+    @Bean
+    public CacheManager cacheManager() {
+        var cacheManager = new ConcurrentMapCacheManager(UserRoleService.ROLES_CACHE);
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,58 @@
+package com.projects.filestorage.config;
+
+import com.projects.filestorage.config.properties.DownloadExecutorProperties;
+import com.projects.filestorage.metrics.StorageCallTracker;
+import com.projects.filestorage.metrics.StorageMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class DownloadExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor downloadExecutor(DownloadExecutorProperties downloadExecutorProperties,
+                                                   StorageMetrics storageMetrics,
+                                                   StorageCallTracker storageCallTracker) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(downloadExecutorProperties.getMaxConcurrentDownloads());
+        executor.setMaxPoolSize(downloadExecutorProperties.getMaxConcurrentDownloads());
+        executor.setQueueCapacity(downloadExecutorProperties.getQueueCapacity());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("download-");
+        if (downloadExecutorProperties.isVirtualThreads()) {
+            executor.setThreadFactory(Thread.ofVirtual().name("download-", 0).factory());
+        }
+        executor.setTaskDecorator(runnable -> {
+            var submittedNanos = System.nanoTime();
+            var accountedRunnable = storageCallTracker.decorate(runnable);
+            return () -> {
+                storageMetrics.recordDownloadQueueTime(System.nanoTime() - submittedNanos);
+                accountedRunnable.run();
+            };
+        });
+        storageMetrics.registerDownloadExecutor(executor::getActiveCount, executor::getQueueSize);
+        return executor;
+    }
+
+    @Bean
+    public WebMvcConfigurer downloadAsyncSupportConfigurer(@Qualifier("downloadExecutor") AsyncTaskExecutor downloadExecutor,
+                                                           DownloadExecutorProperties downloadExecutorProperties,
+                                                           StorageCallTracker storageCallTracker) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                var defaultExecutor = new SimpleAsyncTaskExecutor("mvc-async-");
+                defaultExecutor.setVirtualThreads(downloadExecutorProperties.isVirtualThreads());
+                defaultExecutor.setTaskDecorator(storageCallTracker);
+                configurer.setTaskExecutor(new DownloadRoutingTaskExecutor(downloadExecutor, defaultExecutor));
+                configurer.setDefaultTimeout(downloadExecutorProperties.getAsyncTimeout().toMillis());
+            }
+        };
+    }
+}
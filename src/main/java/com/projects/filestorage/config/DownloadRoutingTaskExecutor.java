@@ -0,0 +1,34 @@
+package com.projects.filestorage.config;
+
+import com.projects.filestorage.utils.DownloadRequestUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+@RequiredArgsConstructor
+class DownloadRoutingTaskExecutor implements AsyncTaskExecutor {
+
+    private final AsyncTaskExecutor downloadExecutor;
+    private final AsyncTaskExecutor defaultExecutor;
+
+    @Override
+    public void execute(Runnable task) {
+        currentExecutor().execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return currentExecutor().submit(task);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return currentExecutor().submit(task);
+    }
+
+    private AsyncTaskExecutor currentExecutor() {
+        return DownloadRequestUtils.isCurrentRequestDownload() ? downloadExecutor : defaultExecutor;
+    }
+}
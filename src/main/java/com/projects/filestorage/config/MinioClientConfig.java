@@ -3,6 +3,7 @@ package com.projects.filestorage.config;
 import com.projects.filestorage.config.properties.MinioClientProperties;
 import io.minio.MinioClient;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,6 +14,7 @@ public class MinioClientConfig {
     private final MinioClientProperties minioClientProperties;
 
     @Bean
+    @ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "minio", matchIfMissing = true)
     public MinioClient minioClient() {
         return MinioClient.builder()
                 .endpoint(minioClientProperties.getEndpoint())
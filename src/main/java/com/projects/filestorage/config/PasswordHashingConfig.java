@@ -0,0 +1,36 @@
+package com.projects.filestorage.config;
+
+import com.projects.filestorage.config.properties.PasswordHashingProperties;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(PasswordHashingProperties passwordHashingProperties,
+                                                          StorageMetrics storageMetrics) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordHashingProperties.getWorkerThreads());
+        executor.setMaxPoolSize(passwordHashingProperties.getWorkerThreads());
+        executor.setQueueCapacity(passwordHashingProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        storageMetrics.registerCredentialHashingExecutor(executor::getActiveCount, executor::getQueueSize);
+        return executor;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor passwordHashingExecutor,
+                                           PasswordHashingProperties passwordHashingProperties,
+                                           StorageMetrics storageMetrics) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(passwordHashingProperties.getStrength()),
+                passwordHashingExecutor, passwordHashingProperties.getTimeout(), storageMetrics);
+    }
+}
@@ -0,0 +1,21 @@
+package com.projects.filestorage.config;
+
+import com.projects.filestorage.config.properties.PreviewProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PreviewExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor previewExecutor(PreviewProperties previewProperties) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(previewProperties.getWorkerThreads());
+        executor.setMaxPoolSize(previewProperties.getWorkerThreads());
+        executor.setQueueCapacity(previewProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("preview-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,58 @@
+package com.projects.filestorage.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.filestorage.config.properties.SessionCacheProperties;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.security.CustomUserDetails;
+import com.projects.filestorage.security.session.CompactSessionSerializer;
+import com.projects.filestorage.security.session.CustomUserDetailsMixin;
+import com.projects.filestorage.security.session.NearCacheSessionRepository;
+import com.projects.filestorage.security.session.SessionNearCache;
+import com.projects.filestorage.service.cache.CacheInvalidationBus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+@Configuration
+public class SessionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "storage.session-cache", name = "compact-serialization", havingValue = "true", matchIfMissing = true)
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer(StorageMetrics storageMetrics) {
+        var objectMapper = new ObjectMapper();
+        objectMapper.registerModules(SecurityJackson2Modules.getModules(getClass().getClassLoader()));
+        objectMapper.addMixIn(CustomUserDetails.class, CustomUserDetailsMixin.class);
+        return new CompactSessionSerializer(new GenericJackson2JsonRedisSerializer(objectMapper), storageMetrics);
+    }
+
+    @Bean
+    public static BeanPostProcessor nearCacheSessionRepositoryPostProcessor(ObjectProvider<SessionCacheProperties> properties,
+                                                                            ObjectProvider<SessionNearCache> nearCache,
+                                                                            ObjectProvider<CacheInvalidationBus> cacheInvalidationBus,
+                                                                            ObjectProvider<StorageMetrics> storageMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof SessionRepository<?> sessionRepository) || bean instanceof NearCacheSessionRepository) {
+                    return bean;
+                }
+
+                var sessionCacheProperties = properties.getObject();
+                if (!sessionCacheProperties.isEnabled()) {
+                    return bean;
+                }
+
+                return new NearCacheSessionRepository((SessionRepository<Session>) sessionRepository,
+                        nearCache.getObject(), cacheInvalidationBus.getObject(), sessionCacheProperties, storageMetrics.getObject());
+            }
+        };
+    }
+}
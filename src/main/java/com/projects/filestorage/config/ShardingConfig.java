@@ -0,0 +1,37 @@
+package com.projects.filestorage.config;
+
+import com.projects.filestorage.repository.backend.MinioStorageBackend;
+import com.projects.filestorage.repository.backend.ShardRoutingStorageBackend;
+import com.projects.filestorage.repository.backend.StorageBackend;
+import com.projects.filestorage.service.shard.ShardRegistry;
+import io.minio.MinioClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.HashMap;
+
+@Configuration
+@ConditionalOnProperty(prefix = "storage.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public StorageBackend shardRoutingStorageBackend(ShardRegistry shardRegistry, StorageBackend storageBackend) {
+        var backendsByBucket = new HashMap<String, StorageBackend>();
+        for (var shard : shardRegistry.shards()) {
+            if (shard.getEndpoint() == null) {
+                backendsByBucket.put(shard.getBucket(), storageBackend);
+                continue;
+            }
+
+            var shardClient = MinioClient.builder()
+                    .endpoint(shard.getEndpoint())
+                    .credentials(shard.getAccessKey(), shard.getSecretKey())
+                    .build();
+            backendsByBucket.put(shard.getBucket(), new MinioStorageBackend(shardClient));
+        }
+        return new ShardRoutingStorageBackend(backendsByBucket, storageBackend);
+    }
+}
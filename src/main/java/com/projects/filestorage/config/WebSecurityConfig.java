@@ -3,6 +3,7 @@ package com.projects.filestorage.config;
 import com.projects.filestorage.security.CustomAccessDeniedHandler;
 import com.projects.filestorage.security.CustomAuthenticationEntryPoint;
 import com.projects.filestorage.security.DefaultUserDetailsService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -13,8 +14,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.RequestCacheConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.security.web.context.SecurityContextRepository;
@@ -35,6 +34,9 @@ public class WebSecurityConfig {
     @Value("${frontend.url}")
     private String frontendUrl;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(final HttpSecurity http) throws Exception {
         return http
@@ -48,6 +50,9 @@ public class WebSecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/auth/sign-up").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/sign-out").authenticated()
                         .requestMatchers("/swagger-ui/**", "/v3/**").permitAll()
+                        .requestMatchers(this::isManagementPortRequest).permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").denyAll()
                         .requestMatchers("/api/**").authenticated())
                 .userDetailsService(defaultUserDetailsService)
                 .securityContext(context -> context
@@ -58,9 +63,8 @@ public class WebSecurityConfig {
                 .build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    private boolean isManagementPortRequest(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort;
     }
 
     @Bean
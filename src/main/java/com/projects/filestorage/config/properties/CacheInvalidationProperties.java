@@ -0,0 +1,18 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.cache-invalidation")
+@Data
+public class CacheInvalidationProperties {
+
+    private boolean enabled = true;
+    private String channel = "file-storage:cache-invalidation";
+    private Duration heartbeatInterval = Duration.ofSeconds(5);
+    private Duration staleAfter = Duration.ofSeconds(15);
+}
@@ -0,0 +1,14 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "storage.change-feed")
+@Data
+public class ChangeFeedProperties {
+
+    private int defaultPageSize = 500;
+    private int maxPageSize = 1000;
+}
@@ -0,0 +1,25 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Set;
+
+@Component
+@ConfigurationProperties(prefix = "storage.compression")
+@Data
+public class CompressionProperties {
+
+    private boolean enabled = false;
+    private int level = 6;
+    private DataSize minSize = DataSize.ofKilobytes(1);
+    private Set<String> contentTypes = Set.of(
+            "text/plain", "text/csv", "text/tab-separated-values", "text/html", "text/xml", "text/markdown",
+            "application/json", "application/x-ndjson", "application/xml", "application/yaml", "application/sql"
+    );
+    private Set<String> extensions = Set.of(
+            "txt", "log", "csv", "tsv", "json", "ndjson", "jsonl", "xml", "html", "md", "yaml", "yml", "sql"
+    );
+}
@@ -0,0 +1,15 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "storage.dedup")
+@Data
+public class ContentDedupProperties {
+
+    private boolean enabled = true;
+    private boolean global = false;
+    private int maxCandidates = 5;
+}
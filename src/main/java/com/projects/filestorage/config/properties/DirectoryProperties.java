@@ -0,0 +1,18 @@
+package com.projects.filestorage.config.properties;
+
+import com.projects.filestorage.service.directory.DirectoryMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.directories")
+@Data
+public class DirectoryProperties {
+
+    private DirectoryMode mode = DirectoryMode.MARKERS;
+    private Duration markerFlushInterval = Duration.ofMillis(500);
+    private int markerBatchSize = 500;
+}
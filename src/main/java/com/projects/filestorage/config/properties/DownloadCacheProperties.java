@@ -0,0 +1,24 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.download-cache")
+@Data
+public class DownloadCacheProperties {
+
+    private boolean enabled = false;
+    private Path directory = Path.of("data", "download-cache");
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+    private DataSize maxObjectSize = DataSize.ofMegabytes(100);
+    private int admissionThreshold = 2;
+    private int maxTrackedKeys = 10_000;
+    private Duration evictionGracePeriod = Duration.ofMinutes(5);
+    private Duration deletionInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,19 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.download-executor")
+@Data
+public class DownloadExecutorProperties {
+
+    private boolean virtualThreads = true;
+    private int maxConcurrentDownloads = 64;
+    private int queueCapacity = 128;
+    private Duration asyncTimeout = Duration.ofMinutes(30);
+    private Duration retryAfter = Duration.ofSeconds(5);
+}
@@ -0,0 +1,21 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "storage.login-throttle")
+@Data
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+    private String keyPrefix = "file-storage:login-attempts:";
+    private int maxAttemptsPerUsername = 5;
+    private int maxAttemptsPerIp = 50;
+    private Duration window = Duration.ofMinutes(15);
+    private List<String> trustedProxies = List.of();
+}
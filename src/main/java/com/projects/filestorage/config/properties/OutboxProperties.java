@@ -0,0 +1,22 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.outbox")
+@Data
+public class OutboxProperties {
+
+    private boolean enabled = true;
+    private Duration relayInterval = Duration.ofMillis(500);
+    private int batchSize = 50;
+    private Duration lease = Duration.ofMinutes(1);
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+    private Duration retention = Duration.ofDays(7);
+    private Duration cleanupInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,19 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.password-hashing")
+@Data
+public class PasswordHashingProperties {
+
+    private int strength = 10;
+    private int workerThreads = 2;
+    private int queueCapacity = 32;
+    private Duration timeout = Duration.ofSeconds(5);
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
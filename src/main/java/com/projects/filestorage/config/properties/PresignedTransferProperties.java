@@ -0,0 +1,22 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.presigned")
+@Data
+public class PresignedTransferProperties {
+
+    private boolean enabled = false;
+    private String publicEndpoint;
+    private String region = "us-east-1";
+    private Duration urlTimeToLive = Duration.ofMinutes(5);
+    private Duration uploadTimeToLive = Duration.ofHours(1);
+    private String stagingPrefix = "uploads/";
+    private Duration cleanupInterval = Duration.ofMinutes(5);
+    private int cleanupBatchSize = 100;
+}
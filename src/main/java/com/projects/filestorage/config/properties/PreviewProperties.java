@@ -0,0 +1,26 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Component
+@ConfigurationProperties(prefix = "storage.preview")
+@Data
+public class PreviewProperties {
+
+    private boolean enabled = true;
+    private String keyPrefix = "previews/";
+    private int maxDimension = 256;
+    private float quality = 0.8f;
+    private DataSize maxSourceSize = DataSize.ofMegabytes(25);
+    private Set<String> supportedExtensions = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    private int workerThreads = 2;
+    private int queueCapacity = 256;
+    private Duration generationTimeout = Duration.ofSeconds(30);
+    private Duration cacheMaxAge = Duration.ofDays(7);
+}
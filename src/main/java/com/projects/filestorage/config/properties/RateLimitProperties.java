@@ -0,0 +1,34 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "storage.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private String keyPrefix = "file-storage:rate-limit:";
+    private int capacity = 120;
+    private double refillPerSecond = 20;
+    private int defaultCost = 1;
+    private Map<String, Integer> costs = new HashMap<>(Map.of(
+            "info", 1,
+            "list", 2,
+            "download", 2,
+            "zip", 20,
+            "search", 20,
+            "upload", 2,
+            "move", 5,
+            "delete", 5
+    ));
+
+    public int costOf(String costKey) {
+        return Math.min(costs.getOrDefault(costKey, defaultCost), capacity);
+    }
+}
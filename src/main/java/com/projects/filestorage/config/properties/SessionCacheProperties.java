@@ -0,0 +1,19 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.session-cache")
+@Data
+public class SessionCacheProperties {
+
+    private boolean enabled = true;
+    private Duration timeToLive = Duration.ofSeconds(5);
+    private Duration touchInterval = Duration.ofMinutes(1);
+    private int maxEntries = 10_000;
+    private boolean compactSerialization = true;
+}
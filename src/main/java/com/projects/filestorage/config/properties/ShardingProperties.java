@@ -0,0 +1,42 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "storage.sharding")
+@Data
+public class ShardingProperties {
+
+    private boolean enabled = false;
+    private int defaultShardWeight = 100;
+    private boolean defaultShardDraining = false;
+    private List<Shard> shards = new ArrayList<>();
+    private Duration placementCacheTimeToLive = Duration.ofSeconds(30);
+    private int placementCacheMaxEntries = 100000;
+    private boolean rebalanceEnabled = true;
+    private Duration rebalanceInterval = Duration.ofMinutes(1);
+    private int maxMigrationsPerRun = 1;
+    private Duration migrationLease = Duration.ofMinutes(30);
+    private Duration cutoverGracePeriod = Duration.ofMinutes(1);
+    private Duration clockSkewAllowance = Duration.ofSeconds(5);
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    @Data
+    public static class Shard {
+
+        private String id;
+        private String endpoint;
+        private String publicEndpoint;
+        private String accessKey;
+        private String secretKey;
+        private String bucket;
+        private int weight = 100;
+        private boolean draining = false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.accounting")
+@Data
+public class StorageAccountingProperties {
+
+    private boolean enabled = true;
+    private boolean serverTimingEnabled = true;
+    private int slowRequestCallThreshold = 100;
+    private Duration slowRequestLatencyThreshold = Duration.ofSeconds(1);
+}
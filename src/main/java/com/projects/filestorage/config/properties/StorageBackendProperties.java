@@ -0,0 +1,23 @@
+package com.projects.filestorage.config.properties;
+
+import com.projects.filestorage.repository.backend.StorageBackendType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Component
+@ConfigurationProperties(prefix = "storage")
+@Data
+public class StorageBackendProperties {
+
+    private StorageBackendType backend = StorageBackendType.MINIO;
+    private Local local = new Local();
+
+    @Data
+    public static class Local {
+
+        private Path rootDirectory = Path.of("data", "storage");
+    }
+}
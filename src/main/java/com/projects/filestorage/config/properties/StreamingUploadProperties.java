@@ -0,0 +1,14 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "storage.streaming-upload")
+@Data
+public class StreamingUploadProperties {
+
+    private DataSize maxFileSize = DataSize.ofGigabytes(5);
+}
@@ -0,0 +1,23 @@
+package com.projects.filestorage.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.trash")
+@Data
+public class TrashProperties {
+
+    private boolean enabled = true;
+    private String keyPrefix = "trash/";
+    private Duration retention = Duration.ofDays(30);
+    private Duration purgeInterval = Duration.ofMinutes(1);
+    private int purgeEntriesPerRun = 10;
+    private int purgeBatchSize = 500;
+    private Duration purgeLease = Duration.ofMinutes(5);
+    private Duration hiddenPathCacheTimeToLive = Duration.ofSeconds(30);
+    private int hiddenPathCacheMaxEntries = 10000;
+}
@@ -0,0 +1,6 @@
+package com.projects.filestorage.domain;
+
+public enum OutboxEventType {
+    USER_ROOT_DIRECTORY_REQUESTED,
+    TRASH_MOVE_REQUESTED
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.domain;
+
+public enum ShardPlacementState {
+    ACTIVE,
+    MIGRATING,
+    CUTOVER
+}
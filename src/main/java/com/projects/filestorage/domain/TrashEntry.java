@@ -0,0 +1,58 @@
+package com.projects.filestorage.domain;
+
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "trash_entries", schema = "file_storage")
+public class TrashEntry implements BaseEntity<Long> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String path;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", nullable = false)
+    private ResourceType resourceType;
+
+    @Column(name = "trash_path")
+    private String trashPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TrashEntryState state;
+
+    @Column(name = "deleted_at", nullable = false, insertable = false, updatable = false)
+    private Instant deletedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "lease_until", nullable = false, insertable = false, updatable = false)
+    private Instant leaseUntil;
+}
@@ -0,0 +1,54 @@
+package com.projects.filestorage.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "user_shard_placements", schema = "file_storage")
+public class UserShardPlacement implements BaseEntity<Long> {
+
+    @Id
+    @Column(name = "user_id")
+    private Long id;
+
+    @Column(name = "shard_id", nullable = false)
+    private String shardId;
+
+    @Column(name = "target_shard_id")
+    private String targetShardId;
+
+    @Column(name = "previous_shard_id")
+    private String previousShardId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ShardPlacementState state;
+
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+
+    @Column(name = "final_sync_started_at")
+    private Instant finalSyncStartedAt;
+
+    @Column(name = "cutover_completed_at")
+    private Instant cutoverCompletedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class CredentialHashingBusyException extends GenericApplicationException {
+    public CredentialHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class InvalidChangeTokenException extends GenericApplicationException {
+    public InvalidChangeTokenException(String message) {
+        super(message);
+    }
+}
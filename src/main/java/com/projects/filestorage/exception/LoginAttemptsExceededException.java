@@ -0,0 +1,16 @@
+package com.projects.filestorage.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class LoginAttemptsExceededException extends GenericApplicationException {
+
+    private final Duration retryAfter;
+
+    public LoginAttemptsExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class PendingUploadIncompleteException extends GenericApplicationException {
+    public PendingUploadIncompleteException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class PendingUploadNotFoundException extends GenericApplicationException {
+    public PendingUploadNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class PreviewGenerationBusyException extends GenericApplicationException {
+    public PreviewGenerationBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
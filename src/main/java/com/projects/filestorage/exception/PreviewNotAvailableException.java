@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class PreviewNotAvailableException extends GenericApplicationException {
+    public PreviewNotAvailableException(String message) {
+        super(message);
+    }
+}
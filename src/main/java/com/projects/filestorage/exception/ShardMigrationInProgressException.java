@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class ShardMigrationInProgressException extends GenericApplicationException {
+    public ShardMigrationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class TrashEntryBusyException extends GenericApplicationException {
+    public TrashEntryBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.exception;
+
+public class TrashEntryNotFoundException extends GenericApplicationException {
+    public TrashEntryNotFoundException(String message) {
+        super(message);
+    }
+}
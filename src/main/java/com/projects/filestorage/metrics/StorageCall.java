@@ -0,0 +1,7 @@
+package com.projects.filestorage.metrics;
+
+@FunctionalInterface
+public interface StorageCall<T> {
+
+    T call() throws Exception;
+}
@@ -0,0 +1,70 @@
+package com.projects.filestorage.metrics;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+public class StorageCallAccounting {
+
+    private static final StorageOperation[] OPERATIONS = StorageOperation.values();
+
+    private final int[] callCounts = new int[OPERATIONS.length];
+    private final long[] callNanos = new long[OPERATIONS.length];
+    private final long startedNanos = System.nanoTime();
+
+    public synchronized void record(StorageOperation operation, long durationNanos) {
+        callCounts[operation.ordinal()]++;
+        callNanos[operation.ordinal()] += durationNanos;
+    }
+
+    public synchronized int getTotalCalls() {
+        var total = 0;
+        for (var count : callCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public synchronized long getTotalNanos() {
+        var total = 0L;
+        for (var nanos : callNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startedNanos;
+    }
+
+    public synchronized String toServerTiming() {
+        var joiner = new StringJoiner(", ");
+        for (var operation : OPERATIONS) {
+            var count = callCounts[operation.ordinal()];
+            if (count == 0) continue;
+
+            joiner.add(formatMetric("storage-" + operation.tagValue(), count, callNanos[operation.ordinal()]));
+        }
+        joiner.add(formatMetric("storage", getTotalCalls(), getTotalNanos()));
+        return joiner.toString();
+    }
+
+    public synchronized String toSummary() {
+        var joiner = new StringJoiner(", ");
+        for (var operation : OPERATIONS) {
+            var count = callCounts[operation.ordinal()];
+            if (count == 0) continue;
+
+            joiner.add(String.format(Locale.ROOT, "%s=%d/%.1fms",
+                    operation.tagValue(), count, toMillis(callNanos[operation.ordinal()])));
+        }
+        return joiner.toString();
+    }
+
+    private static String formatMetric(String name, int count, long nanos) {
+        return String.format(Locale.ROOT, "%s;desc=\"%d calls\";dur=%.1f", name, count, toMillis(nanos));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
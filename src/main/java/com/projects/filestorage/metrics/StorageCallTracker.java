@@ -0,0 +1,53 @@
+package com.projects.filestorage.metrics;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StorageCallTracker implements TaskDecorator {
+
+    private final ThreadLocal<StorageCallAccounting> currentAccounting = new ThreadLocal<>();
+
+    public StorageCallAccounting begin() {
+        var accounting = new StorageCallAccounting();
+        resume(accounting);
+        return accounting;
+    }
+
+    public void resume(StorageCallAccounting accounting) {
+        currentAccounting.set(accounting);
+    }
+
+    public void end() {
+        currentAccounting.remove();
+    }
+
+    public void record(StorageOperation operation, long durationNanos) {
+        var accounting = currentAccounting.get();
+        if (accounting != null) {
+            accounting.record(operation, durationNanos);
+        }
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        var accounting = currentAccounting.get();
+        if (accounting == null) {
+            return runnable;
+        }
+
+        return () -> {
+            var previousAccounting = currentAccounting.get();
+            currentAccounting.set(accounting);
+            try {
+                runnable.run();
+            } finally {
+                if (previousAccounting == null) {
+                    currentAccounting.remove();
+                } else {
+                    currentAccounting.set(previousAccounting);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,292 @@
+package com.projects.filestorage.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class StorageMetrics {
+
+    private static final String OPERATION_TIMER = "filestorage.storage.operation";
+    private static final String LISTED_OBJECTS_SUMMARY = "filestorage.storage.list.objects";
+    private static final String TRANSFER_BYTES_COUNTER = "filestorage.transfer.bytes";
+    private static final String ZIP_BUILD_TIMER = "filestorage.zip.build";
+    private static final String ZIP_BYTES_SUMMARY = "filestorage.zip.bytes";
+    private static final String ZIP_ENTRIES_SUMMARY = "filestorage.zip.entries";
+    private static final String DOWNLOAD_CACHE_COUNTER = "filestorage.download.cache";
+    private static final String DOWNLOAD_CACHE_BYTES_GAUGE = "filestorage.download.cache.bytes";
+    private static final String DOWNLOAD_QUEUE_TIMER = "filestorage.download.queue";
+    private static final String DOWNLOAD_REJECTED_COUNTER = "filestorage.download.rejected";
+    private static final String DOWNLOAD_ACTIVE_GAUGE = "filestorage.download.active";
+    private static final String DOWNLOAD_QUEUED_GAUGE = "filestorage.download.queued";
+    private static final String CACHE_INVALIDATION_COUNTER = "filestorage.cache.invalidation";
+    private static final String CACHE_INVALIDATION_LAG_TIMER = "filestorage.cache.invalidation.lag";
+    private static final String SESSION_CACHE_COUNTER = "filestorage.session.cache";
+    private static final String SESSION_ATTRIBUTE_BYTES_SUMMARY = "filestorage.session.serialized.bytes";
+    private static final String HASHING_QUEUE_TIMER = "filestorage.auth.hashing.queue";
+    private static final String HASHING_REJECTED_COUNTER = "filestorage.auth.hashing.rejected";
+    private static final String HASHING_ACTIVE_GAUGE = "filestorage.auth.hashing.active";
+    private static final String HASHING_QUEUED_GAUGE = "filestorage.auth.hashing.queued";
+    private static final String LOGIN_THROTTLED_COUNTER = "filestorage.auth.login.throttled";
+    private static final String RATE_LIMITED_COUNTER = "filestorage.ratelimit.throttled";
+    private static final String OUTBOX_EVENTS_COUNTER = "filestorage.outbox.events";
+    private static final String OUTBOX_DELAY_TIMER = "filestorage.outbox.delay";
+    private static final String SHARD_MIGRATION_COUNTER = "filestorage.shard.migration";
+    private static final String TRASH_PURGED_OBJECTS_COUNTER = "filestorage.trash.purged.objects";
+    private static final String DIRECTORY_MARKER_COUNTER = "filestorage.directory.markers";
+    private static final String UPLOAD_NEGOTIATION_COUNTER = "filestorage.upload.negotiation";
+    private static final String UPLOAD_SKIPPED_BYTES_COUNTER = "filestorage.upload.skipped.bytes";
+
+    private static final String TAG_OPERATION = "operation";
+    private static final String TAG_EXCEPTION = "exception";
+    private static final String TAG_DIRECTION = "direction";
+    private static final String TAG_RESULT = "result";
+    private static final String TAG_SCOPE = "scope";
+    private static final String TAG_COST = "cost";
+    private static final String TAG_EVENT_TYPE = "event_type";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final StorageCallTracker storageCallTracker;
+
+    public <T> T timeOperation(StorageOperation operation, StorageCall<T> call) throws Exception {
+        var startNanos = System.nanoTime();
+        var exceptionTag = NO_EXCEPTION;
+        try {
+            return call.call();
+        } catch (Exception ex) {
+            exceptionTag = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            recordOperation(operation, exceptionTag, System.nanoTime() - startNanos);
+        }
+    }
+
+    public void recordListedObjects(int objectCount) {
+        DistributionSummary.builder(LISTED_OBJECTS_SUMMARY)
+                .description("Number of objects returned by a single listing")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(objectCount);
+    }
+
+    public void recordUploadedBytes(long bytes) {
+        transferCounter("upload").increment(bytes);
+    }
+
+    public void recordDownloadedBytes(long bytes) {
+        transferCounter("download").increment(bytes);
+    }
+
+    public void recordZipArchive(long durationNanos, long bytes, int entries) {
+        Timer.builder(ZIP_BUILD_TIMER)
+                .description("Time spent building a zip archive of a directory")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(ZIP_BYTES_SUMMARY)
+                .description("Uncompressed bytes written into a zip archive")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(bytes);
+        DistributionSummary.builder(ZIP_ENTRIES_SUMMARY)
+                .description("Number of entries written into a zip archive")
+                .register(meterRegistry)
+                .record(entries);
+    }
+
+    public void recordDownloadCacheEvent(String result) {
+        Counter.builder(DOWNLOAD_CACHE_COUNTER)
+                .description("Download cache lookups, admissions and evictions")
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void registerDownloadCacheSize(Supplier<Number> cachedBytes) {
+        Gauge.builder(DOWNLOAD_CACHE_BYTES_GAUGE, cachedBytes)
+                .description("Bytes currently held by the download cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public void recordDownloadQueueTime(long durationNanos) {
+        Timer.builder(DOWNLOAD_QUEUE_TIMER)
+                .description("Time a streaming download waited for a download executor thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDownloadRejected() {
+        Counter.builder(DOWNLOAD_REJECTED_COUNTER)
+                .description("Streaming downloads rejected because the download executor was saturated")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void registerDownloadExecutor(Supplier<Number> activeDownloads, Supplier<Number> queuedDownloads) {
+        Gauge.builder(DOWNLOAD_ACTIVE_GAUGE, activeDownloads)
+                .description("Streaming downloads currently running")
+                .register(meterRegistry);
+        Gauge.builder(DOWNLOAD_QUEUED_GAUGE, queuedDownloads)
+                .description("Streaming downloads waiting for a download executor thread")
+                .register(meterRegistry);
+    }
+
+    public void recordCacheInvalidationEvent(String result) {
+        Counter.builder(CACHE_INVALIDATION_COUNTER)
+                .description("Cache invalidation messages published, received and local cache flushes")
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordCacheInvalidationLag(long lagMillis) {
+        Timer.builder(CACHE_INVALIDATION_LAG_TIMER)
+                .description("Delay between publishing a cache invalidation and receiving it on a peer node")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(lagMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordSessionCacheEvent(String result) {
+        Counter.builder(SESSION_CACHE_COUNTER)
+                .description("Session near-cache lookups")
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordSessionAttributeBytes(int bytes) {
+        DistributionSummary.builder(SESSION_ATTRIBUTE_BYTES_SUMMARY)
+                .description("Size of a serialized session value written to Redis")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    public void recordCredentialHashingQueueTime(long durationNanos) {
+        Timer.builder(HASHING_QUEUE_TIMER)
+                .description("Time a password hashing task waited for a hashing executor thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCredentialHashingRejected() {
+        Counter.builder(HASHING_REJECTED_COUNTER)
+                .description("Password hashing tasks rejected or timed out because the hashing executor was saturated")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void registerCredentialHashingExecutor(Supplier<Number> activeTasks, Supplier<Number> queuedTasks) {
+        Gauge.builder(HASHING_ACTIVE_GAUGE, activeTasks)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        Gauge.builder(HASHING_QUEUED_GAUGE, queuedTasks)
+                .description("Password hashing tasks waiting for a hashing executor thread")
+                .register(meterRegistry);
+    }
+
+    public void recordLoginThrottled(String scope) {
+        Counter.builder(LOGIN_THROTTLED_COUNTER)
+                .description("Sign-in attempts rejected by the failed attempt throttle")
+                .tag(TAG_SCOPE, scope)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRateLimited(String costKey) {
+        Counter.builder(RATE_LIMITED_COUNTER)
+                .description("API requests rejected by the per-user rate limiter")
+                .tag(TAG_COST, costKey)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordOutboxEvent(String eventType, String result) {
+        Counter.builder(OUTBOX_EVENTS_COUNTER)
+                .description("Outbox events relayed, by outcome")
+                .tag(TAG_EVENT_TYPE, eventType)
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordOutboxDelay(long delayMillis) {
+        Timer.builder(OUTBOX_DELAY_TIMER)
+                .description("Delay between committing an outbox event and relaying it successfully")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordShardMigration(String result) {
+        Counter.builder(SHARD_MIGRATION_COUNTER)
+                .description("User migrations between storage shards, by outcome")
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordTrashPurgedObjects(int objectCount) {
+        Counter.builder(TRASH_PURGED_OBJECTS_COUNTER)
+                .description("Objects removed from storage by the trash purger")
+                .register(meterRegistry)
+                .increment(objectCount);
+    }
+
+    public void recordDirectoryMarker(String result) {
+        Counter.builder(DIRECTORY_MARKER_COUNTER)
+                .description("Directory markers created for empty directories or removed from non-empty ones")
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordUploadNegotiation(String result, String scope) {
+        Counter.builder(UPLOAD_NEGOTIATION_COUNTER)
+                .description("Hash-first upload negotiations, by outcome and by the scope the content was found in")
+                .tag(TAG_RESULT, result)
+                .tag(TAG_SCOPE, scope)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordUploadSkippedBytes(long bytes) {
+        Counter.builder(UPLOAD_SKIPPED_BYTES_COUNTER)
+                .description("Bytes clients did not have to upload because identical content was already stored")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    private void recordOperation(StorageOperation operation, String exceptionTag, long durationNanos) {
+        storageCallTracker.record(operation, durationNanos);
+        Timer.builder(OPERATION_TIMER)
+                .description("Latency of object storage operations")
+                .tag(TAG_OPERATION, operation.tagValue())
+                .tag(TAG_EXCEPTION, exceptionTag)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter transferCounter(String direction) {
+        return Counter.builder(TRANSFER_BYTES_COUNTER)
+                .description("Bytes transferred between clients and object storage")
+                .baseUnit("bytes")
+                .tag(TAG_DIRECTION, direction)
+                .register(meterRegistry);
+    }
+}
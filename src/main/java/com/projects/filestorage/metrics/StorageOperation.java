@@ -0,0 +1,16 @@
+package com.projects.filestorage.metrics;
+
+public enum StorageOperation {
+    STAT,
+    LIST,
+    GET,
+    PUT,
+    COPY,
+    REMOVE,
+    REMOVE_OBJECTS,
+    RENAME;
+
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
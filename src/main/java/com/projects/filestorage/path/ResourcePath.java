@@ -0,0 +1,105 @@
+package com.projects.filestorage.path;
+
+import java.util.Objects;
+
+public final class ResourcePath {
+
+    private static final char SEPARATOR = '/';
+    private static final ResourcePath ROOT = new ResourcePath("");
+
+    private final String value;
+    private final int nameStart;
+    private final int nameEnd;
+
+    private ResourcePath(String value) {
+        this.value = value;
+        this.nameEnd = endsWithSeparator(value) ? value.length() - 1 : value.length();
+        this.nameStart = value.lastIndexOf(SEPARATOR, nameEnd - 1) + 1;
+    }
+
+    public static ResourcePath of(String value) {
+        Objects.requireNonNull(value, "Resource path must not be null");
+        return value.isEmpty() ? ROOT : new ResourcePath(value);
+    }
+
+    public static ResourcePath root() {
+        return ROOT;
+    }
+
+    public static ResourcePath fromAbsolute(String rootDirectory, String absolutePath) {
+        if (!absolutePath.startsWith(rootDirectory)) {
+            throw new IllegalArgumentException("Path does not start with user root directory");
+        }
+        return of(absolutePath.substring(rootDirectory.length()));
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public boolean isRoot() {
+        return value.isEmpty();
+    }
+
+    public boolean isDirectory() {
+        return isRoot() || endsWithSeparator(value);
+    }
+
+    public String name() {
+        return nameStart == 0 ? value : value.substring(nameStart);
+    }
+
+    public String baseName() {
+        return value.substring(nameStart, nameEnd);
+    }
+
+    public String parentPath() {
+        return value.substring(0, nameStart);
+    }
+
+    public ResourcePath parent() {
+        return nameStart == 0 ? ROOT : new ResourcePath(parentPath());
+    }
+
+    public ResourcePath resolve(String child) {
+        if (!isDirectory()) {
+            throw new IllegalStateException(String.format("Cannot resolve '%s' against file path '%s'", child, value));
+        }
+        return of(value + child);
+    }
+
+    public String toAbsolute(String rootDirectory) {
+        return rootDirectory + value;
+    }
+
+    public boolean nameContainsIgnoreCase(String query) {
+        var queryLength = query.length();
+        for (int i = nameStart; i + queryLength <= nameEnd; i++) {
+            if (value.regionMatches(true, i, query, 0, queryLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean endsWithSeparator(String value) {
+        return !value.isEmpty() && value.charAt(value.length() - 1) == SEPARATOR;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ResourcePath that)) return false;
+        return value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,118 @@
+package com.projects.filestorage.path;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class ResourcePathScanner {
+
+    private static final char SEPARATOR = '/';
+    private static final char DOT = '.';
+
+    public boolean isValidPath(String path) {
+        if (path == null) {
+            return false;
+        }
+
+        var length = path.length();
+        var segmentStart = 0;
+        var i = 0;
+        while (i < length) {
+            var codePoint = path.codePointAt(i);
+            if (codePoint == SEPARATOR) {
+                if (!isValidSegment(path, segmentStart, i)) {
+                    return false;
+                }
+                segmentStart = ++i;
+                continue;
+            }
+            if (!isPathCharacter(codePoint)) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+
+        return segmentStart == length || isValidSegment(path, segmentStart, length);
+    }
+
+    public boolean isValidDirectoryPath(String path) {
+        if (path == null) {
+            return false;
+        }
+
+        var length = path.length();
+        if (length == 0) {
+            return true;
+        }
+        if (path.charAt(length - 1) != SEPARATOR) {
+            return false;
+        }
+
+        var segmentStart = 0;
+        var i = 0;
+        while (i < length) {
+            var codePoint = path.codePointAt(i);
+            if (codePoint == SEPARATOR) {
+                if (!isValidDirectorySegment(path, segmentStart, i)) {
+                    return false;
+                }
+                segmentStart = ++i;
+                continue;
+            }
+
+            var isFirstCharacter = i == segmentStart;
+            if (isFirstCharacter ? !isDirectoryLeadingCharacter(codePoint) : !isPathCharacter(codePoint)) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+
+        return true;
+    }
+
+    public boolean isValidSearchQuery(String query) {
+        return isValidPath(query);
+    }
+
+    private boolean isValidSegment(String path, int start, int end) {
+        return end > start && !isDotSegment(path, start, end);
+    }
+
+    private boolean isValidDirectorySegment(String path, int start, int end) {
+        return isValidSegment(path, start, end) && !startsWithDoubleDot(path, start, end);
+    }
+
+    private boolean isDotSegment(String path, int start, int end) {
+        var segmentLength = end - start;
+        if (segmentLength == 1) {
+            return path.charAt(start) == DOT;
+        }
+        return segmentLength == 2 && path.charAt(start) == DOT && path.charAt(start + 1) == DOT;
+    }
+
+    private boolean startsWithDoubleDot(String path, int start, int end) {
+        return end - start >= 2 && path.charAt(start) == DOT && path.charAt(start + 1) == DOT;
+    }
+
+    private boolean isPathCharacter(int codePoint) {
+        return isLetterOrNumber(codePoint)
+                || codePoint == ' '
+                || codePoint == '_'
+                || codePoint == DOT
+                || codePoint == '-';
+    }
+
+    private boolean isDirectoryLeadingCharacter(int codePoint) {
+        return isLetterOrNumber(codePoint) || codePoint == '_' || codePoint == DOT;
+    }
+
+    private boolean isLetterOrNumber(int codePoint) {
+        if (Character.isLetter(codePoint)) {
+            return true;
+        }
+
+        var type = Character.getType(codePoint);
+        return type == Character.DECIMAL_DIGIT_NUMBER
+                || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
+    }
+}
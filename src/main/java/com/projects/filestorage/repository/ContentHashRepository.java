@@ -0,0 +1,75 @@
+package com.projects.filestorage.repository;
+
+import com.projects.filestorage.domain.ContentHash;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ContentHashRepository extends CrudRepository<ContentHash, Long> {
+
+    @Query(value = """
+            select *
+            from file_storage.content_hashes
+            where bucket = :bucket and sha256 = :sha256 and size = :size
+              and (:global or user_id = :userId)
+            order by (user_id = :userId) desc, id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<ContentHash> findCandidates(@Param("userId") Long userId,
+                                     @Param("bucket") String bucket,
+                                     @Param("sha256") String sha256,
+                                     @Param("size") long size,
+                                     @Param("global") boolean global,
+                                     @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into file_storage.content_hashes (user_id, bucket, path, sha256, size, etag)
+            values (:userId, :bucket, :path, :sha256, :size, :etag)
+            on conflict (bucket, path) do update
+            set user_id = excluded.user_id, sha256 = excluded.sha256, size = excluded.size,
+                etag = excluded.etag, created_at = now()
+            """, nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+                @Param("bucket") String bucket,
+                @Param("path") String path,
+                @Param("sha256") String sha256,
+                @Param("size") long size,
+                @Param("etag") String etag);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update file_storage.content_hashes moved
+            set bucket = :bucket
+            where moved.user_id = :userId and moved.bucket <> :bucket
+              and not exists (select 1
+                              from file_storage.content_hashes existing
+                              where existing.bucket = :bucket and existing.path = moved.path)
+            """, nativeQuery = true)
+    int moveUserToBucket(@Param("userId") Long userId, @Param("bucket") String bucket);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from file_storage.content_hashes
+            where user_id = :userId and bucket <> :bucket
+            """, nativeQuery = true)
+    int deleteUserOutsideBucket(@Param("userId") Long userId, @Param("bucket") String bucket);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from file_storage.content_hashes
+            where bucket = :bucket
+              and (path = :path or (right(:path, 1) = '/' and left(path, length(:path)) = :path))
+            """, nativeQuery = true)
+    int deleteByPathOrPrefix(@Param("bucket") String bucket, @Param("path") String path);
+}
@@ -1,23 +1,18 @@
 package com.projects.filestorage.repository;
 
 import com.projects.filestorage.exception.DirectoryDeletionException;
+import com.projects.filestorage.exception.GenericApplicationException;
 import com.projects.filestorage.exception.MinioAccessException;
 import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.metrics.StorageOperation;
+import com.projects.filestorage.repository.backend.ObjectMetadata;
+import com.projects.filestorage.repository.backend.ObjectPathConsumer;
+import com.projects.filestorage.repository.backend.StorageBackend;
+import com.projects.filestorage.repository.backend.StoredObject;
+import com.projects.filestorage.repository.compression.ContentCompressor;
 import com.projects.filestorage.utils.MinioUtils;
 import com.projects.filestorage.web.dto.internal.enums.ResourceType;
-import io.minio.CopyObjectArgs;
-import io.minio.CopySource;
-import io.minio.GetObjectArgs;
-import io.minio.GetObjectResponse;
-import io.minio.ListObjectsArgs;
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
-import io.minio.RemoveObjectArgs;
-import io.minio.RemoveObjectsArgs;
-import io.minio.StatObjectArgs;
-import io.minio.StatObjectResponse;
-import io.minio.errors.ErrorResponseException;
-import io.minio.messages.DeleteObject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -25,44 +20,51 @@ import org.springframework.stereotype.Repository;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class MinioRepository {
 
-    private final MinioClient minioClient;
+    private static final String SOURCE_ETAG_METADATA = "source-etag";
 
-    public StatObjectResponse getObjectMetadata(String bucket, String path) {
+    private final StorageBackend storageBackend;
+    private final StorageMetrics storageMetrics;
+    private final ObjectChangePublisher objectChangePublisher;
+    private final ContentCompressor contentCompressor;
+
+    public ObjectMetadata getObjectMetadata(String bucket, String path) {
+        return ContentCompressor.toLogicalMetadata(getStoredObjectMetadata(bucket, path));
+    }
+
+    public ObjectMetadata getStoredObjectMetadata(String bucket, String path) {
+        Optional<ObjectMetadata> objectMetadata;
         try {
-            return minioClient.statObject(StatObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(path)
-                    .build());
+            objectMetadata = storageMetrics.timeOperation(StorageOperation.STAT, () -> storageBackend.statObject(bucket, path));
         } catch (Exception ex) {
             log.error("[Failed] Unexpected error while receiving metadata about a resource in bucket='{}', path='{}'. Reason: {}",
                     bucket, path, ex.getMessage());
             throw new MinioAccessException(String.format(
                     "Unexpected error while receiving metadata about a resource on the path '%s'", path));
         }
+
+        return objectMetadata.orElseThrow(() -> new ResourceNotFoundException(
+                String.format("The resource on the path '%s' was not found", path)));
     }
 
     public List<String> listRecursiveObjectPaths(String bucket, String path) {
         try {
-            var objectItems = minioClient.listObjects(ListObjectsArgs.builder()
-                    .bucket(bucket)
-                    .prefix(path)
-                    .recursive(true)
-                    .build());
-
-            var objectPaths = new ArrayList<String>();
-            for (var objectItem : objectItems) {
-                var objectPath = objectItem.get().objectName();
-                objectPaths.add(objectPath);
-            }
+            var objectPaths = storageMetrics.timeOperation(StorageOperation.LIST,
+                    () -> storageBackend.listObjects(bucket, path, true));
 
+            storageMetrics.recordListedObjects(objectPaths.size());
             return objectPaths;
         } catch (Exception ex) {
             log.error("[Failure] Failed to list recursive object paths in bucket='{}', path='{}'. Reason: {}",
@@ -74,22 +76,12 @@ public class MinioRepository {
 
     public List<String> listDirectObjectPaths(String bucket, String path) {
         try {
-            var objectItems = minioClient.listObjects(ListObjectsArgs.builder()
-                    .bucket(bucket)
-                    .prefix(path)
-                    .delimiter("/")
-                    .recursive(false)
-                    .build());
-
-            var objectPaths = new ArrayList<String>();
-            for (var objectItem : objectItems) {
-                var objectPath = objectItem.get().objectName();
-
-                if (objectPath.equals(path)) continue;
-
-                objectPaths.add(objectPath);
-            }
+            var objectPaths = storageMetrics.timeOperation(StorageOperation.LIST,
+                    () -> storageBackend.listObjects(bucket, path, false).stream()
+                            .filter(objectPath -> !objectPath.equals(path))
+                            .toList());
 
+            storageMetrics.recordListedObjects(objectPaths.size());
             return objectPaths;
         } catch (Exception ex) {
             log.error("[Failure] Failed to list non-recursive object paths in bucket='{}', path='{}'. Reason: {}",
@@ -99,12 +91,34 @@ public class MinioRepository {
         }
     }
 
-    public GetObjectResponse getObject(String bucket, String path) {
+    public List<String> listFirstObjectPaths(String bucket, String path, int limit) {
         try {
-            return minioClient.getObject(GetObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(path)
-                    .build());
+            return storageMetrics.timeOperation(StorageOperation.LIST,
+                    () -> storageBackend.listFirstObjects(bucket, path, limit));
+        } catch (Exception ex) {
+            log.error("[Failure] Failed to list first object paths in bucket='{}', path='{}'. Reason: {}",
+                    bucket, path, ex.getMessage());
+            throw new MinioAccessException(String.format(
+                    "Unexpected error while getting information about a directory on the path '%s'", path));
+        }
+    }
+
+    public void forEachRecursiveObjectPath(String bucket, String path, ObjectPathConsumer consumer) {
+        forEachObjectPath(bucket, path, true, consumer);
+    }
+
+    public void forEachDirectObjectPath(String bucket, String path, ObjectPathConsumer consumer) {
+        forEachObjectPath(bucket, path, false, objectPath -> {
+            if (!objectPath.equals(path)) {
+                consumer.accept(objectPath);
+            }
+        });
+    }
+
+    public InputStream getObject(String bucket, String path) {
+        try {
+            var storedObject = storageMetrics.timeOperation(StorageOperation.GET, () -> storageBackend.openObject(bucket, path));
+            return ContentCompressor.decode(storedObject.content(), storedObject.userMetadata());
         } catch (Exception ex) {
             log.error("[Failure] Unexpected error when get a object in bucket='{}', path='{}'. Reason: {}",
                     bucket, path, ex.getMessage());
@@ -113,9 +127,24 @@ public class MinioRepository {
         }
     }
 
+    public StoredObject getStoredObject(String bucket, String path) {
+        try {
+            return storageMetrics.timeOperation(StorageOperation.GET, () -> storageBackend.openObject(bucket, path));
+        } catch (Exception ex) {
+            log.error("[Failure] Unexpected error when get a stored object in bucket='{}', path='{}'. Reason: {}",
+                    bucket, path, ex.getMessage());
+            throw new MinioAccessException(String.format(
+                    "Unexpected error when download a file on the path '%s'", path));
+        }
+    }
+
+    public Optional<Path> findLocalFile(String bucket, String path) {
+        return storageBackend.resolveLocalFile(bucket, path);
+    }
+
     public Long getResourceSize(String bucket, String path) {
-        var statObjectResponse = getObjectMetadata(bucket, path);
-        return statObjectResponse.size();
+        var objectMetadata = getObjectMetadata(bucket, path);
+        return objectMetadata.size();
     }
 
     public ResourceType resolveResourceType(String bucket, String path) {
@@ -127,12 +156,13 @@ public class MinioRepository {
     }
 
     public void uploadResource(String bucket, String path, MultipartFile file) {
-        try {
-            minioClient.putObject(PutObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(path)
-                    .stream(file.getInputStream(), file.getSize(), -1)
-                    .build());
+        try (var content = file.getInputStream()) {
+            storageMetrics.timeOperation(StorageOperation.PUT, () -> {
+                storeObject(bucket, path, content, file.getSize(), file.getContentType());
+                return null;
+            });
+            objectChangePublisher.invalidate(bucket, path);
+            storageMetrics.recordUploadedBytes(file.getSize());
         } catch (Exception ex) {
             log.error("[Failure] Unexpected error while loading resource on the path in bucket='{}', path='{}'. Reason: {}",
                     bucket, path, ex.getMessage());
@@ -141,16 +171,43 @@ public class MinioRepository {
         }
     }
 
+    public String uploadStream(String bucket, String path, InputStream content, long size, String contentType) {
+        try {
+            var etag = storageMetrics.timeOperation(StorageOperation.PUT,
+                    () -> storeObject(bucket, path, content, size, contentType));
+            objectChangePublisher.invalidate(bucket, path);
+            storageMetrics.recordUploadedBytes(size);
+            return etag;
+        } catch (Exception ex) {
+            log.error("[Failure] Unexpected error while streaming resource in bucket='{}', path='{}'. Reason: {}",
+                    bucket, path, ex.getMessage());
+            throw new MinioAccessException(String.format(
+                    "Unexpected error while loading resource on the path '%s'", path));
+        }
+    }
+
+    public void uploadContent(String bucket, String path, byte[] content, String contentType) {
+        try {
+            storageMetrics.timeOperation(StorageOperation.PUT, () -> {
+                storageBackend.putObject(bucket, path, new ByteArrayInputStream(content), content.length, contentType, Map.of());
+                return null;
+            });
+            objectChangePublisher.invalidate(bucket, path);
+        } catch (Exception ex) {
+            log.error("[Failure] Unexpected error while storing content in bucket='{}', path='{}'. Reason: {}",
+                    bucket, path, ex.getMessage());
+            throw new MinioAccessException(String.format(
+                    "Unexpected error while storing content on the path '%s'", path));
+        }
+    }
+
     public void copyResource(String bucket, String sourcePath, String destinationPath) {
         try {
-            minioClient.copyObject(CopyObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(destinationPath)
-                    .source(CopySource.builder()
-                            .bucket(bucket)
-                            .object(sourcePath)
-                            .build())
-                    .build());
+            storageMetrics.timeOperation(StorageOperation.COPY, () -> {
+                storageBackend.copyObject(bucket, sourcePath, destinationPath);
+                return null;
+            });
+            objectChangePublisher.invalidate(bucket, destinationPath);
         } catch (Exception ex) {
             log.error("[Failure] Unexpected error during move file in bucket='{}', from='{}' to='{}'. Reason: {}",
                     bucket, sourcePath, destinationPath, ex.getMessage());
@@ -159,14 +216,69 @@ public class MinioRepository {
         }
     }
 
+    public boolean transferObject(String sourceBucket, String targetBucket, String path) {
+        try {
+            var sourceMetadata = storageMetrics.timeOperation(StorageOperation.STAT,
+                    () -> storageBackend.statObject(sourceBucket, path));
+            if (sourceMetadata.isEmpty()) {
+                return false;
+            }
+
+            var targetMetadata = storageMetrics.timeOperation(StorageOperation.STAT,
+                    () -> storageBackend.statObject(targetBucket, path));
+            var sourceEtag = sourceMetadata.get().etag();
+            if (targetMetadata.isPresent() && (sourceEtag.equals(targetMetadata.get().etag())
+                    || sourceEtag.equals(targetMetadata.get().userMetadata().get(SOURCE_ETAG_METADATA)))) {
+                return false;
+            }
+
+            var userMetadata = new HashMap<>(sourceMetadata.get().userMetadata());
+            userMetadata.put(SOURCE_ETAG_METADATA, sourceEtag);
+            try (var content = storageMetrics.timeOperation(StorageOperation.GET,
+                    () -> storageBackend.getObject(sourceBucket, path))) {
+                storageMetrics.timeOperation(StorageOperation.PUT, () -> {
+                    storageBackend.putObject(targetBucket, path, content, sourceMetadata.get().size(),
+                            sourceMetadata.get().contentType(), userMetadata);
+                    return null;
+                });
+            }
+            objectChangePublisher.invalidate(targetBucket, path);
+            return true;
+        } catch (Exception ex) {
+            log.error("[Failure] Unexpected error while transferring object from bucket='{}' to bucket='{}', path='{}'. Reason: {}",
+                    sourceBucket, targetBucket, path, ex.getMessage());
+            throw new MinioAccessException(String.format(
+                    "Unexpected error while transferring the resource on the path '%s'", path));
+        }
+    }
+
+    public boolean supportsNativeRename() {
+        return storageBackend.supportsNativeRename();
+    }
+
+    public void renameResource(String bucket, String sourcePath, String destinationPath) {
+        try {
+            storageMetrics.timeOperation(StorageOperation.RENAME, () -> {
+                storageBackend.renameObject(bucket, sourcePath, destinationPath);
+                return null;
+            });
+            objectChangePublisher.invalidate(bucket, List.of(sourcePath, destinationPath), List.of());
+        } catch (Exception ex) {
+            log.error("[Failure] Unexpected error during rename in bucket='{}', from='{}' to='{}'. Reason: {}",
+                    bucket, sourcePath, destinationPath, ex.getMessage());
+            throw new MinioAccessException(String.format(
+                    "Unexpected error during move resource from '%s' to '%s'", sourcePath, destinationPath));
+        }
+    }
+
     public void putEmptyDirectory(String bucket, String path) {
         try {
-            minioClient.putObject(PutObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(path)
-                    .stream(new ByteArrayInputStream(new byte[0]), 0, -1)
-                    .contentType(MediaType.APPLICATION_JSON_VALUE)
-                    .build());
+            storageMetrics.timeOperation(StorageOperation.PUT, () -> {
+                storageBackend.putObject(bucket, path, new ByteArrayInputStream(new byte[0]), 0,
+                        MediaType.APPLICATION_JSON_VALUE, Map.of());
+                return null;
+            });
+            objectChangePublisher.invalidate(bucket, path);
         } catch (Exception ex) {
             log.error("[Failure] Unexpected error during creation of an empty directory in bucket='{}', path='{}'. Reason: {}",
                     bucket, path, ex.getMessage());
@@ -177,10 +289,11 @@ public class MinioRepository {
 
     public void deleteResource(String bucket, String path) {
         try {
-            minioClient.removeObject(RemoveObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(path)
-                    .build());
+            storageMetrics.timeOperation(StorageOperation.REMOVE, () -> {
+                storageBackend.removeObject(bucket, path);
+                return null;
+            });
+            objectChangePublisher.invalidate(bucket, path);
         } catch (Exception ex) {
             log.error("[Failure] Unexpected exception while deleting file in bucket='{}', path='{}'. Reason: {}",
                     bucket, path, ex.getMessage());
@@ -195,29 +308,20 @@ public class MinioRepository {
     }
 
     public void deleteResources(String bucket, List<String> objectPaths) {
+        List<String> failedObjects;
         try {
-            var objectsToDelete = objectPaths.stream()
-                    .map(DeleteObject::new)
-                    .toList();
-
-            var deletionErrors = minioClient.removeObjects(RemoveObjectsArgs.builder()
-                    .bucket(bucket)
-                    .objects(objectsToDelete)
-                    .build());
-
-            var failedObjects = new ArrayList<String>();
-            for (var errorResult : deletionErrors) {
-                var error = errorResult.get();
-                failedObjects.add(error.objectName());
-            }
-
-            if (!failedObjects.isEmpty()) {
-                log.error("[Failure] Delete some objects in bucket='{}', path='{}'", bucket, failedObjects);
-                throw new DirectoryDeletionException(String.format("Failed to delete some objects: %s", failedObjects));
-            }
+            failedObjects = storageMetrics.timeOperation(StorageOperation.REMOVE_OBJECTS,
+                    () -> storageBackend.removeObjects(bucket, objectPaths));
         } catch (Exception ex) {
             log.error("[Failure] Unexpected error while deleting resources", ex);
             throw new MinioAccessException("Unexpected error while deleting resources");
+        } finally {
+            objectChangePublisher.invalidate(bucket, objectPaths, List.of());
+        }
+
+        if (!failedObjects.isEmpty()) {
+            log.error("[Failure] Delete some objects in bucket='{}', path='{}'", bucket, failedObjects);
+            throw new DirectoryDeletionException(String.format("Failed to delete some objects: %s", failedObjects));
         }
     }
 
@@ -245,17 +349,8 @@ public class MinioRepository {
 
     public boolean isFileExists(String bucket, String path) {
         try {
-            minioClient.statObject(StatObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(path)
-                    .build());
-            return true;
-        } catch (ErrorResponseException ex) {
-            if (MinioUtils.isNoSuchKey(ex)) {
-                return false;
-            }
-            throw new MinioAccessException(String.format("MinIO error when checking for file at path '%s'. Error code: %s",
-                    path, ex.errorResponse().code()));
+            return storageMetrics.timeOperation(StorageOperation.STAT, () -> storageBackend.statObject(bucket, path))
+                    .isPresent();
         } catch (Exception ex) {
             log.error("[Failed] Unexpected error occurred while checking if path is a file in bucket='{}', path='{}'. Reason: {}",
                     bucket, path, ex.getMessage());
@@ -265,8 +360,7 @@ public class MinioRepository {
 
     public boolean isDirectoryExists(String bucket, String path) {
         try {
-            var objectItems = listRecursiveObjectPaths(bucket, path);
-            return objectItems.iterator().hasNext();
+            return storageMetrics.timeOperation(StorageOperation.LIST, () -> storageBackend.prefixExists(bucket, path));
         } catch (Exception ex) {
             log.error("[Failed] Unexpected error occurred while checking if directory exists in bucket='{}', path='{}'. Reason: {}",
                     bucket, path, ex.getMessage());
@@ -274,4 +368,33 @@ public class MinioRepository {
                     "Unexpected error occurred while checking if directory '%s' exists", path));
         }
     }
+
+    private String storeObject(String bucket, String path, InputStream content, long size, String contentType) throws Exception {
+        if (!contentCompressor.shouldCompress(path, contentType, size)) {
+            return storageBackend.putObject(bucket, path, content, size, contentType, Map.of());
+        }
+
+        try (var compressedContent = contentCompressor.compress(content)) {
+            return storageBackend.putObject(bucket, path, compressedContent, -1, contentType, contentCompressor.storedMetadata(size));
+        }
+    }
+
+    private void forEachObjectPath(String bucket, String path, boolean recursive, ObjectPathConsumer consumer) {
+        var listedObjects = new int[1];
+        try {
+            storageBackend.forEachObject(bucket, path, recursive, objectPath -> {
+                listedObjects[0]++;
+                consumer.accept(objectPath);
+            });
+        } catch (UncheckedIOException | GenericApplicationException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("[Failure] Failed to stream object paths in bucket='{}', path='{}', recursive={}. Reason: {}",
+                    bucket, path, recursive, ex.getMessage());
+            throw new MinioAccessException(String.format(
+                    "Unexpected error while getting information about a directory on the path '%s'", path));
+        } finally {
+            storageMetrics.recordListedObjects(listedObjects[0]);
+        }
+    }
 }
@@ -0,0 +1,10 @@
+package com.projects.filestorage.repository;
+
+import java.util.List;
+
+public interface ObjectChangePublisher {
+
+    void invalidate(String bucket, String key);
+
+    void invalidate(String bucket, List<String> keys, List<String> prefixes);
+}
@@ -0,0 +1,50 @@
+package com.projects.filestorage.repository;
+
+import com.projects.filestorage.domain.OutboxEvent;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends CrudRepository<OutboxEvent, Long> {
+
+    @Transactional
+    @Query(value = """
+            update file_storage.outbox_events as e
+            set attempts = e.attempts + 1,
+                next_attempt_at = now() + make_interval(secs => :leaseSeconds)
+            where e.id in (
+                select id
+                from file_storage.outbox_events
+                where processed_at is null and next_attempt_at <= now()
+                order by id
+                limit :batchSize
+                for update skip locked
+            )
+            returning e.*
+            """, nativeQuery = true)
+    List<OutboxEvent> claimDueEvents(@Param("batchSize") int batchSize, @Param("leaseSeconds") double leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.processedAt = :processedAt, e.lastError = null where e.id = :id")
+    void markProcessed(@Param("id") Long id, @Param("processedAt") Instant processedAt);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.lastError = :lastError, e.nextAttemptAt = :nextAttemptAt where e.id = :id")
+    void markFailed(@Param("id") Long id,
+                    @Param("lastError") String lastError,
+                    @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.processedAt < :processedBefore")
+    int deleteProcessedBefore(@Param("processedBefore") Instant processedBefore);
+}
@@ -0,0 +1,45 @@
+package com.projects.filestorage.repository;
+
+import com.projects.filestorage.domain.PendingUpload;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PendingUploadRepository extends CrudRepository<PendingUpload, Long> {
+
+    Optional<PendingUpload> findByIdAndUserId(Long id, Long userId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update file_storage.pending_uploads
+            set closed_at = now()
+            where id = :id and user_id = :userId and closed_at is null and expires_at > now()
+            """, nativeQuery = true)
+    int claim(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update file_storage.pending_uploads
+            set closed_at = null
+            where id = :id
+            """, nativeQuery = true)
+    void release(@Param("id") Long id);
+
+    @Query(value = """
+            select *
+            from file_storage.pending_uploads
+            where expires_at <= now()
+            order by expires_at
+            limit :limit
+            """, nativeQuery = true)
+    List<PendingUpload> findExpired(@Param("limit") int limit);
+}
@@ -0,0 +1,26 @@
+package com.projects.filestorage.repository;
+
+import com.projects.filestorage.domain.ResourceChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ResourceChangeRepository extends CrudRepository<ResourceChange, Long> {
+
+    List<ResourceChange> findByUserIdAndSequenceGreaterThanOrderBySequenceAsc(Long userId, Long sequence, Limit limit);
+
+    @Transactional
+    @Query(value = """
+            insert into file_storage.resource_change_sequences as s (user_id, last_sequence)
+            values (:userId, 1)
+            on conflict (user_id) do update set last_sequence = s.last_sequence + 1
+            returning last_sequence
+            """, nativeQuery = true)
+    Long allocateSequence(@Param("userId") Long userId);
+}
@@ -0,0 +1,69 @@
+package com.projects.filestorage.repository;
+
+import com.projects.filestorage.domain.TrashEntry;
+import com.projects.filestorage.domain.TrashEntryState;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TrashEntryRepository extends CrudRepository<TrashEntry, Long> {
+
+    Optional<TrashEntry> findByIdAndUserId(Long id, Long userId);
+
+    List<TrashEntry> findByUserIdAndStateInOrderByDeletedAtDesc(Long userId, Collection<TrashEntryState> states);
+
+    @Query("select e.path from TrashEntry e where e.userId = :userId and e.state = :state")
+    List<String> findPathsByUserIdAndState(@Param("userId") Long userId, @Param("state") TrashEntryState state);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TrashEntry e set e.state = :state where e.id = :id")
+    void updateState(@Param("id") Long id, @Param("state") TrashEntryState state);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update file_storage.trash_entries
+            set state = 'PURGING'
+            where user_id = :userId and state = 'TRASHED'
+            """, nativeQuery = true)
+    int purgeAllOfUser(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update file_storage.trash_entries
+            set state = 'PURGING'
+            where state = 'TRASHED' and expires_at <= now()
+            """, nativeQuery = true)
+    int expireEntries();
+
+    @Transactional
+    @Query(value = """
+            update file_storage.trash_entries as e
+            set lease_until = now() + make_interval(secs => :leaseSeconds)
+            where e.id in (
+                select id
+                from file_storage.trash_entries
+                where state = 'PURGING' and lease_until <= now()
+                order by id
+                limit :limit
+                for update skip locked
+            )
+            returning e.*
+            """, nativeQuery = true)
+    List<TrashEntry> claimPurgeableEntries(@Param("limit") int limit, @Param("leaseSeconds") double leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update file_storage.trash_entries set lease_until = now() where id = :id", nativeQuery = true)
+    void releaseLease(@Param("id") Long id);
+}
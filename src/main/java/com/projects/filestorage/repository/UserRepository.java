@@ -1,6 +1,7 @@
 package com.projects.filestorage.repository;
 
 import com.projects.filestorage.domain.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +10,8 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends CrudRepository<User, Integer> {
 
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
+
+    boolean existsByUsername(String username);
 }
@@ -0,0 +1,111 @@
+package com.projects.filestorage.repository;
+
+import com.projects.filestorage.domain.UserShardPlacement;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserShardPlacementRepository extends CrudRepository<UserShardPlacement, Long> {
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into file_storage.user_shard_placements (user_id, shard_id)
+            values (:userId, :shardId)
+            on conflict (user_id) do nothing
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId, @Param("shardId") String shardId);
+
+    @Transactional
+    @Query(value = """
+            update file_storage.user_shard_placements as p
+            set state = 'MIGRATING',
+                lease_until = now(),
+                updated_at = now()
+            where p.user_id in (
+                select user_id
+                from file_storage.user_shard_placements
+                where state = 'ACTIVE' and previous_shard_id is null and shard_id in (:shardIds)
+                order by user_id
+                limit :limit
+                for update skip locked
+            )
+            returning p.*
+            """, nativeQuery = true)
+    List<UserShardPlacement> startMigrationsFrom(@Param("shardIds") Collection<String> shardIds,
+                                                 @Param("limit") int limit);
+
+    @Transactional
+    @Query(value = """
+            update file_storage.user_shard_placements as p
+            set lease_until = now() + make_interval(secs => :leaseSeconds)
+            where p.user_id in (
+                select user_id
+                from file_storage.user_shard_placements
+                where (state <> 'ACTIVE' or previous_shard_id is not null) and lease_until <= now()
+                order by lease_until
+                limit :limit
+                for update skip locked
+            )
+            returning p.*
+            """, nativeQuery = true)
+    List<UserShardPlacement> claimPendingWork(@Param("limit") int limit, @Param("leaseSeconds") double leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update file_storage.user_shard_placements
+            set target_shard_id = :targetShardId,
+                updated_at = now()
+            where user_id = :userId
+            """, nativeQuery = true)
+    void setTarget(@Param("userId") Long userId, @Param("targetShardId") String targetShardId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update file_storage.user_shard_placements
+            set state = 'CUTOVER',
+                lease_until = now() + make_interval(secs => :graceSeconds),
+                updated_at = now()
+            where user_id = :userId and state = 'MIGRATING'
+            """, nativeQuery = true)
+    void enterCutover(@Param("userId") Long userId, @Param("graceSeconds") double graceSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update file_storage.user_shard_placements
+            set previous_shard_id = shard_id,
+                shard_id = target_shard_id,
+                target_shard_id = null,
+                state = 'ACTIVE',
+                lease_until = now() + make_interval(secs => :graceSeconds),
+                final_sync_started_at = :finalSyncStartedAt,
+                cutover_completed_at = now(),
+                updated_at = now()
+            where user_id = :userId and state = 'CUTOVER'
+            """, nativeQuery = true)
+    void completeCutover(@Param("userId") Long userId,
+                         @Param("graceSeconds") double graceSeconds,
+                         @Param("finalSyncStartedAt") Instant finalSyncStartedAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update file_storage.user_shard_placements
+            set previous_shard_id = null,
+                lease_until = now(),
+                updated_at = now()
+            where user_id = :userId and state = 'ACTIVE'
+            """, nativeQuery = true)
+    void clearPreviousShard(@Param("userId") Long userId);
+}
@@ -0,0 +1,458 @@
+package com.projects.filestorage.repository.backend;
+
+import com.projects.filestorage.config.properties.StorageBackendProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.CopyOption;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.StringJoiner;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "local")
+public class LocalDiskStorageBackend implements StorageBackend {
+
+    private static final String OBJECTS_DIRECTORY = "objects";
+    private static final String METADATA_DIRECTORY = "metadata";
+    private static final String TEMP_DIRECTORY = "tmp";
+    private static final String METADATA_FILE_SUFFIX = ".properties";
+    private static final String CONTENT_TYPE_PROPERTY = "content-type";
+    private static final String ETAG_PROPERTY = "etag";
+    private static final String ETAG_DIGEST_ALGORITHM = "MD5";
+    private static final String USER_METADATA_PROPERTY_PREFIX = "meta.";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final String DIRECTORY_SEGMENT_SUFFIX = ".dir";
+    private static final String FILE_SEGMENT_SUFFIX = ".obj";
+    private static final String DIRECTORY_MARKER_FILE = ".marker";
+    private static final int MOVE_ATTEMPTS = 3;
+
+    private final Path objectsRoot;
+    private final Path metadataRoot;
+    private final Path tempRoot;
+
+    public LocalDiskStorageBackend(StorageBackendProperties storageBackendProperties) {
+        var rootDirectory = storageBackendProperties.getLocal().getRootDirectory().toAbsolutePath().normalize();
+        this.objectsRoot = rootDirectory.resolve(OBJECTS_DIRECTORY);
+        this.metadataRoot = rootDirectory.resolve(METADATA_DIRECTORY);
+        this.tempRoot = rootDirectory.resolve(TEMP_DIRECTORY);
+
+        try {
+            Files.createDirectories(objectsRoot);
+            Files.createDirectories(metadataRoot);
+            Files.createDirectories(tempRoot);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to initialize local storage in " + rootDirectory, ex);
+        }
+        log.info("[Storage] Local disk storage backend initialized in '{}'", rootDirectory);
+    }
+
+    @Override
+    public Optional<ObjectMetadata> statObject(String bucket, String path) throws IOException {
+        var objectFile = resolveObjectFile(bucket, path);
+
+        if (isDirectoryKey(path)) {
+            var markerFile = objectFile.resolve(DIRECTORY_MARKER_FILE);
+            if (!Files.isRegularFile(markerFile)) {
+                return Optional.empty();
+            }
+            return Optional.of(new ObjectMetadata(0, directoryEtag(markerFile), DEFAULT_CONTENT_TYPE, Map.of(),
+                    Files.getLastModifiedTime(markerFile).toInstant()));
+        }
+        if (!Files.isRegularFile(objectFile)) {
+            return Optional.empty();
+        }
+
+        var properties = readMetadata(bucket, path);
+        var userMetadata = new HashMap<String, String>();
+        for (var name : properties.stringPropertyNames()) {
+            if (name.startsWith(USER_METADATA_PROPERTY_PREFIX)) {
+                userMetadata.put(name.substring(USER_METADATA_PROPERTY_PREFIX.length()), properties.getProperty(name));
+            }
+        }
+
+        var etag = properties.getProperty(ETAG_PROPERTY);
+        if (etag == null) {
+            etag = contentEtag(objectFile);
+            writeMetadata(bucket, path, prepareMetadata(properties.getProperty(CONTENT_TYPE_PROPERTY), userMetadata, etag));
+        }
+
+        return Optional.of(new ObjectMetadata(
+                Files.size(objectFile),
+                etag,
+                properties.getProperty(CONTENT_TYPE_PROPERTY, DEFAULT_CONTENT_TYPE),
+                userMetadata,
+                Files.getLastModifiedTime(objectFile).toInstant()
+        ));
+    }
+
+    @Override
+    public List<String> listObjects(String bucket, String prefix, boolean recursive) throws IOException {
+        var bucketRoot = resolveBucketRoot(bucket);
+        var baseDirectoryKey = prefix.substring(0, prefix.lastIndexOf('/') + 1);
+        var baseDirectory = resolveObjectFile(bucket, baseDirectoryKey);
+        if (!Files.isDirectory(baseDirectory)) {
+            return List.of();
+        }
+
+        var objectPaths = new ArrayList<String>();
+        try (var files = recursive ? Files.walk(baseDirectory) : Files.list(baseDirectory)) {
+            files.filter(file -> !file.equals(baseDirectory))
+                    .filter(file -> !recursive || !Files.isDirectory(file) || hasDirectoryMarker(file))
+                    .map(file -> toObjectKey(bucketRoot, file))
+                    .filter(Objects::nonNull)
+                    .filter(objectKey -> objectKey.startsWith(prefix))
+                    .forEach(objectPaths::add);
+        }
+
+        if (!baseDirectoryKey.isEmpty() && baseDirectoryKey.startsWith(prefix) && hasDirectoryMarker(baseDirectory)) {
+            objectPaths.add(baseDirectoryKey);
+        }
+
+        objectPaths.sort(Comparator.naturalOrder());
+        return objectPaths;
+    }
+
+    @Override
+    public boolean prefixExists(String bucket, String prefix) throws IOException {
+        if (prefix.isEmpty() || isDirectoryKey(prefix)) {
+            return Files.isDirectory(resolveObjectFile(bucket, prefix));
+        }
+        return !listObjects(bucket, prefix, true).isEmpty();
+    }
+
+    @Override
+    public InputStream getObject(String bucket, String path) throws IOException {
+        return Files.newInputStream(resolveObjectFile(bucket, path));
+    }
+
+    @Override
+    public String putObject(String bucket,
+                            String path,
+                            InputStream content,
+                            long size,
+                            String contentType,
+                            Map<String, String> userMetadata) throws IOException {
+        var objectFile = resolveObjectFile(bucket, path);
+
+        if (isDirectoryKey(path)) {
+            return directoryEtag(writeDirectoryMarker(objectFile));
+        }
+
+        var tempFile = Files.createTempFile(tempRoot, "upload-", ".part");
+        Path metadataTempFile = null;
+        var digestingContent = new DigestInputStream(content, newEtagDigest());
+        try {
+            var writtenBytes = Files.copy(digestingContent, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            if (size >= 0 && writtenBytes != size) {
+                throw new IOException(String.format("Expected %d bytes for '%s' but received %d", size, path, writtenBytes));
+            }
+            var etag = HexFormat.of().formatHex(digestingContent.getMessageDigest().digest());
+            metadataTempFile = prepareMetadata(contentType, userMetadata, etag);
+            moveIntoPlace(tempFile, objectFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            writeMetadata(bucket, path, metadataTempFile);
+            return etag;
+        } finally {
+            Files.deleteIfExists(tempFile);
+            if (metadataTempFile != null) {
+                Files.deleteIfExists(metadataTempFile);
+            }
+        }
+    }
+
+    @Override
+    public void copyObject(String bucket, String sourcePath, String destinationPath) throws IOException {
+        var sourceFile = resolveObjectFile(bucket, sourcePath);
+        var destinationFile = resolveObjectFile(bucket, destinationPath);
+
+        if (isDirectoryKey(sourcePath)) {
+            writeDirectoryMarker(destinationFile);
+            return;
+        }
+
+        var tempFile = Files.createTempFile(tempRoot, "copy-", ".part");
+        try {
+            Files.copy(sourceFile, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(tempFile, destinationFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        var sourceMetadata = resolveMetadataFile(bucket, sourcePath);
+        var destinationMetadata = resolveMetadataFile(bucket, destinationPath);
+        if (!Files.exists(sourceMetadata)) {
+            Files.deleteIfExists(destinationMetadata);
+            return;
+        }
+        var metadataTempFile = Files.createTempFile(tempRoot, "metadata-", ".part");
+        try {
+            Files.copy(sourceMetadata, metadataTempFile, StandardCopyOption.REPLACE_EXISTING);
+            writeMetadata(bucket, destinationPath, metadataTempFile);
+        } finally {
+            Files.deleteIfExists(metadataTempFile);
+        }
+    }
+
+    @Override
+    public void removeObject(String bucket, String path) throws IOException {
+        var objectFile = resolveObjectFile(bucket, path);
+
+        if (isDirectoryKey(path)) {
+            Files.deleteIfExists(objectFile.resolve(DIRECTORY_MARKER_FILE));
+            pruneEmptyDirectories(resolveBucketRoot(bucket), objectFile);
+            pruneEmptyDirectories(resolveMetadataBucketRoot(bucket), resolveMetadataDirectory(bucket, path));
+            return;
+        }
+
+        var metadataFile = resolveMetadataFile(bucket, path);
+        Files.deleteIfExists(objectFile);
+        Files.deleteIfExists(metadataFile);
+        pruneEmptyDirectories(resolveBucketRoot(bucket), objectFile.getParent());
+        pruneEmptyDirectories(resolveMetadataBucketRoot(bucket), metadataFile.getParent());
+    }
+
+    @Override
+    public List<String> removeObjects(String bucket, List<String> paths) {
+        var deepestFirst = paths.stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toList();
+
+        var failedObjects = new ArrayList<String>();
+        for (var path : deepestFirst) {
+            try {
+                removeObject(bucket, path);
+            } catch (IOException | RuntimeException ex) {
+                log.warn("[Storage] Failed to remove '{}' from bucket='{}'. Reason: {}", path, bucket, ex.getMessage());
+                failedObjects.add(path);
+            }
+        }
+        return failedObjects;
+    }
+
+    @Override
+    public boolean supportsNativeRename() {
+        return true;
+    }
+
+    @Override
+    public void renameObject(String bucket, String sourcePath, String destinationPath) throws IOException {
+        var sourceFile = resolveObjectFile(bucket, sourcePath);
+        var destinationFile = resolveObjectFile(bucket, destinationPath);
+
+        moveIntoPlace(sourceFile, destinationFile, StandardCopyOption.ATOMIC_MOVE);
+        pruneEmptyDirectories(resolveBucketRoot(bucket), sourceFile.getParent());
+
+        var sourceMetadata = isDirectoryKey(sourcePath)
+                ? resolveMetadataDirectory(bucket, sourcePath)
+                : resolveMetadataFile(bucket, sourcePath);
+        if (Files.exists(sourceMetadata)) {
+            var destinationMetadata = isDirectoryKey(destinationPath)
+                    ? resolveMetadataDirectory(bucket, destinationPath)
+                    : resolveMetadataFile(bucket, destinationPath);
+            moveIntoPlace(sourceMetadata, destinationMetadata, StandardCopyOption.ATOMIC_MOVE);
+            pruneEmptyDirectories(resolveMetadataBucketRoot(bucket), sourceMetadata.getParent());
+        }
+    }
+
+    @Override
+    public Optional<Path> resolveLocalFile(String bucket, String path) {
+        if (isDirectoryKey(path)) {
+            return Optional.empty();
+        }
+        var objectFile = resolveObjectFile(bucket, path);
+        return Files.isRegularFile(objectFile) ? Optional.of(objectFile) : Optional.empty();
+    }
+
+    private Properties readMetadata(String bucket, String path) throws IOException {
+        var properties = new Properties();
+        try (var in = Files.newInputStream(resolveMetadataFile(bucket, path))) {
+            properties.load(in);
+        } catch (NoSuchFileException ex) {
+            return properties;
+        }
+        return properties;
+    }
+
+    private Path prepareMetadata(String contentType, Map<String, String> userMetadata, String etag) throws IOException {
+        var properties = new Properties();
+        properties.setProperty(ETAG_PROPERTY, etag);
+        if (contentType != null) {
+            properties.setProperty(CONTENT_TYPE_PROPERTY, contentType);
+        }
+        userMetadata.forEach((name, value) -> properties.setProperty(USER_METADATA_PROPERTY_PREFIX + name, value));
+
+        var tempFile = Files.createTempFile(tempRoot, "metadata-", ".part");
+        try (var out = Files.newOutputStream(tempFile)) {
+            properties.store(out, null);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tempFile);
+            throw ex;
+        }
+        return tempFile;
+    }
+
+    private void writeMetadata(String bucket, String path, Path metadataTempFile) throws IOException {
+        try {
+            moveIntoPlace(metadataTempFile, resolveMetadataFile(bucket, path),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(metadataTempFile);
+        }
+    }
+
+    private static Path writeDirectoryMarker(Path directory) throws IOException {
+        var markerFile = directory.resolve(DIRECTORY_MARKER_FILE);
+        for (var attempt = 1; ; attempt++) {
+            try {
+                Files.createDirectories(directory);
+                Files.createFile(markerFile);
+                return markerFile;
+            } catch (FileAlreadyExistsException ex) {
+                return markerFile;
+            } catch (NoSuchFileException ex) {
+                if (attempt >= MOVE_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target, CopyOption... options) throws IOException {
+        for (var attempt = 1; ; attempt++) {
+            try {
+                Files.createDirectories(target.getParent());
+                Files.move(source, target, options);
+                return;
+            } catch (NoSuchFileException ex) {
+                if (attempt >= MOVE_ATTEMPTS || !Files.exists(source)) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static void pruneEmptyDirectories(Path root, Path directory) throws IOException {
+        var current = directory;
+        while (current != null && current.startsWith(root) && !current.equals(root)) {
+            try {
+                Files.deleteIfExists(current);
+            } catch (DirectoryNotEmptyException ex) {
+                return;
+            }
+            current = current.getParent();
+        }
+    }
+
+    private static boolean hasDirectoryMarker(Path directory) {
+        return Files.isRegularFile(directory.resolve(DIRECTORY_MARKER_FILE));
+    }
+
+    private Path resolveBucketRoot(String bucket) {
+        return resolveWithin(objectsRoot, bucket);
+    }
+
+    private Path resolveMetadataBucketRoot(String bucket) {
+        return resolveWithin(metadataRoot, bucket);
+    }
+
+    private Path resolveObjectFile(String bucket, String path) {
+        return resolveWithin(resolveBucketRoot(bucket), encodeObjectKey(path));
+    }
+
+    private Path resolveMetadataFile(String bucket, String path) {
+        return resolveWithin(resolveMetadataBucketRoot(bucket), encodeObjectKey(path) + METADATA_FILE_SUFFIX);
+    }
+
+    private Path resolveMetadataDirectory(String bucket, String path) {
+        return resolveWithin(resolveMetadataBucketRoot(bucket), encodeObjectKey(path));
+    }
+
+    private static Path resolveWithin(Path root, String relativePath) {
+        var resolved = root.resolve(relativePath).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException(String.format("Path '%s' escapes the storage root", relativePath));
+        }
+        return resolved;
+    }
+
+    private static String encodeObjectKey(String path) {
+        if (path.isEmpty()) {
+            return path;
+        }
+        var directoryKey = isDirectoryKey(path);
+        var segments = (directoryKey ? path.substring(0, path.length() - 1) : path).split("/", -1);
+        var encoded = new StringJoiner("/");
+        for (var i = 0; i < segments.length; i++) {
+            if (segments[i].equals(".") || segments[i].equals("..")) {
+                throw new IllegalArgumentException(String.format("Path '%s' escapes the storage root", path));
+            }
+            var fileSegment = !directoryKey && i == segments.length - 1;
+            encoded.add(segments[i] + (fileSegment ? FILE_SEGMENT_SUFFIX : DIRECTORY_SEGMENT_SUFFIX));
+        }
+        return encoded.toString();
+    }
+
+    private static String toObjectKey(Path bucketRoot, Path file) {
+        var relative = bucketRoot.relativize(file);
+        var objectKey = new StringBuilder();
+        for (var i = 0; i < relative.getNameCount(); i++) {
+            var segment = relative.getName(i).toString();
+            if (segment.endsWith(DIRECTORY_SEGMENT_SUFFIX)) {
+                objectKey.append(segment, 0, segment.length() - DIRECTORY_SEGMENT_SUFFIX.length()).append('/');
+            } else if (segment.endsWith(FILE_SEGMENT_SUFFIX) && i == relative.getNameCount() - 1) {
+                objectKey.append(segment, 0, segment.length() - FILE_SEGMENT_SUFFIX.length());
+            } else {
+                return null;
+            }
+        }
+        return objectKey.toString();
+    }
+
+    private static String directoryEtag(Path markerFile) throws IOException {
+        var attributes = Files.readAttributes(markerFile, BasicFileAttributes.class);
+        return Long.toHexString(attributes.lastModifiedTime().toMillis()) + "-" + Long.toHexString(attributes.size());
+    }
+
+    private static String contentEtag(Path file) throws IOException {
+        var digest = newEtagDigest();
+        try (var content = new DigestInputStream(Files.newInputStream(file), digest)) {
+            content.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newEtagDigest() {
+        try {
+            return MessageDigest.getInstance(ETAG_DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 is not supported by the JVM", ex);
+        }
+    }
+
+    private static boolean isDirectoryKey(String path) {
+        return path.isEmpty() || path.endsWith("/");
+    }
+}
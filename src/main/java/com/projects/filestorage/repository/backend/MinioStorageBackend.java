@@ -0,0 +1,187 @@
+package com.projects.filestorage.repository.backend;
+
+import com.projects.filestorage.utils.MinioUtils;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.DeleteObject;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "minio", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MinioStorageBackend implements StorageBackend {
+
+    private static final String USER_METADATA_HEADER_PREFIX = "x-amz-meta-";
+    private static final long UNKNOWN_SIZE_PART_SIZE = 10L * 1024 * 1024;
+
+    private final MinioClient minioClient;
+
+    @Override
+    public Optional<ObjectMetadata> statObject(String bucket, String path) throws Exception {
+        try {
+            var statObjectResponse = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(path)
+                    .build());
+
+            return Optional.of(new ObjectMetadata(
+                    statObjectResponse.size(),
+                    statObjectResponse.etag(),
+                    statObjectResponse.contentType(),
+                    statObjectResponse.userMetadata(),
+                    statObjectResponse.lastModified().toInstant()
+            ));
+        } catch (ErrorResponseException ex) {
+            if (MinioUtils.isNoSuchKey(ex)) {
+                return Optional.empty();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public List<String> listObjects(String bucket, String prefix, boolean recursive) throws Exception {
+        var objectPaths = new ArrayList<String>();
+        forEachObject(bucket, prefix, recursive, objectPaths::add);
+        return objectPaths;
+    }
+
+    @Override
+    public void forEachObject(String bucket, String prefix, boolean recursive, ObjectPathConsumer consumer) throws Exception {
+        var listObjectsArgs = ListObjectsArgs.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .recursive(recursive);
+        if (!recursive) {
+            listObjectsArgs.delimiter("/");
+        }
+
+        for (var objectItem : minioClient.listObjects(listObjectsArgs.build())) {
+            consumer.accept(objectItem.get().objectName());
+        }
+    }
+
+    @Override
+    public List<String> listFirstObjects(String bucket, String prefix, int limit) throws Exception {
+        var objectPaths = new ArrayList<String>(limit);
+        var objectItems = minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .recursive(true)
+                .maxKeys(limit)
+                .build()).iterator();
+
+        while (objectPaths.size() < limit && objectItems.hasNext()) {
+            objectPaths.add(objectItems.next().get().objectName());
+        }
+        return objectPaths;
+    }
+
+    @Override
+    public boolean prefixExists(String bucket, String prefix) throws Exception {
+        return !listFirstObjects(bucket, prefix, 1).isEmpty();
+    }
+
+    @Override
+    public InputStream getObject(String bucket, String path) throws Exception {
+        return minioClient.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(path)
+                .build());
+    }
+
+    @Override
+    public StoredObject openObject(String bucket, String path) throws Exception {
+        var response = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(path)
+                .build());
+
+        var headers = response.headers();
+        var userMetadata = new HashMap<String, String>();
+        for (var name : headers.names()) {
+            var lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (lowerCaseName.startsWith(USER_METADATA_HEADER_PREFIX)) {
+                userMetadata.put(lowerCaseName.substring(USER_METADATA_HEADER_PREFIX.length()), headers.get(name));
+            }
+        }
+
+        var contentLength = headers.get("Content-Length");
+        return new StoredObject(response, contentLength != null ? Long.parseLong(contentLength) : -1, userMetadata);
+    }
+
+    @Override
+    public String putObject(String bucket,
+                            String path,
+                            InputStream content,
+                            long size,
+                            String contentType,
+                            Map<String, String> userMetadata) throws Exception {
+        var putObjectArgs = PutObjectArgs.builder()
+                .bucket(bucket)
+                .object(path)
+                .stream(content, size, size < 0 ? UNKNOWN_SIZE_PART_SIZE : -1)
+                .userMetadata(userMetadata);
+        if (contentType != null) {
+            putObjectArgs.contentType(contentType);
+        }
+
+        return minioClient.putObject(putObjectArgs.build()).etag();
+    }
+
+    @Override
+    public void copyObject(String bucket, String sourcePath, String destinationPath) throws Exception {
+        minioClient.copyObject(CopyObjectArgs.builder()
+                .bucket(bucket)
+                .object(destinationPath)
+                .source(CopySource.builder()
+                        .bucket(bucket)
+                        .object(sourcePath)
+                        .build())
+                .build());
+    }
+
+    @Override
+    public void removeObject(String bucket, String path) throws Exception {
+        minioClient.removeObject(RemoveObjectArgs.builder()
+                .bucket(bucket)
+                .object(path)
+                .build());
+    }
+
+    @Override
+    public List<String> removeObjects(String bucket, List<String> paths) throws Exception {
+        var objectsToDelete = paths.stream()
+                .map(DeleteObject::new)
+                .toList();
+
+        var deletionErrors = minioClient.removeObjects(RemoveObjectsArgs.builder()
+                .bucket(bucket)
+                .objects(objectsToDelete)
+                .build());
+
+        var failedObjects = new ArrayList<String>();
+        for (var errorResult : deletionErrors) {
+            failedObjects.add(errorResult.get().objectName());
+        }
+        return failedObjects;
+    }
+}
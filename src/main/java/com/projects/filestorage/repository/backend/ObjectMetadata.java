@@ -0,0 +1,11 @@
+package com.projects.filestorage.repository.backend;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record ObjectMetadata(long size,
+                             String etag,
+                             String contentType,
+                             Map<String, String> userMetadata,
+                             Instant lastModified) {
+}
@@ -0,0 +1,7 @@
+package com.projects.filestorage.repository.backend;
+
+@FunctionalInterface
+public interface ObjectPathConsumer {
+
+    void accept(String objectPath) throws Exception;
+}
@@ -0,0 +1,96 @@
+package com.projects.filestorage.repository.backend;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ShardRoutingStorageBackend implements StorageBackend {
+
+    private final Map<String, StorageBackend> backendsByBucket;
+    private final StorageBackend defaultBackend;
+
+    @Override
+    public Optional<ObjectMetadata> statObject(String bucket, String path) throws Exception {
+        return route(bucket).statObject(bucket, path);
+    }
+
+    @Override
+    public List<String> listObjects(String bucket, String prefix, boolean recursive) throws Exception {
+        return route(bucket).listObjects(bucket, prefix, recursive);
+    }
+
+    @Override
+    public void forEachObject(String bucket, String prefix, boolean recursive, ObjectPathConsumer consumer) throws Exception {
+        route(bucket).forEachObject(bucket, prefix, recursive, consumer);
+    }
+
+    @Override
+    public List<String> listFirstObjects(String bucket, String prefix, int limit) throws Exception {
+        return route(bucket).listFirstObjects(bucket, prefix, limit);
+    }
+
+    @Override
+    public boolean prefixExists(String bucket, String prefix) throws Exception {
+        return route(bucket).prefixExists(bucket, prefix);
+    }
+
+    @Override
+    public InputStream getObject(String bucket, String path) throws Exception {
+        return route(bucket).getObject(bucket, path);
+    }
+
+    @Override
+    public StoredObject openObject(String bucket, String path) throws Exception {
+        return route(bucket).openObject(bucket, path);
+    }
+
+    @Override
+    public String putObject(String bucket,
+                            String path,
+                            InputStream content,
+                            long size,
+                            String contentType,
+                            Map<String, String> userMetadata) throws Exception {
+        return route(bucket).putObject(bucket, path, content, size, contentType, userMetadata);
+    }
+
+    @Override
+    public void copyObject(String bucket, String sourcePath, String destinationPath) throws Exception {
+        route(bucket).copyObject(bucket, sourcePath, destinationPath);
+    }
+
+    @Override
+    public void removeObject(String bucket, String path) throws Exception {
+        route(bucket).removeObject(bucket, path);
+    }
+
+    @Override
+    public List<String> removeObjects(String bucket, List<String> paths) throws Exception {
+        return route(bucket).removeObjects(bucket, paths);
+    }
+
+    @Override
+    public boolean supportsNativeRename() {
+        return defaultBackend.supportsNativeRename()
+                && backendsByBucket.values().stream().allMatch(StorageBackend::supportsNativeRename);
+    }
+
+    @Override
+    public void renameObject(String bucket, String sourcePath, String destinationPath) throws Exception {
+        route(bucket).renameObject(bucket, sourcePath, destinationPath);
+    }
+
+    @Override
+    public Optional<Path> resolveLocalFile(String bucket, String path) {
+        return route(bucket).resolveLocalFile(bucket, path);
+    }
+
+    private StorageBackend route(String bucket) {
+        return backendsByBucket.getOrDefault(bucket, defaultBackend);
+    }
+}
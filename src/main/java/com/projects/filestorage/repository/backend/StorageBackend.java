@@ -0,0 +1,62 @@
+package com.projects.filestorage.repository.backend;
+
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface StorageBackend {
+
+    Optional<ObjectMetadata> statObject(String bucket, String path) throws Exception;
+
+    List<String> listObjects(String bucket, String prefix, boolean recursive) throws Exception;
+
+    default void forEachObject(String bucket, String prefix, boolean recursive, ObjectPathConsumer consumer) throws Exception {
+        for (var objectPath : listObjects(bucket, prefix, recursive)) {
+            consumer.accept(objectPath);
+        }
+    }
+
+    default List<String> listFirstObjects(String bucket, String prefix, int limit) throws Exception {
+        return listObjects(bucket, prefix, true).stream()
+                .limit(limit)
+                .toList();
+    }
+
+    boolean prefixExists(String bucket, String prefix) throws Exception;
+
+    InputStream getObject(String bucket, String path) throws Exception;
+
+    default StoredObject openObject(String bucket, String path) throws Exception {
+        var objectMetadata = statObject(bucket, path).orElseThrow(() -> new NoSuchFileException(path));
+        return new StoredObject(getObject(bucket, path), objectMetadata.size(), objectMetadata.userMetadata());
+    }
+
+    String putObject(String bucket,
+                     String path,
+                     InputStream content,
+                     long size,
+                     String contentType,
+                     Map<String, String> userMetadata) throws Exception;
+
+    void copyObject(String bucket, String sourcePath, String destinationPath) throws Exception;
+
+    void removeObject(String bucket, String path) throws Exception;
+
+    List<String> removeObjects(String bucket, List<String> paths) throws Exception;
+
+    default boolean supportsNativeRename() {
+        return false;
+    }
+
+    default void renameObject(String bucket, String sourcePath, String destinationPath) throws Exception {
+        copyObject(bucket, sourcePath, destinationPath);
+        removeObject(bucket, sourcePath);
+    }
+
+    default Optional<Path> resolveLocalFile(String bucket, String path) {
+        return Optional.empty();
+    }
+}
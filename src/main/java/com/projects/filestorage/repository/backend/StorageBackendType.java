@@ -0,0 +1,6 @@
+package com.projects.filestorage.repository.backend;
+
+public enum StorageBackendType {
+    MINIO,
+    LOCAL
+}
@@ -0,0 +1,9 @@
+package com.projects.filestorage.repository.backend;
+
+import java.io.InputStream;
+import java.util.Map;
+
+public record StoredObject(InputStream content,
+                           long size,
+                           Map<String, String> userMetadata) {
+}
@@ -0,0 +1,91 @@
+package com.projects.filestorage.repository.compression;
+
+import com.projects.filestorage.config.properties.CompressionProperties;
+import com.projects.filestorage.path.ResourcePath;
+import com.projects.filestorage.repository.backend.ObjectMetadata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+@Component
+@RequiredArgsConstructor
+public class ContentCompressor {
+
+    public static final String GZIP_ENCODING = "gzip";
+    public static final String ENCODING_METADATA = "stored-encoding";
+    public static final String ORIGINAL_SIZE_METADATA = "original-size";
+
+    private final CompressionProperties properties;
+
+    public boolean shouldCompress(String path, String contentType, long size) {
+        if (!properties.isEnabled() || size < properties.getMinSize().toBytes()) {
+            return false;
+        }
+
+        var name = ResourcePath.of(path).name();
+        var extensionIndex = name.lastIndexOf('.');
+        if (extensionIndex >= 0 && properties.getExtensions().contains(name.substring(extensionIndex + 1).toLowerCase(Locale.ROOT))) {
+            return true;
+        }
+        return isCompressibleContentType(contentType);
+    }
+
+    public InputStream compress(InputStream content) {
+        return new GzipCompressingInputStream(content, properties.getLevel());
+    }
+
+    public Map<String, String> storedMetadata(long originalSize) {
+        return Map.of(ENCODING_METADATA, GZIP_ENCODING, ORIGINAL_SIZE_METADATA, String.valueOf(originalSize));
+    }
+
+    public static boolean isCompressed(Map<String, String> userMetadata) {
+        return GZIP_ENCODING.equals(userMetadata.get(ENCODING_METADATA));
+    }
+
+    public static ObjectMetadata toLogicalMetadata(ObjectMetadata storedMetadata) {
+        var originalSize = storedMetadata.userMetadata().get(ORIGINAL_SIZE_METADATA);
+        if (!isCompressed(storedMetadata.userMetadata()) || originalSize == null) {
+            return storedMetadata;
+        }
+
+        return new ObjectMetadata(
+                Long.parseLong(originalSize),
+                storedMetadata.etag(),
+                storedMetadata.contentType(),
+                storedMetadata.userMetadata(),
+                storedMetadata.lastModified()
+        );
+    }
+
+    public static InputStream decode(InputStream content, Map<String, String> userMetadata) throws IOException {
+        if (!isCompressed(userMetadata)) {
+            return content;
+        }
+
+        try {
+            return new GZIPInputStream(content);
+        } catch (IOException ex) {
+            content.close();
+            throw ex;
+        }
+    }
+
+    private boolean isCompressibleContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+
+        try {
+            var mediaType = MediaType.parseMediaType(contentType);
+            return properties.getContentTypes().contains(mediaType.getType() + "/" + mediaType.getSubtype());
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
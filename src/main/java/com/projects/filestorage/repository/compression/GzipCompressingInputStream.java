@@ -0,0 +1,105 @@
+package com.projects.filestorage.repository.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+public class GzipCompressingInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final InputStream source;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] inputBuffer = new byte[BUFFER_SIZE];
+    private final byte[] outputBuffer = new byte[BUFFER_SIZE];
+    private final byte[] singleByte = new byte[1];
+
+    private byte[] pending = HEADER;
+    private int pendingOffset;
+    private int pendingLength = HEADER.length;
+    private boolean sourceExhausted;
+    private boolean trailerWritten;
+
+    public GzipCompressingInputStream(InputStream source, int level) {
+        this.source = source;
+        this.deflater = new Deflater(level, true);
+    }
+
+    @Override
+    public int read() throws IOException {
+        var read = read(singleByte, 0, 1);
+        return read < 0 ? -1 : singleByte[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+
+        while (pendingOffset == pendingLength) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+
+        var count = Math.min(length, pendingLength - pendingOffset);
+        System.arraycopy(pending, pendingOffset, buffer, offset, count);
+        pendingOffset += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        source.close();
+    }
+
+    private boolean fill() throws IOException {
+        if (deflater.finished()) {
+            if (trailerWritten) {
+                return false;
+            }
+            writeTrailer();
+            return true;
+        }
+
+        if (deflater.needsInput() && !sourceExhausted) {
+            var read = source.read(inputBuffer);
+            if (read < 0) {
+                sourceExhausted = true;
+                deflater.finish();
+            } else {
+                crc.update(inputBuffer, 0, read);
+                deflater.setInput(inputBuffer, 0, read);
+            }
+        }
+
+        pending = outputBuffer;
+        pendingOffset = 0;
+        pendingLength = deflater.deflate(outputBuffer);
+        return true;
+    }
+
+    private void writeTrailer() {
+        var trailer = new byte[8];
+        writeIntLittleEndian(trailer, 0, (int) crc.getValue());
+        writeIntLittleEndian(trailer, 4, (int) deflater.getBytesRead());
+
+        pending = trailer;
+        pendingOffset = 0;
+        pendingLength = trailer.length;
+        trailerWritten = true;
+    }
+
+    private static void writeIntLittleEndian(byte[] target, int offset, int value) {
+        for (int i = 0; i < 4; i++) {
+            target[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
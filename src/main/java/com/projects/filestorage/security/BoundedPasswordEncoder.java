@@ -0,0 +1,74 @@
+package com.projects.filestorage.security;
+
+import com.projects.filestorage.exception.CredentialHashingBusyException;
+import com.projects.filestorage.metrics.StorageMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@RequiredArgsConstructor
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AsyncTaskExecutor hashingExecutor;
+    private final Duration timeout;
+    private final StorageMetrics storageMetrics;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> hashing) {
+        var submittedNanos = System.nanoTime();
+        Future<T> future;
+        try {
+            future = hashingExecutor.submit(() -> {
+                storageMetrics.recordCredentialHashingQueueTime(System.nanoTime() - submittedNanos);
+                return hashing.call();
+            });
+        } catch (TaskRejectedException ex) {
+            log.warn("[Auth] Credential hashing queue is full");
+            storageMetrics.recordCredentialHashingRejected();
+            throw new CredentialHashingBusyException("Too many concurrent authentication requests, please retry later", ex);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            log.warn("[Auth] Credential hashing did not finish within {}", timeout);
+            storageMetrics.recordCredentialHashingRejected();
+            throw new CredentialHashingBusyException("Authentication is temporarily overloaded, please retry later", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CredentialHashingBusyException("Authentication was interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Credential hashing failed", ex.getCause());
+        }
+    }
+}
@@ -1,20 +1,25 @@
 package com.projects.filestorage.security;
 
 import com.projects.filestorage.domain.Role;
+import com.projects.filestorage.domain.User;
 import com.projects.filestorage.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class DefaultUserDetailsService implements UserDetailsService {
+public class DefaultUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -23,6 +28,22 @@ public class DefaultUserDetailsService implements UserDetailsService {
         var user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User %s not found".formatted(username)));
 
+        return toUserDetails(user);
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        var user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User %s not found".formatted(userDetails.getUsername())));
+
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        log.info("[Auth] Rehashed password for username={}", user.getUsername());
+        return toUserDetails(user);
+    }
+
+    public CustomUserDetails toUserDetails(User user) {
         var authorities = mapRolesToAuthority(user.getRoles());
         return CustomUserDetails.fromUser(user, authorities);
     }
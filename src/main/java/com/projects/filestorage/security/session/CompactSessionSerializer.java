@@ -0,0 +1,46 @@
+package com.projects.filestorage.security.session;
+
+import com.projects.filestorage.metrics.StorageMetrics;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+public class CompactSessionSerializer implements RedisSerializer<Object> {
+
+    private static final byte JDK_STREAM_MAGIC_HIGH = (byte) 0xAC;
+    private static final byte JDK_STREAM_MAGIC_LOW = (byte) 0xED;
+
+    private final RedisSerializer<Object> jsonSerializer;
+    private final RedisSerializer<Object> legacySerializer;
+    private final StorageMetrics storageMetrics;
+
+    public CompactSessionSerializer(RedisSerializer<Object> jsonSerializer, StorageMetrics storageMetrics) {
+        this.jsonSerializer = jsonSerializer;
+        this.legacySerializer = new JdkSerializationRedisSerializer();
+        this.storageMetrics = storageMetrics;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        var bytes = jsonSerializer.serialize(value);
+        if (bytes != null) {
+            storageMetrics.recordSessionAttributeBytes(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (isJdkSerialized(bytes)) {
+            return legacySerializer.deserialize(bytes);
+        }
+        return jsonSerializer.deserialize(bytes);
+    }
+
+    private static boolean isJdkSerialized(byte[] bytes) {
+        return bytes.length > 1 && bytes[0] == JDK_STREAM_MAGIC_HIGH && bytes[1] == JDK_STREAM_MAGIC_LOW;
+    }
+}
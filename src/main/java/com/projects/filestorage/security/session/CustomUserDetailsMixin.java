@@ -0,0 +1,25 @@
+package com.projects.filestorage.security.session;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY,
+        getterVisibility = JsonAutoDetect.Visibility.NONE,
+        isGetterVisibility = JsonAutoDetect.Visibility.NONE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public abstract class CustomUserDetailsMixin {
+
+    @JsonCreator
+    CustomUserDetailsMixin(@JsonProperty("id") Long id,
+                           @JsonProperty("username") String username,
+                           @JsonProperty("password") String password,
+                           @JsonProperty("authorities") Collection<? extends GrantedAuthority> authorities) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.projects.filestorage.security.session;
+
+import com.projects.filestorage.config.properties.SessionCacheProperties;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.service.cache.CacheInvalidationBus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+
+@Slf4j
+@RequiredArgsConstructor
+public class NearCacheSessionRepository implements SessionRepository<Session> {
+
+    private final SessionRepository<Session> delegate;
+    private final SessionNearCache nearCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final SessionCacheProperties properties;
+    private final StorageMetrics storageMetrics;
+
+    @Override
+    public Session createSession() {
+        return delegate.createSession();
+    }
+
+    @Override
+    public void save(Session session) {
+        if (session instanceof NearCachedSession nearCachedSession) {
+            saveNearCached(nearCachedSession);
+            return;
+        }
+
+        delegate.save(session);
+        nearCache.put(session, session.getLastAccessedTime());
+    }
+
+    @Override
+    public Session findById(String id) {
+        var cachedSession = nearCache.get(id);
+        if (cachedSession.isPresent()) {
+            storageMetrics.recordSessionCacheEvent("hit");
+            var entry = cachedSession.get();
+            return NearCachedSession.cached(new MapSession(entry.snapshot()),
+                    entry.persistedAccessTime(), delegate::findById);
+        }
+
+        storageMetrics.recordSessionCacheEvent("miss");
+        var session = delegate.findById(id);
+        if (session == null) {
+            return null;
+        }
+
+        nearCache.put(session, session.getLastAccessedTime());
+        return NearCachedSession.loaded(session);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        evictEverywhere(id);
+    }
+
+    private void saveNearCached(NearCachedSession session) {
+        if (!session.isMaterialized() && !isTouchDue(session)) {
+            return;
+        }
+
+        var target = session.materialize();
+        if (session.isLost()) {
+            log.debug("[Session] Session '{}' disappeared from the store before save", session.getOriginalId());
+            nearCache.evict(session.getOriginalId());
+            return;
+        }
+
+        delegate.save(target);
+        if (!target.getId().equals(session.getOriginalId())) {
+            evictEverywhere(session.getOriginalId());
+        } else if (session.isModified()) {
+            evictEverywhere(target.getId());
+        }
+        nearCache.put(target, target.getLastAccessedTime());
+    }
+
+    private boolean isTouchDue(NearCachedSession session) {
+        var sinceLastPersist = Duration.between(session.getPersistedAccessTime(), session.getLastAccessedTime());
+        return sinceLastPersist.compareTo(properties.getTouchInterval()) >= 0;
+    }
+
+    private void evictEverywhere(String sessionId) {
+        cacheInvalidationBus.invalidate(SessionNearCache.INVALIDATION_NAMESPACE, sessionId);
+    }
+}
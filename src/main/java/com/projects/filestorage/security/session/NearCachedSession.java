@@ -0,0 +1,141 @@
+package com.projects.filestorage.security.session;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.function.Function;
+
+final class NearCachedSession implements Session {
+
+    private final String originalId;
+    private final Instant persistedAccessTime;
+    private final Function<String, Session> loader;
+    private final MapSession snapshot;
+    private Session target;
+    private boolean lost;
+    private boolean modified;
+
+    private NearCachedSession(String originalId,
+                              Instant persistedAccessTime,
+                              Function<String, Session> loader,
+                              MapSession snapshot,
+                              Session target) {
+        this.originalId = originalId;
+        this.persistedAccessTime = persistedAccessTime;
+        this.loader = loader;
+        this.snapshot = snapshot;
+        this.target = target;
+    }
+
+    static NearCachedSession loaded(Session target) {
+        return new NearCachedSession(target.getId(), target.getLastAccessedTime(), null, null, target);
+    }
+
+    static NearCachedSession cached(MapSession snapshot, Instant persistedAccessTime, Function<String, Session> loader) {
+        return new NearCachedSession(snapshot.getId(), persistedAccessTime, loader, snapshot, null);
+    }
+
+    String getOriginalId() {
+        return originalId;
+    }
+
+    Instant getPersistedAccessTime() {
+        return persistedAccessTime;
+    }
+
+    boolean isMaterialized() {
+        return target != null;
+    }
+
+    boolean isLost() {
+        return lost;
+    }
+
+    boolean isModified() {
+        return modified;
+    }
+
+    Session materialize() {
+        if (target == null && !lost) {
+            var loaded = loader.apply(originalId);
+            if (loaded == null) {
+                lost = true;
+                return snapshot;
+            }
+            loaded.setLastAccessedTime(snapshot.getLastAccessedTime());
+            target = loaded;
+        }
+        return target != null ? target : snapshot;
+    }
+
+    private Session view() {
+        return target != null ? target : snapshot;
+    }
+
+    @Override
+    public String getId() {
+        return view().getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        modified = true;
+        return materialize().changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return view().getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return view().getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        modified = true;
+        materialize().setAttribute(attributeName, attributeValue);
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        modified = true;
+        materialize().removeAttribute(attributeName);
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return view().getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        view().setLastAccessedTime(lastAccessedTime);
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return view().getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        modified = true;
+        materialize().setMaxInactiveInterval(interval);
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return view().getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return view().isExpired();
+    }
+}
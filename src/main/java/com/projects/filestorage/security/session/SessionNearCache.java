@@ -0,0 +1,62 @@
+package com.projects.filestorage.security.session;
+
+import com.projects.filestorage.config.properties.SessionCacheProperties;
+import com.projects.filestorage.service.cache.CacheInvalidationListener;
+import com.projects.filestorage.service.cache.ExpiringCache;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+public class SessionNearCache implements CacheInvalidationListener {
+
+    public static final String INVALIDATION_NAMESPACE = "spring-session";
+
+    private final ExpiringCache<String, CachedSession> entries;
+
+    public SessionNearCache(SessionCacheProperties properties) {
+        this.entries = new ExpiringCache<>(properties::getTimeToLive, properties::getMaxEntries,
+                entry -> entry.snapshot().isExpired());
+    }
+
+    public Optional<CachedSession> get(String sessionId) {
+        return entries.get(sessionId);
+    }
+
+    public void put(Session session, Instant persistedAccessTime) {
+        entries.put(session.getId(), new CachedSession(new MapSession(session), persistedAccessTime));
+    }
+
+    public void evict(String sessionId) {
+        entries.remove(sessionId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void invalidate(String bucket, String key) {
+        if (INVALIDATION_NAMESPACE.equals(bucket)) {
+            evict(key);
+        }
+    }
+
+    @Override
+    public void invalidatePrefix(String bucket, String prefix) {
+        if (INVALIDATION_NAMESPACE.equals(bucket)) {
+            entries.removeIf(sessionId -> sessionId.startsWith(prefix));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public record CachedSession(MapSession snapshot, Instant persistedAccessTime) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.projects.filestorage.security.throttle;
+
+import com.projects.filestorage.config.properties.LoginThrottleProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ClientAddressResolver {
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientAddressResolver(LoginThrottleProperties properties) {
+        this.trustedProxies = properties.getTrustedProxies().stream()
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        var clientAddress = request.getRemoteAddr();
+        var forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null || !isTrustedProxy(clientAddress)) {
+            return clientAddress;
+        }
+
+        var hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0 && isTrustedProxy(clientAddress); i--) {
+            var hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            clientAddress = hop;
+        }
+
+        return clientAddress;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        try {
+            return trustedProxies.stream().anyMatch(matcher -> matcher.matches(address));
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.projects.filestorage.security.throttle;
+
+import com.projects.filestorage.config.properties.LoginThrottleProperties;
+import com.projects.filestorage.exception.LoginAttemptsExceededException;
+import com.projects.filestorage.metrics.StorageMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginThrottleManager {
+
+    private static final RedisScript<Long> ACQUIRE_ATTEMPT_SCRIPT = new DefaultRedisScript<>("""
+            local attempts = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if attempts >= tonumber(ARGV[2]) then
+                local ttl = redis.call('PTTL', KEYS[1])
+                if ttl < 0 then
+                    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+                    ttl = tonumber(ARGV[1])
+                end
+                return ttl
+            end
+            if redis.call('INCR', KEYS[1]) == 1 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_ATTEMPT_SCRIPT = new DefaultRedisScript<>("""
+            local attempts = redis.call('DECR', KEYS[1])
+            if attempts <= 0 then
+                redis.call('DEL', KEYS[1])
+            end
+            return attempts
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LoginThrottleProperties properties;
+    private final StorageMetrics storageMetrics;
+
+    public void admit(String username, String clientAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        var usernameKey = usernameKey(username);
+        acquireAttempt(usernameKey, properties.getMaxAttemptsPerUsername(), "username");
+        try {
+            acquireAttempt(addressKey(clientAddress), properties.getMaxAttemptsPerIp(), "ip");
+        } catch (LoginAttemptsExceededException ex) {
+            releaseAttempt(usernameKey);
+            throw ex;
+        }
+    }
+
+    public void release(String username, String clientAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        releaseAttempt(usernameKey(username));
+        releaseAttempt(addressKey(clientAddress));
+    }
+
+    public void recordSuccess(String username, String clientAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            redisTemplate.delete(usernameKey(username));
+        } catch (DataAccessException ex) {
+            log.warn("[Auth] Failed to reset sign-in attempts for username={}. Reason: {}", username, ex.getMessage());
+        }
+        releaseAttempt(addressKey(clientAddress));
+    }
+
+    private void acquireAttempt(String key, int maxAttempts, String scope) {
+        Long retryAfterMillis;
+        try {
+            retryAfterMillis = redisTemplate.execute(ACQUIRE_ATTEMPT_SCRIPT, List.of(key),
+                    String.valueOf(properties.getWindow().toMillis()), String.valueOf(maxAttempts));
+        } catch (DataAccessException ex) {
+            log.warn("[Auth] Sign-in throttle is unavailable, allowing the attempt. Reason: {}", ex.getMessage());
+            return;
+        }
+        if (retryAfterMillis == null || retryAfterMillis <= 0) {
+            return;
+        }
+
+        storageMetrics.recordLoginThrottled(scope);
+        var retryAfter = Duration.ofMillis(retryAfterMillis);
+        log.info("[Auth] Too many failed sign-in attempts per {}, retry after {}", scope, retryAfter);
+        throw new LoginAttemptsExceededException("Too many failed sign-in attempts, please retry later", retryAfter);
+    }
+
+    private void releaseAttempt(String key) {
+        try {
+            redisTemplate.execute(RELEASE_ATTEMPT_SCRIPT, List.of(key));
+        } catch (DataAccessException ex) {
+            log.warn("[Auth] Failed to release sign-in attempt for key={}. Reason: {}", key, ex.getMessage());
+        }
+    }
+
+    private String usernameKey(String username) {
+        return properties.getKeyPrefix() + "user:" + username;
+    }
+
+    private String addressKey(String clientAddress) {
+        return properties.getKeyPrefix() + "ip:" + clientAddress;
+    }
+}
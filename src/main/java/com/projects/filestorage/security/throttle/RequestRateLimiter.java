@@ -0,0 +1,70 @@
+package com.projects.filestorage.security.throttle;
+
+import com.projects.filestorage.config.properties.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestRateLimiter {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = tonumber(ARGV[2])
+            local cost = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'updated_at')
+            local tokens = tonumber(bucket[1]) or capacity
+            local updated_at = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - updated_at) * refill_per_ms)
+            local allowed = 0
+            local retry_after = 0
+            if tokens >= cost then
+                tokens = tokens - cost
+                allowed = 1
+            else
+                retry_after = math.ceil((cost - tokens) / refill_per_ms)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'updated_at', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms))
+            return {allowed, retry_after}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+
+    public RateLimitDecision tryConsume(Long userId, int cost) {
+        var refillPerMillis = properties.getRefillPerSecond() / 1000.0;
+        try {
+            var result = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(properties.getKeyPrefix() + userId),
+                    String.valueOf(properties.getCapacity()), String.valueOf(refillPerMillis), String.valueOf(cost));
+            if (result == null || result.size() < 2) {
+                return RateLimitDecision.ALLOWED;
+            }
+
+            var allowed = ((Number) result.get(0)).longValue() == 1;
+            var retryAfterMillis = ((Number) result.get(1)).longValue();
+            return allowed ? RateLimitDecision.ALLOWED : new RateLimitDecision(false, Duration.ofMillis(retryAfterMillis));
+        } catch (DataAccessException ex) {
+            log.warn("[RateLimit] Rate limiter is unavailable, allowing request for userId={}. Reason: {}",
+                    userId, ex.getMessage());
+            return RateLimitDecision.ALLOWED;
+        }
+    }
+
+    public record RateLimitDecision(boolean allowed, Duration retryAfter) {
+
+        static final RateLimitDecision ALLOWED = new RateLimitDecision(true, Duration.ZERO);
+    }
+}
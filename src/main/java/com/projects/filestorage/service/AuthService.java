@@ -1,8 +1,11 @@
 package com.projects.filestorage.service;
 
 import com.projects.filestorage.exception.UnauthenticatedAccessException;
+import com.projects.filestorage.security.DefaultUserDetailsService;
 import com.projects.filestorage.security.context.SecurityContextManager;
 import com.projects.filestorage.security.session.SessionManager;
+import com.projects.filestorage.security.throttle.ClientAddressResolver;
+import com.projects.filestorage.security.throttle.LoginThrottleManager;
 import com.projects.filestorage.web.dto.request.SignInRequestDto;
 import com.projects.filestorage.web.dto.request.SignUpRequestDto;
 import com.projects.filestorage.web.dto.response.SignInResponseDto;
@@ -12,9 +15,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -22,36 +25,45 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserService userService;
-    private final UserFileService userFileService;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final SessionManager sessionManager;
     private final SecurityContextManager securityContextManager;
+    private final DefaultUserDetailsService userDetailsService;
+    private final LoginThrottleManager loginThrottleManager;
+    private final ClientAddressResolver clientAddressResolver;
 
-    @Transactional
     public SignUpResponseDto signUp(SignUpRequestDto signUpRequestDto,
                                     HttpServletRequest request,
                                     HttpServletResponse response) {
         log.info("[Start] Sign-up for username={}", signUpRequestDto.username());
 
-        var user = userService.createUser(signUpRequestDto.username(),
-                passwordEncoder.encode(signUpRequestDto.password()));
+        var encodedPassword = passwordEncoder.encode(signUpRequestDto.password());
+        var user = userService.registerUser(signUpRequestDto.username(), encodedPassword);
 
-        userFileService.createUserRootDir(user.getId());
-
-        authenticateAndStartSession(signUpRequestDto.username(), signUpRequestDto.password(), request, response);
+        var authentication = securityContextManager.authenticated(userDetailsService.toUserDetails(user));
+        securityContextManager.setupSecurityContext(authentication, request, response);
 
         log.info("[Success] Signed up for username={}", signUpRequestDto.username());
         return userMapper.toSignInResponseDto(user);
     }
 
-    @Transactional(readOnly = true)
     public SignInResponseDto signIn(SignInRequestDto signInRequestDto,
                                     HttpServletRequest request,
                                     HttpServletResponse response) {
         log.info("[Start] Sign-in for username={}", signInRequestDto.username());
 
-        authenticateAndStartSession(signInRequestDto.username(), signInRequestDto.password(), request, response);
+        var clientAddress = clientAddressResolver.resolve(request);
+        loginThrottleManager.admit(signInRequestDto.username(), clientAddress);
+        try {
+            authenticateAndStartSession(signInRequestDto.username(), signInRequestDto.password(), request, response);
+        } catch (AuthenticationException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            loginThrottleManager.release(signInRequestDto.username(), clientAddress);
+            throw ex;
+        }
+        loginThrottleManager.recordSuccess(signInRequestDto.username(), clientAddress);
 
         log.info("[Success] Signed in for username={}", signInRequestDto.username());
         return new SignInResponseDto(signInRequestDto.username());
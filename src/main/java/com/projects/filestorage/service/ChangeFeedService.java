@@ -0,0 +1,92 @@
+package com.projects.filestorage.service;
+
+import com.projects.filestorage.config.properties.ChangeFeedProperties;
+import com.projects.filestorage.domain.ResourceChange;
+import com.projects.filestorage.domain.ResourceChangeType;
+import com.projects.filestorage.exception.InvalidChangeTokenException;
+import com.projects.filestorage.repository.ResourceChangeRepository;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import com.projects.filestorage.web.dto.response.ChangeFeedResponseDto;
+import com.projects.filestorage.web.mapper.ResourceChangeMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    private final ResourceChangeRepository resourceChangeRepository;
+    private final ResourceChangeMapper resourceChangeMapper;
+    private final ChangeFeedProperties changeFeedProperties;
+
+    @Transactional
+    public void recordCreated(Long userId, String relativePath, ResourceType resourceType, Long size) {
+        record(userId, ResourceChangeType.CREATED, resourceType, relativePath, null, size);
+    }
+
+    @Transactional
+    public void recordMoved(Long userId, String relativeSourcePath, String relativeDestinationPath, ResourceType resourceType) {
+        record(userId, ResourceChangeType.MOVED, resourceType, relativeDestinationPath, relativeSourcePath, null);
+    }
+
+    @Transactional
+    public void recordDeleted(Long userId, String relativePath, ResourceType resourceType) {
+        record(userId, ResourceChangeType.DELETED, resourceType, relativePath, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedResponseDto getChanges(Long userId, Long since, Integer pageSize) {
+        var sinceSequence = since == null ? 0L : since;
+        if (sinceSequence < 0) {
+            log.info("[Validate] Invalid change token '{}' for user id={}", since, userId);
+            throw new InvalidChangeTokenException(String.format("The change token '%d' is invalid", since));
+        }
+
+        var limit = resolvePageSize(pageSize);
+        var resourceChanges = resourceChangeRepository.findByUserIdAndSequenceGreaterThanOrderBySequenceAsc(
+                userId, sinceSequence, Limit.of(limit + 1)
+        );
+
+        var hasMore = resourceChanges.size() > limit;
+        var page = hasMore ? resourceChanges.subList(0, limit) : resourceChanges;
+        var nextToken = page.isEmpty() ? sinceSequence : page.get(page.size() - 1).getSequence();
+
+        return new ChangeFeedResponseDto(
+                page.stream().map(resourceChangeMapper::toDto).toList(),
+                nextToken,
+                hasMore
+        );
+    }
+
+    private void record(Long userId,
+                        ResourceChangeType changeType,
+                        ResourceType resourceType,
+                        String path,
+                        String previousPath,
+                        Long size) {
+        var sequence = resourceChangeRepository.allocateSequence(userId);
+
+        resourceChangeRepository.save(ResourceChange.builder()
+                .userId(userId)
+                .sequence(sequence)
+                .changeType(changeType)
+                .resourceType(resourceType)
+                .path(path)
+                .previousPath(previousPath)
+                .size(size)
+                .build());
+
+        log.debug("[Change] Recorded {} of '{}' for user id={} with sequence={}", changeType, path, userId, sequence);
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null || pageSize <= 0) {
+            return changeFeedProperties.getDefaultPageSize();
+        }
+        return Math.min(pageSize, changeFeedProperties.getMaxPageSize());
+    }
+}
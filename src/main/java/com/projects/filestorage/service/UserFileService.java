@@ -1,21 +1,36 @@
 package com.projects.filestorage.service;
 
-import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.exception.MinioAccessException;
+import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.path.ResourcePath;
 import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.service.dedup.ContentHashIndex;
 import com.projects.filestorage.service.handler.MinioResourceDispatcher;
+import com.projects.filestorage.service.preview.PreviewService;
+import com.projects.filestorage.service.directory.DirectoryMarkerMaintainer;
+import com.projects.filestorage.service.shard.ShardRouter;
+import com.projects.filestorage.service.trash.TrashService;
 import com.projects.filestorage.service.validator.ResourceBusinessValidator;
 import com.projects.filestorage.utils.MinioUtils;
 import com.projects.filestorage.web.dto.internal.CopyResourceDto;
+import com.projects.filestorage.web.dto.internal.PreviewDto;
 import com.projects.filestorage.web.dto.internal.ResourceContextDto;
 import com.projects.filestorage.web.dto.internal.ResourceDownloadDto;
+import com.projects.filestorage.web.dto.internal.ResourceInfoStream;
 import com.projects.filestorage.web.dto.internal.enums.ResourceLocationDto;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
 import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import com.projects.filestorage.web.dto.response.UploadNegotiationResponseDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Predicate;
 
 @Slf4j
 @Service
@@ -24,17 +39,26 @@ public class UserFileService {
 
     private final MinioRepository minioRepository;
     private final MinioResourceDispatcher minioResourceDispatcher;
-    private final MinioClientProperties minioClientProperties;
+    private final ShardRouter shardRouter;
+    private final TrashService trashService;
     private final ResourceBusinessValidator resourceValidator;
+    private final DirectoryMarkerMaintainer directoryMarkerMaintainer;
+    private final PreviewService previewService;
+    private final ChangeFeedService changeFeedService;
+    private final ContentHashIndex contentHashIndex;
+    private final StorageMetrics storageMetrics;
 
     public ResourceInfoResponseDto getResourceInfo(Long userId, String relativePath) {
+        trashService.validateVisible(userId, relativePath);
         var resourceContextDto = buildResourceContextDto(userId, relativePath);
         return minioResourceDispatcher.getResourceInfo(resourceContextDto);
     }
 
     public List<ResourceInfoResponseDto> getDirectoryInfo(Long userId, String relativeDirPath) {
+        var isHidden = trashService.hiddenPathMatcher(userId);
         var resourceLocationDto = buildResourceLocationDto(userId, relativeDirPath);
 
+        validateVisible(isHidden, relativeDirPath);
         resourceValidator.validateDirectoryExists(resourceLocationDto.bucket(), resourceLocationDto.absolutePath());
 
         var objectPaths = minioRepository.listDirectObjectPaths(
@@ -42,13 +66,15 @@ public class UserFileService {
         );
 
         return objectPaths.stream()
-                .map(absolutePath -> MinioUtils.getRelativePath(resourceLocationDto.rootDirectory(), absolutePath))
+                .map(absolutePath -> ResourcePath.fromAbsolute(resourceLocationDto.rootDirectory(), absolutePath))
+                .filter(relativePath -> !isHidden.test(relativePath.value()))
                 .map(relativePath -> buildResourceContextDto(userId, relativePath))
                 .map(minioResourceDispatcher::getResourceInfo)
                 .toList();
     }
 
     public List<ResourceInfoResponseDto> searchResources(Long userId, String relativeQuery) {
+        var isHidden = trashService.hiddenPathMatcher(userId);
         var resourceLocationDto = buildResourceLocationDto(userId, relativeQuery);
 
         var objectPaths = minioRepository.listRecursiveObjectPaths(
@@ -56,14 +82,52 @@ public class UserFileService {
         );
 
         return objectPaths.stream()
-                .map(absolutePath -> MinioUtils.getRelativePath(resourceLocationDto.rootDirectory(), absolutePath))
-                .filter(relativePath -> MinioUtils.fileNameMatchesQuery(relativePath, relativeQuery))
+                .map(absolutePath -> ResourcePath.fromAbsolute(resourceLocationDto.rootDirectory(), absolutePath))
+                .filter(relativePath -> relativePath.nameContainsIgnoreCase(relativeQuery))
+                .filter(relativePath -> !isHidden.test(relativePath.value()))
                 .map(relativePath -> buildResourceContextDto(userId, relativePath))
                 .map(minioResourceDispatcher::getResourceInfo)
                 .toList();
     }
 
+    public ResourceInfoStream streamDirectoryInfo(Long userId, String relativeDirPath) {
+        var isHidden = trashService.hiddenPathMatcher(userId);
+        var resourceLocationDto = buildResourceLocationDto(userId, relativeDirPath);
+
+        validateVisible(isHidden, relativeDirPath);
+        resourceValidator.validateDirectoryExists(resourceLocationDto.bucket(), resourceLocationDto.absolutePath());
+
+        return consumer -> minioRepository.forEachDirectObjectPath(
+                resourceLocationDto.bucket(),
+                resourceLocationDto.absolutePath(),
+                absolutePath -> {
+                    var relativePath = ResourcePath.fromAbsolute(resourceLocationDto.rootDirectory(), absolutePath);
+                    if (!isHidden.test(relativePath.value())) {
+                        consumer.accept(minioResourceDispatcher.getResourceInfo(buildResourceContextDto(userId, relativePath)));
+                    }
+                }
+        );
+    }
+
+    public ResourceInfoStream streamSearchResources(Long userId, String relativeQuery) {
+        var isHidden = trashService.hiddenPathMatcher(userId);
+        var resourceLocationDto = buildResourceLocationDto(userId, relativeQuery);
+
+        return consumer -> minioRepository.forEachRecursiveObjectPath(
+                resourceLocationDto.bucket(),
+                resourceLocationDto.rootDirectory(),
+                absolutePath -> {
+                    var relativePath = ResourcePath.fromAbsolute(resourceLocationDto.rootDirectory(), absolutePath);
+                    if (relativePath.nameContainsIgnoreCase(relativeQuery) && !isHidden.test(relativePath.value())) {
+                        consumer.accept(minioResourceDispatcher.getResourceInfo(buildResourceContextDto(userId, relativePath)));
+                    }
+                }
+        );
+    }
+
     public List<ResourceInfoResponseDto> createEmptyDirectory(Long userId, String relativePath) {
+        shardRouter.verifyWritable(userId);
+        trashService.validateVisible(userId, relativePath);
         var resourceLocationDto = buildResourceLocationDto(userId, relativePath);
 
         resourceValidator.validateDirectoryCreationPreconditions(
@@ -71,47 +135,139 @@ public class UserFileService {
         );
 
         minioRepository.putEmptyDirectory(resourceLocationDto.bucket(), resourceLocationDto.absolutePath());
+        directoryMarkerMaintainer.childAdded(resourceLocationDto.bucket(), parentPath(resourceLocationDto.absolutePath()));
+        changeFeedService.recordCreated(userId, relativePath, ResourceType.DIRECTORY, null);
 
         return getDirectoryInfo(userId, relativePath);
     }
 
-    public void createUserRootDir(Long userId) {
+    public void provisionUserRootDir(Long userId) {
+        shardRouter.verifyWritable(userId);
         var userRootPath = MinioUtils.buildUserRootPath(userId);
-
-        resourceValidator.validateDirectoryDoesNotExits(minioClientProperties.getBucketName(), userRootPath);
-
-        minioRepository.putEmptyDirectory(minioClientProperties.getBucketName(), userRootPath);
+        minioRepository.ensureDirectoryPlaceholder(shardRouter.resolveBucket(userId), userRootPath);
     }
 
     public ResourceInfoResponseDto moveResource(Long userId,
                                                 String relativeSourcePath,
                                                 String relativeDestinationPath) {
+        shardRouter.verifyWritable(userId);
+        trashService.validateVisible(userId, relativeSourcePath, relativeDestinationPath);
         var copyResourceDto = buildMoveResourceDto(userId, relativeSourcePath, relativeDestinationPath);
 
-        minioResourceDispatcher.copyResource(copyResourceDto);
-        deleteResource(userId, relativeSourcePath);
+        var bucket = copyResourceDto.sourceContext().bucket();
+        minioResourceDispatcher.moveResource(copyResourceDto);
+        contentHashIndex.forget(bucket, copyResourceDto.sourceContext().absolutePath());
+        if (copyResourceDto.sourceContext().resourceType() == ResourceType.DIRECTORY) {
+            directoryMarkerMaintainer.directoryRemoved(bucket, copyResourceDto.sourceContext().absolutePath());
+        }
+        directoryMarkerMaintainer.childRemoved(bucket, parentPath(copyResourceDto.sourceContext().absolutePath()));
+        directoryMarkerMaintainer.childAdded(bucket, parentPath(copyResourceDto.absoluteDestinationPath()));
+        previewService.discardPreviews(copyResourceDto.sourceContext().bucket(), copyResourceDto.sourceContext().absolutePath());
+        changeFeedService.recordMoved(
+                userId, relativeSourcePath, relativeDestinationPath, copyResourceDto.sourceContext().resourceType()
+        );
 
         return getResourceInfo(userId, relativeDestinationPath);
     }
 
     public ResourceDownloadDto downloadResource(Long userId, String relativePath) {
+        return downloadResource(userId, relativePath, false);
+    }
+
+    public ResourceDownloadDto downloadResource(Long userId, String relativePath, boolean acceptsGzip) {
+        trashService.validateVisible(userId, relativePath);
+        var resourceContextDto = buildResourceContextDto(userId, relativePath);
+        return minioResourceDispatcher.downloadResource(resourceContextDto, acceptsGzip);
+    }
+
+    public PreviewDto getPreview(Long userId, String relativePath) {
+        trashService.validateVisible(userId, relativePath);
         var resourceContextDto = buildResourceContextDto(userId, relativePath);
-        return minioResourceDispatcher.downloadResource(resourceContextDto);
+        return previewService.getPreview(resourceContextDto.bucket(), resourceContextDto.absolutePath());
     }
 
     public ResourceInfoResponseDto uploadResource(Long userId,
                                                   String relativeDirPath,
                                                   MultipartFile object) {
+        shardRouter.verifyWritable(userId);
+        var relativeFilePath = ResourcePath.of(relativeDirPath).resolve(object.getOriginalFilename());
+        trashService.validateVisible(userId, relativeDirPath, relativeFilePath.value());
         var directoryLocationDto = buildResourceLocationDto(userId, relativeDirPath);
-        var filePath = directoryLocationDto.absolutePath() + object.getOriginalFilename();
+        var filePath = relativeFilePath.toAbsolute(directoryLocationDto.rootDirectory());
 
         resourceValidator.validateFileDoesNotExits(directoryLocationDto.bucket(), filePath);
 
-        minioRepository.uploadResource(minioClientProperties.getBucketName(), filePath, object);
+        try (var content = contentHashIndex.hashing(object.getInputStream())) {
+            var etag = minioRepository.uploadStream(
+                    directoryLocationDto.bucket(), filePath, content, object.getSize(), object.getContentType()
+            );
+            contentHashIndex.record(userId, directoryLocationDto.bucket(), filePath, content, object.getSize(), etag);
+        } catch (IOException ex) {
+            log.error("[Failure] Unable to read uploaded file for bucket='{}', path='{}'. Reason: {}",
+                    directoryLocationDto.bucket(), filePath, ex.getMessage());
+            throw new MinioAccessException(String.format(
+                    "Unexpected error while loading resource on the path '%s'", relativeFilePath.value()));
+        }
+        directoryMarkerMaintainer.childAdded(directoryLocationDto.bucket(), parentPath(filePath));
+        previewService.schedulePreview(directoryLocationDto.bucket(), filePath);
+        changeFeedService.recordCreated(userId, relativeFilePath.value(), ResourceType.FILE, object.getSize());
+
+        return getResourceInfo(userId, relativeFilePath.value());
+    }
+
+    public ResourceInfoResponseDto uploadResourceStream(Long userId,
+                                                        String relativeFilePath,
+                                                        InputStream content,
+                                                        long contentLength,
+                                                        String contentType) {
+        shardRouter.verifyWritable(userId);
+        trashService.validateVisible(userId, relativeFilePath);
+        var fileLocationDto = buildResourceLocationDto(userId, relativeFilePath);
+
+        resourceValidator.validateFileDoesNotExits(fileLocationDto.bucket(), fileLocationDto.absolutePath());
+
+        var hashedContent = contentHashIndex.hashing(content);
+        var etag = minioRepository.uploadStream(
+                fileLocationDto.bucket(), fileLocationDto.absolutePath(), hashedContent, contentLength, contentType
+        );
+        contentHashIndex.record(
+                userId, fileLocationDto.bucket(), fileLocationDto.absolutePath(), hashedContent, contentLength, etag
+        );
+        directoryMarkerMaintainer.childAdded(fileLocationDto.bucket(), parentPath(fileLocationDto.absolutePath()));
+        previewService.schedulePreview(fileLocationDto.bucket(), fileLocationDto.absolutePath());
+        changeFeedService.recordCreated(userId, relativeFilePath, ResourceType.FILE, contentLength);
 
-        var relativePathToUploadedFile = MinioUtils.getRelativePath(directoryLocationDto.rootDirectory(), filePath);
+        return getResourceInfo(userId, relativeFilePath);
+    }
 
-        return getResourceInfo(userId, relativePathToUploadedFile);
+    public UploadNegotiationResponseDto negotiateUpload(Long userId, String relativeFilePath, long size, String sha256) {
+        shardRouter.verifyWritable(userId);
+        trashService.validateVisible(userId, relativeFilePath);
+        var fileLocationDto = buildResourceLocationDto(userId, relativeFilePath);
+
+        resourceValidator.validateFileDoesNotExits(fileLocationDto.bucket(), fileLocationDto.absolutePath());
+
+        var copySource = contentHashIndex.findCopySource(userId, fileLocationDto.bucket(), sha256, size);
+        if (copySource.isEmpty()) {
+            storageMetrics.recordUploadNegotiation("miss", "none");
+            return UploadNegotiationResponseDto.builder()
+                    .uploadRequired(true)
+                    .build();
+        }
+
+        minioRepository.copyResource(fileLocationDto.bucket(), copySource.get().getPath(), fileLocationDto.absolutePath());
+        contentHashIndex.recordCopy(userId, fileLocationDto.bucket(), fileLocationDto.absolutePath(), sha256, size);
+        directoryMarkerMaintainer.childAdded(fileLocationDto.bucket(), parentPath(fileLocationDto.absolutePath()));
+        previewService.schedulePreview(fileLocationDto.bucket(), fileLocationDto.absolutePath());
+        changeFeedService.recordCreated(userId, relativeFilePath, ResourceType.FILE, size);
+        storageMetrics.recordUploadNegotiation("hit", userId.equals(copySource.get().getUserId()) ? "user" : "global");
+        storageMetrics.recordUploadSkippedBytes(size);
+        log.info("[Dedup] Satisfied upload of '{}' for user id={} with a copy of existing content", relativeFilePath, userId);
+
+        return UploadNegotiationResponseDto.builder()
+                .uploadRequired(false)
+                .resource(getResourceInfo(userId, relativeFilePath))
+                .build();
     }
 
     public List<ResourceInfoResponseDto> uploadResources(Long userId,
@@ -123,21 +279,44 @@ public class UserFileService {
     }
 
     public void deleteResource(Long userId, String relativePath) {
+        shardRouter.verifyWritable(userId);
+        trashService.validateVisible(userId, relativePath);
         var resourceContextDto = buildResourceContextDto(userId, relativePath);
-        minioResourceDispatcher.deleteResource(resourceContextDto);
-        ensureDirectoryPlaceholder(resourceContextDto);
+        contentHashIndex.forget(resourceContextDto.bucket(), resourceContextDto.absolutePath());
+        if (trashService.isEnabled()) {
+            trashService.moveToTrash(userId, resourceContextDto);
+        } else {
+            minioResourceDispatcher.deleteResource(resourceContextDto);
+            if (resourceContextDto.resourceType() == ResourceType.DIRECTORY) {
+                directoryMarkerMaintainer.directoryRemoved(resourceContextDto.bucket(), resourceContextDto.absolutePath());
+            }
+            directoryMarkerMaintainer.childRemoved(resourceContextDto.bucket(), parentPath(resourceContextDto.absolutePath()));
+            previewService.discardPreviews(resourceContextDto.bucket(), resourceContextDto.absolutePath());
+        }
+        changeFeedService.recordDeleted(userId, resourceContextDto.relativePath().value(), resourceContextDto.resourceType());
     }
 
-    private void ensureDirectoryPlaceholder(ResourceContextDto resourceContextDto) {
-        var prefix = MinioUtils.extractParentPath(resourceContextDto.absolutePath());
-        minioRepository.ensureDirectoryPlaceholder(resourceContextDto.bucket(), prefix);
+    private String parentPath(String absolutePath) {
+        return ResourcePath.of(absolutePath).parentPath();
+    }
+
+    private void validateVisible(Predicate<String> isHidden, String relativePath) {
+        if (isHidden.test(relativePath)) {
+            throw new ResourceNotFoundException(String.format("The resource on the path '%s' was not found", relativePath));
+        }
     }
 
     private ResourceContextDto buildResourceContextDto(Long userId, String relativePath) {
+        return buildResourceContextDto(userId, ResourcePath.of(relativePath));
+    }
+
+    private ResourceContextDto buildResourceContextDto(Long userId, ResourcePath relativePath) {
         var userRootDirectory = MinioUtils.buildUserRootPath(userId);
-        var bucket = minioClientProperties.getBucketName();
-        var absolutePath = MinioUtils.getAbsolutePath(userRootDirectory, relativePath);
-        var resourceType = minioRepository.resolveResourceType(bucket, absolutePath);
+        var bucket = shardRouter.resolveBucket(userId);
+        var absolutePath = relativePath.toAbsolute(userRootDirectory);
+        var resourceType = directoryMarkerMaintainer.isPending(bucket, absolutePath)
+                ? ResourceType.DIRECTORY
+                : minioRepository.resolveResourceType(bucket, absolutePath);
 
         return ResourceContextDto.builder()
                 .bucket(bucket)
@@ -150,15 +329,15 @@ public class UserFileService {
     private CopyResourceDto buildMoveResourceDto(Long userId, String relativeSourcePath, String relativeDestinationPath) {
         var sourceContextDto = buildResourceContextDto(userId, relativeSourcePath);
         var userRootDirectory = MinioUtils.buildUserRootPath(userId);
-        var absoluteDestinationPath = MinioUtils.getAbsolutePath(userRootDirectory, relativeDestinationPath);
+        var absoluteDestinationPath = ResourcePath.of(relativeDestinationPath).toAbsolute(userRootDirectory);
 
         return new CopyResourceDto(sourceContextDto, absoluteDestinationPath);
     }
 
     private ResourceLocationDto buildResourceLocationDto(Long userId, String relativePath) {
         var userRootDirectory = MinioUtils.buildUserRootPath(userId);
-        var bucket = minioClientProperties.getBucketName();
-        var absolutePath = MinioUtils.getAbsolutePath(userRootDirectory, relativePath);
+        var bucket = shardRouter.resolveBucket(userId);
+        var absolutePath = ResourcePath.of(relativePath).toAbsolute(userRootDirectory);
 
         return new ResourceLocationDto(bucket, userRootDirectory, absolutePath);
     }
@@ -4,16 +4,20 @@ import com.projects.filestorage.domain.Role;
 import com.projects.filestorage.exception.UserRoleNotFoundException;
 import com.projects.filestorage.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class UserRoleService {
 
+    public static final String ROLES_CACHE = "roles";
+
     private final RoleRepository roleRepository;
 
     private static final String DEFAULT_ROLE_NAME = "ROLE_USER";
 
+    @Cacheable(cacheNames = ROLES_CACHE, key = "'" + DEFAULT_ROLE_NAME + "'")
     public Role getDefaultUserRole() {
         return roleRepository.findByName(DEFAULT_ROLE_NAME)
                 .orElseThrow(() -> new UserRoleNotFoundException(String.format("Role %s not found", DEFAULT_ROLE_NAME)));
@@ -1,8 +1,11 @@
 package com.projects.filestorage.service;
 
+import com.projects.filestorage.domain.OutboxEventType;
 import com.projects.filestorage.domain.User;
 import com.projects.filestorage.exception.UserAlreadyExistsException;
 import com.projects.filestorage.repository.UserRepository;
+import com.projects.filestorage.service.outbox.OutboxService;
+import com.projects.filestorage.service.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +16,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserRoleService roleService;
+    private final ShardRouter shardRouter;
+    private final OutboxService outboxService;
 
     @Transactional
     public User createUser(String username, String password) {
@@ -23,8 +28,16 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    @Transactional
+    public User registerUser(String username, String encodedPassword) {
+        var user = createUser(username, encodedPassword);
+        shardRouter.assignShard(user.getId());
+        outboxService.enqueue(OutboxEventType.USER_ROOT_DIRECTORY_REQUESTED, user.getId());
+        return user;
+    }
+
     private void validateUsernameUniqueness(String username) {
-        if (userRepository.findByUsername(username).isPresent()) {
+        if (userRepository.existsByUsername(username)) {
             throw new UserAlreadyExistsException(String.format("User with username %s already exists", username));
         }
     }
@@ -0,0 +1,45 @@
+package com.projects.filestorage.service.archive;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Component
+public class ZipArchiveWriter {
+
+    public long writeArchive(String rootPath,
+                             List<String> objectPaths,
+                             ObjectContentSource contentSource,
+                             OutputStream outputStream) throws IOException {
+        var archivedBytes = 0L;
+
+        try (var zipOutputStream = new ZipOutputStream(outputStream)) {
+            for (var absoluteObjectPath : objectPaths) {
+                var relativeObjectPath = absoluteObjectPath.substring(rootPath.length());
+
+                var zipEntry = new ZipEntry(relativeObjectPath);
+                zipEntry.setTime(System.currentTimeMillis());
+                zipOutputStream.putNextEntry(zipEntry);
+
+                try (var objectContent = contentSource.open(absoluteObjectPath)) {
+                    archivedBytes += objectContent.transferTo(zipOutputStream);
+                }
+                zipOutputStream.closeEntry();
+            }
+            zipOutputStream.finish();
+        }
+
+        return archivedBytes;
+    }
+
+    @FunctionalInterface
+    public interface ObjectContentSource {
+
+        InputStream open(String absoluteObjectPath) throws IOException;
+    }
+}
@@ -0,0 +1,169 @@
+package com.projects.filestorage.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.filestorage.config.properties.CacheInvalidationProperties;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.repository.ObjectChangePublisher;
+import com.projects.filestorage.service.cache.CacheInvalidationMessage.MessageType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class CacheInvalidationBus implements MessageListener, ObjectChangePublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationProperties properties;
+    private final StorageMetrics storageMetrics;
+    private final List<CacheInvalidationListener> listeners;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicBoolean subscribed = new AtomicBoolean(true);
+    private final AtomicBoolean publishFailed = new AtomicBoolean(false);
+    private volatile long lastMessageAtMillis = System.currentTimeMillis();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                ObjectMapper objectMapper,
+                                CacheInvalidationProperties properties,
+                                StorageMetrics storageMetrics,
+                                List<CacheInvalidationListener> listeners) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.storageMetrics = storageMetrics;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void invalidate(String bucket, String key) {
+        invalidate(bucket, List.of(key), List.of());
+    }
+
+    public void invalidatePrefix(String bucket, String prefix) {
+        invalidate(bucket, List.of(), List.of(prefix));
+    }
+
+    @Override
+    public void invalidate(String bucket, List<String> keys, List<String> prefixes) {
+        if (keys.isEmpty() && prefixes.isEmpty()) {
+            return;
+        }
+
+        var message = newMessage(MessageType.INVALIDATE, bucket, keys, prefixes);
+        dispatch(message);
+        publish(message);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidationMessage;
+        try {
+            invalidationMessage = objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+        } catch (Exception ex) {
+            log.warn("[Cache] Skipping malformed invalidation message. Reason: {}", ex.getMessage());
+            return;
+        }
+
+        var nowMillis = System.currentTimeMillis();
+        lastMessageAtMillis = nowMillis;
+        if (subscribed.compareAndSet(false, true)) {
+            log.info("[Cache] Invalidation channel is live again, flushing local caches");
+            flushLocalCaches("resubscribed");
+        }
+
+        if (nodeId.equals(invalidationMessage.nodeId())) {
+            return;
+        }
+
+        storageMetrics.recordCacheInvalidationLag(Math.max(0, nowMillis - invalidationMessage.publishedAtMillis()));
+        if (invalidationMessage.type() == MessageType.HEARTBEAT) {
+            return;
+        }
+
+        storageMetrics.recordCacheInvalidationEvent("received");
+        dispatch(invalidationMessage);
+    }
+
+    public void onSubscriptionError(Throwable error) {
+        log.warn("[Cache] Invalidation channel subscription failed. Reason: {}", error.getMessage());
+        markStale();
+    }
+
+    @Scheduled(fixedDelayString = "#{@cacheInvalidationProperties.heartbeatInterval.toMillis()}")
+    public void heartbeat() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        if (System.currentTimeMillis() - lastMessageAtMillis > properties.getStaleAfter().toMillis()) {
+            markStale();
+        }
+
+        publish(newMessage(MessageType.HEARTBEAT, null, List.of(), List.of()));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            send(message);
+            if (message.type() == MessageType.INVALIDATE) {
+                storageMetrics.recordCacheInvalidationEvent("published");
+            }
+            if (publishFailed.compareAndSet(true, false)) {
+                log.info("[Cache] Invalidation publishing recovered, asking peers to flush their caches");
+                send(newMessage(MessageType.FLUSH_ALL, null, List.of(), List.of()));
+            }
+        } catch (Exception ex) {
+            if (publishFailed.compareAndSet(false, true)) {
+                log.warn("[Cache] Failed to publish invalidation, peers will be flushed on recovery. Reason: {}",
+                        ex.getMessage());
+            }
+            storageMetrics.recordCacheInvalidationEvent("publish_failed");
+        }
+    }
+
+    private void send(CacheInvalidationMessage message) throws JsonProcessingException {
+        redisTemplate.convertAndSend(properties.getChannel(), objectMapper.writeValueAsString(message));
+    }
+
+    private void dispatch(CacheInvalidationMessage message) {
+        if (message.type() == MessageType.FLUSH_ALL) {
+            flushLocalCaches("peer_request");
+            return;
+        }
+
+        for (var listener : listeners) {
+            message.keys().forEach(key -> listener.invalidate(message.bucket(), key));
+            message.prefixes().forEach(prefix -> listener.invalidatePrefix(message.bucket(), prefix));
+        }
+    }
+
+    private void markStale() {
+        if (subscribed.compareAndSet(true, false)) {
+            log.warn("[Cache] No invalidation traffic for {}, flushing local caches", properties.getStaleAfter());
+            flushLocalCaches("stale");
+        }
+    }
+
+    private void flushLocalCaches(String reason) {
+        listeners.forEach(CacheInvalidationListener::invalidateAll);
+        storageMetrics.recordCacheInvalidationEvent("flush_" + reason);
+    }
+
+    private CacheInvalidationMessage newMessage(MessageType type, String bucket, List<String> keys, List<String> prefixes) {
+        return new CacheInvalidationMessage(nodeId, System.currentTimeMillis(), type, bucket, keys, prefixes);
+    }
+}
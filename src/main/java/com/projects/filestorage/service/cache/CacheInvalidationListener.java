@@ -0,0 +1,10 @@
+package com.projects.filestorage.service.cache;
+
+public interface CacheInvalidationListener {
+
+    void invalidate(String bucket, String key);
+
+    void invalidatePrefix(String bucket, String prefix);
+
+    void invalidateAll();
+}
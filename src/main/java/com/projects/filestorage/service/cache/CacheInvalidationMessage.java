@@ -0,0 +1,17 @@
+package com.projects.filestorage.service.cache;
+
+import java.util.List;
+
+public record CacheInvalidationMessage(String nodeId,
+                                       long publishedAtMillis,
+                                       MessageType type,
+                                       String bucket,
+                                       List<String> keys,
+                                       List<String> prefixes) {
+
+    public enum MessageType {
+        INVALIDATE,
+        FLUSH_ALL,
+        HEARTBEAT
+    }
+}
@@ -0,0 +1,387 @@
+package com.projects.filestorage.service.cache;
+
+import com.projects.filestorage.config.properties.DownloadCacheProperties;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.repository.backend.ObjectMetadata;
+import com.projects.filestorage.repository.compression.ContentCompressor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class DownloadCache implements CacheInvalidationListener {
+
+    private static final String CACHE_FILE_SUFFIX = ".bin";
+    private static final String FILL_FILE_SUFFIX = ".part";
+
+    private final DownloadCacheProperties properties;
+    private final StorageMetrics storageMetrics;
+
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ArrayDeque<PendingDeletion> pendingDeletions = new ArrayDeque<>();
+    private final ConcurrentHashMap<String, Integer> accessFrequencies = new ConcurrentHashMap<>();
+    private final Set<String> inFlightFills = ConcurrentHashMap.newKeySet();
+    private final AtomicLong fileSequence = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock agingLock = new ReentrantLock();
+    private long cachedBytes;
+
+    public DownloadCache(DownloadCacheProperties properties, StorageMetrics storageMetrics) {
+        this.properties = properties;
+        this.storageMetrics = storageMetrics;
+
+        if (properties.isEnabled()) {
+            resetCacheDirectory();
+            storageMetrics.registerDownloadCacheSize(this::getCachedBytes);
+            log.info("[Cache] Download cache enabled in '{}' with max size {}",
+                    properties.getDirectory().toAbsolutePath(), properties.getMaxSize());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Optional<Path> lookup(String bucket, String path, ObjectMetadata objectMetadata) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        var cacheKey = cacheKey(bucket, path, objectMetadata.etag());
+        CacheEntry entry;
+        lock.lock();
+        try {
+            entry = entries.get(cacheKey);
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry == null) {
+            storageMetrics.recordDownloadCacheEvent("miss");
+            return Optional.empty();
+        }
+
+        storageMetrics.recordDownloadCacheEvent("hit");
+        return Optional.of(entry.file());
+    }
+
+    public Optional<CacheFill> tryAdmit(String bucket, String path, ObjectMetadata objectMetadata) {
+        if (!isEnabled() || objectMetadata.size() > properties.getMaxObjectSize().toBytes()
+                || objectMetadata.size() > properties.getMaxSize().toBytes()) {
+            return Optional.empty();
+        }
+
+        var objectKey = bucket + "/" + path;
+        if (recordAccess(objectKey) < properties.getAdmissionThreshold()) {
+            return Optional.empty();
+        }
+
+        var cacheKey = cacheKey(bucket, path, objectMetadata.etag());
+        if (!inFlightFills.add(cacheKey)) {
+            return Optional.empty();
+        }
+
+        try {
+            var fillFile = properties.getDirectory().resolve(nextFileName(cacheKey) + FILL_FILE_SUFFIX);
+            storageMetrics.recordDownloadCacheEvent("admitted");
+            return Optional.of(new CacheFill(cacheKey, objectMetadata, fillFile));
+        } catch (RuntimeException ex) {
+            inFlightFills.remove(cacheKey);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void invalidate(String bucket, String key) {
+        removeEntries(bucket + "/" + key + "@");
+    }
+
+    @Override
+    public void invalidatePrefix(String bucket, String prefix) {
+        removeEntries(bucket + "/" + prefix);
+    }
+
+    @Override
+    public void invalidateAll() {
+        removeEntries("");
+    }
+
+    @Scheduled(fixedDelayString = "#{@downloadCacheProperties.deletionInterval.toMillis()}")
+    public void purgeExpiredDeletions() {
+        var expiredFiles = new ArrayList<Path>();
+        lock.lock();
+        try {
+            var now = System.nanoTime();
+            while (!pendingDeletions.isEmpty() && pendingDeletions.peekFirst().deadlineNanos() - now <= 0) {
+                expiredFiles.add(pendingDeletions.pollFirst().file());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        expiredFiles.forEach(DownloadCache::deleteQuietly);
+    }
+
+    public long getCachedBytes() {
+        lock.lock();
+        try {
+            return cachedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int recordAccess(String objectKey) {
+        if (accessFrequencies.size() >= properties.getMaxTrackedKeys()) {
+            ageFrequencies();
+        }
+        return accessFrequencies.merge(objectKey, 1, Integer::sum);
+    }
+
+    private void ageFrequencies() {
+        agingLock.lock();
+        try {
+            if (accessFrequencies.size() < properties.getMaxTrackedKeys()) {
+                return;
+            }
+            accessFrequencies.replaceAll((key, frequency) -> frequency / 2);
+            accessFrequencies.values().removeIf(frequency -> frequency == 0);
+        } finally {
+            agingLock.unlock();
+        }
+    }
+
+    private void publish(String cacheKey, Path fillFile, long size) throws IOException {
+        var cacheFile = fillFile.resolveSibling(fillFile.getFileName().toString().replace(FILL_FILE_SUFFIX, CACHE_FILE_SUFFIX));
+        Files.move(fillFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+
+        lock.lock();
+        try {
+            var replaced = entries.put(cacheKey, new CacheEntry(cacheFile, size));
+            cachedBytes += size;
+            if (replaced != null) {
+                cachedBytes -= replaced.size();
+                scheduleDeletion(replaced.file());
+            }
+
+            var iterator = entries.entrySet().iterator();
+            while (cachedBytes > properties.getMaxSize().toBytes() && iterator.hasNext()) {
+                var eldest = iterator.next();
+                if (eldest.getKey().equals(cacheKey)) {
+                    continue;
+                }
+                iterator.remove();
+                cachedBytes -= eldest.getValue().size();
+                scheduleDeletion(eldest.getValue().file());
+                storageMetrics.recordDownloadCacheEvent("evicted");
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        purgeExpiredDeletions();
+    }
+
+    private void removeEntries(String cacheKeyPrefix) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            var iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                var entry = iterator.next();
+                if (!entry.getKey().startsWith(cacheKeyPrefix)) {
+                    continue;
+                }
+                iterator.remove();
+                cachedBytes -= entry.getValue().size();
+                scheduleDeletion(entry.getValue().file());
+                storageMetrics.recordDownloadCacheEvent("invalidated");
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        purgeExpiredDeletions();
+    }
+
+    private void scheduleDeletion(Path file) {
+        pendingDeletions.addLast(new PendingDeletion(file, System.nanoTime() + properties.getEvictionGracePeriod().toNanos()));
+    }
+
+    private void resetCacheDirectory() {
+        var directory = properties.getDirectory();
+        try {
+            Files.createDirectories(directory);
+            try (var files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(CACHE_FILE_SUFFIX)
+                                || file.getFileName().toString().endsWith(FILL_FILE_SUFFIX))
+                        .forEach(DownloadCache::deleteQuietly);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to prepare download cache directory " + directory, ex);
+        }
+    }
+
+    private String nextFileName(String cacheKey) {
+        return sha256(cacheKey) + "-" + fileSequence.incrementAndGet();
+    }
+
+    private static String cacheKey(String bucket, String path, String etag) {
+        return bucket + "/" + path + "@" + etag;
+    }
+
+    private static boolean matchesContent(ObjectMetadata objectMetadata, String md5Hex) {
+        return ContentCompressor.isCompressed(objectMetadata.userMetadata()) || matchesEtag(objectMetadata.etag(), md5Hex);
+    }
+
+    private static boolean matchesEtag(String etag, String md5Hex) {
+        if (etag == null || etag.contains("-")) {
+            return true;
+        }
+        return etag.equalsIgnoreCase(md5Hex);
+    }
+
+    private static String sha256(String value) {
+        return HexFormat.of().formatHex(newDigest("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("[Cache] Failed to delete cache file '{}'. Reason: {}", file, ex.getMessage());
+        }
+    }
+
+    private record CacheEntry(Path file, long size) {
+    }
+
+    private record PendingDeletion(Path file, long deadlineNanos) {
+    }
+
+    public final class CacheFill implements AutoCloseable {
+
+        private final String cacheKey;
+        private final ObjectMetadata objectMetadata;
+        private final Path fillFile;
+        private DigestOutputStream fillStream;
+        private boolean failed;
+        private boolean finished;
+
+        private CacheFill(String cacheKey, ObjectMetadata objectMetadata, Path fillFile) {
+            this.cacheKey = cacheKey;
+            this.objectMetadata = objectMetadata;
+            this.fillFile = fillFile;
+        }
+
+        public OutputStream tee(OutputStream clientStream) {
+            try {
+                fillStream = new DigestOutputStream(Files.newOutputStream(fillFile), newDigest("MD5"));
+            } catch (IOException ex) {
+                log.warn("[Cache] Unable to open cache fill file '{}'. Reason: {}", fillFile, ex.getMessage());
+                failed = true;
+                return clientStream;
+            }
+
+            return new OutputStream() {
+                @Override
+                public void write(int value) throws IOException {
+                    clientStream.write(value);
+                    writeToFill(new byte[]{(byte) value}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] buffer, int offset, int length) throws IOException {
+                    clientStream.write(buffer, offset, length);
+                    writeToFill(buffer, offset, length);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    clientStream.flush();
+                }
+            };
+        }
+
+        public void complete(long transferredBytes) {
+            if (failed || fillStream == null) {
+                return;
+            }
+
+            try {
+                fillStream.close();
+                var md5Hex = HexFormat.of().formatHex(fillStream.getMessageDigest().digest());
+                if (transferredBytes != objectMetadata.size() || !matchesContent(objectMetadata, md5Hex)) {
+                    log.warn("[Cache] Verification failed for '{}': expected etag={} size={}, got md5={} size={}",
+                            cacheKey, objectMetadata.etag(), objectMetadata.size(), md5Hex, transferredBytes);
+                    storageMetrics.recordDownloadCacheEvent("verification_failed");
+                    return;
+                }
+
+                publish(cacheKey, fillFile, transferredBytes);
+                finished = true;
+            } catch (IOException ex) {
+                log.warn("[Cache] Failed to publish cache entry '{}'. Reason: {}", cacheKey, ex.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            inFlightFills.remove(cacheKey);
+            if (!finished) {
+                if (fillStream != null) {
+                    try {
+                        fillStream.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+                deleteQuietly(fillFile);
+            }
+        }
+
+        private void writeToFill(byte[] buffer, int offset, int length) {
+            if (failed) {
+                return;
+            }
+            try {
+                fillStream.write(buffer, offset, length);
+            } catch (IOException ex) {
+                log.warn("[Cache] Cache fill for '{}' failed, continuing without caching. Reason: {}",
+                        cacheKey, ex.getMessage());
+                failed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.projects.filestorage.service.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class ExpiringCache<K, V> {
+
+    private final Supplier<Duration> timeToLive;
+    private final IntSupplier maxEntries;
+    private final Predicate<V> expired;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public ExpiringCache(Supplier<Duration> timeToLive, IntSupplier maxEntries) {
+        this(timeToLive, maxEntries, value -> false);
+    }
+
+    public ExpiringCache(Supplier<Duration> timeToLive, IntSupplier maxEntries, Predicate<V> expired) {
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.expired = expired;
+    }
+
+    public Optional<V> get(K key) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        if (isStale(entry, System.nanoTime())) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        var nowNanos = System.nanoTime();
+        var entry = entries.get(key);
+        if (entry != null && !isStale(entry, nowNanos)) {
+            return entry.value();
+        }
+
+        var loaded = loader.get();
+        put(key, loaded, nowNanos);
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.nanoTime());
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void removeIf(Predicate<K> keyFilter) {
+        entries.keySet().removeIf(keyFilter);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(K key, V value, long loadedAtNanos) {
+        var limit = maxEntries.getAsInt();
+        if (entries.size() >= limit && !entries.containsKey(key)) {
+            var nowNanos = System.nanoTime();
+            entries.values().removeIf(entry -> isStale(entry, nowNanos));
+            if (entries.size() >= limit) {
+                return;
+            }
+        }
+
+        entries.put(key, new Entry<>(value, loadedAtNanos));
+    }
+
+    private boolean isStale(Entry<V> entry, long nowNanos) {
+        return nowNanos - entry.loadedAtNanos() > timeToLive.get().toNanos() || expired.test(entry.value());
+    }
+
+    private record Entry<V>(V value, long loadedAtNanos) {
+    }
+}
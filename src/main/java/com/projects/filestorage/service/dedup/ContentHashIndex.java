@@ -0,0 +1,122 @@
+package com.projects.filestorage.service.dedup;
+
+import com.projects.filestorage.config.properties.ContentDedupProperties;
+import com.projects.filestorage.domain.ContentHash;
+import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.repository.ContentHashRepository;
+import com.projects.filestorage.repository.MinioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentHashIndex {
+
+    private static final String SHA_256 = "SHA-256";
+
+    private final ContentHashRepository contentHashRepository;
+    private final ContentDedupProperties properties;
+    private final MinioRepository minioRepository;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public DigestInputStream hashing(InputStream content) {
+        var hashingContent = new DigestInputStream(content, newDigest());
+        hashingContent.on(isEnabled());
+        return hashingContent;
+    }
+
+    public void record(Long userId, String bucket, String path, DigestInputStream hashedContent, long size, String etag) {
+        if (!isEnabled() || etag == null) {
+            return;
+        }
+        upsert(userId, bucket, path, HexFormat.of().formatHex(hashedContent.getMessageDigest().digest()), size, etag);
+    }
+
+    public void recordCopy(Long userId, String bucket, String path, String sha256, long size) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            var etag = minioRepository.getObjectMetadata(bucket, path).etag();
+            upsert(userId, bucket, path, sha256, size, etag);
+        } catch (RuntimeException ex) {
+            log.warn("[Dedup] Failed to read metadata of copied content in bucket='{}', path='{}'. Reason: {}",
+                    bucket, path, ex.getMessage());
+        }
+    }
+
+    public Optional<ContentHash> findCopySource(Long userId, String bucket, String sha256, long size) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        var candidates = contentHashRepository.findCandidates(
+                userId, bucket, sha256.toLowerCase(Locale.ROOT), size, properties.isGlobal(), properties.getMaxCandidates());
+        for (var candidate : candidates) {
+            if (isIntact(candidate)) {
+                return Optional.of(candidate);
+            }
+
+            log.debug("[Dedup] Dropping stale content hash of bucket='{}', path='{}'", candidate.getBucket(), candidate.getPath());
+            contentHashRepository.delete(candidate);
+        }
+        return Optional.empty();
+    }
+
+    public void forget(String bucket, String path) {
+        if (!isEnabled()) {
+            return;
+        }
+        contentHashRepository.deleteByPathOrPrefix(bucket, path);
+    }
+
+    @Transactional
+    public void relocate(Long userId, String bucket) {
+        var moved = contentHashRepository.moveUserToBucket(userId, bucket);
+        var dropped = contentHashRepository.deleteUserOutsideBucket(userId, bucket);
+        log.debug("[Dedup] Moved {} content hashes of user id={} to bucket='{}', dropped {} conflicting ones",
+                moved, userId, bucket, dropped);
+    }
+
+    private void upsert(Long userId, String bucket, String path, String sha256, long size, String etag) {
+        try {
+            contentHashRepository.upsert(userId, bucket, path, sha256.toLowerCase(Locale.ROOT), size, etag);
+        } catch (RuntimeException ex) {
+            log.warn("[Dedup] Failed to index content hash of bucket='{}', path='{}'. Reason: {}",
+                    bucket, path, ex.getMessage());
+        }
+    }
+
+    private boolean isIntact(ContentHash candidate) {
+        try {
+            var objectMetadata = minioRepository.getObjectMetadata(candidate.getBucket(), candidate.getPath());
+            return objectMetadata.size() == candidate.getSize() && Objects.equals(objectMetadata.etag(), candidate.getEtag());
+        } catch (ResourceNotFoundException ex) {
+            return false;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", ex);
+        }
+    }
+}
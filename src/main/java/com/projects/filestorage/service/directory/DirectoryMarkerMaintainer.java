@@ -0,0 +1,150 @@
+package com.projects.filestorage.service.directory;
+
+import com.projects.filestorage.config.properties.DirectoryProperties;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.utils.MinioUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DirectoryMarkerMaintainer {
+
+    private final DirectoryProperties properties;
+    private final MinioRepository minioRepository;
+    private final StorageMetrics storageMetrics;
+
+    private final Map<String, Set<String>> pendingDirectories = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> removedDirectories = new ConcurrentHashMap<>();
+
+    public boolean isImplicit() {
+        return properties.getMode() == DirectoryMode.IMPLICIT;
+    }
+
+    public void childAdded(String bucket, String directoryPath) {
+        if (isImplicit()) {
+            schedule(bucket, directoryPath);
+        }
+    }
+
+    public void childRemoved(String bucket, String directoryPath) {
+        if (!isImplicit()) {
+            minioRepository.ensureDirectoryPlaceholder(bucket, directoryPath);
+            return;
+        }
+
+        clearRemoved(bucket, directoryPath);
+        try {
+            reconcile(bucket, directoryPath);
+        } catch (RuntimeException ex) {
+            schedule(bucket, directoryPath);
+            log.warn("[Directory] Failed to reconcile the marker of '{}' in bucket='{}', will retry. Reason: {}",
+                    directoryPath, bucket, ex.getMessage());
+        }
+    }
+
+    public void directoryRemoved(String bucket, String directoryPath) {
+        if (!isImplicit()) {
+            return;
+        }
+
+        removedDirectories.computeIfAbsent(bucket, key -> ConcurrentHashMap.newKeySet()).add(directoryPath);
+        var directories = pendingDirectories.get(bucket);
+        if (directories != null) {
+            directories.removeIf(pendingPath -> pendingPath.startsWith(directoryPath));
+        }
+
+        var strayMarkers = minioRepository.listRecursiveObjectPaths(bucket, directoryPath).stream()
+                .filter(MinioUtils::isPathDirectoryLike)
+                .toList();
+        if (!strayMarkers.isEmpty()) {
+            minioRepository.deleteResources(bucket, strayMarkers);
+            storageMetrics.recordDirectoryMarker("removed");
+            log.debug("[Directory] Removed {} markers left under the removed directory '{}' in bucket='{}'",
+                    strayMarkers.size(), directoryPath, bucket);
+        }
+    }
+
+    public boolean isPending(String bucket, String directoryPath) {
+        var directories = pendingDirectories.get(bucket);
+        return directories != null && directories.contains(directoryPath);
+    }
+
+    @Scheduled(fixedDelayString = "#{@directoryProperties.markerFlushInterval.toMillis()}")
+    @PreDestroy
+    public void flush() {
+        pendingDirectories.forEach((bucket, directories) -> {
+            var batch = new ArrayList<String>(Math.min(directories.size(), properties.getMarkerBatchSize()));
+            for (var directoryPath : directories) {
+                if (batch.size() >= properties.getMarkerBatchSize()) {
+                    break;
+                }
+                batch.add(directoryPath);
+            }
+
+            for (var directoryPath : batch) {
+                directories.remove(directoryPath);
+                try {
+                    reconcile(bucket, directoryPath);
+                } catch (RuntimeException ex) {
+                    directories.add(directoryPath);
+                    log.warn("[Directory] Failed to reconcile the marker of '{}' in bucket='{}', will retry. Reason: {}",
+                            directoryPath, bucket, ex.getMessage());
+                }
+            }
+        });
+        removedDirectories.clear();
+    }
+
+    private void schedule(String bucket, String directoryPath) {
+        clearRemoved(bucket, directoryPath);
+        pendingDirectories.computeIfAbsent(bucket, key -> ConcurrentHashMap.newKeySet()).add(directoryPath);
+    }
+
+    private void clearRemoved(String bucket, String directoryPath) {
+        var removed = removedDirectories.get(bucket);
+        if (removed != null) {
+            removed.removeIf(directoryPath::startsWith);
+        }
+    }
+
+    private void reconcile(String bucket, String directoryPath) {
+        var objectPaths = minioRepository.listFirstObjectPaths(bucket, directoryPath, 2);
+
+        if (objectPaths.isEmpty()) {
+            if (isRemoved(bucket, directoryPath)) {
+                return;
+            }
+            minioRepository.putEmptyDirectory(bucket, directoryPath);
+            if (isRemoved(bucket, directoryPath)) {
+                minioRepository.deleteResource(bucket, directoryPath);
+                return;
+            }
+            storageMetrics.recordDirectoryMarker("created");
+            log.debug("[Directory] Created a marker for the empty directory '{}' in bucket='{}'", directoryPath, bucket);
+        } else if (objectPaths.size() > 1 && objectPaths.contains(directoryPath) && !isUserRoot(directoryPath)) {
+            minioRepository.deleteResource(bucket, directoryPath);
+            storageMetrics.recordDirectoryMarker("removed");
+            log.debug("[Directory] Removed the marker of the non-empty directory '{}' in bucket='{}'", directoryPath, bucket);
+        }
+    }
+
+    private boolean isRemoved(String bucket, String directoryPath) {
+        var removed = removedDirectories.get(bucket);
+        return removed != null && removed.stream().anyMatch(directoryPath::startsWith);
+    }
+
+    private boolean isUserRoot(String directoryPath) {
+        return directoryPath.indexOf('/') == directoryPath.length() - 1;
+    }
+}
@@ -0,0 +1,6 @@
+package com.projects.filestorage.service.directory;
+
+public enum DirectoryMode {
+    MARKERS,
+    IMPLICIT
+}
@@ -27,14 +27,20 @@ public class MinioResourceDispatcher {
         minioResourceHandler.copyResource(copyResourceDto);
     }
 
+    public void moveResource(CopyResourceDto copyResourceDto) {
+        var sourceContextDto = copyResourceDto.sourceContext();
+        var minioResourceHandler = getMinioResourceHandlerOrElseThrow(sourceContextDto.resourceType());
+        minioResourceHandler.moveResource(copyResourceDto);
+    }
+
     public void deleteResource(ResourceContextDto resourceContextDto) {
         var minioResourceHandler = getMinioResourceHandlerOrElseThrow(resourceContextDto.resourceType());
         minioResourceHandler.deleteResource(resourceContextDto);
     }
 
-    public ResourceDownloadDto downloadResource(ResourceContextDto resourceContextDto) {
+    public ResourceDownloadDto downloadResource(ResourceContextDto resourceContextDto, boolean acceptsGzip) {
         var minioResourceHandler = getMinioResourceHandlerOrElseThrow(resourceContextDto.resourceType());
-        return minioResourceHandler.downloadResource(resourceContextDto);
+        return minioResourceHandler.downloadResource(resourceContextDto, acceptsGzip);
     }
 
     private MinioResourceHandler getMinioResourceHandlerOrElseThrow(ResourceType resourceType) {
@@ -14,7 +14,9 @@ public interface MinioResourceHandler {
 
     void copyResource(CopyResourceDto copyResourceDto);
 
+    void moveResource(CopyResourceDto copyResourceDto);
+
     void deleteResource(ResourceContextDto resourceContextDto);
 
-    ResourceDownloadDto downloadResource(ResourceContextDto resourceContextDto);
+    ResourceDownloadDto downloadResource(ResourceContextDto resourceContextDto, boolean acceptsGzip);
 }
@@ -1,10 +1,12 @@
 package com.projects.filestorage.service.handler.impl;
 
 import com.projects.filestorage.exception.MinioAccessException;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.path.ResourcePath;
 import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.service.archive.ZipArchiveWriter;
 import com.projects.filestorage.service.handler.MinioResourceHandler;
 import com.projects.filestorage.service.validator.ResourceBusinessValidator;
-import com.projects.filestorage.utils.MinioUtils;
 import com.projects.filestorage.web.dto.internal.CopyResourceDto;
 import com.projects.filestorage.web.dto.internal.ResourceContextDto;
 import com.projects.filestorage.web.dto.internal.ResourceDownloadDto;
@@ -14,14 +16,10 @@ import com.projects.filestorage.web.mapper.ResourceInfoMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.OutputStream;
-import java.nio.file.Paths;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 @Slf4j
 @Component
@@ -31,6 +29,8 @@ public class DirectoryResourceHandler implements MinioResourceHandler {
     private final MinioRepository minioRepository;
     private final ResourceInfoMapper resourceInfoMapper;
     private final ResourceBusinessValidator resourceValidator;
+    private final StorageMetrics storageMetrics;
+    private final ZipArchiveWriter zipArchiveWriter;
 
     @Override
     public ResourceType getSupportedType() {
@@ -41,8 +41,8 @@ public class DirectoryResourceHandler implements MinioResourceHandler {
     public ResourceInfoResponseDto getResourceInfo(ResourceContextDto resourceContextDto) {
         resourceValidator.validateDirectoryExists(resourceContextDto.bucket(), resourceContextDto.absolutePath());
 
-        var relativeParentPath = MinioUtils.extractParentPath(resourceContextDto.relativePath());
-        var resourceName = MinioUtils.extractResourceName(resourceContextDto.relativePath());
+        var relativeParentPath = resourceContextDto.relativePath().parentPath();
+        var resourceName = resourceContextDto.relativePath().name();
         var resourceType = resourceContextDto.resourceType();
         var size = 0L;
 
@@ -57,21 +57,28 @@ public class DirectoryResourceHandler implements MinioResourceHandler {
                 sourceContext.bucket(), sourceContext.absolutePath(), copyResourceDto.absoluteDestinationPath()
         );
 
-        var sourceObjectPaths = minioRepository.listRecursiveObjectPaths(
-                sourceContext.bucket(),
-                sourceContext.absolutePath()
-        );
+        copyObjects(copyResourceDto);
+    }
 
-        var destinationObjectPaths = sourceObjectPaths.stream()
-                .map(absoluteObjectPath -> absoluteObjectPath.substring(sourceContext.absolutePath().length()))
-                .map(relativeObjectPath -> copyResourceDto.absoluteDestinationPath() + relativeObjectPath)
-                .toList();
+    @Override
+    public void moveResource(CopyResourceDto copyResourceDto) {
+        var sourceContext = copyResourceDto.sourceContext();
 
-        for (int i = 0; i < sourceObjectPaths.size(); i++) {
-            var sourcePath = sourceObjectPaths.get(i);
-            var destinationPath = destinationObjectPaths.get(i);
-            minioRepository.copyResource(sourceContext.bucket(), sourcePath, destinationPath);
+        resourceValidator.validateDirectoryCopyPreconditions(
+                sourceContext.bucket(), sourceContext.absolutePath(), copyResourceDto.absoluteDestinationPath()
+        );
+
+        if (minioRepository.supportsNativeRename()) {
+            minioRepository.renameResource(
+                    sourceContext.bucket(),
+                    sourceContext.absolutePath(),
+                    copyResourceDto.absoluteDestinationPath()
+            );
+            return;
         }
+
+        copyObjects(copyResourceDto);
+        minioRepository.deleteResources(sourceContext.bucket(), sourceContext.absolutePath());
     }
 
     @Override
@@ -81,7 +88,7 @@ public class DirectoryResourceHandler implements MinioResourceHandler {
     }
 
     @Override
-    public ResourceDownloadDto downloadResource(ResourceContextDto resourceContextDto) {
+    public ResourceDownloadDto downloadResource(ResourceContextDto resourceContextDto, boolean acceptsGzip) {
         resourceValidator.validateDirectoryExists(resourceContextDto.bucket(), resourceContextDto.absolutePath());
 
         var objectPaths = minioRepository.listRecursiveObjectPaths(
@@ -89,7 +96,7 @@ public class DirectoryResourceHandler implements MinioResourceHandler {
                 resourceContextDto.absolutePath()
         );
 
-        var downloadedDirectoryName = Paths.get(resourceContextDto.absolutePath()).getFileName().toString() + ".zip";
+        var downloadedDirectoryName = ResourcePath.of(resourceContextDto.absolutePath()).baseName() + ".zip";
         StreamingResponseBody downloadedBody = outputStream -> createZipArchive(
                 resourceContextDto,
                 objectPaths,
@@ -104,25 +111,42 @@ public class DirectoryResourceHandler implements MinioResourceHandler {
 
     private void createZipArchive(ResourceContextDto resourceContextDto, List<String> objectPaths, OutputStream outputStream) {
         var absolutePathToDirectory = resourceContextDto.absolutePath();
-
-        try (var zipOutputStream = new ZipOutputStream(outputStream)) {
-            for (var absoluteObjectPath : objectPaths) {
-                var relativeObjectPath = absoluteObjectPath.substring(absolutePathToDirectory.length());
-
-                var zipEntry = new ZipEntry(relativeObjectPath);
-                zipEntry.setTime(System.currentTimeMillis());
-                zipOutputStream.putNextEntry(zipEntry);
-
-                var objectResponse = minioRepository.getObject(resourceContextDto.bucket(), absoluteObjectPath);
-
-                StreamUtils.copy(objectResponse, zipOutputStream);
-                zipOutputStream.closeEntry();
-            }
-            zipOutputStream.finish();
+        var startNanos = System.nanoTime();
+
+        try {
+            var archivedBytes = zipArchiveWriter.writeArchive(
+                    absolutePathToDirectory,
+                    objectPaths,
+                    objectPath -> minioRepository.getObject(resourceContextDto.bucket(), objectPath),
+                    outputStream
+            );
+
+            storageMetrics.recordDownloadedBytes(archivedBytes);
+            storageMetrics.recordZipArchive(System.nanoTime() - startNanos, archivedBytes, objectPaths.size());
         } catch (Exception ex) {
             log.error("[Failure] Unexpected error when download a directory on the path '{}'", absolutePathToDirectory, ex);
             throw new MinioAccessException(String.format(
                     "Unexpected error when download a directory on the path '%s'", resourceContextDto.absolutePath()));
         }
     }
-}
\ No newline at end of file
+
+    private void copyObjects(CopyResourceDto copyResourceDto) {
+        var sourceContext = copyResourceDto.sourceContext();
+
+        var sourceObjectPaths = minioRepository.listRecursiveObjectPaths(
+                sourceContext.bucket(),
+                sourceContext.absolutePath()
+        );
+
+        var destinationObjectPaths = sourceObjectPaths.stream()
+                .map(absoluteObjectPath -> absoluteObjectPath.substring(sourceContext.absolutePath().length()))
+                .map(relativeObjectPath -> copyResourceDto.absoluteDestinationPath() + relativeObjectPath)
+                .toList();
+
+        for (int i = 0; i < sourceObjectPaths.size(); i++) {
+            var sourcePath = sourceObjectPaths.get(i);
+            var destinationPath = destinationObjectPaths.get(i);
+            minioRepository.copyResource(sourceContext.bucket(), sourcePath, destinationPath);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.projects.filestorage.service.handler.impl;
 
+import com.projects.filestorage.exception.MinioAccessException;
+import com.projects.filestorage.metrics.StorageMetrics;
 import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.backend.ObjectMetadata;
+import com.projects.filestorage.repository.compression.ContentCompressor;
+import com.projects.filestorage.service.cache.DownloadCache;
 import com.projects.filestorage.service.handler.MinioResourceHandler;
 import com.projects.filestorage.service.validator.ResourceBusinessValidator;
-import com.projects.filestorage.utils.MinioUtils;
 import com.projects.filestorage.web.dto.internal.CopyResourceDto;
 import com.projects.filestorage.web.dto.internal.ResourceContextDto;
 import com.projects.filestorage.web.dto.internal.ResourceDownloadDto;
@@ -11,8 +15,17 @@ import com.projects.filestorage.web.dto.internal.enums.ResourceType;
 import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
 import com.projects.filestorage.web.mapper.ResourceInfoMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class FileResourceHandler implements MinioResourceHandler {
@@ -20,6 +33,8 @@ public class FileResourceHandler implements MinioResourceHandler {
     private final MinioRepository minioRepository;
     private final ResourceInfoMapper resourceInfoMapper;
     private final ResourceBusinessValidator resourceValidator;
+    private final StorageMetrics storageMetrics;
+    private final DownloadCache downloadCache;
 
     @Override
     public ResourceType getSupportedType() {
@@ -30,8 +45,8 @@ public class FileResourceHandler implements MinioResourceHandler {
     public ResourceInfoResponseDto getResourceInfo(ResourceContextDto resourceContextDto) {
         resourceValidator.validateFileExists(resourceContextDto.bucket(), resourceContextDto.absolutePath());
 
-        var relativeParentPath = MinioUtils.extractParentPath(resourceContextDto.relativePath());
-        var resourceName = MinioUtils.extractResourceName(resourceContextDto.relativePath());
+        var relativeParentPath = resourceContextDto.relativePath().parentPath();
+        var resourceName = resourceContextDto.relativePath().name();
         var size = minioRepository.getResourceSize(resourceContextDto.bucket(), resourceContextDto.absolutePath());
         var resourceType = resourceContextDto.resourceType();
 
@@ -53,6 +68,31 @@ public class FileResourceHandler implements MinioResourceHandler {
         );
     }
 
+    @Override
+    public void moveResource(CopyResourceDto copyResourceDto) {
+        var sourceContext = copyResourceDto.sourceContext();
+
+        resourceValidator.validateFileCopyPreconditions(
+                sourceContext.bucket(), sourceContext.absolutePath(), copyResourceDto.absoluteDestinationPath()
+        );
+
+        if (minioRepository.supportsNativeRename()) {
+            minioRepository.renameResource(
+                    sourceContext.bucket(),
+                    sourceContext.absolutePath(),
+                    copyResourceDto.absoluteDestinationPath()
+            );
+            return;
+        }
+
+        minioRepository.copyResource(
+                sourceContext.bucket(),
+                sourceContext.absolutePath(),
+                copyResourceDto.absoluteDestinationPath()
+        );
+        minioRepository.deleteResource(sourceContext.bucket(), sourceContext.absolutePath());
+    }
+
     @Override
     public void deleteResource(ResourceContextDto resourceContextDto) {
         resourceValidator.validateFileExists(resourceContextDto.bucket(), resourceContextDto.absolutePath());
@@ -60,15 +100,110 @@ public class FileResourceHandler implements MinioResourceHandler {
     }
 
     @Override
-    public ResourceDownloadDto downloadResource(ResourceContextDto resourceContextDto) {
-        resourceValidator.validateFileExists(resourceContextDto.bucket(), resourceContextDto.absolutePath());
+    public ResourceDownloadDto downloadResource(ResourceContextDto resourceContextDto, boolean acceptsGzip) {
+        var bucket = resourceContextDto.bucket();
+        var path = resourceContextDto.absolutePath();
+        var storedMetadata = minioRepository.getStoredObjectMetadata(bucket, path);
+        var compressed = ContentCompressor.isCompressed(storedMetadata.userMetadata());
+
+        var resourceName = resourceContextDto.relativePath().name();
+        if (compressed && acceptsGzip) {
+            return buildEncodedDownload(bucket, path, resourceName, storedMetadata);
+        }
+
+        var localFile = minioRepository.findLocalFile(bucket, path);
+        if (localFile.isPresent() && !compressed) {
+            return buildLocalFileDownload(resourceName, localFile.get(), null);
+        }
+
+        if (downloadCache.isEnabled()) {
+            return buildCachedDownload(bucket, path, resourceName, ContentCompressor.toLogicalMetadata(storedMetadata));
+        }
+
+        return ResourceDownloadDto.builder()
+                .fileName(resourceName)
+                .responseBody(outputStream -> {
+                    try (var object = minioRepository.getObject(bucket, path)) {
+                        var transferredBytes = object.transferTo(outputStream);
+                        storageMetrics.recordDownloadedBytes(transferredBytes);
+                    }
+                })
+                .build();
+    }
+
+    private ResourceDownloadDto buildEncodedDownload(String bucket,
+                                                     String path,
+                                                     String resourceName,
+                                                     ObjectMetadata storedMetadata) {
+        var localFile = minioRepository.findLocalFile(bucket, path);
+        if (localFile.isPresent()) {
+            return buildLocalFileDownload(resourceName, localFile.get(), ContentCompressor.GZIP_ENCODING);
+        }
+
+        return ResourceDownloadDto.builder()
+                .fileName(resourceName)
+                .contentLength(storedMetadata.size() >= 0 ? storedMetadata.size() : null)
+                .contentEncoding(ContentCompressor.GZIP_ENCODING)
+                .responseBody(outputStream -> {
+                    try (var object = minioRepository.getStoredObject(bucket, path).content()) {
+                        var transferredBytes = object.transferTo(outputStream);
+                        storageMetrics.recordDownloadedBytes(transferredBytes);
+                    }
+                })
+                .build();
+    }
+
+    private ResourceDownloadDto buildCachedDownload(String bucket,
+                                                    String path,
+                                                    String resourceName,
+                                                    ObjectMetadata objectMetadata) {
+        var cachedFile = downloadCache.lookup(bucket, path, objectMetadata);
+        if (cachedFile.isPresent()) {
+            return buildLocalFileDownload(resourceName, cachedFile.get(), null);
+        }
+
+        return ResourceDownloadDto.builder()
+                .fileName(resourceName)
+                .contentLength(objectMetadata.size())
+                .responseBody(outputStream -> {
+                    try (var object = minioRepository.getObject(bucket, path);
+                         var cacheFill = downloadCache.tryAdmit(bucket, path, objectMetadata).orElse(null)) {
+                        var target = cacheFill != null ? cacheFill.tee(outputStream) : outputStream;
+                        var transferredBytes = object.transferTo(target);
+                        storageMetrics.recordDownloadedBytes(transferredBytes);
+                        if (cacheFill != null) {
+                            cacheFill.complete(transferredBytes);
+                        }
+                    }
+                })
+                .build();
+    }
 
-        var object = minioRepository.getObject(resourceContextDto.bucket(), resourceContextDto.absolutePath());
-        var resourceName = MinioUtils.extractResourceName(resourceContextDto.absolutePath());
+    private ResourceDownloadDto buildLocalFileDownload(String resourceName, Path localFile, String contentEncoding) {
+        long size;
+        try {
+            size = Files.size(localFile);
+        } catch (IOException ex) {
+            log.error("[Failure] Unable to read size of local file '{}'. Reason: {}", localFile, ex.getMessage());
+            throw new MinioAccessException(String.format("Unexpected error when download a file '%s'", resourceName));
+        }
 
         return ResourceDownloadDto.builder()
                 .fileName(resourceName)
-                .responseBody(object::transferTo)
+                .localFile(localFile)
+                .contentLength(size)
+                .contentEncoding(contentEncoding)
+                .responseBody(outputStream -> {
+                    var position = 0L;
+                    try (var channel = FileChannel.open(localFile, StandardOpenOption.READ)) {
+                        var target = Channels.newChannel(outputStream);
+                        while (position < size) {
+                            position += channel.transferTo(position, size - position, target);
+                        }
+                    } finally {
+                        storageMetrics.recordDownloadedBytes(position);
+                    }
+                })
                 .build();
     }
-}
\ No newline at end of file
+}
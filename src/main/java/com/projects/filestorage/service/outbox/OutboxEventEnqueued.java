@@ -0,0 +1,6 @@
+package com.projects.filestorage.service.outbox;
+
+import com.projects.filestorage.domain.OutboxEventType;
+
+public record OutboxEventEnqueued(OutboxEventType eventType, Long aggregateId) {
+}
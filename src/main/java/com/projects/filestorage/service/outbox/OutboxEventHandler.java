@@ -0,0 +1,11 @@
+package com.projects.filestorage.service.outbox;
+
+import com.projects.filestorage.domain.OutboxEvent;
+import com.projects.filestorage.domain.OutboxEventType;
+
+public interface OutboxEventHandler {
+
+    OutboxEventType eventType();
+
+    void handle(OutboxEvent outboxEvent);
+}
@@ -0,0 +1,121 @@
+package com.projects.filestorage.service.outbox;
+
+import com.projects.filestorage.config.properties.OutboxProperties;
+import com.projects.filestorage.domain.OutboxEvent;
+import com.projects.filestorage.domain.OutboxEventType;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxProperties properties;
+    private final StorageMetrics storageMetrics;
+    private final ThreadPoolTaskExecutor outboxRelayExecutor;
+    private final Map<OutboxEventType, OutboxEventHandler> handlers = new EnumMap<>(OutboxEventType.class);
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxProperties properties,
+                       StorageMetrics storageMetrics,
+                       @Qualifier("outboxRelayExecutor") ThreadPoolTaskExecutor outboxRelayExecutor,
+                       List<OutboxEventHandler> handlers) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.properties = properties;
+        this.storageMetrics = storageMetrics;
+        this.outboxRelayExecutor = outboxRelayExecutor;
+        handlers.forEach(handler -> this.handlers.put(handler.eventType(), handler));
+    }
+
+    @TransactionalEventListener
+    public void onEventEnqueued(OutboxEventEnqueued outboxEventEnqueued) {
+        if (properties.isEnabled()) {
+            outboxRelayExecutor.execute(this::relay);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@outboxProperties.relayInterval.toMillis()}")
+    public void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            List<OutboxEvent> outboxEvents;
+            do {
+                outboxEvents = outboxEventRepository.claimDueEvents(
+                        properties.getBatchSize(), properties.getLease().toMillis() / 1000.0
+                );
+                outboxEvents.forEach(this::dispatch);
+            } while (outboxEvents.size() == properties.getBatchSize());
+        } catch (RuntimeException ex) {
+            log.warn("[Outbox] Failed to claim outbox events. Reason: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@outboxProperties.cleanupInterval.toMillis()}")
+    public void purgeProcessedEvents() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            var purged = outboxEventRepository.deleteProcessedBefore(Instant.now().minus(properties.getRetention()));
+            if (purged > 0) {
+                log.info("[Outbox] Purged {} processed outbox events", purged);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[Outbox] Failed to purge processed outbox events. Reason: {}", ex.getMessage());
+        }
+    }
+
+    private void dispatch(OutboxEvent outboxEvent) {
+        var handler = handlers.get(outboxEvent.getEventType());
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No handler registered for " + outboxEvent.getEventType());
+            }
+            handler.handle(outboxEvent);
+
+            outboxEventRepository.markProcessed(outboxEvent.getId(), Instant.now());
+            storageMetrics.recordOutboxEvent(outboxEvent.getEventType().name(), "processed");
+            storageMetrics.recordOutboxDelay(Duration.between(outboxEvent.getCreatedAt(), Instant.now()).toMillis());
+            log.debug("[Outbox] Processed {} for aggregate id={}", outboxEvent.getEventType(), outboxEvent.getAggregateId());
+        } catch (RuntimeException ex) {
+            var backoff = computeBackoff(outboxEvent.getAttempts());
+            outboxEventRepository.markFailed(outboxEvent.getId(), truncate(ex.getMessage()), Instant.now().plus(backoff));
+            storageMetrics.recordOutboxEvent(outboxEvent.getEventType().name(), "failed");
+            log.warn("[Outbox] Attempt {} of {} for aggregate id={} failed, retrying in {}. Reason: {}",
+                    outboxEvent.getAttempts(), outboxEvent.getEventType(), outboxEvent.getAggregateId(), backoff,
+                    ex.getMessage());
+        }
+    }
+
+    private Duration computeBackoff(int attempts) {
+        var exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        var backoff = properties.getInitialBackoff().multipliedBy(1L << exponent);
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
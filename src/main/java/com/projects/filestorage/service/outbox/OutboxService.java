@@ -0,0 +1,31 @@
+package com.projects.filestorage.service.outbox;
+
+import com.projects.filestorage.domain.OutboxEvent;
+import com.projects.filestorage.domain.OutboxEventType;
+import com.projects.filestorage.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEventType eventType, Long aggregateId) {
+        var outboxEvent = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .build());
+        applicationEventPublisher.publishEvent(new OutboxEventEnqueued(eventType, aggregateId));
+
+        log.debug("[Outbox] Enqueued {} for aggregate id={} as event id={}", eventType, aggregateId, outboxEvent.getId());
+    }
+}
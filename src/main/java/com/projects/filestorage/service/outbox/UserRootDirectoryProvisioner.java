@@ -0,0 +1,24 @@
+package com.projects.filestorage.service.outbox;
+
+import com.projects.filestorage.domain.OutboxEvent;
+import com.projects.filestorage.domain.OutboxEventType;
+import com.projects.filestorage.service.UserFileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserRootDirectoryProvisioner implements OutboxEventHandler {
+
+    private final UserFileService userFileService;
+
+    @Override
+    public OutboxEventType eventType() {
+        return OutboxEventType.USER_ROOT_DIRECTORY_REQUESTED;
+    }
+
+    @Override
+    public void handle(OutboxEvent outboxEvent) {
+        userFileService.provisionUserRootDir(outboxEvent.getAggregateId());
+    }
+}
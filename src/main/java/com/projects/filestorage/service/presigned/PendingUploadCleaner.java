@@ -0,0 +1,41 @@
+package com.projects.filestorage.service.presigned;
+
+import com.projects.filestorage.config.properties.PresignedTransferProperties;
+import com.projects.filestorage.repository.PendingUploadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "minio", matchIfMissing = true)
+@ConditionalOnProperty(prefix = "storage.presigned", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PendingUploadCleaner {
+
+    private final PendingUploadRepository pendingUploadRepository;
+    private final PresignedTransferService presignedTransferService;
+    private final PresignedTransferProperties properties;
+
+    @Scheduled(fixedDelayString = "#{@presignedTransferProperties.cleanupInterval.toMillis()}")
+    public void cleanup() {
+        try {
+            var expired = pendingUploadRepository.findExpired(properties.getCleanupBatchSize());
+            for (var pendingUpload : expired) {
+                try {
+                    presignedTransferService.discard(pendingUpload);
+                } catch (RuntimeException ex) {
+                    log.warn("[Presigned] Failed to discard expired upload id={}, will retry. Reason: {}",
+                            pendingUpload.getId(), ex.getMessage());
+                }
+            }
+            if (!expired.isEmpty()) {
+                log.info("[Presigned] Discarded {} expired uploads", expired.size());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[Presigned] Cleanup run failed. Reason: {}", ex.getMessage());
+        }
+    }
+}
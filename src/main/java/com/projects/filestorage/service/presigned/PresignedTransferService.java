@@ -0,0 +1,191 @@
+package com.projects.filestorage.service.presigned;
+
+import com.projects.filestorage.config.properties.PresignedTransferProperties;
+import com.projects.filestorage.domain.PendingUpload;
+import com.projects.filestorage.exception.InvalidMultipartFileException;
+import com.projects.filestorage.exception.PendingUploadIncompleteException;
+import com.projects.filestorage.exception.PendingUploadNotFoundException;
+import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.path.ResourcePath;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.PendingUploadRepository;
+import com.projects.filestorage.repository.compression.ContentCompressor;
+import com.projects.filestorage.service.ChangeFeedService;
+import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.service.directory.DirectoryMarkerMaintainer;
+import com.projects.filestorage.service.preview.PreviewService;
+import com.projects.filestorage.service.shard.ShardRouter;
+import com.projects.filestorage.service.trash.TrashService;
+import com.projects.filestorage.service.validator.ResourceBusinessValidator;
+import com.projects.filestorage.utils.MinioUtils;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import com.projects.filestorage.web.dto.response.PresignedDownloadResponseDto;
+import com.projects.filestorage.web.dto.response.PresignedUploadResponseDto;
+import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "minio", matchIfMissing = true)
+@ConditionalOnProperty(prefix = "storage.presigned", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PresignedTransferService {
+
+    private static final String RESPONSE_CONTENT_DISPOSITION = "response-content-disposition";
+    private static final String RESPONSE_CONTENT_ENCODING = "response-content-encoding";
+
+    private final PresignedTransferProperties properties;
+    private final PresignedUrlSigner presignedUrlSigner;
+    private final PendingUploadRepository pendingUploadRepository;
+    private final MinioRepository minioRepository;
+    private final UserFileService userFileService;
+    private final ShardRouter shardRouter;
+    private final TrashService trashService;
+    private final ResourceBusinessValidator resourceValidator;
+    private final DirectoryMarkerMaintainer directoryMarkerMaintainer;
+    private final PreviewService previewService;
+    private final ChangeFeedService changeFeedService;
+
+    @Transactional
+    public PresignedUploadResponseDto initiateUpload(Long userId, String relativeFilePath, long size) {
+        shardRouter.verifyWritable(userId);
+        trashService.validateVisible(userId, relativeFilePath);
+        var userRootDirectory = MinioUtils.buildUserRootPath(userId);
+        var bucket = shardRouter.resolveBucket(userId);
+        var absolutePath = ResourcePath.of(relativeFilePath).toAbsolute(userRootDirectory);
+
+        resourceValidator.validateFileDoesNotExits(bucket, absolutePath);
+
+        var pendingUpload = pendingUploadRepository.save(PendingUpload.builder()
+                .userId(userId)
+                .path(relativeFilePath)
+                .bucket(bucket)
+                .size(size)
+                .expiresAt(Instant.now().plus(uploadTimeToLive()))
+                .build());
+        pendingUpload.setStagingPath(properties.getStagingPrefix() + userRootDirectory + pendingUpload.getId());
+
+        var url = presignedUrlSigner.presignUpload(bucket, pendingUpload.getStagingPath(), properties.getUrlTimeToLive());
+        log.info("[Presigned] Started upload id={} of '{}' ({} bytes) for user id={}",
+                pendingUpload.getId(), relativeFilePath, size, userId);
+
+        return PresignedUploadResponseDto.builder()
+                .id(pendingUpload.getId())
+                .method(HttpMethod.PUT.name())
+                .url(url)
+                .expiresAt(Instant.now().plus(properties.getUrlTimeToLive()))
+                .build();
+    }
+
+    public ResourceInfoResponseDto completeUpload(Long userId, Long pendingUploadId) {
+        shardRouter.verifyWritable(userId);
+        var pendingUpload = claim(userId, pendingUploadId);
+
+        var bucket = pendingUpload.getBucket();
+        if (!bucket.equals(shardRouter.resolveBucket(userId))) {
+            deleteStagedContent(pendingUpload);
+            throw new PendingUploadIncompleteException(String.format(
+                    "The files were moved to another storage node during the upload with id '%d', start it again", pendingUploadId));
+        }
+
+        long stagedSize;
+        try {
+            stagedSize = minioRepository.getObjectMetadata(bucket, pendingUpload.getStagingPath()).size();
+        } catch (ResourceNotFoundException ex) {
+            pendingUploadRepository.release(pendingUploadId);
+            throw new PendingUploadIncompleteException(String.format(
+                    "No content has been uploaded for the pending upload with id '%d'", pendingUploadId));
+        } catch (RuntimeException ex) {
+            pendingUploadRepository.release(pendingUploadId);
+            throw ex;
+        }
+        if (stagedSize != pendingUpload.getSize()) {
+            deleteStagedContent(pendingUpload);
+            throw new InvalidMultipartFileException(String.format(
+                    "Uploaded size (%d bytes) does not match the declared size (%d bytes)", stagedSize, pendingUpload.getSize()));
+        }
+
+        var relativeFilePath = pendingUpload.getPath();
+        var absolutePath = ResourcePath.of(relativeFilePath).toAbsolute(MinioUtils.buildUserRootPath(userId));
+        try {
+            trashService.validateVisible(userId, relativeFilePath);
+            resourceValidator.validateFileDoesNotExits(bucket, absolutePath);
+            minioRepository.copyResource(bucket, pendingUpload.getStagingPath(), absolutePath);
+        } catch (RuntimeException ex) {
+            pendingUploadRepository.release(pendingUploadId);
+            throw ex;
+        }
+
+        deleteStagedContent(pendingUpload);
+        directoryMarkerMaintainer.childAdded(bucket, ResourcePath.of(absolutePath).parentPath());
+        previewService.schedulePreview(bucket, absolutePath);
+        changeFeedService.recordCreated(userId, relativeFilePath, ResourceType.FILE, stagedSize);
+        log.info("[Presigned] Completed upload id={} of '{}' for user id={}", pendingUploadId, relativeFilePath, userId);
+
+        return userFileService.getResourceInfo(userId, relativeFilePath);
+    }
+
+    public PresignedDownloadResponseDto presignDownload(Long userId, String relativeFilePath) {
+        trashService.validateVisible(userId, relativeFilePath);
+        var bucket = shardRouter.resolveBucket(userId);
+        var absolutePath = ResourcePath.of(relativeFilePath).toAbsolute(MinioUtils.buildUserRootPath(userId));
+
+        resourceValidator.validateFileExists(bucket, absolutePath);
+        var objectMetadata = minioRepository.getObjectMetadata(bucket, absolutePath);
+
+        var responseOverrides = new HashMap<String, String>();
+        responseOverrides.put(RESPONSE_CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(MinioUtils.extractResourceName(absolutePath), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        if (ContentCompressor.isCompressed(objectMetadata.userMetadata())) {
+            responseOverrides.put(RESPONSE_CONTENT_ENCODING, ContentCompressor.GZIP_ENCODING);
+        }
+
+        return PresignedDownloadResponseDto.builder()
+                .url(presignedUrlSigner.presignDownload(bucket, absolutePath, properties.getUrlTimeToLive(), responseOverrides))
+                .expiresAt(Instant.now().plus(properties.getUrlTimeToLive()))
+                .build();
+    }
+
+    private PendingUpload claim(Long userId, Long pendingUploadId) {
+        if (pendingUploadRepository.claim(pendingUploadId, userId) == 0) {
+            throw new PendingUploadNotFoundException(
+                    String.format("The pending upload with id '%d' was not found", pendingUploadId));
+        }
+        return pendingUploadRepository.findById(pendingUploadId).orElseThrow(() -> new PendingUploadNotFoundException(
+                String.format("The pending upload with id '%d' was not found", pendingUploadId)));
+    }
+
+    private void deleteStagedContent(PendingUpload pendingUpload) {
+        try {
+            minioRepository.deleteResource(pendingUpload.getBucket(), pendingUpload.getStagingPath());
+        } catch (RuntimeException ex) {
+            log.warn("[Presigned] Failed to delete staged content of upload id={}, the cleanup will retry. Reason: {}",
+                    pendingUpload.getId(), ex.getMessage());
+        }
+    }
+
+    private Duration uploadTimeToLive() {
+        var uploadTimeToLive = properties.getUploadTimeToLive();
+        return uploadTimeToLive.compareTo(properties.getUrlTimeToLive()) < 0 ? properties.getUrlTimeToLive() : uploadTimeToLive;
+    }
+
+    public void discard(PendingUpload pendingUpload) {
+        if (pendingUpload.getStagingPath() != null) {
+            minioRepository.deleteResource(pendingUpload.getBucket(), pendingUpload.getStagingPath());
+        }
+        pendingUploadRepository.delete(pendingUpload);
+    }
+}
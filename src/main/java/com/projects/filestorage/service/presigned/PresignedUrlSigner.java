@@ -0,0 +1,80 @@
+package com.projects.filestorage.service.presigned;
+
+import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.config.properties.PresignedTransferProperties;
+import com.projects.filestorage.exception.MinioAccessException;
+import com.projects.filestorage.service.shard.ShardRegistry;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioClient;
+import io.minio.http.Method;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "backend", havingValue = "minio", matchIfMissing = true)
+public class PresignedUrlSigner {
+
+    private final Map<String, MinioClient> clientsByBucket = new HashMap<>();
+
+    public PresignedUrlSigner(ShardRegistry shardRegistry,
+                              MinioClientProperties minioClientProperties,
+                              PresignedTransferProperties properties) {
+        for (var shard : shardRegistry.shards()) {
+            var publicEndpoint = resolveEndpoint(shard.getPublicEndpoint(), properties.getPublicEndpoint());
+            var client = shard.getEndpoint() == null
+                    ? buildClient(resolveEndpoint(publicEndpoint, minioClientProperties.getEndpoint()),
+                    minioClientProperties.getAccessKey(), minioClientProperties.getSecretKey(), properties.getRegion())
+                    : buildClient(resolveEndpoint(publicEndpoint, shard.getEndpoint()),
+                    shard.getAccessKey(), shard.getSecretKey(), properties.getRegion());
+            clientsByBucket.put(shard.getBucket(), client);
+        }
+    }
+
+    public String presignUpload(String bucket, String path, Duration timeToLive) {
+        return presign(Method.PUT, bucket, path, timeToLive, Map.of());
+    }
+
+    public String presignDownload(String bucket, String path, Duration timeToLive, Map<String, String> responseOverrides) {
+        return presign(Method.GET, bucket, path, timeToLive, responseOverrides);
+    }
+
+    private String presign(Method method, String bucket, String path, Duration timeToLive, Map<String, String> queryParams) {
+        var client = clientsByBucket.get(bucket);
+        if (client == null) {
+            throw new IllegalStateException(String.format("No storage shard is configured for bucket '%s'", bucket));
+        }
+
+        try {
+            return client.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(method)
+                    .bucket(bucket)
+                    .object(path)
+                    .expiry((int) timeToLive.toSeconds(), TimeUnit.SECONDS)
+                    .extraQueryParams(queryParams)
+                    .build());
+        } catch (Exception ex) {
+            log.error("[Failure] Unexpected error while signing {} url for bucket='{}', path='{}'. Reason: {}",
+                    method, bucket, path, ex.getMessage());
+            throw new MinioAccessException(String.format("Unexpected error while signing url for the path '%s'", path));
+        }
+    }
+
+    private static String resolveEndpoint(String publicEndpoint, String endpoint) {
+        return publicEndpoint == null || publicEndpoint.isBlank() ? endpoint : publicEndpoint;
+    }
+
+    private static MinioClient buildClient(String endpoint, String accessKey, String secretKey, String region) {
+        return MinioClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .region(region)
+                .build();
+    }
+}
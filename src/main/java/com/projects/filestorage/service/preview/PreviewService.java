@@ -0,0 +1,199 @@
+package com.projects.filestorage.service.preview;
+
+import com.projects.filestorage.config.properties.PreviewProperties;
+import com.projects.filestorage.exception.PreviewGenerationBusyException;
+import com.projects.filestorage.exception.PreviewNotAvailableException;
+import com.projects.filestorage.path.ResourcePath;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.backend.ObjectMetadata;
+import com.projects.filestorage.web.dto.internal.PreviewDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+public class PreviewService {
+
+    private final MinioRepository minioRepository;
+    private final PreviewProperties previewProperties;
+    private final ThreadPoolTaskExecutor previewExecutor;
+    private final ConcurrentHashMap<String, CompletableFuture<byte[]>> inFlightGenerations = new ConcurrentHashMap<>();
+
+    public PreviewService(MinioRepository minioRepository,
+                          PreviewProperties previewProperties,
+                          @Qualifier("previewExecutor") ThreadPoolTaskExecutor previewExecutor) {
+        this.minioRepository = minioRepository;
+        this.previewProperties = previewProperties;
+        this.previewExecutor = previewExecutor;
+    }
+
+    public boolean isPreviewable(String path) {
+        if (!previewProperties.isEnabled()) {
+            return false;
+        }
+
+        var name = ResourcePath.of(path).name();
+        var extensionIndex = name.lastIndexOf('.');
+        if (extensionIndex < 0) {
+            return false;
+        }
+
+        var extension = name.substring(extensionIndex + 1).toLowerCase(Locale.ROOT);
+        return previewProperties.getSupportedExtensions().contains(extension);
+    }
+
+    public PreviewDto getPreview(String bucket, String path) {
+        if (!isPreviewable(path)) {
+            throw new PreviewNotAvailableException(String.format("Preview is not available for '%s'", path));
+        }
+
+        var sourceMetadata = minioRepository.getObjectMetadata(bucket, path);
+        var previewPath = buildPreviewPath(path, sourceMetadata.etag());
+
+        if (minioRepository.isFileExists(bucket, previewPath)) {
+            try (var preview = minioRepository.getObject(bucket, previewPath)) {
+                return new PreviewDto(preview.readAllBytes(), sourceMetadata.etag());
+            } catch (IOException ex) {
+                log.warn("[Preview] Failed to read stored preview '{}', regenerating. Reason: {}", previewPath, ex.getMessage());
+            }
+        }
+
+        return new PreviewDto(awaitGeneration(bucket, path, sourceMetadata, previewPath), sourceMetadata.etag());
+    }
+
+    public void schedulePreview(String bucket, String path) {
+        if (!isPreviewable(path)) {
+            return;
+        }
+
+        try {
+            var sourceMetadata = minioRepository.getObjectMetadata(bucket, path);
+            startGeneration(bucket, path, sourceMetadata, buildPreviewPath(path, sourceMetadata.etag()))
+                    .exceptionally(ex -> {
+                        log.debug("[Preview] Preview for '{}' was not generated eagerly. Reason: {}", path, ex.getMessage());
+                        return null;
+                    });
+        } catch (RuntimeException ex) {
+            log.warn("[Preview] Failed to schedule preview for '{}'. Reason: {}", path, ex.getMessage());
+        }
+    }
+
+    public void discardPreviews(String bucket, String path) {
+        if (!previewProperties.isEnabled()) {
+            return;
+        }
+
+        var previewPrefix = previewProperties.getKeyPrefix() + (path.endsWith("/") ? path : path + "/");
+        try {
+            var previewPaths = minioRepository.listRecursiveObjectPaths(bucket, previewPrefix);
+            if (!previewPaths.isEmpty()) {
+                minioRepository.deleteResources(bucket, previewPaths);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[Preview] Failed to discard previews under '{}'. Reason: {}", previewPrefix, ex.getMessage());
+        }
+    }
+
+    private byte[] awaitGeneration(String bucket, String path, ObjectMetadata sourceMetadata, String previewPath) {
+        var generation = startGeneration(bucket, path, sourceMetadata, previewPath);
+        try {
+            return generation.get(previewProperties.getGenerationTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PreviewGenerationBusyException(
+                    String.format("Preview generation for '%s' was interrupted", path), ex);
+        } catch (TimeoutException ex) {
+            throw new PreviewGenerationBusyException(
+                    String.format("Preview generation for '%s' is still in progress", path), ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof TaskRejectedException) {
+                throw new PreviewGenerationBusyException(
+                        String.format("Preview generation queue is full, try '%s' later", path), ex.getCause());
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(ex.getCause());
+        }
+    }
+
+    private CompletableFuture<byte[]> startGeneration(String bucket,
+                                                      String path,
+                                                      ObjectMetadata sourceMetadata,
+                                                      String previewPath) {
+        var created = new CompletableFuture<byte[]>();
+        var existing = inFlightGenerations.putIfAbsent(previewPath, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        created.whenComplete((content, ex) -> inFlightGenerations.remove(previewPath, created));
+        try {
+            previewExecutor.execute(() -> {
+                try {
+                    created.complete(generate(bucket, path, sourceMetadata, previewPath));
+                } catch (Throwable ex) {
+                    created.completeExceptionally(ex);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            created.completeExceptionally(ex);
+        }
+        return created;
+    }
+
+    private byte[] generate(String bucket, String path, ObjectMetadata sourceMetadata, String previewPath) {
+        if (sourceMetadata.size() > previewProperties.getMaxSourceSize().toBytes()) {
+            throw new PreviewNotAvailableException(String.format("The file '%s' is too large for a preview", path));
+        }
+
+        if (minioRepository.isFileExists(bucket, previewPath)) {
+            try (var preview = minioRepository.getObject(bucket, previewPath)) {
+                return preview.readAllBytes();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        var startNanos = System.nanoTime();
+        var thumbnail = render(minioRepository.getObject(bucket, path))
+                .orElseThrow(() -> new PreviewNotAvailableException(
+                        String.format("The file '%s' is not a supported image", path)));
+
+        minioRepository.uploadContent(bucket, previewPath, thumbnail, ThumbnailRenderer.CONTENT_TYPE);
+        log.debug("[Preview] Generated preview for '{}' ({} bytes) in {} ms",
+                path, thumbnail.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return thumbnail;
+    }
+
+    private Optional<byte[]> render(InputStream source) {
+        try (source) {
+            return ThumbnailRenderer.render(source, previewProperties.getMaxDimension(), previewProperties.getQuality());
+        } catch (IIOException ex) {
+            log.debug("[Preview] Unable to decode image. Reason: {}", ex.getMessage());
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String buildPreviewPath(String path, String etag) {
+        return previewProperties.getKeyPrefix() + path + "/" + etag + ".jpg";
+    }
+}
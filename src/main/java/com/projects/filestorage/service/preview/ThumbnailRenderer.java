@@ -0,0 +1,87 @@
+package com.projects.filestorage.service.preview;
+
+import lombok.experimental.UtilityClass;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import java.awt.Color;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+@UtilityClass
+public class ThumbnailRenderer {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    private static final String FORMAT = "jpeg";
+
+    public Optional<byte[]> render(InputStream source, int maxDimension, float quality) throws IOException {
+        try (var imageInput = ImageIO.createImageInputStream(source)) {
+            if (imageInput == null) {
+                return Optional.empty();
+            }
+
+            var readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+
+            var reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                var image = decodeSubsampled(reader, maxDimension);
+                return Optional.of(encode(scale(image, maxDimension), quality));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage decodeSubsampled(ImageReader reader, int maxDimension) throws IOException {
+        var width = reader.getWidth(0);
+        var height = reader.getHeight(0);
+        var subsampling = Math.max(1, Math.min(width, height) / (maxDimension * 2));
+
+        var readParam = reader.getDefaultReadParam();
+        readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        return reader.read(0, readParam);
+    }
+
+    private BufferedImage scale(BufferedImage image, int maxDimension) {
+        var ratio = Math.min(1.0, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+        var width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        var height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        var thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        var graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private byte[] encode(BufferedImage thumbnail, float quality) throws IOException {
+        var writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        var outputStream = new ByteArrayOutputStream();
+        try (var imageOutput = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutput);
+            var writeParam = writer.getDefaultWriteParam();
+            writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            writeParam.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(thumbnail, null, null), writeParam);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+}
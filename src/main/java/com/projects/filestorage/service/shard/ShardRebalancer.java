@@ -0,0 +1,204 @@
+package com.projects.filestorage.service.shard;
+
+import com.projects.filestorage.config.properties.PreviewProperties;
+import com.projects.filestorage.config.properties.ShardingProperties;
+import com.projects.filestorage.config.properties.TrashProperties;
+import com.projects.filestorage.domain.UserShardPlacement;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.UserShardPlacementRepository;
+import com.projects.filestorage.service.cache.CacheInvalidationBus;
+import com.projects.filestorage.service.dedup.ContentHashIndex;
+import com.projects.filestorage.utils.MinioUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardRebalancer {
+
+    private final UserShardPlacementRepository placementRepository;
+    private final ShardRegistry shardRegistry;
+    private final ShardingProperties properties;
+    private final PreviewProperties previewProperties;
+    private final TrashProperties trashProperties;
+    private final MinioRepository minioRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ContentHashIndex contentHashIndex;
+    private final StorageMetrics storageMetrics;
+
+    @Scheduled(fixedDelayString = "#{@shardingProperties.rebalanceInterval.toMillis()}")
+    public void rebalance() {
+        if (!properties.isEnabled() || !properties.isRebalanceEnabled()) {
+            return;
+        }
+
+        try {
+            var drainingShardIds = shardRegistry.drainingShardIds();
+            if (!drainingShardIds.isEmpty()) {
+                placementRepository.startMigrationsFrom(drainingShardIds, properties.getMaxMigrationsPerRun())
+                        .forEach(placement -> {
+                            storageMetrics.recordShardMigration("started");
+                            log.info("[Shard] Started migration of user id={} away from draining shard '{}'",
+                                    placement.getId(), placement.getShardId());
+                        });
+            }
+
+            var leaseSeconds = properties.getMigrationLease().toMillis() / 1000.0;
+            placementRepository.claimPendingWork(properties.getMaxMigrationsPerRun(), leaseSeconds)
+                    .forEach(this::advance);
+        } catch (RuntimeException ex) {
+            log.warn("[Shard] Rebalancing run failed. Reason: {}", ex.getMessage());
+        }
+    }
+
+    private void advance(UserShardPlacement placement) {
+        try {
+            switch (placement.getState()) {
+                case MIGRATING -> copyToTarget(placement);
+                case CUTOVER -> completeCutover(placement);
+                case ACTIVE -> purgePreviousShard(placement);
+            }
+        } catch (RuntimeException ex) {
+            storageMetrics.recordShardMigration("failed");
+            log.warn("[Shard] Failed to advance {} placement of user id={}, will retry after the lease expires. Reason: {}",
+                    placement.getState(), placement.getId(), ex.getMessage());
+        }
+    }
+
+    private void copyToTarget(UserShardPlacement placement) {
+        var targetShardId = placement.getTargetShardId();
+        if (targetShardId == null || shardRegistry.getShard(targetShardId).isDraining()) {
+            targetShardId = shardRegistry.selectShard(placement.getId());
+            placementRepository.setTarget(placement.getId(), targetShardId);
+        }
+
+        var copied = syncObjects(placement.getId(), placement.getShardId(), targetShardId, false);
+        placementRepository.enterCutover(placement.getId(), gracePeriodSeconds());
+        evictPlacement(placement.getId());
+
+        log.info("[Shard] Copied {} objects of user id={} from shard '{}' to '{}', entering cutover",
+                copied, placement.getId(), placement.getShardId(), targetShardId);
+    }
+
+    private void completeCutover(UserShardPlacement placement) {
+        var finalSyncStartedAt = Instant.now();
+        var copied = syncObjects(placement.getId(), placement.getShardId(), placement.getTargetShardId(), true);
+        placementRepository.completeCutover(placement.getId(), gracePeriodSeconds(), finalSyncStartedAt);
+        evictPlacement(placement.getId());
+        contentHashIndex.relocate(placement.getId(), shardRegistry.bucketOf(placement.getTargetShardId()));
+        storageMetrics.recordShardMigration("completed");
+
+        log.info("[Shard] Moved user id={} from shard '{}' to '{}' ({} objects copied during cutover)",
+                placement.getId(), placement.getShardId(), placement.getTargetShardId(), copied);
+    }
+
+    private void purgePreviousShard(UserShardPlacement placement) {
+        var previousBucket = shardRegistry.bucketOf(placement.getPreviousShardId());
+        var userRootPath = MinioUtils.buildUserRootPath(placement.getId());
+
+        var carriedOver = carryOverLateWrites(placement, previousBucket, userRootPath);
+        if (carriedOver > 0) {
+            storageMetrics.recordShardMigration("late_writes_carried_over");
+            log.warn("[Shard] Carried over {} objects of user id={} written to previous shard '{}' after the final sync",
+                    carriedOver, placement.getId(), placement.getPreviousShardId());
+        }
+        var replayed = replayLateDeletes(placement, previousBucket, userRootPath);
+        if (replayed > 0) {
+            storageMetrics.recordShardMigration("late_deletes_replayed");
+            log.warn("[Shard] Replayed {} deletes of user id={} made on previous shard '{}' after the final sync",
+                    replayed, placement.getId(), placement.getPreviousShardId());
+        }
+        contentHashIndex.relocate(placement.getId(), shardRegistry.bucketOf(placement.getShardId()));
+
+        minioRepository.deleteResources(previousBucket, userRootPath);
+        minioRepository.deleteResources(previousBucket, previewProperties.getKeyPrefix() + userRootPath);
+        minioRepository.deleteResources(previousBucket, trashProperties.getKeyPrefix() + userRootPath);
+        placementRepository.clearPreviousShard(placement.getId());
+
+        log.info("[Shard] Removed objects of user id={} from previous shard '{}'",
+                placement.getId(), placement.getPreviousShardId());
+    }
+
+    private int carryOverLateWrites(UserShardPlacement placement, String previousBucket, String userRootPath) {
+        var currentBucket = shardRegistry.bucketOf(placement.getShardId());
+        var writtenAfter = placement.getFinalSyncStartedAt() == null
+                ? Instant.EPOCH
+                : placement.getFinalSyncStartedAt().minus(properties.getClockSkewAllowance());
+
+        var carriedOver = 0;
+        for (var prefix : List.of(userRootPath, trashProperties.getKeyPrefix() + userRootPath)) {
+            for (var path : minioRepository.listRecursiveObjectPaths(previousBucket, prefix)) {
+                var lastModified = minioRepository.getObjectMetadata(previousBucket, path).lastModified();
+                if (lastModified.isAfter(writtenAfter) && minioRepository.transferObject(previousBucket, currentBucket, path)) {
+                    carriedOver++;
+                }
+            }
+        }
+        return carriedOver;
+    }
+
+    private int replayLateDeletes(UserShardPlacement placement, String previousBucket, String userRootPath) {
+        if (placement.getCutoverCompletedAt() == null) {
+            return 0;
+        }
+
+        var currentBucket = shardRegistry.bucketOf(placement.getShardId());
+        var copiedBefore = placement.getCutoverCompletedAt().minus(properties.getClockSkewAllowance());
+
+        var replayed = 0;
+        for (var prefix : List.of(userRootPath, trashProperties.getKeyPrefix() + userRootPath)) {
+            var previousPaths = new HashSet<>(minioRepository.listRecursiveObjectPaths(previousBucket, prefix));
+            var deletedPaths = minioRepository.listRecursiveObjectPaths(currentBucket, prefix).stream()
+                    .filter(path -> !previousPaths.contains(path))
+                    .filter(path -> minioRepository.getObjectMetadata(currentBucket, path).lastModified().isBefore(copiedBefore))
+                    .toList();
+            if (!deletedPaths.isEmpty()) {
+                minioRepository.deleteResources(currentBucket, deletedPaths);
+                replayed += deletedPaths.size();
+            }
+        }
+        return replayed;
+    }
+
+    private int syncObjects(Long userId, String sourceShardId, String targetShardId, boolean removeStale) {
+        var sourceBucket = shardRegistry.bucketOf(sourceShardId);
+        var targetBucket = shardRegistry.bucketOf(targetShardId);
+        var userRootPath = MinioUtils.buildUserRootPath(userId);
+
+        var copied = 0;
+        for (var prefix : List.of(userRootPath, trashProperties.getKeyPrefix() + userRootPath)) {
+            var sourcePaths = new HashSet<>(minioRepository.listRecursiveObjectPaths(sourceBucket, prefix));
+            for (var path : sourcePaths) {
+                if (minioRepository.transferObject(sourceBucket, targetBucket, path)) {
+                    copied++;
+                }
+            }
+
+            if (removeStale) {
+                var stalePaths = minioRepository.listRecursiveObjectPaths(targetBucket, prefix).stream()
+                        .filter(path -> !sourcePaths.contains(path))
+                        .toList();
+                if (!stalePaths.isEmpty()) {
+                    minioRepository.deleteResources(targetBucket, stalePaths);
+                }
+            }
+        }
+        return copied;
+    }
+
+    private void evictPlacement(Long userId) {
+        cacheInvalidationBus.invalidate(ShardRouter.INVALIDATION_NAMESPACE, String.valueOf(userId));
+    }
+
+    private double gracePeriodSeconds() {
+        return properties.getCutoverGracePeriod().toMillis() / 1000.0;
+    }
+}
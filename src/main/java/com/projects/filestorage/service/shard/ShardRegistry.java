@@ -0,0 +1,109 @@
+package com.projects.filestorage.service.shard;
+
+import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.config.properties.ShardingProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ShardRegistry {
+
+    public static final String DEFAULT_SHARD_ID = "default";
+
+    private final Map<String, ShardingProperties.Shard> shards = new LinkedHashMap<>();
+
+    public ShardRegistry(ShardingProperties shardingProperties, MinioClientProperties minioClientProperties) {
+        var defaultShard = new ShardingProperties.Shard();
+        defaultShard.setId(DEFAULT_SHARD_ID);
+        defaultShard.setBucket(minioClientProperties.getBucketName());
+        defaultShard.setWeight(shardingProperties.getDefaultShardWeight());
+        defaultShard.setDraining(shardingProperties.isDefaultShardDraining());
+        shards.put(DEFAULT_SHARD_ID, defaultShard);
+
+        if (shardingProperties.isEnabled()) {
+            shardingProperties.getShards().forEach(this::register);
+        }
+    }
+
+    public Collection<ShardingProperties.Shard> shards() {
+        return shards.values();
+    }
+
+    public ShardingProperties.Shard getShard(String shardId) {
+        var shard = shards.get(shardId);
+        if (shard == null) {
+            throw new IllegalStateException(String.format("Storage shard '%s' is not configured", shardId));
+        }
+        return shard;
+    }
+
+    public String bucketOf(String shardId) {
+        return getShard(shardId).getBucket();
+    }
+
+    public List<String> drainingShardIds() {
+        return shards.values().stream()
+                .filter(ShardingProperties.Shard::isDraining)
+                .map(ShardingProperties.Shard::getId)
+                .toList();
+    }
+
+    public String selectShard(Long userId) {
+        String selectedShardId = null;
+        var bestScore = Double.NEGATIVE_INFINITY;
+        for (var shard : shards.values()) {
+            if (shard.isDraining() || shard.getWeight() <= 0) {
+                continue;
+            }
+
+            var score = -shard.getWeight() / Math.log(uniformHash(userId, shard.getId()));
+            if (score > bestScore) {
+                bestScore = score;
+                selectedShardId = shard.getId();
+            }
+        }
+
+        if (selectedShardId == null) {
+            throw new IllegalStateException("No storage shard is accepting new users");
+        }
+        return selectedShardId;
+    }
+
+    private void register(ShardingProperties.Shard shard) {
+        if (shard.getId() == null || shard.getBucket() == null) {
+            throw new IllegalStateException("Every storage shard needs an id and a bucket");
+        }
+        if (shards.containsKey(shard.getId())) {
+            throw new IllegalStateException(String.format("Storage shard '%s' is configured twice", shard.getId()));
+        }
+
+        var buckets = new HashSet<String>();
+        shards.values().forEach(existing -> buckets.add(existing.getBucket()));
+        if (!buckets.add(shard.getBucket())) {
+            throw new IllegalStateException(String.format(
+                    "Bucket '%s' of storage shard '%s' is already used by another shard", shard.getBucket(), shard.getId()));
+        }
+
+        shards.put(shard.getId(), shard);
+    }
+
+    private static double uniformHash(Long userId, String shardId) {
+        var hash = mix(userId * 0x9E3779B97F4A7C15L);
+        for (var b : shardId.getBytes(StandardCharsets.UTF_8)) {
+            hash = mix(hash ^ b);
+        }
+        return ((hash >>> 11) + 1) / (double) ((1L << 53) + 1);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
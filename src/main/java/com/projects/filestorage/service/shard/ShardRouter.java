@@ -0,0 +1,87 @@
+package com.projects.filestorage.service.shard;
+
+import com.projects.filestorage.config.properties.ShardingProperties;
+import com.projects.filestorage.domain.ShardPlacementState;
+import com.projects.filestorage.exception.ShardMigrationInProgressException;
+import com.projects.filestorage.repository.UserShardPlacementRepository;
+import com.projects.filestorage.service.cache.CacheInvalidationListener;
+import com.projects.filestorage.service.cache.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ShardRouter implements CacheInvalidationListener {
+
+    public static final String INVALIDATION_NAMESPACE = "shard-placement";
+
+    private final UserShardPlacementRepository placementRepository;
+    private final ShardRegistry shardRegistry;
+    private final ShardingProperties properties;
+    private final ExpiringCache<Long, CachedPlacement> placements;
+
+    public ShardRouter(UserShardPlacementRepository placementRepository,
+                       ShardRegistry shardRegistry,
+                       ShardingProperties properties) {
+        this.placementRepository = placementRepository;
+        this.shardRegistry = shardRegistry;
+        this.properties = properties;
+        this.placements = new ExpiringCache<>(
+                properties::getPlacementCacheTimeToLive, properties::getPlacementCacheMaxEntries);
+    }
+
+    public void assignShard(Long userId) {
+        var shardId = properties.isEnabled() ? shardRegistry.selectShard(userId) : ShardRegistry.DEFAULT_SHARD_ID;
+        placementRepository.insertIfAbsent(userId, shardId);
+        log.info("[Shard] Placed user id={} on shard '{}'", userId, shardId);
+    }
+
+    public String resolveBucket(Long userId) {
+        if (!properties.isEnabled()) {
+            return shardRegistry.bucketOf(ShardRegistry.DEFAULT_SHARD_ID);
+        }
+
+        return shardRegistry.bucketOf(lookup(userId).shardId());
+    }
+
+    public void verifyWritable(Long userId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        var placement = lookup(userId);
+        if (placement.state() == ShardPlacementState.CUTOVER) {
+            log.info("[Shard] Rejected write for user id={} during cutover from shard '{}'", userId, placement.shardId());
+            throw new ShardMigrationInProgressException(
+                    "Your files are being moved to another storage node, please retry shortly");
+        }
+    }
+
+    @Override
+    public void invalidate(String bucket, String key) {
+        if (INVALIDATION_NAMESPACE.equals(bucket)) {
+            placements.remove(Long.valueOf(key));
+        }
+    }
+
+    @Override
+    public void invalidatePrefix(String bucket, String prefix) {
+        if (INVALIDATION_NAMESPACE.equals(bucket)) {
+            placements.clear();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        placements.clear();
+    }
+
+    private CachedPlacement lookup(Long userId) {
+        return placements.get(userId, () -> placementRepository.findById(userId)
+                .map(placement -> new CachedPlacement(placement.getShardId(), placement.getState()))
+                .orElseGet(() -> new CachedPlacement(ShardRegistry.DEFAULT_SHARD_ID, ShardPlacementState.ACTIVE)));
+    }
+
+    private record CachedPlacement(String shardId, ShardPlacementState state) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.projects.filestorage.service.trash;
+
+import com.projects.filestorage.config.properties.TrashProperties;
+import com.projects.filestorage.service.cache.CacheInvalidationListener;
+import com.projects.filestorage.service.cache.ExpiringCache;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+public class HiddenPathCache implements CacheInvalidationListener {
+
+    public static final String INVALIDATION_NAMESPACE = "trash-hidden-paths";
+
+    private final ExpiringCache<Long, List<String>> entries;
+
+    public HiddenPathCache(TrashProperties properties) {
+        this.entries = new ExpiringCache<>(
+                properties::getHiddenPathCacheTimeToLive, properties::getHiddenPathCacheMaxEntries);
+    }
+
+    public List<String> get(Long userId, Supplier<List<String>> loader) {
+        return entries.get(userId, () -> List.copyOf(loader.get()));
+    }
+
+    @Override
+    public void invalidate(String bucket, String key) {
+        if (INVALIDATION_NAMESPACE.equals(bucket)) {
+            entries.remove(Long.valueOf(key));
+        }
+    }
+
+    @Override
+    public void invalidatePrefix(String bucket, String prefix) {
+        if (INVALIDATION_NAMESPACE.equals(bucket)) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+    }
+}
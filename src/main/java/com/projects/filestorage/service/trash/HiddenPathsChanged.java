@@ -0,0 +1,4 @@
+package com.projects.filestorage.service.trash;
+
+public record HiddenPathsChanged(Long userId) {
+}
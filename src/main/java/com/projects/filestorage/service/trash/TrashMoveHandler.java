@@ -0,0 +1,24 @@
+package com.projects.filestorage.service.trash;
+
+import com.projects.filestorage.domain.OutboxEvent;
+import com.projects.filestorage.domain.OutboxEventType;
+import com.projects.filestorage.service.outbox.OutboxEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TrashMoveHandler implements OutboxEventHandler {
+
+    private final TrashService trashService;
+
+    @Override
+    public OutboxEventType eventType() {
+        return OutboxEventType.TRASH_MOVE_REQUESTED;
+    }
+
+    @Override
+    public void handle(OutboxEvent outboxEvent) {
+        trashService.completeMove(outboxEvent.getAggregateId());
+    }
+}
@@ -0,0 +1,79 @@
+package com.projects.filestorage.service.trash;
+
+import com.projects.filestorage.config.properties.TrashProperties;
+import com.projects.filestorage.domain.TrashEntry;
+import com.projects.filestorage.exception.ShardMigrationInProgressException;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.TrashEntryRepository;
+import com.projects.filestorage.service.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrashPurger {
+
+    private final TrashEntryRepository trashEntryRepository;
+    private final TrashProperties properties;
+    private final MinioRepository minioRepository;
+    private final ShardRouter shardRouter;
+    private final StorageMetrics storageMetrics;
+
+    @Scheduled(fixedDelayString = "#{@trashProperties.purgeInterval.toMillis()}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            var expired = trashEntryRepository.expireEntries();
+            if (expired > 0) {
+                log.info("[Trash] {} trash entries expired and are scheduled for purge", expired);
+            }
+
+            var leaseSeconds = properties.getPurgeLease().toMillis() / 1000.0;
+            trashEntryRepository.claimPurgeableEntries(properties.getPurgeEntriesPerRun(), leaseSeconds)
+                    .forEach(this::purgeBatch);
+        } catch (RuntimeException ex) {
+            log.warn("[Trash] Purge run failed. Reason: {}", ex.getMessage());
+        }
+    }
+
+    private void purgeBatch(TrashEntry trashEntry) {
+        try {
+            shardRouter.verifyWritable(trashEntry.getUserId());
+            var bucket = shardRouter.resolveBucket(trashEntry.getUserId());
+            var objectPaths = trashEntry.getTrashPath() == null
+                    ? List.<String>of()
+                    : minioRepository.listRecursiveObjectPaths(bucket, trashEntry.getTrashPath());
+
+            var batch = objectPaths.subList(0, Math.min(objectPaths.size(), properties.getPurgeBatchSize()));
+            if (!batch.isEmpty()) {
+                minioRepository.deleteResources(bucket, batch);
+                storageMetrics.recordTrashPurgedObjects(batch.size());
+            }
+
+            if (batch.size() == objectPaths.size()) {
+                trashEntryRepository.deleteById(trashEntry.getId());
+                log.info("[Trash] Purged trash entry id={} of user id={}", trashEntry.getId(), trashEntry.getUserId());
+            } else {
+                trashEntryRepository.releaseLease(trashEntry.getId());
+                log.debug("[Trash] Purged {} of {} objects of trash entry id={}",
+                        batch.size(), objectPaths.size(), trashEntry.getId());
+            }
+        } catch (ShardMigrationInProgressException ex) {
+            trashEntryRepository.releaseLease(trashEntry.getId());
+            log.debug("[Trash] Deferred purge of trash entry id={} until the cutover of user id={} completes",
+                    trashEntry.getId(), trashEntry.getUserId());
+        } catch (RuntimeException ex) {
+            log.warn("[Trash] Failed to purge trash entry id={}, will retry after the lease expires. Reason: {}",
+                    trashEntry.getId(), ex.getMessage());
+        }
+    }
+}
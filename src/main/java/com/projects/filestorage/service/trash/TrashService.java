@@ -0,0 +1,232 @@
+package com.projects.filestorage.service.trash;
+
+import com.projects.filestorage.config.properties.TrashProperties;
+import com.projects.filestorage.domain.OutboxEventType;
+import com.projects.filestorage.domain.TrashEntry;
+import com.projects.filestorage.domain.TrashEntryState;
+import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.exception.TrashEntryBusyException;
+import com.projects.filestorage.exception.TrashEntryNotFoundException;
+import com.projects.filestorage.path.ResourcePath;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.TrashEntryRepository;
+import com.projects.filestorage.service.ChangeFeedService;
+import com.projects.filestorage.service.cache.CacheInvalidationBus;
+import com.projects.filestorage.service.directory.DirectoryMarkerMaintainer;
+import com.projects.filestorage.service.handler.MinioResourceDispatcher;
+import com.projects.filestorage.service.outbox.OutboxService;
+import com.projects.filestorage.service.preview.PreviewService;
+import com.projects.filestorage.service.shard.ShardRouter;
+import com.projects.filestorage.service.validator.ResourceBusinessValidator;
+import com.projects.filestorage.utils.MinioUtils;
+import com.projects.filestorage.web.dto.internal.CopyResourceDto;
+import com.projects.filestorage.web.dto.internal.ResourceContextDto;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import com.projects.filestorage.web.dto.response.TrashEntryResponseDto;
+import com.projects.filestorage.web.mapper.TrashEntryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Predicate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrashService {
+
+    private final TrashEntryRepository trashEntryRepository;
+    private final TrashEntryMapper trashEntryMapper;
+    private final TrashProperties trashProperties;
+    private final OutboxService outboxService;
+    private final MinioRepository minioRepository;
+    private final MinioResourceDispatcher minioResourceDispatcher;
+    private final ResourceBusinessValidator resourceValidator;
+    private final DirectoryMarkerMaintainer directoryMarkerMaintainer;
+    private final PreviewService previewService;
+    private final ShardRouter shardRouter;
+    private final ChangeFeedService changeFeedService;
+    private final HiddenPathCache hiddenPathCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public boolean isEnabled() {
+        return trashProperties.isEnabled();
+    }
+
+    @Transactional
+    public void moveToTrash(Long userId, ResourceContextDto resourceContextDto) {
+        var trashEntry = trashEntryRepository.save(TrashEntry.builder()
+                .userId(userId)
+                .path(resourceContextDto.relativePath().value())
+                .resourceType(resourceContextDto.resourceType())
+                .state(TrashEntryState.MOVING)
+                .expiresAt(Instant.now().plus(trashProperties.getRetention()))
+                .build());
+        trashEntry.setTrashPath(buildTrashRootPath(userId) + trashEntry.getId() + "/" + resourceContextDto.relativePath().name());
+
+        outboxService.enqueue(OutboxEventType.TRASH_MOVE_REQUESTED, trashEntry.getId());
+        hiddenPathsChanged(userId);
+        log.info("[Trash] Moving '{}' of user id={} to the trash as entry id={}",
+                trashEntry.getPath(), userId, trashEntry.getId());
+    }
+
+    public void completeMove(Long trashEntryId) {
+        var trashEntry = trashEntryRepository.findById(trashEntryId).orElse(null);
+        if (trashEntry == null || trashEntry.getState() != TrashEntryState.MOVING) {
+            return;
+        }
+
+        var userId = trashEntry.getUserId();
+        shardRouter.verifyWritable(userId);
+        var bucket = shardRouter.resolveBucket(userId);
+        var absolutePath = ResourcePath.of(trashEntry.getPath()).toAbsolute(MinioUtils.buildUserRootPath(userId));
+
+        var sourcePaths = trashEntry.getResourceType() == ResourceType.DIRECTORY
+                ? minioRepository.listRecursiveObjectPaths(bucket, absolutePath)
+                : minioRepository.isFileExists(bucket, absolutePath) ? List.of(absolutePath) : List.<String>of();
+        if (!sourcePaths.isEmpty()) {
+            moveObjects(bucket, absolutePath, trashEntry.getTrashPath(), sourcePaths);
+        }
+
+        if (trashEntry.getResourceType() == ResourceType.DIRECTORY) {
+            directoryMarkerMaintainer.directoryRemoved(bucket, absolutePath);
+        }
+        directoryMarkerMaintainer.childRemoved(bucket, ResourcePath.of(absolutePath).parentPath());
+        previewService.discardPreviews(bucket, absolutePath);
+        trashEntryRepository.updateState(trashEntryId, TrashEntryState.TRASHED);
+        hiddenPathsChanged(userId);
+
+        log.info("[Trash] Moved {} objects of '{}' for user id={} to the trash", sourcePaths.size(), trashEntry.getPath(), userId);
+    }
+
+    public List<TrashEntryResponseDto> getTrash(Long userId) {
+        return trashEntryRepository.findByUserIdAndStateInOrderByDeletedAtDesc(
+                        userId, List.of(TrashEntryState.MOVING, TrashEntryState.TRASHED)
+                ).stream()
+                .map(trashEntryMapper::toDto)
+                .toList();
+    }
+
+    public ResourceInfoResponseDto restore(Long userId, Long trashEntryId) {
+        var trashEntry = getTrashedEntry(userId, trashEntryId);
+
+        shardRouter.verifyWritable(userId);
+        var bucket = shardRouter.resolveBucket(userId);
+        var relativePath = ResourcePath.of(trashEntry.getPath());
+        var absolutePath = relativePath.toAbsolute(MinioUtils.buildUserRootPath(userId));
+
+        if (trashEntry.getResourceType() == ResourceType.DIRECTORY) {
+            resourceValidator.validateDirectoryDoesNotExits(bucket, absolutePath);
+        } else {
+            resourceValidator.validateFileDoesNotExits(bucket, absolutePath);
+        }
+
+        var trashedContextDto = ResourceContextDto.builder()
+                .bucket(bucket)
+                .absolutePath(trashEntry.getTrashPath())
+                .relativePath(relativePath)
+                .resourceType(trashEntry.getResourceType())
+                .build();
+        minioResourceDispatcher.moveResource(new CopyResourceDto(trashedContextDto, absolutePath));
+        directoryMarkerMaintainer.childAdded(bucket, ResourcePath.of(absolutePath).parentPath());
+
+        trashEntryRepository.delete(trashEntry);
+        hiddenPathsChanged(userId);
+        changeFeedService.recordCreated(userId, trashEntry.getPath(), trashEntry.getResourceType(), null);
+        log.info("[Trash] Restored '{}' of user id={} from trash entry id={}", trashEntry.getPath(), userId, trashEntryId);
+
+        return minioResourceDispatcher.getResourceInfo(ResourceContextDto.builder()
+                .bucket(bucket)
+                .absolutePath(absolutePath)
+                .relativePath(relativePath)
+                .resourceType(trashEntry.getResourceType())
+                .build());
+    }
+
+    public void purge(Long userId, Long trashEntryId) {
+        var trashEntry = getTrashedEntry(userId, trashEntryId);
+        trashEntryRepository.updateState(trashEntry.getId(), TrashEntryState.PURGING);
+        hiddenPathsChanged(userId);
+        log.info("[Trash] Scheduled purge of trash entry id={} for user id={}", trashEntryId, userId);
+    }
+
+    public void emptyTrash(Long userId) {
+        var purged = trashEntryRepository.purgeAllOfUser(userId);
+        hiddenPathsChanged(userId);
+        log.info("[Trash] Scheduled purge of {} trash entries for user id={}", purged, userId);
+    }
+
+    public Predicate<String> hiddenPathMatcher(Long userId) {
+        if (!trashProperties.isEnabled()) {
+            return relativePath -> false;
+        }
+
+        var hiddenPaths = hiddenPathCache.get(userId,
+                () -> trashEntryRepository.findPathsByUserIdAndState(userId, TrashEntryState.MOVING));
+        if (hiddenPaths.isEmpty()) {
+            return relativePath -> false;
+        }
+        return relativePath -> hiddenPaths.stream().anyMatch(hiddenPath -> relativePath.equals(hiddenPath)
+                || hiddenPath.endsWith("/") && relativePath.startsWith(hiddenPath));
+    }
+
+    public void validateVisible(Long userId, String... relativePaths) {
+        var isHidden = hiddenPathMatcher(userId);
+        for (var relativePath : relativePaths) {
+            if (isHidden.test(relativePath)) {
+                log.info("[Trash] Path '{}' of user id={} is being moved to the trash", relativePath, userId);
+                throw new ResourceNotFoundException(String.format("The resource on the path '%s' was not found", relativePath));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHiddenPathsChanged(HiddenPathsChanged hiddenPathsChanged) {
+        evictHiddenPaths(hiddenPathsChanged.userId());
+    }
+
+    public String buildTrashRootPath(Long userId) {
+        return trashProperties.getKeyPrefix() + MinioUtils.buildUserRootPath(userId);
+    }
+
+    private TrashEntry getTrashedEntry(Long userId, Long trashEntryId) {
+        var trashEntry = trashEntryRepository.findByIdAndUserId(trashEntryId, userId)
+                .filter(entry -> entry.getState() != TrashEntryState.PURGING)
+                .orElseThrow(() -> new TrashEntryNotFoundException(
+                        String.format("The trash entry '%d' was not found", trashEntryId)));
+
+        if (trashEntry.getState() == TrashEntryState.MOVING) {
+            throw new TrashEntryBusyException(String.format(
+                    "The resource '%s' is still being moved to the trash, please retry shortly", trashEntry.getPath()));
+        }
+        return trashEntry;
+    }
+
+    private void hiddenPathsChanged(Long userId) {
+        evictHiddenPaths(userId);
+        applicationEventPublisher.publishEvent(new HiddenPathsChanged(userId));
+    }
+
+    private void evictHiddenPaths(Long userId) {
+        cacheInvalidationBus.invalidate(HiddenPathCache.INVALIDATION_NAMESPACE, String.valueOf(userId));
+    }
+
+    private void moveObjects(String bucket, String absolutePath, String trashPath, List<String> sourcePaths) {
+        if (minioRepository.supportsNativeRename()) {
+            minioRepository.renameResource(bucket, absolutePath, trashPath);
+            return;
+        }
+
+        for (var sourcePath : sourcePaths) {
+            minioRepository.copyResource(bucket, sourcePath, trashPath + sourcePath.substring(absolutePath.length()));
+        }
+        minioRepository.deleteResources(bucket, sourcePaths);
+    }
+}
@@ -4,6 +4,7 @@ import com.projects.filestorage.exception.DirectoryNotFoundException;
 import com.projects.filestorage.exception.ResourceAlreadyExistsException;
 import com.projects.filestorage.exception.ResourceNotFoundException;
 import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.service.directory.DirectoryMarkerMaintainer;
 import com.projects.filestorage.utils.MinioUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 public class ResourceBusinessValidator {
 
     private final MinioRepository minioRepository;
+    private final DirectoryMarkerMaintainer directoryMarkerMaintainer;
 
     public void validateFileCopyPreconditions(String bucket, String sourcePath, String targetPath) {
         validateFileExists(bucket, sourcePath);
@@ -39,7 +41,7 @@ public class ResourceBusinessValidator {
     }
 
     public void validateDirectoryExists(String bucket, String path) {
-        if (!minioRepository.isDirectoryExists(bucket, path)) {
+        if (!isDirectoryExists(bucket, path)) {
             log.error("[Validate] Directory not exits in bucket='{}', path='{}'", bucket, path);
             throw new DirectoryNotFoundException(String.format("The directory on the path '%s' was not found", path));
         }
@@ -53,7 +55,7 @@ public class ResourceBusinessValidator {
     }
 
     public void validateDirectoryDoesNotExits(String bucket, String path) {
-        if (minioRepository.isDirectoryExists(bucket, path)) {
+        if (isDirectoryExists(bucket, path)) {
             log.error("[Validate] Directory already exits in bucket='{}', path='{}'", bucket, path);
             throw new ResourceAlreadyExistsException(String.format("The directory on the path '%s' already exits", path));
         }
@@ -61,9 +63,15 @@ public class ResourceBusinessValidator {
 
     public void validateParentExists(String bucket, String path) {
         var parentPath = MinioUtils.extractParentPath(path);
-        if (!minioRepository.isDirectoryExists(bucket, parentPath)) {
+        if (!isDirectoryExists(bucket, parentPath)) {
             log.info("[Validate] An attempt to create an empty directory using a non-existent path '{}'", parentPath);
             throw new DirectoryNotFoundException(String.format("Parent directory does not exist: %s", parentPath));
         }
     }
+
+    private boolean isDirectoryExists(String bucket, String path) {
+        return MinioUtils.isUserRootPath(path)
+                || directoryMarkerMaintainer.isPending(bucket, path)
+                || minioRepository.isDirectoryExists(bucket, path);
+    }
 }
@@ -0,0 +1,26 @@
+package com.projects.filestorage.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.experimental.UtilityClass;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+@UtilityClass
+public class DownloadRequestUtils {
+
+    private static final String DOWNLOAD_ATTRIBUTE = DownloadRequestUtils.class.getName() + ".download";
+
+    public void markDownload(HttpServletRequest request) {
+        request.setAttribute(DOWNLOAD_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    public boolean isDownload(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(DOWNLOAD_ATTRIBUTE));
+    }
+
+    public boolean isCurrentRequestDownload() {
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes != null
+                && Boolean.TRUE.equals(requestAttributes.getAttribute(DOWNLOAD_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
@@ -1,39 +1,36 @@
 package com.projects.filestorage.utils;
 
+import com.projects.filestorage.path.ResourcePath;
 import io.minio.errors.ErrorResponseException;
 import lombok.experimental.UtilityClass;
 
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.regex.Pattern;
 
 @UtilityClass
 public class MinioUtils {
 
+    private final Pattern USER_ROOT_PATH_PATTERN = Pattern.compile("user-\\d+-files/");
+
     public String extractResourceName(String path) {
         if (path == null || path.isBlank()) return "";
 
-        var segments = new ArrayList<>(List.of(path.split("/")));
-        var lastSegment = segments.getLast();
-
-        return path.endsWith("/") ? lastSegment + "/" : lastSegment;
+        return ResourcePath.of(path).name();
     }
 
     public String extractParentPath(String path) {
         if (path == null || path.isBlank()) return "";
 
-        path = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
-
-        var lastSlash = path.lastIndexOf("/");
-        if (lastSlash == -1) return "";
-
-        return path.substring(0, lastSlash + 1);
+        return ResourcePath.of(path).parentPath();
     }
 
     public String buildUserRootPath(Long userId) {
         return String.format("user-%d-files/", userId);
     }
 
+    public boolean isUserRootPath(String path) {
+        return path != null && USER_ROOT_PATH_PATTERN.matcher(path).matches();
+    }
+
     public String getAbsolutePath(String userRootDirectory, String relativePath) {
         return userRootDirectory + relativePath;
     }
@@ -46,8 +43,7 @@ public class MinioUtils {
     }
 
     public boolean fileNameMatchesQuery(String path, String query) {
-        var fileName = Paths.get(path).getFileName().toString();
-        return fileName.toLowerCase().contains(query);
+        return ResourcePath.of(path).nameContainsIgnoreCase(query);
     }
 
     public boolean isPathDirectoryLike(String path) {
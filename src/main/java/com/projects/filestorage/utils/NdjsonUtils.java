@@ -0,0 +1,39 @@
+package com.projects.filestorage.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.filestorage.web.dto.internal.ResourceInfoStream;
+import lombok.experimental.UtilityClass;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@UtilityClass
+public class NdjsonUtils {
+
+    private static final int FLUSH_INTERVAL = 64;
+
+    public StreamingResponseBody toNdjsonBody(ObjectMapper objectMapper, ResourceInfoStream resourceInfoStream) {
+        var objectWriter = objectMapper.writer();
+
+        return outputStream -> {
+            var writtenEntries = new int[1];
+            try {
+                resourceInfoStream.forEach(resourceInfo -> {
+                    try {
+                        outputStream.write(objectWriter.writeValueAsBytes(resourceInfo));
+                        outputStream.write('\n');
+                        if (writtenEntries[0]++ % FLUSH_INTERVAL == 0) {
+                            outputStream.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            outputStream.flush();
+        };
+    }
+}
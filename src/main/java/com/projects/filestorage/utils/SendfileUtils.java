@@ -0,0 +1,25 @@
+package com.projects.filestorage.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.experimental.UtilityClass;
+
+import java.nio.file.Path;
+
+@UtilityClass
+public class SendfileUtils {
+
+    private static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    public boolean isSendfileSupported(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE));
+    }
+
+    public void requestSendfile(HttpServletRequest request, Path file, long length) {
+        request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+        request.setAttribute(SENDFILE_END_ATTRIBUTE, length);
+    }
+}
@@ -1,9 +1,11 @@
 package com.projects.filestorage.validation;
 
 import com.projects.filestorage.config.properties.FileUploadProperties;
+import com.projects.filestorage.config.properties.StreamingUploadProperties;
 import com.projects.filestorage.exception.InvalidMultipartFileException;
 import com.projects.filestorage.exception.InvalidResourcePathFormatException;
 import com.projects.filestorage.exception.InvalidSearchQueryFormatException;
+import com.projects.filestorage.path.ResourcePathScanner;
 import com.projects.filestorage.utils.MinioUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +13,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Slf4j
 @Component
@@ -19,20 +20,7 @@ import java.util.regex.Pattern;
 public class ResourcePathValidator {
 
     private final FileUploadProperties fileUploadProperties;
-
-    private static final Pattern VALID_PATH_PATTERN = Pattern.compile(
-            "^(?!.*(?:^|/)\\.\\.?(?:/|$))(?:[\\p{L}\\p{N} _.-]+/)*[\\p{L}\\p{N} _.-]+/?$|^$"
-    );
-
-    private static final Pattern VALID_DIRECTORY_PATH_PATTERN = Pattern.compile(
-            "^(?!.*(?:^|/)(\\.{1,2})(?:/|$))" +          // запрещаем . и ..
-                    "(?!.*(?:^|/)(\\.\\.[^/]*)(?:/|$))" +       // запрещаем сегменты вроде ..что-то
-                    "(([\\p{L}\\p{N}_.][\\p{L}\\p{N} _.-]*/)*$|^$)" // сегменты могут начинаться с буквы, цифры, _ или .
-    );
-
-    private static final Pattern VALID_SEARCH_QUERY_PATTERN = Pattern.compile(
-            "^(?!.*(?:^|/)(?:\\.|\\.\\.)($|/))(?:[\\p{L}\\p{N} _.-]+/)*[\\p{L}\\p{N} _.-]+/?$|^$"
-    );
+    private final StreamingUploadProperties streamingUploadProperties;
 
     public void validatePathFormat(String path) {
         if (!isValidPathFormat(path)) {
@@ -70,6 +58,19 @@ public class ResourcePathValidator {
         }
     }
 
+    public void validateStreamUploadFormat(String path, long contentLength) {
+        validateFilePathFormat(path);
+        validateStreamSize(contentLength);
+    }
+
+    public void validateFilePathFormat(String path) {
+        validatePathFormat(path);
+        if (isEmptyPath(path) || MinioUtils.isPathDirectoryLike(path)) {
+            log.info("[Validate] A file path is required, got '{}'", path);
+            throw new InvalidResourcePathFormatException(String.format("The path '%s' must point to a file", path));
+        }
+    }
+
     public void validateCreateEmptyDirectoryPathFormat(String path) {
         if (isEmptyPath(path)) {
             log.info("[Validate] Empty path for creation empty directory");
@@ -100,25 +101,32 @@ public class ResourcePathValidator {
         }
     }
 
-    private boolean isValidPathFormat(String path) {
-        if (path == null) {
-            return false;
+    private void validateStreamSize(long contentLength) {
+        if (contentLength < 0) {
+            log.debug("[Validate] Streaming upload without Content-Length");
+            throw new InvalidMultipartFileException("The Content-Length header is required for streaming uploads");
+        }
+
+        long maxFileSizeBytes = streamingUploadProperties.getMaxFileSize().toBytes();
+        if (contentLength > maxFileSizeBytes) {
+            log.debug("[Validate] Streamed file size ({} bytes) exceeds the maximum allowed size ({} bytes)",
+                    contentLength, maxFileSizeBytes);
+            throw new InvalidMultipartFileException(String.format(
+                    "File size (%d bytes) exceeds the maximum allowed size (%d bytes)",
+                    contentLength, maxFileSizeBytes));
         }
-        return path.matches(String.valueOf(VALID_PATH_PATTERN));
+    }
+
+    private boolean isValidPathFormat(String path) {
+        return ResourcePathScanner.isValidPath(path);
     }
 
     private boolean isValidSearchQueryFormat(String query) {
-        if (query == null) {
-            return false;
-        }
-        return query.matches(String.valueOf(VALID_SEARCH_QUERY_PATTERN));
+        return ResourcePathScanner.isValidSearchQuery(query);
     }
 
     public boolean isValidDirectoryPathFormat(String path) {
-        if (path == null) {
-            return false;
-        }
-        return path.matches(String.valueOf(VALID_DIRECTORY_PATH_PATTERN));
+        return ResourcePathScanner.isValidDirectoryPath(path);
     }
 
     public boolean isEmptyPath(String path) {
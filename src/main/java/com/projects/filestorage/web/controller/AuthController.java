@@ -59,6 +59,13 @@ public class AuthController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Authentication is overloaded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
@@ -98,6 +105,20 @@ public class AuthController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many failed sign-in attempts",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Authentication is overloaded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
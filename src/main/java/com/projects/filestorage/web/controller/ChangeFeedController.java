@@ -0,0 +1,87 @@
+package com.projects.filestorage.web.controller;
+
+import com.projects.filestorage.security.CustomUserDetails;
+import com.projects.filestorage.service.ChangeFeedService;
+import com.projects.filestorage.web.dto.response.ChangeFeedResponseDto;
+import com.projects.filestorage.web.dto.response.ErrorResponseDto;
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(
+        name = "Changes",
+        description = "Incremental change feed for sync clients"
+)
+@Timed(value = "filestorage.api.requests", extraTags = {"controller", "changes"}, histogram = true)
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Operation(
+            summary = "Get changes since token",
+            description = "Returns resource changes of the current user made after the given token, ordered by sequence number",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successful receipt of changes",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ChangeFeedResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid change token",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public ChangeFeedResponseDto getChanges(@RequestParam(value = "since", required = false)
+                                            @Parameter(description = "Token returned by the previous poll, 0 for a full history", example = "0")
+                                            Long since,
+
+                                            @RequestParam(value = "limit", required = false)
+                                            @Parameter(description = "Maximum number of changes in the response", example = "500")
+                                            Integer limit,
+
+                                            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return changeFeedService.getChanges(userDetails.getId(), since, limit);
+    }
+}
@@ -1,10 +1,14 @@
 package com.projects.filestorage.web.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projects.filestorage.security.CustomUserDetails;
 import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.utils.NdjsonUtils;
 import com.projects.filestorage.validation.ResourcePathValidator;
 import com.projects.filestorage.web.dto.response.ErrorResponseDto;
 import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import com.projects.filestorage.web.interceptor.RateLimited;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -17,6 +21,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,6 +29,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -31,6 +37,7 @@ import java.util.List;
         name = "Directories",
         description = "Operations for working with directories"
 )
+@Timed(value = "filestorage.api.requests", extraTags = {"controller", "directory"}, histogram = true)
 @RestController
 @RequestMapping("/api/directory")
 @RequiredArgsConstructor
@@ -38,6 +45,7 @@ public class DirectoryController {
 
     private final UserFileService userFileService;
     private final ResourcePathValidator resourcePathValidator;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Get directory content",
@@ -74,6 +82,13 @@ public class DirectoryController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
@@ -82,6 +97,7 @@ public class DirectoryController {
                             schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
+    @RateLimited(cost = "list")
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<ResourceInfoResponseDto> getDirectoryInfo(@RequestParam("path")
@@ -151,4 +167,69 @@ public class DirectoryController {
         resourcePathValidator.validateCreateEmptyDirectoryPathFormat(path);
         return userFileService.createEmptyDirectory(userDetails.getId(), path);
     }
+
+    @Operation(
+            summary = "Stream directory contents as NDJSON",
+            description = "Writes one resource per line as soon as it is read from storage. Selected with Accept: application/x-ndjson",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Entries are streamed one JSON object per line",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ResourceInfoResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation path exception",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "The directory does not found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @RateLimited(cost = "list")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDirectoryInfo(@RequestParam("path")
+                                                                     @Parameter(example = "path/to/dir/", allowEmptyValue = true)
+                                                                     String path,
+                                                                     @AuthenticationPrincipal CustomUserDetails userDetails) {
+        resourcePathValidator.validateDirectoryPathFormat(path);
+
+        var resourceInfoStream = userFileService.streamDirectoryInfo(userDetails.getId(), path);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonUtils.toNdjsonBody(objectMapper, resourceInfoStream));
+    }
 }
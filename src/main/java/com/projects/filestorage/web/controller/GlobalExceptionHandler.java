@@ -1,23 +1,41 @@
 package com.projects.filestorage.web.controller;
 
+import com.projects.filestorage.config.properties.DownloadExecutorProperties;
+import com.projects.filestorage.config.properties.PasswordHashingProperties;
+import com.projects.filestorage.config.properties.ShardingProperties;
+import com.projects.filestorage.exception.CredentialHashingBusyException;
 import com.projects.filestorage.exception.DirectoryDeletionException;
 import com.projects.filestorage.exception.DirectoryNotFoundException;
+import com.projects.filestorage.exception.InvalidChangeTokenException;
 import com.projects.filestorage.exception.InvalidMultipartFileException;
 import com.projects.filestorage.exception.InvalidResourcePathFormatException;
 import com.projects.filestorage.exception.InvalidSearchQueryFormatException;
+import com.projects.filestorage.exception.LoginAttemptsExceededException;
 import com.projects.filestorage.exception.MinioAccessException;
 import com.projects.filestorage.exception.MinioResourceHandlerNotFound;
+import com.projects.filestorage.exception.PendingUploadIncompleteException;
+import com.projects.filestorage.exception.PendingUploadNotFoundException;
+import com.projects.filestorage.exception.PreviewGenerationBusyException;
+import com.projects.filestorage.exception.PreviewNotAvailableException;
+import com.projects.filestorage.exception.RateLimitExceededException;
 import com.projects.filestorage.exception.ResourceAlreadyExistsException;
 import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.exception.ShardMigrationInProgressException;
+import com.projects.filestorage.exception.TrashEntryBusyException;
+import com.projects.filestorage.exception.TrashEntryNotFoundException;
 import com.projects.filestorage.exception.UnauthenticatedAccessException;
 import com.projects.filestorage.exception.UserAlreadyExistsException;
 import com.projects.filestorage.exception.UserNotFoundException;
 import com.projects.filestorage.exception.UserRoleNotFoundException;
+import com.projects.filestorage.metrics.StorageMetrics;
 import com.projects.filestorage.web.dto.response.ErrorResponseDto;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -29,12 +47,29 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private static final Set<String> DOWNLOAD_RESPONSE_HEADERS = Set.of(
+            HttpHeaders.CONTENT_DISPOSITION.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_TYPE.toLowerCase(Locale.ROOT)
+    );
+
+    private final DownloadExecutorProperties downloadExecutorProperties;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final ShardingProperties shardingProperties;
+    private final StorageMetrics storageMetrics;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDto> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex,
                                                                                   HttpServletResponse response) {
@@ -81,6 +116,39 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDto(ex.getMessage()));
     }
 
+    @ExceptionHandler(LoginAttemptsExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoginAttemptsExceededException(LoginAttemptsExceededException ex,
+                                                                                 HttpServletResponse response) {
+        log.warn("[Handle] Sign-in throttled (LoginAttemptsExceededException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(new ErrorResponseDto(ex.getMessage()));
+    }
+
+    @ExceptionHandler(CredentialHashingBusyException.class)
+    public ResponseEntity<ErrorResponseDto> handleCredentialHashingBusyException(CredentialHashingBusyException ex,
+                                                                                 HttpServletResponse response) {
+        log.warn("[Handle] Credential hashing is saturated (CredentialHashingBusyException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordHashingProperties.getRetryAfter().toSeconds()))
+                .body(new ErrorResponseDto(ex.getMessage()));
+    }
+
+    @ExceptionHandler(ShardMigrationInProgressException.class)
+    public ResponseEntity<ErrorResponseDto> handleShardMigrationInProgressException(ShardMigrationInProgressException ex,
+                                                                                    HttpServletResponse response) {
+        log.warn("[Handle] Write during shard cutover (ShardMigrationInProgressException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(shardingProperties.getRetryAfter().toSeconds()))
+                .body(new ErrorResponseDto(ex.getMessage()));
+    }
+
     @ExceptionHandler(UnauthenticatedAccessException.class)
     public ResponseEntity<ErrorResponseDto> handleUnauthenticatedAccessException(UnauthenticatedAccessException ex,
                                                                                  HttpServletResponse response) {
@@ -146,6 +214,42 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDto(ex.getMessage()));
     }
 
+    @ExceptionHandler(TrashEntryNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleTrashEntryNotFoundException(TrashEntryNotFoundException ex,
+                                                                              HttpServletResponse response) {
+        log.warn("[Handle] Trash entry not found (TrashEntryNotFoundException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return buildNotFoundErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(TrashEntryBusyException.class)
+    public ResponseEntity<ErrorResponseDto> handleTrashEntryBusyException(TrashEntryBusyException ex,
+                                                                          HttpServletResponse response) {
+        log.warn("[Handle] Trash entry conflict (TrashEntryBusyException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponseDto(ex.getMessage()));
+    }
+
+    @ExceptionHandler(PendingUploadNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handlePendingUploadNotFoundException(PendingUploadNotFoundException ex,
+                                                                                 HttpServletResponse response) {
+        log.warn("[Handle] Pending upload not found (PendingUploadNotFoundException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return buildNotFoundErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(PendingUploadIncompleteException.class)
+    public ResponseEntity<ErrorResponseDto> handlePendingUploadIncompleteException(PendingUploadIncompleteException ex,
+                                                                                   HttpServletResponse response) {
+        log.warn("[Handle] Pending upload conflict (PendingUploadIncompleteException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponseDto(ex.getMessage()));
+    }
+
     @ExceptionHandler(InvalidSearchQueryFormatException.class)
     public ResponseEntity<ErrorResponseDto> handleInvalidSearchQueryFormatException(InvalidSearchQueryFormatException ex,
                                                                                     HttpServletResponse response) {
@@ -156,6 +260,14 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDto(ex.getMessage()));
     }
 
+    @ExceptionHandler(InvalidChangeTokenException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidChangeTokenException(InvalidChangeTokenException ex,
+                                                                              HttpServletResponse response) {
+        log.warn("[Handle] Invalid change token (InvalidChangeTokenException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return buildValidationErrorResponse(ex.getMessage());
+    }
+
     @ExceptionHandler(InvalidMultipartFileException.class)
     public ResponseEntity<ErrorResponseDto> handleInvalidMultipartFileException(InvalidMultipartFileException ex,
                                                                                 HttpServletResponse response) {
@@ -176,6 +288,50 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDto(ex.getMessage()));
     }
 
+    @ExceptionHandler(PreviewNotAvailableException.class)
+    public ResponseEntity<ErrorResponseDto> handlePreviewNotAvailableException(PreviewNotAvailableException ex,
+                                                                               HttpServletResponse response) {
+        log.warn("[Handle] Preview not available (PreviewNotAvailableException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return buildNotFoundErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(PreviewGenerationBusyException.class)
+    public ResponseEntity<ErrorResponseDto> handlePreviewGenerationBusyException(PreviewGenerationBusyException ex,
+                                                                                 HttpServletResponse response) {
+        log.warn("[Handle] Preview generation is busy (PreviewGenerationBusyException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponseDto(ex.getMessage()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleRateLimitExceededException(RateLimitExceededException ex,
+                                                                             HttpServletResponse response) {
+        log.warn("[Handle] Request rate limit exceeded (RateLimitExceededException): {}", ex.getMessage());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        var retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponseDto(ex.getMessage()));
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponseDto> handleTaskRejectedException(TaskRejectedException ex,
+                                                                        HttpServletResponse response) {
+        log.warn("[Handle] Download executor is saturated (TaskRejectedException): {}", ex.getMessage());
+        storageMetrics.recordDownloadRejected();
+        resetDownloadResponse(response);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(downloadExecutorProperties.getRetryAfter().toSeconds()))
+                .body(new ErrorResponseDto("Too many concurrent downloads, please retry later"));
+    }
+
     @ExceptionHandler(DirectoryNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleDirectoryNotFoundException(DirectoryNotFoundException ex,
                                                                              HttpServletResponse response) {
@@ -224,6 +380,21 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDto("Internal error"));
     }
 
+    private static void resetDownloadResponse(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+
+        var preservedHeaders = new LinkedHashMap<String, List<String>>();
+        for (var name : response.getHeaderNames()) {
+            if (!DOWNLOAD_RESPONSE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                preservedHeaders.putIfAbsent(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        response.reset();
+        preservedHeaders.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    }
+
     private ResponseEntity<ErrorResponseDto> buildNotFoundErrorResponse(String message) {
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
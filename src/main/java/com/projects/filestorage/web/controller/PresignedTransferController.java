@@ -0,0 +1,253 @@
+package com.projects.filestorage.web.controller;
+
+import com.projects.filestorage.security.CustomUserDetails;
+import com.projects.filestorage.service.presigned.PresignedTransferService;
+import com.projects.filestorage.validation.ResourcePathValidator;
+import com.projects.filestorage.web.dto.response.ErrorResponseDto;
+import com.projects.filestorage.web.dto.response.PresignedDownloadResponseDto;
+import com.projects.filestorage.web.dto.response.PresignedUploadResponseDto;
+import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import com.projects.filestorage.web.interceptor.RateLimited;
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(
+        name = "Presigned transfers",
+        description = "Short-lived object store urls for transferring file content without passing it through the server"
+)
+@Timed(value = "filestorage.api.requests", extraTags = {"controller", "presigned"}, histogram = true)
+@RestController
+@RequestMapping("/api/resource/presigned")
+@ConditionalOnProperty(prefix = "storage.presigned", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PresignedTransferController {
+
+    private final PresignedTransferService presignedTransferService;
+    private final ResourcePathValidator resourcePathValidator;
+
+    @Operation(
+            summary = "Start presigned upload",
+            description = "Returns a presigned url the file content is uploaded to with a single PUT request. " +
+                    "The file appears at the specified path only after the upload is completed",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Presigned upload started",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = PresignedUploadResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation path exception or too large size",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The resource on the destination path already exists",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "The user's files are being moved to another storage node",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @RateLimited(cost = "upload")
+    @PostMapping("/upload")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PresignedUploadResponseDto initiateUpload(@RequestParam("path")
+                                                     @Parameter(example = "folder1/video.mp4")
+                                                     String path,
+                                                     @RequestParam("size")
+                                                     @Parameter(description = "Size of the file in bytes", example = "1048576")
+                                                     long size,
+                                                     @AuthenticationPrincipal CustomUserDetails userDetails) {
+        resourcePathValidator.validateStreamUploadFormat(path, size);
+        return presignedTransferService.initiateUpload(userDetails.getId(), path, size);
+    }
+
+    @Operation(
+            summary = "Complete presigned upload",
+            description = "Commits the uploaded content to the path the upload was started for",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Resource uploaded successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ResourceInfoResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The uploaded size does not match the declared size",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "The pending upload does not exist or has expired",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "No content has been uploaded yet or the resource on the destination path already exists",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "The user's files are being moved to another storage node",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @RateLimited(cost = "upload")
+    @PostMapping("/upload/{id}/complete")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResourceInfoResponseDto completeUpload(@PathVariable("id")
+                                                  @Parameter(description = "Identifier of the pending upload", example = "42")
+                                                  Long id,
+                                                  @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return presignedTransferService.completeUpload(userDetails.getId(), id);
+    }
+
+    @Operation(
+            summary = "Get presigned download url",
+            description = "Returns a presigned url the file content can be downloaded from directly",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successful receipt of the download url",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = PresignedDownloadResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation path exception",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "The file does not exist",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @RateLimited(cost = "download")
+    @GetMapping("/download")
+    @ResponseStatus(HttpStatus.OK)
+    public PresignedDownloadResponseDto presignDownload(@RequestParam("path")
+                                                        @Parameter(example = "home/resource.txt")
+                                                        String path,
+                                                        @AuthenticationPrincipal CustomUserDetails userDetails) {
+        resourcePathValidator.validateFilePathFormat(path);
+        return presignedTransferService.presignDownload(userDetails.getId(), path);
+    }
+}
@@ -1,10 +1,20 @@
 package com.projects.filestorage.web.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.filestorage.config.properties.PreviewProperties;
+import com.projects.filestorage.metrics.StorageMetrics;
 import com.projects.filestorage.security.CustomUserDetails;
 import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.utils.DownloadRequestUtils;
+import com.projects.filestorage.utils.NdjsonUtils;
+import com.projects.filestorage.utils.SendfileUtils;
 import com.projects.filestorage.validation.ResourcePathValidator;
+import com.projects.filestorage.web.dto.request.UploadNegotiationRequestDto;
 import com.projects.filestorage.web.dto.response.ErrorResponseDto;
 import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import com.projects.filestorage.web.dto.response.UploadNegotiationResponseDto;
+import com.projects.filestorage.web.interceptor.RateLimited;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -14,7 +24,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -24,6 +37,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
@@ -32,6 +47,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -39,6 +55,7 @@ import java.util.List;
         name = "Resources",
         description = "Operations for working with resources"
 )
+@Timed(value = "filestorage.api.requests", extraTags = {"controller", "resource"}, histogram = true)
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
@@ -46,6 +63,9 @@ public class ResourceController {
 
     private final UserFileService userFileService;
     private final ResourcePathValidator resourcePathValidator;
+    private final ObjectMapper objectMapper;
+    private final PreviewProperties previewProperties;
+    private final StorageMetrics storageMetrics;
 
     @Operation(
             summary = "Get resource info",
@@ -82,6 +102,13 @@ public class ResourceController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
@@ -90,6 +117,7 @@ public class ResourceController {
                             schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
+    @RateLimited(cost = "info")
     @GetMapping("/resource")
     @ResponseStatus(HttpStatus.OK)
     public ResourceInfoResponseDto getResourceInfo(@RequestParam("path")
@@ -131,6 +159,13 @@ public class ResourceController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
@@ -139,6 +174,7 @@ public class ResourceController {
                             schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
+    @RateLimited(cost = "delete")
     @DeleteMapping("/resource")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteResource(@RequestParam("path")
@@ -151,7 +187,8 @@ public class ResourceController {
 
     @Operation(
             summary = "Download resource",
-            description = "Download a resource (file or directory) at the specified path",
+            description = "Download a resource (file or directory) at the specified path. Files stored compressed are sent "
+                    + "as is with Content-Encoding: gzip when the client accepts it",
             security = @SecurityRequirement(name = "sessionAuth")
     )
     @ApiResponses(value = {
@@ -181,6 +218,13 @@ public class ResourceController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
@@ -189,22 +233,115 @@ public class ResourceController {
                             schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
+    @RateLimited(cost = "download", directoryCost = "zip")
     @GetMapping("/resource/download")
     public ResponseEntity<StreamingResponseBody> downloadResource(@RequestParam("path")
                                                                   @Parameter(example = "home/resource.txt", allowEmptyValue = true)
                                                                   String path,
-                                                                  @AuthenticationPrincipal CustomUserDetails userDetails) {
+                                                                  @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                                  @Parameter(hidden = true) HttpServletRequest request) {
         resourcePathValidator.validatePathFormat(path);
 
-        var resourceDownloadDto = userFileService.downloadResource(userDetails.getId(), path);
+        var resourceDownloadDto = userFileService.downloadResource(userDetails.getId(), path, acceptsGzip(request));
         var contentDisposition = ContentDisposition.attachment()
                 .filename(resourceDownloadDto.fileName(), StandardCharsets.UTF_8)
                 .build();
 
-        return ResponseEntity.ok()
+        var responseBuilder = ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(resourceDownloadDto.responseBody());
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM);
+        if (resourceDownloadDto.contentLength() != null) {
+            responseBuilder.contentLength(resourceDownloadDto.contentLength());
+        }
+        if (resourceDownloadDto.contentEncoding() != null) {
+            responseBuilder.header(HttpHeaders.CONTENT_ENCODING, resourceDownloadDto.contentEncoding());
+        }
+
+        if (resourceDownloadDto.localFile() != null && SendfileUtils.isSendfileSupported(request)) {
+            SendfileUtils.requestSendfile(request, resourceDownloadDto.localFile(), resourceDownloadDto.contentLength());
+            storageMetrics.recordDownloadedBytes(resourceDownloadDto.contentLength());
+            return responseBuilder.build();
+        }
+
+        DownloadRequestUtils.markDownload(request);
+        return responseBuilder.body(resourceDownloadDto.responseBody());
+    }
+
+    @Operation(
+            summary = "Get resource thumbnail",
+            description = "Returns a small JPEG preview of an image file. The preview is generated on first request if it does not exist yet",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successful thumbnail receipt",
+                    content = @Content(mediaType = MediaType.IMAGE_JPEG_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "The thumbnail has not changed since the version identified by If-None-Match",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation path exception",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "The resource does not found or has no preview",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Preview generation is overloaded, retry later",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @RateLimited(cost = "info")
+    @GetMapping("/resource/thumbnail")
+    public ResponseEntity<byte[]> getResourceThumbnail(@RequestParam("path")
+                                                       @Parameter(example = "photos/cat.jpg", allowEmptyValue = true)
+                                                       String path,
+                                                       @AuthenticationPrincipal CustomUserDetails userDetails) {
+        resourcePathValidator.validatePathFormat(path);
+
+        var previewDto = userFileService.getPreview(userDetails.getId(), path);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(previewProperties.getCacheMaxAge()).cachePrivate())
+                .eTag(previewDto.etag())
+                .body(previewDto.content());
     }
 
     @Operation(
@@ -246,6 +383,13 @@ public class ResourceController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
@@ -254,6 +398,7 @@ public class ResourceController {
                             schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
+    @RateLimited(cost = "move")
     @GetMapping("/resource/move")
     @ResponseStatus(HttpStatus.OK)
     public ResourceInfoResponseDto moveResource(@RequestParam("from")
@@ -297,6 +442,13 @@ public class ResourceController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
@@ -305,6 +457,7 @@ public class ResourceController {
                             schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
+    @RateLimited(cost = "search")
     @GetMapping("/resource/search")
     @ResponseStatus(HttpStatus.OK)
     public List<ResourceInfoResponseDto> searchResources(@RequestParam("query")
@@ -350,6 +503,13 @@ public class ResourceController {
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unknown error",
@@ -358,6 +518,7 @@ public class ResourceController {
                             schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
+    @RateLimited(cost = "upload")
     @PostMapping(value = "/resource", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     public List<ResourceInfoResponseDto> uploadResource(@RequestParam("path")
@@ -373,4 +534,235 @@ public class ResourceController {
         resourcePathValidator.validateUploadResourcesFormat(path, objects);
         return userFileService.uploadResources(userDetails.getId(), path, objects);
     }
+
+    @Operation(
+            summary = "Negotiate upload by content hash",
+            description = "Checks whether content with the given size and SHA-256 is already stored. " +
+                    "If it is, the file is created with a server-side copy and the body does not have to be uploaded",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Identical content was not found, the file has to be uploaded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UploadNegotiationResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Resource created from identical content already in storage",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UploadNegotiationResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation path exception, too large size or malformed SHA-256",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The resource on the destination path already exists",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "The user's files are being moved to another storage node",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @RateLimited(cost = "upload")
+    @PostMapping(value = "/resource/negotiate", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UploadNegotiationResponseDto> negotiateUpload(@Valid @RequestBody
+                                                                        UploadNegotiationRequestDto uploadNegotiationRequestDto,
+                                                                        @AuthenticationPrincipal CustomUserDetails userDetails) {
+        resourcePathValidator.validateStreamUploadFormat(uploadNegotiationRequestDto.path(), uploadNegotiationRequestDto.size());
+
+        var uploadNegotiationResponseDto = userFileService.negotiateUpload(
+                userDetails.getId(),
+                uploadNegotiationRequestDto.path(),
+                uploadNegotiationRequestDto.size(),
+                uploadNegotiationRequestDto.sha256()
+        );
+        var status = uploadNegotiationResponseDto.uploadRequired() ? HttpStatus.OK : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(uploadNegotiationResponseDto);
+    }
+
+    @Operation(
+            summary = "Upload resource as a raw stream",
+            description = "Streams the request body directly into storage as a file at the specified path. " +
+                    "Unlike multipart upload, the body is not buffered on disk by the server",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Resource uploaded successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ResourceInfoResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation path exception or missing/too large Content-Length",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The resource on the destination path already exists",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @RateLimited(cost = "upload")
+    @PutMapping(value = "/resource/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResourceInfoResponseDto uploadResourceStream(@RequestParam("path")
+                                                        @Parameter(example = "folder1/video.mp4")
+                                                        String path,
+                                                        @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                        @Parameter(hidden = true) HttpServletRequest request) throws IOException {
+        var contentLength = request.getContentLengthLong();
+        resourcePathValidator.validateStreamUploadFormat(path, contentLength);
+
+        try (var content = request.getInputStream()) {
+            return userFileService.uploadResourceStream(
+                    userDetails.getId(), path, content, contentLength, request.getContentType()
+            );
+        }
+    }
+
+    @Operation(
+            summary = "Stream search results as NDJSON",
+            description = "Writes one matching resource per line as soon as it is found. Selected with Accept: application/x-ndjson",
+            security = @SecurityRequirement(name = "sessionAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Entries are streamed one JSON object per line",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ResourceInfoResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation path exception",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized request",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Request rate limit exceeded",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unknown error",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @RateLimited(cost = "search")
+    @GetMapping(value = "/resource/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchResources(@RequestParam("query")
+                                                                       @Parameter(example = "folder1/resource", allowEmptyValue = true)
+                                                                       String query,
+                                                                       @AuthenticationPrincipal CustomUserDetails userDetails) {
+        resourcePathValidator.validateSearchQueryFormat(query);
+
+        var resourceInfoStream = userFileService.streamSearchResources(userDetails.getId(), query);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonUtils.toNdjsonBody(objectMapper, resourceInfoStream));
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                if (parameters[i].trim().matches("q=0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,4 @@
+package com.projects.filestorage.web.dto.internal;
+
+public record PreviewDto(byte[] content, String etag) {
+}
@@ -1,11 +1,12 @@
 package com.projects.filestorage.web.dto.internal;
 
+import com.projects.filestorage.path.ResourcePath;
 import com.projects.filestorage.web.dto.internal.enums.ResourceType;
 import lombok.Builder;
 
 @Builder
 public record ResourceContextDto(String bucket,
                                  String absolutePath,
-                                 String relativePath,
+                                 ResourcePath relativePath,
                                  ResourceType resourceType) {
 }
@@ -3,7 +3,12 @@ package com.projects.filestorage.web.dto.internal;
 import lombok.Builder;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Path;
+
 @Builder
 public record ResourceDownloadDto(String fileName,
-                                  StreamingResponseBody responseBody) {
+                                  StreamingResponseBody responseBody,
+                                  Path localFile,
+                                  Long contentLength,
+                                  String contentEncoding) {
 }
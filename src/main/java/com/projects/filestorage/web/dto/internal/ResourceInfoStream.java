@@ -0,0 +1,11 @@
+package com.projects.filestorage.web.dto.internal;
+
+import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface ResourceInfoStream {
+
+    void forEach(Consumer<ResourceInfoResponseDto> consumer);
+}
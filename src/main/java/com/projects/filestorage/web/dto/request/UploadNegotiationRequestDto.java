@@ -0,0 +1,25 @@
+package com.projects.filestorage.web.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+
+@Schema(description = "DTO describing a file the client is about to upload")
+public record UploadNegotiationRequestDto(
+
+        @Schema(description = "Path of the file to create", example = "folder1/video.mp4")
+        @NotBlank(message = "Path should not be empty")
+        String path,
+
+        @Schema(description = "Size of the file in bytes", example = "1048576")
+        @NotNull(message = "Size should not be empty")
+        @PositiveOrZero(message = "Size should not be negative")
+        Long size,
+
+        @Schema(description = "SHA-256 of the file content in hex", example = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855")
+        @NotBlank(message = "SHA-256 should not be empty")
+        @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "SHA-256 should be 64 hexadecimal characters")
+        String sha256) {
+}
@@ -0,0 +1,18 @@
+package com.projects.filestorage.web.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of resource changes after the requested token")
+public record ChangeFeedResponseDto(
+
+        @Schema(description = "Changes ordered by sequence number")
+        List<ResourceChangeResponseDto> changes,
+
+        @Schema(description = "Token to pass as 'since' on the next poll", example = "42")
+        Long nextToken,
+
+        @Schema(description = "Whether more changes are available right away", example = "false")
+        boolean hasMore) {
+}
@@ -0,0 +1,17 @@
+package com.projects.filestorage.web.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Schema(description = "A presigned url the client downloads the file content from")
+@Builder
+public record PresignedDownloadResponseDto(
+
+        @Schema(description = "Presigned url of the object store", example = "https://storage.example.com/user-files/user-1-files/report.pdf?X-Amz-Signature=...")
+        String url,
+
+        @Schema(description = "Time after which the url is no longer accepted", example = "2025-01-01T12:05:00Z")
+        Instant expiresAt) {
+}
@@ -0,0 +1,23 @@
+package com.projects.filestorage.web.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Schema(description = "A presigned url the client uploads the file content to before completing the upload")
+@Builder
+public record PresignedUploadResponseDto(
+
+        @Schema(description = "Identifier of the pending upload, used to complete it", example = "42")
+        Long id,
+
+        @Schema(description = "HTTP method to send the file content with", example = "PUT")
+        String method,
+
+        @Schema(description = "Presigned url of the object store", example = "https://storage.example.com/user-files/uploads/user-1-files/42?X-Amz-Signature=...")
+        String url,
+
+        @Schema(description = "Time after which the url is no longer accepted", example = "2025-01-01T12:05:00Z")
+        Instant expiresAt) {
+}
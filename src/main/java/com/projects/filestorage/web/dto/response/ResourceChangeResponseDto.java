@@ -0,0 +1,36 @@
+package com.projects.filestorage.web.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.projects.filestorage.domain.ResourceChangeType;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Schema(description = "A single change of a user's resource")
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResourceChangeResponseDto(
+
+        @Schema(description = "Per-user sequence number of the change", example = "42")
+        Long sequence,
+
+        @Schema(description = "Kind of change", example = "MOVED")
+        ResourceChangeType change,
+
+        @Schema(description = "Type of the changed resource", example = "FILE")
+        ResourceType type,
+
+        @Schema(description = "Path of the resource after the change", example = "documents/report.pdf")
+        String path,
+
+        @Schema(description = "Path of the resource before a move. Missing for other changes", example = "drafts/report.pdf")
+        String previousPath,
+
+        @Schema(description = "Size of a created file in bytes. Missing for other changes", example = "11")
+        Long size,
+
+        @Schema(description = "Time of the change", example = "2025-01-01T12:00:00Z")
+        Instant changedAt) {
+}
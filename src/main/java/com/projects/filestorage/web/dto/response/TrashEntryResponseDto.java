@@ -0,0 +1,32 @@
+package com.projects.filestorage.web.dto.response;
+
+import com.projects.filestorage.domain.TrashEntryState;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Schema(description = "A deleted resource kept in the user's trash")
+@Builder
+public record TrashEntryResponseDto(
+
+        @Schema(description = "Identifier of the trash entry", example = "17")
+        Long id,
+
+        @Schema(description = "Path of the resource before it was deleted", example = "documents/report.pdf")
+        String path,
+
+        @Schema(description = "Type of the deleted resource", example = "FILE")
+        ResourceType type,
+
+        @Schema(description = "MOVING while the resource is still being moved to the trash, TRASHED once it can be restored",
+                example = "TRASHED")
+        TrashEntryState state,
+
+        @Schema(description = "Time of deletion", example = "2025-01-01T12:00:00Z")
+        Instant deletedAt,
+
+        @Schema(description = "Time after which the resource is purged permanently", example = "2025-01-31T12:00:00Z")
+        Instant expiresAt) {
+}
@@ -0,0 +1,17 @@
+package com.projects.filestorage.web.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Schema(description = "Outcome of an upload negotiation")
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UploadNegotiationResponseDto(
+
+        @Schema(description = "True when identical content was not found and the file body has to be uploaded", example = "false")
+        boolean uploadRequired,
+
+        @Schema(description = "The created file when the upload was satisfied from existing content. Missing otherwise")
+        ResourceInfoResponseDto resource) {
+}
@@ -0,0 +1,130 @@
+package com.projects.filestorage.web.filter;
+
+import com.projects.filestorage.config.properties.StorageAccountingProperties;
+import com.projects.filestorage.metrics.StorageCallAccounting;
+import com.projects.filestorage.metrics.StorageCallTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class StorageCallAccountingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String ACCOUNTING_ATTRIBUTE = StorageCallAccountingFilter.class.getName() + ".accounting";
+
+    private final StorageCallTracker storageCallTracker;
+    private final StorageAccountingProperties storageAccountingProperties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !storageAccountingProperties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            doFilterAsyncDispatch(request, response, filterChain);
+            return;
+        }
+
+        var accounting = storageCallTracker.begin();
+        request.setAttribute(ACCOUNTING_ATTRIBUTE, accounting);
+        var wrappedResponse = new ServerTimingResponseWrapper(response, accounting);
+
+        try {
+            filterChain.doFilter(request, wrappedResponse);
+        } finally {
+            storageCallTracker.end();
+            if (!request.isAsyncStarted()) {
+                wrappedResponse.writeServerTiming();
+                logIfSlow(request, accounting);
+            }
+        }
+    }
+
+    private void doFilterAsyncDispatch(HttpServletRequest request,
+                                       HttpServletResponse response,
+                                       FilterChain filterChain) throws ServletException, IOException {
+        if (!(request.getAttribute(ACCOUNTING_ATTRIBUTE) instanceof StorageCallAccounting accounting)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        storageCallTracker.resume(accounting);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            storageCallTracker.end();
+            if (!request.isAsyncStarted()) {
+                writeServerTiming(response, accounting);
+                logIfSlow(request, accounting);
+            }
+        }
+    }
+
+    private void writeServerTiming(HttpServletResponse response, StorageCallAccounting accounting) {
+        if (response.isCommitted() || !storageAccountingProperties.isServerTimingEnabled()) {
+            return;
+        }
+        response.addHeader(SERVER_TIMING_HEADER, accounting.toServerTiming());
+    }
+
+    private void logIfSlow(HttpServletRequest request, StorageCallAccounting accounting) {
+        var totalCalls = accounting.getTotalCalls();
+        var totalNanos = accounting.getTotalNanos();
+
+        if (totalCalls < storageAccountingProperties.getSlowRequestCallThreshold()
+                && totalNanos < storageAccountingProperties.getSlowRequestLatencyThreshold().toNanos()) {
+            return;
+        }
+
+        log.warn("[Storage] Request {} {} made {} storage calls taking {} ms (request took {} ms): {}",
+                request.getMethod(), request.getRequestURI(), totalCalls,
+                totalNanos / 1_000_000, accounting.getElapsedNanos() / 1_000_000, accounting.toSummary());
+    }
+
+    private class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final StorageCallAccounting accounting;
+        private boolean serverTimingWritten;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, StorageCallAccounting accounting) {
+            super(response);
+            this.accounting = accounting;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeServerTiming();
+        }
+
+        void writeServerTiming() {
+            if (serverTimingWritten) {
+                return;
+            }
+            serverTimingWritten = true;
+            StorageCallAccountingFilter.this.writeServerTiming(this, accounting);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.projects.filestorage.web.interceptor;
+
+import com.projects.filestorage.config.properties.RateLimitProperties;
+import com.projects.filestorage.exception.RateLimitExceededException;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.security.CustomUserDetails;
+import com.projects.filestorage.security.throttle.RequestRateLimiter;
+import com.projects.filestorage.utils.MinioUtils;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String DEFAULT_COST_KEY = "default";
+    private static final String PATH_PARAMETER = "path";
+
+    private final RequestRateLimiter requestRateLimiter;
+    private final RateLimitProperties properties;
+    private final StorageMetrics storageMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return true;
+        }
+
+        var costKey = resolveCostKey(handlerMethod, request);
+        var decision = requestRateLimiter.tryConsume(userDetails.getId(), properties.costOf(costKey));
+        if (decision.allowed()) {
+            return true;
+        }
+
+        log.info("[RateLimit] Throttled {} {} for userId={}, retry after {} ms",
+                request.getMethod(), request.getRequestURI(), userDetails.getId(), decision.retryAfter().toMillis());
+        storageMetrics.recordRateLimited(costKey);
+        throw new RateLimitExceededException("Too many requests, please retry later", decision.retryAfter());
+    }
+
+    private String resolveCostKey(HandlerMethod handlerMethod, HttpServletRequest request) {
+        var rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return DEFAULT_COST_KEY;
+        }
+
+        var path = request.getParameter(PATH_PARAMETER);
+        if (!rateLimited.directoryCost().isEmpty() && path != null && MinioUtils.isPathDirectoryLike(path)) {
+            return rateLimited.directoryCost();
+        }
+        return rateLimited.cost();
+    }
+}
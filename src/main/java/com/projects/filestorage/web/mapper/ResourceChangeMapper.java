@@ -0,0 +1,21 @@
+package com.projects.filestorage.web.mapper;
+
+import com.projects.filestorage.domain.ResourceChange;
+import com.projects.filestorage.web.dto.response.ResourceChangeResponseDto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ResourceChangeMapper {
+
+    public ResourceChangeResponseDto toDto(ResourceChange resourceChange) {
+        return ResourceChangeResponseDto.builder()
+                .sequence(resourceChange.getSequence())
+                .change(resourceChange.getChangeType())
+                .type(resourceChange.getResourceType())
+                .path(resourceChange.getPath())
+                .previousPath(resourceChange.getPreviousPath())
+                .size(resourceChange.getSize())
+                .changedAt(resourceChange.getCreatedAt())
+                .build();
+    }
+}
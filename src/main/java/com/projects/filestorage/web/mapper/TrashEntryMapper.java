@@ -0,0 +1,20 @@
+package com.projects.filestorage.web.mapper;
+
+import com.projects.filestorage.domain.TrashEntry;
+import com.projects.filestorage.web.dto.response.TrashEntryResponseDto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TrashEntryMapper {
+
+    public TrashEntryResponseDto toDto(TrashEntry trashEntry) {
+        return TrashEntryResponseDto.builder()
+                .id(trashEntry.getId())
+                .path(trashEntry.getPath())
+                .type(trashEntry.getResourceType())
+                .state(trashEntry.getState())
+                .deletedAt(trashEntry.getDeletedAt())
+                .expiresAt(trashEntry.getExpiresAt())
+                .build();
+    }
+}
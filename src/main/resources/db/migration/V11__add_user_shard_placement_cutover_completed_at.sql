@@ -0,0 +1,2 @@
+alter table file_storage.user_shard_placements
+    add column cutover_completed_at timestamptz;
@@ -0,0 +1,13 @@
+create table file_storage.pending_uploads
+(
+    id           bigserial primary key,
+    user_id      int         not null references file_storage.users (id),
+    path         varchar     not null,
+    bucket       varchar     not null,
+    staging_path varchar,
+    size         bigint      not null,
+    created_at   timestamptz not null default now(),
+    expires_at   timestamptz not null
+);
+create index idx_pending_uploads_user_id on file_storage.pending_uploads (user_id);
+create index idx_pending_uploads_expires_at on file_storage.pending_uploads (expires_at);
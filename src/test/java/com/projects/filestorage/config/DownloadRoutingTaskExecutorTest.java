@@ -0,0 +1,52 @@
+package com.projects.filestorage.config;
+
+import com.projects.filestorage.utils.DownloadRequestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownloadRoutingTaskExecutorTest {
+
+    private MockHttpServletRequest request;
+    private DownloadRoutingTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        executor = new DownloadRoutingTaskExecutor(
+                new SimpleAsyncTaskExecutor("download-"),
+                new SimpleAsyncTaskExecutor("mvc-async-")
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void submit_shouldRunDownloadBodiesOnDownloadExecutor() throws Exception {
+        DownloadRequestUtils.markDownload(request);
+
+        assertThat(executor.submit(() -> Thread.currentThread().getName()).get()).startsWith("download-");
+    }
+
+    @Test
+    void submit_shouldRunOtherAsyncHandlersOnDefaultExecutor() throws Exception {
+        assertThat(executor.submit(() -> Thread.currentThread().getName()).get()).startsWith("mvc-async-");
+    }
+
+    @Test
+    void submit_shouldUseDefaultExecutorOutsideRequests() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+
+        assertThat(executor.submit(() -> Thread.currentThread().getName()).get()).startsWith("mvc-async-");
+    }
+}
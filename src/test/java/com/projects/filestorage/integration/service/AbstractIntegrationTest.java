@@ -12,8 +12,6 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestConstructor;
 
-import static com.projects.filestorage.integration.service.TestConfig.minio;
-
 @SpringBootTest(classes = TestConfig.class)
 @NoArgsConstructor
 @TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
@@ -21,9 +19,7 @@ public class AbstractIntegrationTest {
 
     @DynamicPropertySource
     static void minioProperties(DynamicPropertyRegistry registry) {
-        registry.add(TestConfig.Minio.PROP_MINIO_ENDPOINT,
-                () -> TestConfig.Minio.MINIO_HTTP_PROTOCOL + minio.getHost() + ":" + minio.getFirstMappedPort()
-        );
+        registry.add(TestConfig.Minio.PROP_MINIO_ENDPOINT, TestConfig::minioEndpoint);
         registry.add(TestConfig.Minio.PROP_MINIO_ACCESS_KEY, () -> TestConfig.Minio.MINIO_ACCESS_KEY);
         registry.add(TestConfig.Minio.PROP_MINIO_SECRET_KEY, () -> TestConfig.Minio.MINIO_SECRET_KEY);
         registry.add(TestConfig.Minio.PROP_MINIO_BUCKET_NAME, () -> TestConfig.Minio.MINIO_BUCKET_NAME);
@@ -1,13 +1,22 @@
 package com.projects.filestorage.integration.service;
 
+import com.projects.filestorage.config.properties.LoginThrottleProperties;
+import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.config.properties.OutboxProperties;
+import com.projects.filestorage.config.properties.PasswordHashingProperties;
 import com.projects.filestorage.config.properties.SessionCookieProperties;
 import com.projects.filestorage.domain.User;
+import com.projects.filestorage.exception.LoginAttemptsExceededException;
 import com.projects.filestorage.exception.UnauthenticatedAccessException;
 import com.projects.filestorage.exception.UserAlreadyExistsException;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.OutboxEventRepository;
 import com.projects.filestorage.repository.UserRepository;
 import com.projects.filestorage.service.AuthService;
 import com.projects.filestorage.service.UserRoleService;
 import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.service.outbox.OutboxRelay;
+import com.projects.filestorage.utils.MinioUtils;
 import com.projects.filestorage.web.dto.request.SignInRequestDto;
 import com.projects.filestorage.web.dto.request.SignUpRequestDto;
 import jakarta.validation.ConstraintViolationException;
@@ -20,13 +29,20 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.TestConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -42,6 +58,13 @@ public class AuthServiceIT extends AbstractIntegrationTest {
     private final UserRoleService userRoleService;
     private final PasswordEncoder passwordEncoder;
     private final SessionCookieProperties sessionCookieProperties;
+    private final LoginThrottleProperties loginThrottleProperties;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final OutboxRelay outboxRelay;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxProperties outboxProperties;
+    private final MinioRepository minioRepository;
+    private final MinioClientProperties minioClientProperties;
 
     @ParameterizedTest(name = "Sign-up for {0}")
     @MethodSource("com.projects.filestorage.testdata.data.AuthTestData#getValidSignUpRequestDtos")
@@ -142,6 +165,119 @@ public class AuthServiceIT extends AbstractIntegrationTest {
                 .isInstanceOf(BadCredentialsException.class);
     }
 
+    @Test
+    @Transactional
+    @Rollback
+    void signIn_TooManyFailedAttempts_ShouldThrownLoginAttemptsExceededException() {
+        // given
+        var username = "Throttled user";
+        var password = "Correct password";
+        userService.createUser(username, passwordEncoder.encode(password));
+        var invalidSignInRequestDto = new SignInRequestDto(username, "Wrong password");
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+
+        // when
+        for (int i = 0; i < loginThrottleProperties.getMaxAttemptsPerUsername(); i++) {
+            assertThatThrownBy(() -> authService.signIn(invalidSignInRequestDto, request, response))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+
+        // then
+        assertThatThrownBy(() -> authService.signIn(new SignInRequestDto(username, password), request, response))
+                .isInstanceOf(LoginAttemptsExceededException.class);
+        assertThat(request.getSession(false)).isNull();
+    }
+
+    @Test
+    void signIn_ConcurrentFailedAttempts_ShouldAdmitAtMostMaxAttempts() throws Exception {
+        // given
+        var maxAttempts = loginThrottleProperties.getMaxAttemptsPerUsername();
+        var invalidSignInRequestDto = new SignInRequestDto("Burst user " + UUID.randomUUID(), "Wrong password");
+        var concurrentAttempts = maxAttempts * 3;
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(concurrentAttempts);
+
+        // when
+        var attempts = new ArrayList<Future<Class<?>>>();
+        for (int i = 0; i < concurrentAttempts; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    authService.signIn(invalidSignInRequestDto, new MockHttpServletRequest(), new MockHttpServletResponse());
+                    return null;
+                } catch (RuntimeException ex) {
+                    return ex.getClass();
+                }
+            }));
+        }
+        start.countDown();
+
+        var outcomes = new ArrayList<Class<?>>();
+        for (var attempt : attempts) {
+            outcomes.add(attempt.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(outcomes).filteredOn(BadCredentialsException.class::equals).hasSize(maxAttempts);
+        assertThat(outcomes).filteredOn(LoginAttemptsExceededException.class::equals)
+                .hasSize(concurrentAttempts - maxAttempts);
+    }
+
+    @Test
+    @Transactional
+    @Rollback
+    void signIn_PasswordHashedWithLowerStrength_ShouldRehashPassword() {
+        // given
+        var username = "Legacy user";
+        var password = "password";
+        userService.createUser(username, new BCryptPasswordEncoder(4).encode(password));
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+
+        // when
+        authService.signIn(new SignInRequestDto(username, password), request, response);
+
+        // then
+        var storedPassword = userRepository.findByUsername(username).orElseThrow().getPassword();
+        assertThat(storedPassword).contains("$%02d$".formatted(passwordHashingProperties.getStrength()));
+        assertThat(passwordEncoder.matches(password, storedPassword)).isTrue();
+    }
+
+    @Test
+    @Transactional
+    @Rollback
+    void signUp_ValidSignUpRequest_ShouldProvisionRootDirectoryThroughOutbox() {
+        // given
+        var signUpRequestDto = new SignUpRequestDto("Outbox user", "Correct password");
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+        authService.signUp(signUpRequestDto, request, response);
+        var user = userRepository.findByUsername(signUpRequestDto.username()).orElseThrow();
+        var userRootDirectory = MinioUtils.buildUserRootPath(user.getId());
+
+        // when
+        outboxRelay.relay();
+
+        // then
+        assertThat(minioRepository.isDirectoryExists(minioClientProperties.getBucketName(), userRootDirectory))
+                .isTrue();
+        assertThat(outboxEventRepository.claimDueEvents(outboxProperties.getBatchSize(), 1)).isEmpty();
+    }
+
+    @Test
+    void getDefaultUserRole_RepeatedLookups_ShouldBeServedFromCache() {
+        // given
+        var cachedRole = userRoleService.getDefaultUserRole();
+
+        // when
+        var role = userRoleService.getDefaultUserRole();
+
+        // then
+        assertThat(role).isSameAs(cachedRole);
+    }
+
     @Test
     @Transactional
     @Rollback
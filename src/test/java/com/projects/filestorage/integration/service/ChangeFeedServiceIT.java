@@ -0,0 +1,131 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.domain.OutboxEvent;
+import com.projects.filestorage.domain.OutboxEventType;
+import com.projects.filestorage.domain.ResourceChangeType;
+import com.projects.filestorage.domain.User;
+import com.projects.filestorage.exception.InvalidChangeTokenException;
+import com.projects.filestorage.service.ChangeFeedService;
+import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.service.outbox.UserRootDirectoryProvisioner;
+import com.projects.filestorage.testutil.TestUtils;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import com.projects.filestorage.web.dto.response.ResourceChangeResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.projects.filestorage.integration.service.TestConfig.Minio;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(classes = TestConfig.class)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+public class ChangeFeedServiceIT extends AbstractIntegrationTest {
+
+    private final ChangeFeedService changeFeedService;
+    private final UserFileService userFileService;
+    private final UserService userService;
+    private final UserRootDirectoryProvisioner userRootDirectoryProvisioner;
+    private User testUser;
+
+    @BeforeEach
+    void setTestUser() {
+        testUser = userService.createUser(Minio.MINI0_TEST_USERNAME, Minio.MINIO_TEST_PASSWORD);
+    }
+
+    @Test
+    @Transactional
+    @Rollback
+    void getChanges_AfterMutations_ShouldReturnOrderedDeltas() {
+        // given
+        performMutations();
+
+        // when
+        var changeFeed = changeFeedService.getChanges(testUser.getId(), 0L, null);
+
+        // then
+        assertThat(changeFeed.hasMore()).isFalse();
+        assertThat(changeFeed.nextToken()).isEqualTo(4L);
+        assertThat(changeFeed.changes())
+                .extracting(
+                        ResourceChangeResponseDto::sequence,
+                        ResourceChangeResponseDto::change,
+                        ResourceChangeResponseDto::type,
+                        ResourceChangeResponseDto::path,
+                        ResourceChangeResponseDto::previousPath)
+                .containsExactly(
+                        tuple(1L, ResourceChangeType.CREATED, ResourceType.DIRECTORY, "docs/", null),
+                        tuple(2L, ResourceChangeType.CREATED, ResourceType.FILE, "docs/a.txt", null),
+                        tuple(3L, ResourceChangeType.MOVED, ResourceType.FILE, "docs/b.txt", "docs/a.txt"),
+                        tuple(4L, ResourceChangeType.DELETED, ResourceType.FILE, "docs/b.txt", null)
+                );
+    }
+
+    @Test
+    @Transactional
+    @Rollback
+    void getChanges_SinceTokenWithLimit_ShouldReturnOnlyNextPage() {
+        // given
+        performMutations();
+
+        // when
+        var changeFeed = changeFeedService.getChanges(testUser.getId(), 2L, 1);
+
+        // then
+        assertThat(changeFeed.hasMore()).isTrue();
+        assertThat(changeFeed.nextToken()).isEqualTo(3L);
+        assertThat(changeFeed.changes())
+                .extracting(ResourceChangeResponseDto::change)
+                .containsExactly(ResourceChangeType.MOVED);
+    }
+
+    @Test
+    @Transactional
+    @Rollback
+    void getChanges_WhenNothingChanged_ShouldKeepToken() {
+        // when
+        var changeFeed = changeFeedService.getChanges(testUser.getId(), 7L, null);
+
+        // then
+        assertThat(changeFeed.changes()).isEmpty();
+        assertThat(changeFeed.nextToken()).isEqualTo(7L);
+        assertThat(changeFeed.hasMore()).isFalse();
+    }
+
+    @Test
+    @Transactional
+    @Rollback
+    void getChanges_WhenTokenNegative_ShouldThrowInvalidChangeTokenException() {
+        assertThatThrownBy(() -> changeFeedService.getChanges(testUser.getId(), -1L, null))
+                .isInstanceOf(InvalidChangeTokenException.class);
+    }
+
+    private void performMutations() {
+        var file = new MockMultipartFile(
+                TestUtils.MULTIPART_FORM_FIELD_NAME,
+                "a.txt",
+                TestUtils.MULTIPART_CONTENT_TYPE,
+                "content".getBytes()
+        );
+
+        userRootDirectoryProvisioner.handle(OutboxEvent.builder()
+                .eventType(OutboxEventType.USER_ROOT_DIRECTORY_REQUESTED)
+                .aggregateId(testUser.getId())
+                .build());
+        userFileService.createEmptyDirectory(testUser.getId(), "docs/");
+        userFileService.uploadResource(testUser.getId(), "docs/", file);
+        userFileService.moveResource(testUser.getId(), "docs/a.txt", "docs/b.txt");
+        userFileService.deleteResource(testUser.getId(), "docs/b.txt");
+    }
+}
@@ -0,0 +1,109 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.config.properties.CompressionProperties;
+import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.domain.User;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.compression.ContentCompressor;
+import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.testutil.TestResourceFactory;
+import com.projects.filestorage.testutil.TestUtils;
+import com.projects.filestorage.utils.MinioUtils;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static com.projects.filestorage.integration.service.TestConfig.Minio;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestConfig.class)
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+public class ContentCompressionIT extends AbstractIntegrationTest {
+
+    private static final byte[] CSV_CONTENT = "id,name,amount\n1,alice,100\n2,bob,200\n".repeat(500)
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final UserFileService userFileService;
+    private final UserService userService;
+    private final MinioRepository minioRepository;
+    private final MinioClientProperties minioClientProperties;
+    private final CompressionProperties compressionProperties;
+    private final TestResourceFactory testResourceFactory;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userService.createUser(Minio.MINI0_TEST_USERNAME, Minio.MINIO_TEST_PASSWORD);
+        compressionProperties.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        compressionProperties.setEnabled(false);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void uploadResource_WhenContentCompressible_ShouldStoreCompressedAndReportOriginalSize() {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "reports/");
+        var absolutePath = MinioUtils.getAbsolutePath(MinioUtils.buildUserRootPath(testUser.getId()), "reports/data.csv");
+
+        // when
+        var resourceInfo = userFileService.uploadResource(testUser.getId(), "reports/", csvFile());
+
+        // then
+        var storedObject = minioRepository.getStoredObject(minioClientProperties.getBucketName(), absolutePath);
+        assertThat(resourceInfo.size()).isEqualTo(CSV_CONTENT.length);
+        assertThat(ContentCompressor.isCompressed(storedObject.userMetadata())).isTrue();
+        assertThat(storedObject.size()).isLessThan(CSV_CONTENT.length);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void downloadResource_WhenClientAcceptsGzip_ShouldServeStoredBytes() throws IOException {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "reports/");
+        userFileService.uploadResource(testUser.getId(), "reports/", csvFile());
+
+        // when
+        var encodedDownload = userFileService.downloadResource(testUser.getId(), "reports/data.csv", true);
+        var plainDownload = userFileService.downloadResource(testUser.getId(), "reports/data.csv", false);
+
+        // then
+        var encodedBody = new ByteArrayOutputStream();
+        encodedDownload.responseBody().writeTo(encodedBody);
+        var plainBody = new ByteArrayOutputStream();
+        plainDownload.responseBody().writeTo(plainBody);
+
+        assertThat(encodedDownload.contentEncoding()).isEqualTo(ContentCompressor.GZIP_ENCODING);
+        assertThat(plainDownload.contentEncoding()).isNull();
+        assertThat(plainBody.toByteArray()).isEqualTo(CSV_CONTENT);
+        try (var decoded = new GZIPInputStream(new ByteArrayInputStream(encodedBody.toByteArray()))) {
+            assertThat(decoded.readAllBytes()).isEqualTo(CSV_CONTENT);
+        }
+    }
+
+    private static MockMultipartFile csvFile() {
+        return new MockMultipartFile(TestUtils.MULTIPART_FORM_FIELD_NAME, "data.csv", "text/csv", CSV_CONTENT);
+    }
+}
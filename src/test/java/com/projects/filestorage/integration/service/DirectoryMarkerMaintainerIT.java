@@ -0,0 +1,137 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.config.properties.DirectoryProperties;
+import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.domain.User;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.service.directory.DirectoryMarkerMaintainer;
+import com.projects.filestorage.service.directory.DirectoryMode;
+import com.projects.filestorage.testdata.data.dto.TestResource;
+import com.projects.filestorage.testutil.TestResourceFactory;
+import com.projects.filestorage.utils.MinioUtils;
+import com.projects.filestorage.web.dto.internal.enums.ResourceType;
+import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.projects.filestorage.integration.service.TestConfig.Minio;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestConfig.class)
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+public class DirectoryMarkerMaintainerIT extends AbstractIntegrationTest {
+
+    private final DirectoryMarkerMaintainer directoryMarkerMaintainer;
+    private final DirectoryProperties directoryProperties;
+    private final UserFileService userFileService;
+    private final UserService userService;
+    private final MinioRepository minioRepository;
+    private final MinioClientProperties minioClientProperties;
+    private final TestResourceFactory testResourceFactory;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userService.createUser(Minio.MINI0_TEST_USERNAME, Minio.MINIO_TEST_PASSWORD);
+        directoryProperties.setMode(DirectoryMode.IMPLICIT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        directoryProperties.setMode(DirectoryMode.MARKERS);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void flush_WhenDirectoryGetsContent_ShouldRemoveRedundantMarker() {
+        // given
+        var bucket = minioClientProperties.getBucketName();
+        var directoryPath = MinioUtils.getAbsolutePath(MinioUtils.buildUserRootPath(testUser.getId()), "docs/");
+        testResourceFactory.createDirectory(testUser.getId(), "docs/");
+        testResourceFactory.uploadTestResource(testUser.getId(), TestResource.file("docs/a.txt", "a"));
+        directoryMarkerMaintainer.childAdded(bucket, directoryPath);
+
+        // when
+        directoryMarkerMaintainer.flush();
+
+        // then
+        assertThat(minioRepository.isFileExists(bucket, directoryPath)).isFalse();
+        assertThat(minioRepository.isDirectoryExists(bucket, directoryPath)).isTrue();
+        assertThat(userFileService.getDirectoryInfo(testUser.getId(), "docs/"))
+                .extracting(ResourceInfoResponseDto::name)
+                .containsExactly("a.txt");
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void childRemoved_WhenLastChildRemoved_ShouldWriteMarkerImmediately() {
+        // given
+        var bucket = minioClientProperties.getBucketName();
+        var directoryPath = MinioUtils.getAbsolutePath(MinioUtils.buildUserRootPath(testUser.getId()), "docs/");
+        testResourceFactory.uploadTestResource(testUser.getId(), TestResource.file("docs/a.txt", "a"));
+        minioRepository.deleteResource(bucket, directoryPath + "a.txt");
+
+        // when
+        directoryMarkerMaintainer.childRemoved(bucket, directoryPath);
+
+        // then
+        assertThat(directoryMarkerMaintainer.isPending(bucket, directoryPath)).isFalse();
+        assertThat(minioRepository.isFileExists(bucket, directoryPath)).isTrue();
+        assertThat(userFileService.getDirectoryInfo(testUser.getId(), "docs/")).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void getResourceInfo_WhenDirectoryIsPending_ShouldResolveDirectory() {
+        // given
+        var bucket = minioClientProperties.getBucketName();
+        var directoryPath = MinioUtils.getAbsolutePath(MinioUtils.buildUserRootPath(testUser.getId()), "pending/");
+        directoryMarkerMaintainer.childAdded(bucket, directoryPath);
+
+        // when
+        var resourceInfo = userFileService.getResourceInfo(testUser.getId(), "pending/");
+
+        // then
+        assertThat(resourceInfo.resourceType()).isEqualTo(ResourceType.DIRECTORY);
+        directoryMarkerMaintainer.flush();
+        assertThat(minioRepository.isFileExists(bucket, directoryPath)).isTrue();
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void flush_WhenAncestorDirectoryRemoved_ShouldNotRecreateMarker() {
+        // given
+        var bucket = minioClientProperties.getBucketName();
+        var directoryPath = MinioUtils.getAbsolutePath(MinioUtils.buildUserRootPath(testUser.getId()), "docs/");
+        var nestedDirectoryPath = directoryPath + "drafts/";
+        testResourceFactory.uploadTestResource(testUser.getId(), TestResource.file("docs/drafts/a.txt", "a"));
+        minioRepository.deleteResource(bucket, nestedDirectoryPath + "a.txt");
+        directoryMarkerMaintainer.childRemoved(bucket, nestedDirectoryPath);
+
+        // when
+        directoryMarkerMaintainer.directoryRemoved(bucket, directoryPath);
+        directoryMarkerMaintainer.flush();
+
+        // then
+        assertThat(directoryMarkerMaintainer.isPending(bucket, nestedDirectoryPath)).isFalse();
+        assertThat(minioRepository.isDirectoryExists(bucket, directoryPath)).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.domain.User;
+import com.projects.filestorage.security.CustomUserDetails;
+import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.web.controller.TrashController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.projects.filestorage.integration.service.TestConfig.Minio;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestConfig.class)
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@TestPropertySource(properties = {
+        "storage.download-cache.enabled=true",
+        "storage.download-cache.directory=build/test-download-cache",
+        "storage.download-cache.admission-threshold=1"
+})
+public class MetricsIT extends AbstractIntegrationTest {
+
+    private final UserFileService userFileService;
+    private final UserService userService;
+    private final TrashController trashController;
+    private final MeterRegistry meterRegistry;
+    private User testUser;
+
+    @BeforeEach
+    void setTestUser() {
+        testUser = userService.createUser(Minio.MINI0_TEST_USERNAME, Minio.MINIO_TEST_PASSWORD);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void downloadResource_ShouldCountDownloadedBytesOnlyWhenTheBodyIsWritten() throws IOException {
+        // given
+        var content = new byte[4096];
+        ThreadLocalRandom.current().nextBytes(content);
+        userFileService.uploadResourceStream(
+                testUser.getId(), "metrics.bin", new ByteArrayInputStream(content), content.length, "application/octet-stream"
+        );
+        var storageDownload = userFileService.downloadResource(testUser.getId(), "metrics.bin");
+        storageDownload.responseBody().writeTo(new ByteArrayOutputStream());
+        var downloadedBytesBefore = downloadedBytes();
+
+        // when
+        var cachedDownload = userFileService.downloadResource(testUser.getId(), "metrics.bin");
+
+        // then
+        assertThat(cachedDownload.localFile()).isNotNull();
+        assertThat(downloadedBytes()).isEqualTo(downloadedBytesBefore);
+
+        var outputStream = new ByteArrayOutputStream();
+        cachedDownload.responseBody().writeTo(outputStream);
+        assertThat(outputStream.toByteArray()).isEqualTo(content);
+        assertThat(downloadedBytes()).isEqualTo(downloadedBytesBefore + content.length);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void getTrash_ShouldRecordApiRequestTimerTaggedByController() {
+        // given
+        var userDetails = CustomUserDetails.fromUser(testUser, List.of());
+        var requestsBefore = apiRequests("trash", "getTrash");
+
+        // when
+        trashController.getTrash(userDetails);
+
+        // then
+        assertThat(apiRequests("trash", "getTrash")).isEqualTo(requestsBefore + 1);
+    }
+
+    private double downloadedBytes() {
+        var counter = meterRegistry.find("filestorage.transfer.bytes").tag("direction", "download").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private long apiRequests(String controller, String method) {
+        return meterRegistry.find("filestorage.api.requests")
+                .tag("controller", controller)
+                .tag("method", method)
+                .timers()
+                .stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
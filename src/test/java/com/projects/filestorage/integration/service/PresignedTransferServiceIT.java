@@ -0,0 +1,176 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.domain.User;
+import com.projects.filestorage.exception.InvalidMultipartFileException;
+import com.projects.filestorage.exception.PendingUploadIncompleteException;
+import com.projects.filestorage.exception.PendingUploadNotFoundException;
+import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.PendingUploadRepository;
+import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.service.presigned.PendingUploadCleaner;
+import com.projects.filestorage.service.presigned.PresignedTransferService;
+import com.projects.filestorage.testutil.TestResourceFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static com.projects.filestorage.integration.service.TestConfig.Minio;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@SpringBootTest(classes = TestConfig.class)
+@TestPropertySource(properties = "storage.presigned.enabled=true")
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+public class PresignedTransferServiceIT extends AbstractIntegrationTest {
+
+    private static final byte[] CONTENT = "presigned content".getBytes(StandardCharsets.UTF_8);
+
+    private final PresignedTransferService presignedTransferService;
+    private final UserFileService userFileService;
+    private final UserService userService;
+    private final TestResourceFactory testResourceFactory;
+    private final PendingUploadRepository pendingUploadRepository;
+    private final PendingUploadCleaner pendingUploadCleaner;
+    private final MinioRepository minioRepository;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userService.createUser(Minio.MINI0_TEST_USERNAME, Minio.MINIO_TEST_PASSWORD);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void completeUpload_WhenContentUploaded_ShouldCommitFileAtRequestedPath() throws Exception {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "docs/");
+        var presignedUpload = presignedTransferService.initiateUpload(testUser.getId(), "docs/report.txt", CONTENT.length);
+        var status = put(presignedUpload.url(), CONTENT);
+
+        // when
+        var resourceInfo = presignedTransferService.completeUpload(testUser.getId(), presignedUpload.id());
+
+        // then
+        assertThat(status).isEqualTo(200);
+        assertThat(resourceInfo.name()).isEqualTo("report.txt");
+        assertThat(resourceInfo.size()).isEqualTo(CONTENT.length);
+        assertThat(userFileService.getResourceInfo(testUser.getId(), "docs/report.txt").size()).isEqualTo(CONTENT.length);
+        assertThatThrownBy(() -> presignedTransferService.completeUpload(testUser.getId(), presignedUpload.id()))
+                .isInstanceOf(PendingUploadNotFoundException.class);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void completeUpload_WhenNothingUploaded_ShouldRejectAndKeepUploadPending() throws Exception {
+        // given
+        var presignedUpload = presignedTransferService.initiateUpload(testUser.getId(), "report.txt", CONTENT.length);
+
+        // when
+        var completeBeforeUpload = catchThrowable(
+                () -> presignedTransferService.completeUpload(testUser.getId(), presignedUpload.id()));
+        put(presignedUpload.url(), CONTENT);
+
+        // then
+        assertThat(completeBeforeUpload).isInstanceOf(PendingUploadIncompleteException.class);
+        assertThat(presignedTransferService.completeUpload(testUser.getId(), presignedUpload.id()).size())
+                .isEqualTo(CONTENT.length);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void completeUpload_WhenUploadIsAlreadyBeingCompleted_ShouldRejectSecondCompletion() throws Exception {
+        // given
+        var presignedUpload = presignedTransferService.initiateUpload(testUser.getId(), "report.txt", CONTENT.length);
+        put(presignedUpload.url(), CONTENT);
+        var claimed = pendingUploadRepository.claim(presignedUpload.id(), testUser.getId());
+
+        // when
+        var concurrentCompletion = catchThrowable(
+                () -> presignedTransferService.completeUpload(testUser.getId(), presignedUpload.id()));
+
+        // then
+        assertThat(claimed).isEqualTo(1);
+        assertThat(concurrentCompletion).isInstanceOf(PendingUploadNotFoundException.class);
+        assertThatThrownBy(() -> userFileService.getResourceInfo(testUser.getId(), "report.txt"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void completeUpload_WhenUploadedSizeDiffers_ShouldDiscardUpload() throws Exception {
+        // given
+        var presignedUpload = presignedTransferService.initiateUpload(testUser.getId(), "report.txt", CONTENT.length + 1L);
+        put(presignedUpload.url(), CONTENT);
+
+        // when
+        var completeWithWrongSize = catchThrowable(
+                () -> presignedTransferService.completeUpload(testUser.getId(), presignedUpload.id()));
+
+        // then
+        assertThat(completeWithWrongSize).isInstanceOf(InvalidMultipartFileException.class);
+        assertThatThrownBy(() -> presignedTransferService.completeUpload(testUser.getId(), presignedUpload.id()))
+                .isInstanceOf(PendingUploadNotFoundException.class);
+        assertThatThrownBy(() -> userFileService.getResourceInfo(testUser.getId(), "report.txt"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void cleanup_WhenUrlReusedAfterCompletion_ShouldRemoveLateContentOnceExpired() throws Exception {
+        // given
+        var presignedUpload = presignedTransferService.initiateUpload(testUser.getId(), "report.txt", CONTENT.length);
+        put(presignedUpload.url(), CONTENT);
+        presignedTransferService.completeUpload(testUser.getId(), presignedUpload.id());
+        put(presignedUpload.url(), CONTENT);
+        var pendingUpload = pendingUploadRepository.findById(presignedUpload.id()).orElseThrow();
+        var stagedAfterCompletion = minioRepository.isFileExists(pendingUpload.getBucket(), pendingUpload.getStagingPath());
+        pendingUpload.setExpiresAt(Instant.now().minusSeconds(1));
+        pendingUploadRepository.save(pendingUpload);
+
+        // when
+        pendingUploadCleaner.cleanup();
+
+        // then
+        assertThat(pendingUpload.getClosedAt()).isNotNull();
+        assertThat(stagedAfterCompletion).isTrue();
+        assertThat(minioRepository.isFileExists(pendingUpload.getBucket(), pendingUpload.getStagingPath())).isFalse();
+        assertThat(pendingUploadRepository.findById(presignedUpload.id())).isEmpty();
+    }
+
+    private static int put(String url, byte[] content) throws IOException, InterruptedException {
+        try (var httpClient = HttpClient.newHttpClient()) {
+            var request = HttpRequest.newBuilder(URI.create(url))
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+}
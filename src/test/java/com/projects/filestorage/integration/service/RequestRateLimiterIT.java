@@ -0,0 +1,52 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.config.properties.RateLimitProperties;
+import com.projects.filestorage.security.throttle.RequestRateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestConstructor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestConfig.class)
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+public class RequestRateLimiterIT extends AbstractIntegrationTest {
+
+    private final RequestRateLimiter requestRateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+
+    @Test
+    void tryConsume_BucketExhausted_ShouldRejectWithRetryAfter() {
+        // given
+        var userId = 42_001L;
+        var cost = rateLimitProperties.costOf("search");
+        var allowedRequests = rateLimitProperties.getCapacity() / cost;
+
+        // when
+        for (int i = 0; i < allowedRequests; i++) {
+            assertThat(requestRateLimiter.tryConsume(userId, cost).allowed()).isTrue();
+        }
+        var decision = requestRateLimiter.tryConsume(userId, cost);
+
+        // then
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfter()).isPositive();
+    }
+
+    @Test
+    void tryConsume_DifferentUsers_ShouldUseSeparateBuckets() {
+        // given
+        var exhaustedUserId = 42_002L;
+        var otherUserId = 42_003L;
+        var capacity = rateLimitProperties.getCapacity();
+
+        // when
+        requestRateLimiter.tryConsume(exhaustedUserId, capacity);
+
+        // then
+        assertThat(requestRateLimiter.tryConsume(exhaustedUserId, capacity).allowed()).isFalse();
+        assertThat(requestRateLimiter.tryConsume(otherUserId, 1).allowed()).isTrue();
+    }
+}
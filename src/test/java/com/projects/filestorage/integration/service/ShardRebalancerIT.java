@@ -0,0 +1,157 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.domain.ShardPlacementState;
+import com.projects.filestorage.domain.UserShardPlacement;
+import com.projects.filestorage.exception.ShardMigrationInProgressException;
+import com.projects.filestorage.repository.MinioRepository;
+import com.projects.filestorage.repository.UserShardPlacementRepository;
+import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.service.shard.ShardRebalancer;
+import com.projects.filestorage.service.shard.ShardRegistry;
+import com.projects.filestorage.service.shard.ShardRouter;
+import com.projects.filestorage.utils.MinioUtils;
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = TestConfig.class)
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@TestPropertySource(properties = {
+        "storage.sharding.enabled=true",
+        "storage.sharding.shards[0].id=" + ShardRebalancerIT.TARGET_SHARD_ID,
+        "storage.sharding.shards[0].bucket=" + ShardRebalancerIT.TARGET_BUCKET,
+        "storage.sharding.rebalance-interval=1h",
+        "storage.sharding.max-migrations-per-run=100",
+        "storage.sharding.cutover-grace-period=0s",
+        "storage.sharding.clock-skew-allowance=0s"
+})
+public class ShardRebalancerIT extends AbstractIntegrationTest {
+
+    static final String TARGET_SHARD_ID = "target";
+    static final String TARGET_BUCKET = "test-user-files-target";
+
+    private final ShardRebalancer shardRebalancer;
+    private final ShardRegistry shardRegistry;
+    private final ShardRouter shardRouter;
+    private final UserShardPlacementRepository placementRepository;
+    private final UserService userService;
+    private final MinioRepository minioRepository;
+    private final MinioClientProperties minioClientProperties;
+    private Long userId;
+    private String userRootPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (var minioClient = MinioClient.builder()
+                .endpoint(minioClientProperties.getEndpoint())
+                .credentials(minioClientProperties.getAccessKey(), minioClientProperties.getSecretKey())
+                .build()) {
+            if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(TARGET_BUCKET).build())) {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(TARGET_BUCKET).build());
+            }
+        }
+
+        userId = userService.createUser("shard_" + UUID.randomUUID(), TestConfig.Minio.MINIO_TEST_PASSWORD).getId();
+        userRootPath = MinioUtils.buildUserRootPath(userId);
+        placementRepository.insertIfAbsent(userId, ShardRegistry.DEFAULT_SHARD_ID);
+    }
+
+    @AfterEach
+    void stopDraining() {
+        shardRegistry.getShard(ShardRegistry.DEFAULT_SHARD_ID).setDraining(false);
+    }
+
+    @Test
+    void rebalance_WhenShardIsDraining_ShouldMoveUserThroughCutoverAndRemoveStaleObjects() {
+        // given
+        var defaultBucket = shardRegistry.bucketOf(ShardRegistry.DEFAULT_SHARD_ID);
+        putObject(defaultBucket, "docs/kept.txt");
+        putObject(defaultBucket, "docs/deleted.txt");
+        shardRegistry.getShard(ShardRegistry.DEFAULT_SHARD_ID).setDraining(true);
+
+        // when
+        shardRebalancer.rebalance();
+
+        // then
+        assertThat(placement().getState()).isEqualTo(ShardPlacementState.CUTOVER);
+        assertThat(placement().getTargetShardId()).isEqualTo(TARGET_SHARD_ID);
+        assertThat(objectPaths(TARGET_BUCKET)).containsExactlyInAnyOrder("docs/kept.txt", "docs/deleted.txt");
+        assertThatThrownBy(() -> shardRouter.verifyWritable(userId))
+                .isInstanceOf(ShardMigrationInProgressException.class);
+
+        // when
+        minioRepository.deleteResource(defaultBucket, userRootPath + "docs/deleted.txt");
+        shardRebalancer.rebalance();
+
+        // then
+        assertThat(placement().getState()).isEqualTo(ShardPlacementState.ACTIVE);
+        assertThat(placement().getShardId()).isEqualTo(TARGET_SHARD_ID);
+        assertThat(placement().getPreviousShardId()).isEqualTo(ShardRegistry.DEFAULT_SHARD_ID);
+        assertThat(shardRouter.resolveBucket(userId)).isEqualTo(TARGET_BUCKET);
+        assertThat(objectPaths(TARGET_BUCKET)).containsExactly("docs/kept.txt");
+
+        // when
+        shardRebalancer.rebalance();
+
+        // then
+        assertThat(placement().getPreviousShardId()).isNull();
+        assertThat(objectPaths(defaultBucket)).isEmpty();
+        assertThat(objectPaths(TARGET_BUCKET)).containsExactly("docs/kept.txt");
+    }
+
+    @Test
+    void rebalance_WhenPreviousShardChangesAfterFinalSync_ShouldCarryOverWritesAndReplayDeletes() throws Exception {
+        // given
+        var defaultBucket = shardRegistry.bucketOf(ShardRegistry.DEFAULT_SHARD_ID);
+        putObject(defaultBucket, "docs/kept.txt");
+        putObject(defaultBucket, "docs/deleted-late.txt");
+        shardRegistry.getShard(ShardRegistry.DEFAULT_SHARD_ID).setDraining(true);
+        shardRebalancer.rebalance();
+        shardRebalancer.rebalance();
+        assertThat(placement().getPreviousShardId()).isEqualTo(ShardRegistry.DEFAULT_SHARD_ID);
+
+        Thread.sleep(1100);
+        putObject(defaultBucket, "docs/written-late.txt");
+        minioRepository.deleteResource(defaultBucket, userRootPath + "docs/deleted-late.txt");
+        putObject(TARGET_BUCKET, "docs/written-after-cutover.txt");
+
+        // when
+        shardRebalancer.rebalance();
+
+        // then
+        assertThat(placement().getPreviousShardId()).isNull();
+        assertThat(objectPaths(defaultBucket)).isEmpty();
+        assertThat(objectPaths(TARGET_BUCKET)).containsExactlyInAnyOrder(
+                "docs/kept.txt", "docs/written-late.txt", "docs/written-after-cutover.txt");
+    }
+
+    private void putObject(String bucket, String path) {
+        minioRepository.uploadContent(bucket, userRootPath + path, path.getBytes(StandardCharsets.UTF_8), "text/plain");
+    }
+
+    private UserShardPlacement placement() {
+        return placementRepository.findById(userId).orElseThrow();
+    }
+
+    private List<String> objectPaths(String bucket) {
+        return minioRepository.listRecursiveObjectPaths(bucket, userRootPath).stream()
+                .map(path -> path.substring(userRootPath.length()))
+                .toList();
+    }
+}
@@ -1,5 +1,6 @@
 package com.projects.filestorage.integration.service;
 
+import com.projects.filestorage.testing.s3.InMemoryS3Server;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.context.annotation.Bean;
@@ -28,8 +29,21 @@ public class TestConfig {
             .withCommand(Minio.MINIO_START_COMMANDS)
             .withExposedPorts(Minio.ENV_MINIO_PORT);
 
+    public static final InMemoryS3Server inMemoryS3 = InMemoryS3Server.builder().build();
+
     static {
-        minio.start();
+        if (Minio.isInMemoryBackend()) {
+            inMemoryS3.start();
+        } else {
+            minio.start();
+        }
+    }
+
+    public static String minioEndpoint() {
+        if (Minio.isInMemoryBackend()) {
+            return inMemoryS3.endpoint();
+        }
+        return Minio.MINIO_HTTP_PROTOCOL + minio.getHost() + ":" + minio.getFirstMappedPort();
     }
 
     public static class Minio {
@@ -51,8 +65,15 @@ public class TestConfig {
 
         public static final String MINIO_START_COMMANDS = "server /data";
 
+        public static final String PROP_TEST_S3_BACKEND = "test.s3.backend";
+        public static final String IN_MEMORY_S3_BACKEND = "in-memory";
+
         public static final String MINI0_TEST_USERNAME = "test_username";
         public static final String MINIO_TEST_PASSWORD = "test_password";
+
+        public static boolean isInMemoryBackend() {
+            return IN_MEMORY_S3_BACKEND.equals(System.getProperty(PROP_TEST_S3_BACKEND));
+        }
     }
 
     public static class Postgres {
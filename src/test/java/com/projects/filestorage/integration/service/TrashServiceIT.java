@@ -0,0 +1,134 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.domain.TrashEntryState;
+import com.projects.filestorage.domain.User;
+import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.exception.TrashEntryBusyException;
+import com.projects.filestorage.exception.TrashEntryNotFoundException;
+import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.service.trash.TrashService;
+import com.projects.filestorage.testdata.data.dto.TestResource;
+import com.projects.filestorage.testutil.TestResourceFactory;
+import com.projects.filestorage.testutil.TestUtils;
+import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.projects.filestorage.integration.service.TestConfig.Minio;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = TestConfig.class)
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+public class TrashServiceIT extends AbstractIntegrationTest {
+
+    private final TrashService trashService;
+    private final UserFileService userFileService;
+    private final UserService userService;
+    private final TestResourceFactory testResourceFactory;
+    private User testUser;
+
+    @BeforeEach
+    void setTestUser() {
+        testUser = userService.createUser(Minio.MINI0_TEST_USERNAME, Minio.MINIO_TEST_PASSWORD);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void deleteResource_WhenTrashEnabled_ShouldHideResourceUntilMovedToTrash() {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "docs/");
+        testResourceFactory.uploadTestResource(testUser.getId(), TestResource.file("docs/report.txt", "report"));
+
+        // when
+        userFileService.deleteResource(testUser.getId(), "docs/report.txt");
+
+        // then
+        var trash = trashService.getTrash(testUser.getId());
+        assertThat(trash).hasSize(1);
+        assertThat(trash.getFirst().path()).isEqualTo("docs/report.txt");
+        assertThat(trash.getFirst().state()).isEqualTo(TrashEntryState.MOVING);
+        assertThat(userFileService.getDirectoryInfo(testUser.getId(), "docs/"))
+                .extracting(ResourceInfoResponseDto::name)
+                .doesNotContain("report.txt");
+        assertThatThrownBy(() -> userFileService.downloadResource(testUser.getId(), "docs/report.txt"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> trashService.restore(testUser.getId(), trash.getFirst().id()))
+                .isInstanceOf(TrashEntryBusyException.class);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void uploadResource_WhenFileIsBeingMovedToTrash_ShouldThrowResourceNotFoundException() {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "docs/");
+        testResourceFactory.uploadTestResource(testUser.getId(), TestResource.file("docs/report.txt", "report"));
+        userFileService.deleteResource(testUser.getId(), "docs/report.txt");
+        var file = new MockMultipartFile(
+                TestUtils.MULTIPART_FORM_FIELD_NAME,
+                "report.txt",
+                TestUtils.MULTIPART_CONTENT_TYPE,
+                "replacement".getBytes()
+        );
+
+        // when
+
+        // then
+        assertThatThrownBy(() -> userFileService.uploadResource(testUser.getId(), "docs/", file))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void restore_WhenResourceMovedToTrash_ShouldReturnResourceToOriginalPath() {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "docs/");
+        testResourceFactory.uploadTestResource(testUser.getId(), TestResource.file("docs/report.txt", "report"));
+        userFileService.deleteResource(testUser.getId(), "docs/report.txt");
+        var trashEntryId = trashService.getTrash(testUser.getId()).getFirst().id();
+        trashService.completeMove(trashEntryId);
+
+        // when
+        var restored = trashService.restore(testUser.getId(), trashEntryId);
+
+        // then
+        assertThat(restored.name()).isEqualTo("report.txt");
+        assertThat(userFileService.getResourceInfo(testUser.getId(), "docs/report.txt").size()).isEqualTo(6L);
+        assertThat(trashService.getTrash(testUser.getId())).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void purge_WhenEntryTrashed_ShouldRemoveEntryFromTrash() {
+        // given
+        testResourceFactory.uploadTestResource(testUser.getId(), TestResource.directory("archive/"));
+        userFileService.deleteResource(testUser.getId(), "archive/");
+        var trashEntryId = trashService.getTrash(testUser.getId()).getFirst().id();
+        trashService.completeMove(trashEntryId);
+
+        // when
+        trashService.purge(testUser.getId(), trashEntryId);
+
+        // then
+        assertThat(trashService.getTrash(testUser.getId())).isEmpty();
+        assertThatThrownBy(() -> trashService.restore(testUser.getId(), trashEntryId))
+                .isInstanceOf(TrashEntryNotFoundException.class);
+    }
+}
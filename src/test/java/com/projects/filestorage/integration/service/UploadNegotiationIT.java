@@ -0,0 +1,155 @@
+package com.projects.filestorage.integration.service;
+
+import com.projects.filestorage.config.properties.ContentDedupProperties;
+import com.projects.filestorage.domain.ContentHash;
+import com.projects.filestorage.domain.User;
+import com.projects.filestorage.repository.ContentHashRepository;
+import com.projects.filestorage.service.UserFileService;
+import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.service.dedup.ContentHashIndex;
+import com.projects.filestorage.testutil.TestResourceFactory;
+import com.projects.filestorage.testutil.TestUtils;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static com.projects.filestorage.integration.service.TestConfig.Minio;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(classes = TestConfig.class)
+@RequiredArgsConstructor
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+public class UploadNegotiationIT extends AbstractIntegrationTest {
+
+    private static final byte[] CONTENT = "quarterly report content".getBytes(StandardCharsets.UTF_8);
+    private static final String OTHER_USERNAME = "other_user";
+    private static final String TARGET_BUCKET = "shard-b-files";
+
+    private final UserFileService userFileService;
+    private final UserService userService;
+    private final ContentDedupProperties contentDedupProperties;
+    private final ContentHashIndex contentHashIndex;
+    private final ContentHashRepository contentHashRepository;
+    private final TestResourceFactory testResourceFactory;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userService.createUser(Minio.MINI0_TEST_USERNAME, Minio.MINIO_TEST_PASSWORD);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contentDedupProperties.setGlobal(false);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void negotiateUpload_WhenUserAlreadyHasIdenticalContent_ShouldCopyWithoutUpload() throws Exception {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "docs/");
+        testResourceFactory.createDirectory(testUser.getId(), "backup/");
+        userFileService.uploadResource(testUser.getId(), "docs/", reportFile());
+
+        // when
+        var negotiation = userFileService.negotiateUpload(testUser.getId(), "backup/report.txt", CONTENT.length, sha256(CONTENT));
+
+        // then
+        assertThat(negotiation.uploadRequired()).isFalse();
+        assertThat(negotiation.resource().name()).isEqualTo("report.txt");
+        assertThat(negotiation.resource().size()).isEqualTo(CONTENT.length);
+        assertThat(download("backup/report.txt")).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void negotiateUpload_WhenSourceDeleted_ShouldRequireUpload() throws Exception {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "docs/");
+        userFileService.uploadResource(testUser.getId(), "docs/", reportFile());
+        userFileService.deleteResource(testUser.getId(), "docs/report.txt");
+
+        // when
+        var negotiation = userFileService.negotiateUpload(testUser.getId(), "report.txt", CONTENT.length, sha256(CONTENT));
+
+        // then
+        assertThat(negotiation.uploadRequired()).isTrue();
+        assertThat(negotiation.resource()).isNull();
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void negotiateUpload_WhenOnlyAnotherUserHasContent_ShouldCopyOnlyWithGlobalDedup() throws Exception {
+        // given
+        var otherUser = userService.createUser(OTHER_USERNAME, Minio.MINIO_TEST_PASSWORD);
+        userFileService.uploadResourceStream(otherUser.getId(), "report.txt",
+                new ByteArrayInputStream(CONTENT), CONTENT.length, "text/plain");
+
+        // when
+        var userScoped = userFileService.negotiateUpload(testUser.getId(), "report.txt", CONTENT.length, sha256(CONTENT));
+        contentDedupProperties.setGlobal(true);
+        var global = userFileService.negotiateUpload(testUser.getId(), "report.txt", CONTENT.length, sha256(CONTENT));
+
+        // then
+        assertThat(userScoped.uploadRequired()).isTrue();
+        assertThat(global.uploadRequired()).isFalse();
+        assertThat(download("report.txt")).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void relocate_WhenUserMovedToAnotherShard_ShouldKeepContentHashesFindable() throws Exception {
+        // given
+        testResourceFactory.createDirectory(testUser.getId(), "docs/");
+        userFileService.uploadResource(testUser.getId(), "docs/", reportFile());
+        var recorded = contentHashRepository.findAll().iterator().next();
+
+        // when
+        contentHashIndex.relocate(testUser.getId(), TARGET_BUCKET);
+
+        // then
+        assertThat(contentHashRepository.findCandidates(testUser.getId(), TARGET_BUCKET, sha256(CONTENT), CONTENT.length, false, 10))
+                .extracting(ContentHash::getPath, ContentHash::getEtag)
+                .containsExactly(tuple(recorded.getPath(), recorded.getEtag()));
+        assertThat(contentHashRepository.findCandidates(testUser.getId(), recorded.getBucket(), sha256(CONTENT), CONTENT.length, false, 10))
+                .isEmpty();
+    }
+
+    private byte[] download(String relativePath) throws IOException {
+        var body = new ByteArrayOutputStream();
+        userFileService.downloadResource(testUser.getId(), relativePath).responseBody().writeTo(body);
+        return body.toByteArray();
+    }
+
+    private static MockMultipartFile reportFile() {
+        return new MockMultipartFile(TestUtils.MULTIPART_FORM_FIELD_NAME, "report.txt", "text/plain", CONTENT);
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
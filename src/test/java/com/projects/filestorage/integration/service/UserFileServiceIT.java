@@ -1,19 +1,25 @@
 package com.projects.filestorage.integration.service;
 
 import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.domain.OutboxEvent;
+import com.projects.filestorage.domain.OutboxEventType;
 import com.projects.filestorage.domain.User;
 import com.projects.filestorage.exception.DirectoryNotFoundException;
 import com.projects.filestorage.exception.ResourceAlreadyExistsException;
 import com.projects.filestorage.exception.ResourceNotFoundException;
+import com.projects.filestorage.metrics.StorageOperation;
 import com.projects.filestorage.repository.MinioRepository;
 import com.projects.filestorage.service.UserFileService;
 import com.projects.filestorage.service.UserService;
+import com.projects.filestorage.service.outbox.UserRootDirectoryProvisioner;
 import com.projects.filestorage.testdata.data.dto.TestResource;
 import com.projects.filestorage.testdata.data.dto.UploadedTestResource;
 import com.projects.filestorage.testutil.TestResourceFactory;
 import com.projects.filestorage.utils.MinioUtils;
 import com.projects.filestorage.web.dto.internal.enums.ResourceType;
 import com.projects.filestorage.web.dto.response.ResourceInfoResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +37,9 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.zip.ZipEntry;
@@ -53,6 +61,8 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
     private final MinioRepository minioRepository;
     private final MinioClientProperties minioClientProperties;
     private final TestResourceFactory testResourceFactory;
+    private final UserRootDirectoryProvisioner userRootDirectoryProvisioner;
+    private final MeterRegistry meterRegistry;
     private User testUser;
 
     @BeforeEach
@@ -108,6 +118,37 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
                 .isEqualTo(expectedDirectoryResources);
     }
 
+    @ParameterizedTest(name = "Stream info about existed directory: {0}")
+    @MethodSource("com.projects.filestorage.testdata.data.MinioTestData#getDirectoriesWithResources")
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void streamDirectoryInfo_WhenDirectoryExists_ShouldStreamNestedResourcesInfo(String directory,
+                                                                                 List<TestResource> testResources) {
+        // given
+        var expectedDirectoryResources = testResourceFactory.uploadTestResources(testUser.getId(), testResources);
+        var actualDirectoryInfo = new ArrayList<ResourceInfoResponseDto>();
+
+        // when
+        userFileService.streamDirectoryInfo(testUser.getId(), directory).forEach(actualDirectoryInfo::add);
+
+        // then
+        assertThat(actualDirectoryInfo)
+                .usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .isEqualTo(expectedDirectoryResources);
+    }
+
+    @ParameterizedTest(name = "Stream info about unexisted directory: {0}")
+    @MethodSource("com.projects.filestorage.testdata.data.MinioTestData#getDirectoryName")
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void streamDirectoryInfo_WhenDirectoryDoesNotExist_ShouldThrowBeforeStreaming(TestResource directory) {
+        assertThatThrownBy(() -> userFileService.streamDirectoryInfo(testUser.getId(), directory.relativePath()))
+                .isInstanceOf(DirectoryNotFoundException.class);
+    }
+
     @ParameterizedTest(name = "Get info about unexisted directory: {0}")
     @MethodSource("com.projects.filestorage.testdata.data.MinioTestData#getDirectoryName")
     @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
@@ -138,6 +179,27 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
                 .isEqualTo(expectedResources);
     }
 
+    @ParameterizedTest(name = "Stream resources by query: {0}. All resources are suitable for the query.")
+    @MethodSource("com.projects.filestorage.testdata.data.MinioTestData#searchResourcesValidTestData")
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void streamSearchResources_WhenAllNamesContainQuery_ShouldStreamMatchingResources(String query,
+                                                                                      List<TestResource> resources) {
+        // given
+        var expectedResources = testResourceFactory.uploadTestResources(testUser.getId(), resources);
+        var actualResources = new ArrayList<ResourceInfoResponseDto>();
+
+        // when
+        userFileService.streamSearchResources(testUser.getId(), query).forEach(actualResources::add);
+
+        // then
+        assertThat(actualResources)
+                .usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .isEqualTo(expectedResources);
+    }
+
     @ParameterizedTest(name = "Find resources by query: {0}. No resource is suitable for the query.")
     @MethodSource("com.projects.filestorage.testdata.data.MinioTestData#searchResourcesInvalidTestData")
     @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
@@ -201,12 +263,12 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
     @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
     @Transactional
     @Rollback
-    void createUserRootDirectory_WhenDirectoryDoesNotExist_ShouldCreateRootDirectory() {
+    void provisionUserRootDirectory_WhenDirectoryDoesNotExist_ShouldCreateRootDirectory() {
         // given
         var userRootDirectory = MinioUtils.buildUserRootPath(testUser.getId());
 
         // when
-        userFileService.createUserRootDir(testUser.getId());
+        userRootDirectoryProvisioner.handle(userRootDirectoryRequested());
 
         // then
         assertThat(minioRepository.isDirectoryExists(minioClientProperties.getBucketName(), userRootDirectory))
@@ -217,12 +279,43 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
     @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
     @Transactional
     @Rollback
-    void createUserRootDirectory_WhenDirectoryAlreadyExists_ShouldThrowResourceAlreadyExistsException() {
+    void provisionUserRootDirectory_WhenDirectoryAlreadyExists_ShouldKeepRootDirectory() {
+        // given
         var userRootDirectory = MinioUtils.buildUserRootPath(testUser.getId());
         minioRepository.putEmptyDirectory(minioClientProperties.getBucketName(), userRootDirectory);
 
-        assertThatThrownBy(() -> userFileService.createUserRootDir(testUser.getId()))
-                .isInstanceOf(ResourceAlreadyExistsException.class);
+        // when
+        userRootDirectoryProvisioner.handle(userRootDirectoryRequested());
+
+        // then
+        assertThat(minioRepository.isDirectoryExists(minioClientProperties.getBucketName(), userRootDirectory))
+                .isTrue();
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void getDirectoryInfo_WhenUserRootNotProvisionedYet_ShouldReturnEmptyList() {
+        // when
+        var rootDirectoryInfo = userFileService.getDirectoryInfo(testUser.getId(), "");
+
+        // then
+        assertThat(rootDirectoryInfo).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void createEmptyDirectory_WhenUserRootNotProvisionedYet_ShouldCreateDirectory() {
+        // when
+        userFileService.createEmptyDirectory(testUser.getId(), "docs/");
+
+        // then
+        assertThat(userFileService.getDirectoryInfo(testUser.getId(), ""))
+                .extracting(ResourceInfoResponseDto::resourceType)
+                .containsExactly(ResourceType.DIRECTORY);
     }
 
     @ParameterizedTest(name = "Move file {1} to destinationPath={0}. Both arguments are valid.")
@@ -405,6 +498,30 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
         }
     }
 
+    @Test
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void downloadResource_WhenBodyIsNotStarted_ShouldNotOpenObject() throws IOException {
+        // given
+        var content = "queued download".getBytes(StandardCharsets.UTF_8);
+        userFileService.uploadResourceStream(
+                testUser.getId(), "queued.txt", new ByteArrayInputStream(content), content.length, "text/plain"
+        );
+        var openedObjectsBefore = openedObjects();
+
+        // when
+        var resourceDownloadDto = userFileService.downloadResource(testUser.getId(), "queued.txt");
+
+        // then
+        assertThat(openedObjects()).isEqualTo(openedObjectsBefore);
+
+        var outputStream = new ByteArrayOutputStream();
+        resourceDownloadDto.responseBody().writeTo(outputStream);
+        assertThat(outputStream.toByteArray()).isEqualTo(content);
+        assertThat(openedObjects()).isEqualTo(openedObjectsBefore + 1);
+    }
+
     @ParameterizedTest(name = "Download resource {0}. Resource does not exist.")
     @MethodSource("com.projects.filestorage.testdata.data.MinioTestData#getValidTestResources")
     @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
@@ -467,6 +584,44 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
                 .isInstanceOf(ResourceAlreadyExistsException.class);
     }
 
+    @ParameterizedTest(name = "Stream valid resource {1} by path={0}")
+    @MethodSource("com.projects.filestorage.testdata.data.MinioTestData#uploadResourceValidPathAndMultipartFile")
+    @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
+    @Transactional
+    @Rollback
+    void uploadResourceStream_WhenValidResource_ShouldStoreStreamedContent(String relativeDirPath,
+                                                                           MockMultipartFile object) throws Exception {
+        // given
+        var userRootDir = MinioUtils.buildUserRootPath(testUser.getId());
+        var relativeResourcePath = relativeDirPath + object.getOriginalFilename();
+        var absoluteResourcePath = MinioUtils.getAbsolutePath(userRootDir, relativeResourcePath);
+
+        // when
+        var actualResourceInfo = userFileService.uploadResourceStream(
+                testUser.getId(),
+                relativeResourcePath,
+                new ByteArrayInputStream(object.getBytes()),
+                object.getSize(),
+                object.getContentType()
+        );
+
+        // then
+        assertThat(actualResourceInfo)
+                .extracting(
+                        ResourceInfoResponseDto::parentPath,
+                        ResourceInfoResponseDto::name,
+                        ResourceInfoResponseDto::size)
+                .containsExactly(
+                        relativeDirPath,
+                        object.getOriginalFilename(),
+                        object.getSize()
+                );
+
+        try (var inputStream = minioRepository.getObject(minioClientProperties.getBucketName(), absoluteResourcePath)) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(object.getBytes());
+        }
+    }
+
     @ParameterizedTest(name = "Upload valid resources in directory by path={0}")
     @MethodSource("com.projects.filestorage.testdata.data.MinioTestData#uploadResourcesValidPathAndMultipartFiles")
     @WithMockUser(username = Minio.MINI0_TEST_USERNAME, password = Minio.MINIO_TEST_PASSWORD)
@@ -562,6 +717,13 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    private OutboxEvent userRootDirectoryRequested() {
+        return OutboxEvent.builder()
+                .eventType(OutboxEventType.USER_ROOT_DIRECTORY_REQUESTED)
+                .aggregateId(testUser.getId())
+                .build();
+    }
+
     void deleteResource_AssertNotExists(TestResource resource) {
         if (resource.isDirectory()) {
             assertThat(minioRepository.isDirectoryExists(minioClientProperties.getBucketName(), resource.relativePath()))
@@ -571,4 +733,13 @@ public class UserFileServiceIT extends AbstractIntegrationTest {
                     .isFalse();
         }
     }
+
+    private long openedObjects() {
+        return meterRegistry.find("filestorage.storage.operation")
+                .tag("operation", StorageOperation.GET.tagValue())
+                .timers()
+                .stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
 }
@@ -0,0 +1,39 @@
+package com.projects.filestorage.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorageCallAccountingTest {
+
+    @Test
+    void toServerTiming_shouldListUsedOperationsAndTotal() {
+        var accounting = new StorageCallAccounting();
+        accounting.record(StorageOperation.STAT, TimeUnit.MICROSECONDS.toNanos(1500));
+        accounting.record(StorageOperation.GET, TimeUnit.MILLISECONDS.toNanos(4));
+        accounting.record(StorageOperation.GET, TimeUnit.MILLISECONDS.toNanos(6));
+
+        assertThat(accounting.toServerTiming()).isEqualTo(
+                "storage-stat;desc=\"1 calls\";dur=1.5, "
+                        + "storage-get;desc=\"2 calls\";dur=10.0, "
+                        + "storage;desc=\"3 calls\";dur=11.5");
+    }
+
+    @Test
+    void toServerTiming_shouldReportOnlyTotalWhenNoCallsWereMade() {
+        assertThat(new StorageCallAccounting().toServerTiming()).isEqualTo("storage;desc=\"0 calls\";dur=0.0");
+    }
+
+    @Test
+    void toSummary_shouldListCallsAndDurationPerOperation() {
+        var accounting = new StorageCallAccounting();
+        accounting.record(StorageOperation.LIST, TimeUnit.MILLISECONDS.toNanos(2));
+        accounting.record(StorageOperation.REMOVE_OBJECTS, TimeUnit.MICROSECONDS.toNanos(250));
+
+        assertThat(accounting.toSummary()).isEqualTo("list=1/2.0ms, remove_objects=1/0.3ms");
+        assertThat(accounting.getTotalCalls()).isEqualTo(2);
+        assertThat(accounting.getTotalNanos()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(2250));
+    }
+}
@@ -0,0 +1,80 @@
+package com.projects.filestorage.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StorageMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StorageCallTracker storageCallTracker;
+    private StorageMetrics storageMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        storageCallTracker = new StorageCallTracker();
+        storageMetrics = new StorageMetrics(meterRegistry, storageCallTracker);
+    }
+
+    @Test
+    void timeOperation_shouldRecordTimerTaggedByOperationAndAccountTheCall() throws Exception {
+        var accounting = storageCallTracker.begin();
+        try {
+            var result = storageMetrics.timeOperation(StorageOperation.STAT, () -> "metadata");
+
+            assertThat(result).isEqualTo("metadata");
+        } finally {
+            storageCallTracker.end();
+        }
+
+        var timer = meterRegistry.find("filestorage.storage.operation")
+                .tag("operation", "stat")
+                .tag("exception", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(accounting.getTotalCalls()).isEqualTo(1);
+        assertThat(accounting.toSummary()).startsWith("stat=1/");
+    }
+
+    @Test
+    void timeOperation_shouldTagFailedCallsWithTheExceptionType() {
+        assertThatThrownBy(() -> storageMetrics.timeOperation(StorageOperation.GET, () -> {
+            throw new IOException("connection reset");
+        })).isInstanceOf(IOException.class);
+
+        var timer = meterRegistry.find("filestorage.storage.operation")
+                .tag("operation", "get")
+                .tag("exception", "IOException")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordTransferredBytes_shouldCountBytesPerDirection() {
+        storageMetrics.recordUploadedBytes(100);
+        storageMetrics.recordDownloadedBytes(40);
+        storageMetrics.recordDownloadedBytes(2);
+
+        assertThat(meterRegistry.counter("filestorage.transfer.bytes", "direction", "upload").count()).isEqualTo(100);
+        assertThat(meterRegistry.counter("filestorage.transfer.bytes", "direction", "download").count()).isEqualTo(42);
+    }
+
+    @Test
+    void recordListedObjects_shouldRecordListingSizes() {
+        storageMetrics.recordListedObjects(3);
+        storageMetrics.recordListedObjects(7);
+
+        var summary = meterRegistry.find("filestorage.storage.list.objects").summary();
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.totalAmount()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,45 @@
+package com.projects.filestorage.path;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourcePathScannerTest {
+
+    @ParameterizedTest(name = "isValidPath(\"{0}\") => true")
+    @MethodSource("com.projects.filestorage.testdata.data.ResourcePathTestData#getValidPath")
+    public void isValidPath_ValidPath_ShouldReturnTrue(String path) {
+        assertThat(ResourcePathScanner.isValidPath(path)).isTrue();
+    }
+
+    @ParameterizedTest(name = "isValidPath(\"{0}\") => false")
+    @MethodSource("com.projects.filestorage.testdata.data.ResourcePathTestData#getInvalidPath")
+    public void isValidPath_InvalidPath_ShouldReturnFalse(String path) {
+        assertThat(ResourcePathScanner.isValidPath(path)).isFalse();
+    }
+
+    @ParameterizedTest(name = "isValidDirectoryPath(\"{0}\") => true")
+    @MethodSource("com.projects.filestorage.testdata.data.ResourcePathTestData#getValidDirectoryPath")
+    public void isValidDirectoryPath_ValidPath_ShouldReturnTrue(String path) {
+        assertThat(ResourcePathScanner.isValidDirectoryPath(path)).isTrue();
+    }
+
+    @ParameterizedTest(name = "isValidDirectoryPath(\"{0}\") => false")
+    @MethodSource("com.projects.filestorage.testdata.data.ResourcePathTestData#getInvalidDirectoryPath")
+    public void isValidDirectoryPath_InvalidPath_ShouldReturnFalse(String path) {
+        assertThat(ResourcePathScanner.isValidDirectoryPath(path)).isFalse();
+    }
+
+    @ParameterizedTest(name = "isValidSearchQuery(\"{0}\") => true")
+    @MethodSource("com.projects.filestorage.testdata.data.ResourcePathTestData#getValidSearchQuery")
+    public void isValidSearchQuery_ValidQuery_ShouldReturnTrue(String query) {
+        assertThat(ResourcePathScanner.isValidSearchQuery(query)).isTrue();
+    }
+
+    @ParameterizedTest(name = "isValidSearchQuery(\"{0}\") => false")
+    @MethodSource("com.projects.filestorage.testdata.data.ResourcePathTestData#getInvalidSearchQuery")
+    public void isValidSearchQuery_InvalidQuery_ShouldReturnFalse(String query) {
+        assertThat(ResourcePathScanner.isValidSearchQuery(query)).isFalse();
+    }
+}
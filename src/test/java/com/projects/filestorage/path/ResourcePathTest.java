@@ -0,0 +1,45 @@
+package com.projects.filestorage.path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResourcePathTest {
+
+    @ParameterizedTest(name = "ResourcePath(\"{0}\").name() => \"{1}\"")
+    @MethodSource("com.projects.filestorage.testdata.data.MinioUtilsData#resourceNameExtractionData")
+    public void name_ValidPath_ShouldReturnExpectedName(String path, String expectedName) {
+        assertThat(ResourcePath.of(path).name()).isEqualTo(expectedName);
+    }
+
+    @ParameterizedTest(name = "ResourcePath(\"{0}\").parentPath() => \"{1}\"")
+    @MethodSource("com.projects.filestorage.testdata.data.MinioUtilsData#parentPathExtractionData")
+    public void parentPath_ValidPath_ShouldReturnExpectedParent(String path, String expectedParent) {
+        assertThat(ResourcePath.of(path).parentPath()).isEqualTo(expectedParent);
+    }
+
+    @ParameterizedTest(name = "ResourcePath(\"{0}\").nameContainsIgnoreCase(\"{1}\") => {2}")
+    @MethodSource("com.projects.filestorage.testdata.data.ResourcePathData#nameMatchData")
+    public void nameContainsIgnoreCase_Query_ShouldMatchOnlyName(String path, String query, boolean expected) {
+        assertThat(ResourcePath.of(path).nameContainsIgnoreCase(query)).isEqualTo(expected);
+    }
+
+    @Test
+    public void fromAbsolute_PathOutsideRoot_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> ResourcePath.fromAbsolute("user-1-files/", "user-2-files/1.txt"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void toAbsolute_FromAbsolute_ShouldRoundTrip() {
+        var relativePath = ResourcePath.fromAbsolute("user-1-files/", "user-1-files/docs/report.pdf");
+
+        assertThat(relativePath.value()).isEqualTo("docs/report.pdf");
+        assertThat(relativePath.toAbsolute("user-1-files/")).isEqualTo("user-1-files/docs/report.pdf");
+        assertThat(relativePath.parent()).isEqualTo(ResourcePath.of("docs/"));
+        assertThat(relativePath.parent().parent().isRoot()).isTrue();
+    }
+}
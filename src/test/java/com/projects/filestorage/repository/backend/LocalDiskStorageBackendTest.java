@@ -0,0 +1,275 @@
+package com.projects.filestorage.repository.backend;
+
+import com.projects.filestorage.config.properties.StorageBackendProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalDiskStorageBackendTest {
+
+    private static final String BUCKET = "test-user-files";
+
+    @TempDir
+    private Path rootDirectory;
+
+    private LocalDiskStorageBackend storageBackend;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var properties = new StorageBackendProperties();
+        properties.getLocal().setRootDirectory(rootDirectory);
+        storageBackend = new LocalDiskStorageBackend(properties);
+
+        putDirectory("user-1-files/");
+        putDirectory("user-1-files/docs/");
+        putFile("user-1-files/docs/a.txt", "alpha", Map.of("owner", "user-1"));
+        putFile("user-1-files/docs/nested/b.txt", "beta", Map.of());
+        putFile("user-1-files/other.txt", "gamma", Map.of());
+    }
+
+    @Test
+    void statObject_shouldReturnSizeContentTypeAndUserMetadata() throws Exception {
+        var metadata = storageBackend.statObject(BUCKET, "user-1-files/docs/a.txt");
+
+        assertThat(metadata).hasValueSatisfying(objectMetadata -> {
+            assertThat(objectMetadata.size()).isEqualTo(5);
+            assertThat(objectMetadata.contentType()).isEqualTo("text/plain");
+            assertThat(objectMetadata.userMetadata()).containsEntry("owner", "user-1");
+            assertThat(objectMetadata.etag()).isNotBlank();
+        });
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/docs/missing.txt")).isEmpty();
+    }
+
+    @Test
+    void statObject_shouldDeriveEtagFromContent() throws Exception {
+        var originalEtag = storageBackend.statObject(BUCKET, "user-1-files/other.txt").orElseThrow().etag();
+
+        putFile("user-1-files/other.txt", "delta", Map.of());
+        storageBackend.copyObject(BUCKET, "user-1-files/other.txt", "user-1-files/docs/copy.txt");
+
+        var rewrittenEtag = storageBackend.statObject(BUCKET, "user-1-files/other.txt").orElseThrow().etag();
+        assertThat(rewrittenEtag).isNotEqualTo(originalEtag);
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/docs/copy.txt").orElseThrow().etag())
+                .isEqualTo(rewrittenEtag);
+    }
+
+    @Test
+    void renameObject_whenNotOverridden_shouldFallBackToCopyAndDelete() throws Exception {
+        StorageBackend copyingBackend = new DelegatingStorageBackend(storageBackend);
+
+        copyingBackend.renameObject(BUCKET, "user-1-files/other.txt", "user-1-files/docs/moved.txt");
+
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/other.txt")).isEmpty();
+        try (var content = storageBackend.getObject(BUCKET, "user-1-files/docs/moved.txt")) {
+            assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("gamma");
+        }
+    }
+
+    @Test
+    void listObjects_nonRecursive_shouldReturnDirectChildrenAndDirectoryItself() throws Exception {
+        assertThat(storageBackend.listObjects(BUCKET, "user-1-files/docs/", false)).containsExactly(
+                "user-1-files/docs/",
+                "user-1-files/docs/a.txt",
+                "user-1-files/docs/nested/"
+        );
+    }
+
+    @Test
+    void listObjects_recursive_shouldReturnAllObjectsAndDirectoryMarkersInKeyOrder() throws Exception {
+        assertThat(storageBackend.listObjects(BUCKET, "user-1-files/", true)).containsExactly(
+                "user-1-files/",
+                "user-1-files/docs/",
+                "user-1-files/docs/a.txt",
+                "user-1-files/docs/nested/b.txt",
+                "user-1-files/other.txt"
+        );
+    }
+
+    @Test
+    void prefixExists_shouldReflectDirectoriesOnDisk() throws Exception {
+        assertThat(storageBackend.prefixExists(BUCKET, "user-1-files/docs/nested/")).isTrue();
+        assertThat(storageBackend.prefixExists(BUCKET, "user-1-files/missing/")).isFalse();
+    }
+
+    @Test
+    void renameObject_shouldMoveDirectoryWithMetadataInOneStep() throws Exception {
+        storageBackend.renameObject(BUCKET, "user-1-files/docs/", "user-1-files/archive/docs/");
+
+        assertThat(storageBackend.prefixExists(BUCKET, "user-1-files/docs/")).isFalse();
+        assertThat(storageBackend.listObjects(BUCKET, "user-1-files/archive/", true)).containsExactly(
+                "user-1-files/archive/docs/",
+                "user-1-files/archive/docs/a.txt",
+                "user-1-files/archive/docs/nested/b.txt"
+        );
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/archive/docs/a.txt"))
+                .hasValueSatisfying(metadata -> assertThat(metadata.userMetadata()).containsEntry("owner", "user-1"));
+    }
+
+    @Test
+    void copyObject_shouldDuplicateContent() throws Exception {
+        storageBackend.copyObject(BUCKET, "user-1-files/other.txt", "user-1-files/docs/copy.txt");
+
+        try (var content = storageBackend.getObject(BUCKET, "user-1-files/docs/copy.txt")) {
+            assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("gamma");
+        }
+    }
+
+    @Test
+    void removeObjects_shouldDeleteFilesBeforeTheirDirectories() throws Exception {
+        var objectPaths = storageBackend.listObjects(BUCKET, "user-1-files/docs/", true);
+
+        var failedObjects = storageBackend.removeObjects(BUCKET, objectPaths);
+
+        assertThat(failedObjects).isEmpty();
+        assertThat(storageBackend.prefixExists(BUCKET, "user-1-files/docs/")).isFalse();
+        assertThat(storageBackend.listObjects(BUCKET, "user-1-files/", true))
+                .containsExactly("user-1-files/", "user-1-files/other.txt");
+    }
+
+    @Test
+    void putObject_whenFileAndDirectoryShareAName_shouldKeepBothObjects() throws Exception {
+        putFile("user-1-files/report", "file", Map.of());
+        putDirectory("user-1-files/report/");
+        putFile("user-1-files/report/summary.txt", "summary", Map.of());
+
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/report"))
+                .hasValueSatisfying(metadata -> assertThat(metadata.size()).isEqualTo(4));
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/report/")).isPresent();
+        assertThat(storageBackend.listObjects(BUCKET, "user-1-files/report", true)).containsExactly(
+                "user-1-files/report",
+                "user-1-files/report/",
+                "user-1-files/report/summary.txt"
+        );
+        try (var content = storageBackend.getObject(BUCKET, "user-1-files/report")) {
+            assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("file");
+        }
+    }
+
+    @Test
+    void putObject_shouldReplaceContentAndMetadataOfExistingObject() throws Exception {
+        putFile("user-1-files/docs/a.txt", "alpha-2", Map.of("owner", "user-2"));
+
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/docs/a.txt")).hasValueSatisfying(metadata -> {
+            assertThat(metadata.size()).isEqualTo(7);
+            assertThat(metadata.userMetadata()).containsEntry("owner", "user-2");
+        });
+        try (var tempFiles = Files.list(rootDirectory.resolve("tmp"))) {
+            assertThat(tempFiles).isEmpty();
+        }
+    }
+
+    @Test
+    void removeObject_whenLastObjectRemoved_shouldPruneImplicitParentDirectories() throws Exception {
+        storageBackend.removeObject(BUCKET, "user-1-files/docs/nested/b.txt");
+
+        assertThat(storageBackend.prefixExists(BUCKET, "user-1-files/docs/nested/")).isFalse();
+        assertThat(storageBackend.listObjects(BUCKET, "user-1-files/docs/", false))
+                .containsExactly("user-1-files/docs/", "user-1-files/docs/a.txt");
+    }
+
+    @Test
+    void removeObject_shouldKeepExplicitDirectoryUntilItsMarkerIsRemoved() throws Exception {
+        storageBackend.removeObject(BUCKET, "user-1-files/docs/a.txt");
+        storageBackend.removeObject(BUCKET, "user-1-files/docs/nested/b.txt");
+
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/docs/")).isPresent();
+        assertThat(storageBackend.listObjects(BUCKET, "user-1-files/docs/", true)).containsExactly("user-1-files/docs/");
+
+        storageBackend.removeObject(BUCKET, "user-1-files/docs/");
+
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/docs/")).isEmpty();
+        assertThat(storageBackend.prefixExists(BUCKET, "user-1-files/docs/")).isFalse();
+    }
+
+    @Test
+    void removeObject_whenDirectoryHasChildren_shouldOnlyRemoveItsMarker() throws Exception {
+        storageBackend.removeObject(BUCKET, "user-1-files/docs/");
+
+        assertThat(storageBackend.statObject(BUCKET, "user-1-files/docs/")).isEmpty();
+        assertThat(storageBackend.listObjects(BUCKET, "user-1-files/docs/", true))
+                .containsExactly("user-1-files/docs/a.txt", "user-1-files/docs/nested/b.txt");
+    }
+
+    @Test
+    void resolveLocalFile_shouldReturnFileOnlyForExistingObjects() {
+        assertThat(storageBackend.resolveLocalFile(BUCKET, "user-1-files/other.txt"))
+                .hasValueSatisfying(file -> assertThat(Files.isRegularFile(file)).isTrue());
+        assertThat(storageBackend.resolveLocalFile(BUCKET, "user-1-files/docs/")).isEmpty();
+        assertThat(storageBackend.resolveLocalFile(BUCKET, "user-1-files/missing.txt")).isEmpty();
+    }
+
+    @Test
+    void objectKeysEscapingTheBucket_shouldBeRejected() {
+        assertThatThrownBy(() -> storageBackend.getObject(BUCKET, "../../outside.txt"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private record DelegatingStorageBackend(StorageBackend delegate) implements StorageBackend {
+
+        @Override
+        public Optional<ObjectMetadata> statObject(String bucket, String path) throws Exception {
+            return delegate.statObject(bucket, path);
+        }
+
+        @Override
+        public List<String> listObjects(String bucket, String prefix, boolean recursive) throws Exception {
+            return delegate.listObjects(bucket, prefix, recursive);
+        }
+
+        @Override
+        public boolean prefixExists(String bucket, String prefix) throws Exception {
+            return delegate.prefixExists(bucket, prefix);
+        }
+
+        @Override
+        public InputStream getObject(String bucket, String path) throws Exception {
+            return delegate.getObject(bucket, path);
+        }
+
+        @Override
+        public String putObject(String bucket,
+                                String path,
+                                InputStream content,
+                                long size,
+                                String contentType,
+                                Map<String, String> userMetadata) throws Exception {
+            return delegate.putObject(bucket, path, content, size, contentType, userMetadata);
+        }
+
+        @Override
+        public void copyObject(String bucket, String sourcePath, String destinationPath) throws Exception {
+            delegate.copyObject(bucket, sourcePath, destinationPath);
+        }
+
+        @Override
+        public void removeObject(String bucket, String path) throws Exception {
+            delegate.removeObject(bucket, path);
+        }
+
+        @Override
+        public List<String> removeObjects(String bucket, List<String> paths) throws Exception {
+            return delegate.removeObjects(bucket, paths);
+        }
+    }
+
+    private void putDirectory(String path) throws Exception {
+        storageBackend.putObject(BUCKET, path, new ByteArrayInputStream(new byte[0]), 0, null, Map.of());
+    }
+
+    private void putFile(String path, String content, Map<String, String> userMetadata) throws Exception {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        storageBackend.putObject(BUCKET, path, new ByteArrayInputStream(bytes), bytes.length, "text/plain", userMetadata);
+    }
+}
@@ -0,0 +1,80 @@
+package com.projects.filestorage.repository.backend;
+
+import com.projects.filestorage.config.properties.StorageBackendProperties;
+import io.minio.MinioClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardRoutingStorageBackendTest {
+
+    private static final String DEFAULT_BUCKET = "test-user-files";
+    private static final String SHARD_BUCKET = "test-user-files-shard";
+
+    @TempDir
+    private Path defaultRoot;
+
+    @TempDir
+    private Path shardRoot;
+
+    private LocalDiskStorageBackend defaultBackend;
+    private LocalDiskStorageBackend shardBackend;
+
+    @BeforeEach
+    void setUp() {
+        defaultBackend = localBackend(defaultRoot);
+        shardBackend = localBackend(shardRoot);
+    }
+
+    @Test
+    void supportsNativeRename_shouldRequireEveryShardBackendToSupportIt() {
+        var localShards = new ShardRoutingStorageBackend(
+                Map.of(DEFAULT_BUCKET, defaultBackend, SHARD_BUCKET, shardBackend), defaultBackend);
+        var mixedShards = new ShardRoutingStorageBackend(
+                Map.of(DEFAULT_BUCKET, defaultBackend, SHARD_BUCKET, minioBackend()), defaultBackend);
+
+        assertThat(localShards.supportsNativeRename()).isTrue();
+        assertThat(mixedShards.supportsNativeRename()).isFalse();
+    }
+
+    @Test
+    void renameObject_shouldRenameInTheBackendOfTheBucket() throws Exception {
+        var routingBackend = new ShardRoutingStorageBackend(
+                Map.of(DEFAULT_BUCKET, defaultBackend, SHARD_BUCKET, shardBackend), defaultBackend);
+        putFile(routingBackend, SHARD_BUCKET, "user-1-files/a.txt", "alpha");
+
+        routingBackend.renameObject(SHARD_BUCKET, "user-1-files/a.txt", "user-1-files/b.txt");
+
+        assertThat(shardBackend.statObject(SHARD_BUCKET, "user-1-files/a.txt")).isEmpty();
+        assertThat(shardBackend.statObject(SHARD_BUCKET, "user-1-files/b.txt")).isPresent();
+        assertThat(defaultBackend.listObjects(SHARD_BUCKET, "user-1-files/", true)).isEmpty();
+        try (var content = shardBackend.getObject(SHARD_BUCKET, "user-1-files/b.txt")) {
+            assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("alpha");
+        }
+    }
+
+    private static LocalDiskStorageBackend localBackend(Path rootDirectory) {
+        var properties = new StorageBackendProperties();
+        properties.getLocal().setRootDirectory(rootDirectory);
+        return new LocalDiskStorageBackend(properties);
+    }
+
+    private static MinioStorageBackend minioBackend() {
+        return new MinioStorageBackend(MinioClient.builder()
+                .endpoint("http://localhost:9000")
+                .credentials("access-key", "secret-key")
+                .build());
+    }
+
+    private static void putFile(StorageBackend storageBackend, String bucket, String path, String content) throws Exception {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        storageBackend.putObject(bucket, path, new ByteArrayInputStream(bytes), bytes.length, "text/plain", Map.of());
+    }
+}
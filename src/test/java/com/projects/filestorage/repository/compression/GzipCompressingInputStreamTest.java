@@ -0,0 +1,66 @@
+package com.projects.filestorage.repository.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipCompressingInputStreamTest {
+
+    @Test
+    void read_shouldProduceGzipStreamReadableByGzipInputStream() throws IOException {
+        var content = "timestamp,level,message\n".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        var compressed = compress(content);
+
+        assertThat(compressed.length).isLessThan(content.length / 10);
+        assertThat(decompress(compressed)).isEqualTo(content);
+    }
+
+    @Test
+    void read_shouldRoundTripIncompressibleContentLargerThanBuffer() throws IOException {
+        var content = new byte[100_000];
+        new Random(42).nextBytes(content);
+
+        assertThat(decompress(compress(content))).isEqualTo(content);
+    }
+
+    @Test
+    void read_shouldProduceValidStreamForEmptyContent() throws IOException {
+        assertThat(decompress(compress(new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void read_shouldSupportSingleByteReads() throws IOException {
+        var content = "hello, gzip".getBytes(StandardCharsets.UTF_8);
+        var compressed = new ByteArrayOutputStream();
+
+        try (var stream = new GzipCompressingInputStream(new ByteArrayInputStream(content), Deflater.DEFAULT_COMPRESSION)) {
+            int next;
+            while ((next = stream.read()) >= 0) {
+                compressed.write(next);
+            }
+        }
+
+        assertThat(decompress(compressed.toByteArray())).isEqualTo(content);
+    }
+
+    private static byte[] compress(byte[] content) throws IOException {
+        try (var stream = new GzipCompressingInputStream(new ByteArrayInputStream(content), Deflater.DEFAULT_COMPRESSION)) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        try (var stream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return stream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.projects.filestorage.security.session;
+
+import com.projects.filestorage.config.properties.CacheInvalidationProperties;
+import com.projects.filestorage.config.properties.SessionCacheProperties;
+import com.projects.filestorage.metrics.StorageCallTracker;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.service.cache.CacheInvalidationBus;
+import com.projects.filestorage.service.cache.CacheInvalidationListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearCacheSessionRepositoryTest {
+
+    private CountingSessionRepository delegate;
+    private SessionNearCache nearCache;
+    private RecordingInvalidationListener invalidationListener;
+    private NearCacheSessionRepository sessionRepository;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new SessionCacheProperties();
+        properties.setTimeToLive(Duration.ofMinutes(1));
+        properties.setTouchInterval(Duration.ofMinutes(1));
+
+        var invalidationProperties = new CacheInvalidationProperties();
+        invalidationProperties.setEnabled(false);
+
+        var storageMetrics = new StorageMetrics(new SimpleMeterRegistry(), new StorageCallTracker());
+        delegate = new CountingSessionRepository();
+        nearCache = new SessionNearCache(properties);
+        invalidationListener = new RecordingInvalidationListener();
+        var cacheInvalidationBus = new CacheInvalidationBus(
+                null, null, invalidationProperties, storageMetrics, List.of(nearCache, invalidationListener));
+        sessionRepository = new NearCacheSessionRepository(delegate, nearCache, cacheInvalidationBus, properties, storageMetrics);
+    }
+
+    @Test
+    void findById_shouldServeRepeatedReadsFromNearCache() {
+        var sessionId = createSession("user", "alice");
+
+        var first = sessionRepository.findById(sessionId);
+        var second = sessionRepository.findById(sessionId);
+
+        assertThat(first.<String>getAttribute("user")).isEqualTo("alice");
+        assertThat(second.<String>getAttribute("user")).isEqualTo("alice");
+        assertThat(delegate.finds).isZero();
+    }
+
+    @Test
+    void save_shouldSkipStoreWhenOnlyAccessTimeChanged() {
+        var sessionId = createSession("user", "alice");
+        var session = sessionRepository.findById(sessionId);
+
+        session.setLastAccessedTime(session.getLastAccessedTime().plusSeconds(1));
+        sessionRepository.save(session);
+
+        assertThat(delegate.saves).isEqualTo(1);
+    }
+
+    @Test
+    void save_shouldPersistAccessTimeOnceTouchIntervalElapsed() {
+        var sessionId = createSession("user", "alice");
+        var session = sessionRepository.findById(sessionId);
+        var touchedAt = session.getLastAccessedTime().plus(Duration.ofMinutes(2));
+
+        session.setLastAccessedTime(touchedAt);
+        sessionRepository.save(session);
+
+        assertThat(delegate.saves).isEqualTo(2);
+        assertThat(delegate.sessions.get(sessionId).getLastAccessedTime()).isEqualTo(touchedAt);
+    }
+
+    @Test
+    void save_shouldWriteAttributeChangesThroughToStore() {
+        var sessionId = createSession("user", "alice");
+        var session = sessionRepository.findById(sessionId);
+
+        session.setAttribute("user", "bob");
+        sessionRepository.save(session);
+
+        assertThat(delegate.sessions.get(sessionId).<String>getAttribute("user")).isEqualTo("bob");
+        assertThat(sessionRepository.findById(sessionId).<String>getAttribute("user")).isEqualTo("bob");
+    }
+
+    @Test
+    void save_shouldBroadcastEvictionWhenAttributesChanged() {
+        var sessionId = createSession("user", "alice");
+        var session = sessionRepository.findById(sessionId);
+
+        session.setAttribute("user", "bob");
+        sessionRepository.save(session);
+
+        assertThat(invalidationListener.invalidatedKeys).containsExactly(sessionId);
+        assertThat(nearCache.get(sessionId)).hasValueSatisfying(
+                entry -> assertThat(entry.snapshot().<String>getAttribute("user")).isEqualTo("bob"));
+    }
+
+    @Test
+    void save_shouldNotBroadcastWhenOnlyAccessTimeIsPersisted() {
+        var sessionId = createSession("user", "alice");
+        var session = sessionRepository.findById(sessionId);
+
+        session.setLastAccessedTime(session.getLastAccessedTime().plus(Duration.ofMinutes(2)));
+        sessionRepository.save(session);
+
+        assertThat(delegate.saves).isEqualTo(2);
+        assertThat(invalidationListener.invalidatedKeys).isEmpty();
+    }
+
+    @Test
+    void deleteById_shouldEvictCachedSession() {
+        var sessionId = createSession("user", "alice");
+        sessionRepository.findById(sessionId);
+
+        sessionRepository.deleteById(sessionId);
+
+        assertThat(sessionRepository.findById(sessionId)).isNull();
+        assertThat(nearCache.size()).isZero();
+    }
+
+    @Test
+    void save_shouldEvictPreviousIdAfterSessionIdChange() {
+        var sessionId = createSession("user", "alice");
+        var session = sessionRepository.findById(sessionId);
+
+        var newSessionId = session.changeSessionId();
+        sessionRepository.save(session);
+
+        assertThat(nearCache.get(sessionId)).isEmpty();
+        assertThat(nearCache.get(newSessionId)).isPresent();
+    }
+
+    private String createSession(String attributeName, Object attributeValue) {
+        var session = sessionRepository.createSession();
+        session.setAttribute(attributeName, attributeValue);
+        sessionRepository.save(session);
+        return session.getId();
+    }
+
+    private static class RecordingInvalidationListener implements CacheInvalidationListener {
+
+        private final List<String> invalidatedKeys = new ArrayList<>();
+
+        @Override
+        public void invalidate(String bucket, String key) {
+            invalidatedKeys.add(key);
+        }
+
+        @Override
+        public void invalidatePrefix(String bucket, String prefix) {
+        }
+
+        @Override
+        public void invalidateAll() {
+        }
+    }
+
+    private static class CountingSessionRepository implements SessionRepository<Session> {
+
+        private final HashMap<String, Session> sessions = new HashMap<>();
+        private final MapSessionRepository mapSessionRepository = new MapSessionRepository(sessions);
+        private int finds;
+        private int saves;
+
+        @Override
+        public Session createSession() {
+            return mapSessionRepository.createSession();
+        }
+
+        @Override
+        public void save(Session session) {
+            saves++;
+            mapSessionRepository.save((MapSession) session);
+        }
+
+        @Override
+        public Session findById(String id) {
+            finds++;
+            return mapSessionRepository.findById(id);
+        }
+
+        @Override
+        public void deleteById(String id) {
+            mapSessionRepository.deleteById(id);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.projects.filestorage.security.throttle;
+
+import com.projects.filestorage.config.properties.LoginThrottleProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientAddressResolverTest {
+
+    private ClientAddressResolver clientAddressResolver;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new LoginThrottleProperties();
+        properties.setTrustedProxies(List.of("10.0.0.0/8", "::1/128"));
+        clientAddressResolver = new ClientAddressResolver(properties);
+    }
+
+    @Test
+    void resolve_whenRequestComesFromTrustedProxy_shouldUseForwardedClient() {
+        var request = request("10.0.0.5", "203.0.113.7");
+
+        assertThat(clientAddressResolver.resolve(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void resolve_whenForwardedThroughProxyChain_shouldSkipTrustedHops() {
+        var request = request("10.0.0.5", "198.51.100.1, 203.0.113.7, 10.0.0.9");
+
+        assertThat(clientAddressResolver.resolve(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void resolve_whenRequestComesFromUntrustedPeer_shouldIgnoreForwardedHeader() {
+        var request = request("203.0.113.7", "198.51.100.1");
+
+        assertThat(clientAddressResolver.resolve(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void resolve_whenForwardedHeaderIsMissing_shouldUseRemoteAddress() {
+        var request = request("10.0.0.5", null);
+
+        assertThat(clientAddressResolver.resolve(request)).isEqualTo("10.0.0.5");
+    }
+
+    @Test
+    void resolve_whenForwardedHopIsMalformed_shouldStopAtIt() {
+        var request = request("10.0.0.5", "198.51.100.1, unknown");
+
+        assertThat(clientAddressResolver.resolve(request)).isEqualTo("unknown");
+    }
+
+    private MockHttpServletRequest request(String remoteAddress, String forwardedFor) {
+        var request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
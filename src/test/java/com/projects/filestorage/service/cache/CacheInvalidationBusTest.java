@@ -0,0 +1,109 @@
+package com.projects.filestorage.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.filestorage.config.properties.CacheInvalidationProperties;
+import com.projects.filestorage.metrics.StorageCallTracker;
+import com.projects.filestorage.metrics.StorageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+    private InMemoryChannel channel;
+    private RecordingListener firstListener;
+    private RecordingListener secondListener;
+    private CacheInvalidationBus firstNode;
+    private CacheInvalidationBus secondNode;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new CacheInvalidationProperties();
+        var storageMetrics = new StorageMetrics(new SimpleMeterRegistry(), new StorageCallTracker());
+        var objectMapper = new ObjectMapper();
+
+        channel = new InMemoryChannel();
+        firstListener = new RecordingListener();
+        secondListener = new RecordingListener();
+        firstNode = new CacheInvalidationBus(channel, objectMapper, properties, storageMetrics, List.of(firstListener));
+        secondNode = new CacheInvalidationBus(channel, objectMapper, properties, storageMetrics, List.of(secondListener));
+        channel.subscribers.addAll(List.of(firstNode, secondNode));
+    }
+
+    @Test
+    void invalidate_shouldEvictKeyOnPeerNode() {
+        firstNode.invalidate("user-files", "user-1-files/a.txt");
+
+        assertThat(secondListener.keys).containsExactly("user-files:user-1-files/a.txt");
+    }
+
+    @Test
+    void invalidate_shouldApplyLocallyOnceAndIgnoreOwnEcho() {
+        firstNode.invalidate("user-files", List.of(), List.of("user-1-files/docs/"));
+
+        assertThat(firstListener.prefixes).containsExactly("user-files:user-1-files/docs/");
+        assertThat(secondListener.prefixes).containsExactly("user-files:user-1-files/docs/");
+    }
+
+    @Test
+    void invalidate_whenPublishingRecovers_shouldAskPeersToFlush() {
+        channel.failing = true;
+        firstNode.invalidate("user-files", "user-1-files/a.txt");
+
+        assertThat(secondListener.keys).isEmpty();
+
+        channel.failing = false;
+        firstNode.invalidate("user-files", "user-1-files/b.txt");
+
+        assertThat(secondListener.keys).containsExactly("user-files:user-1-files/b.txt");
+        assertThat(secondListener.flushes).isEqualTo(1);
+    }
+
+    private static class InMemoryChannel extends StringRedisTemplate {
+
+        private final List<CacheInvalidationBus> subscribers = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public Long convertAndSend(String channel, Object message) {
+            if (failing) {
+                throw new IllegalStateException("Redis is unavailable");
+            }
+
+            var redisMessage = new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8),
+                    ((String) message).getBytes(StandardCharsets.UTF_8));
+            subscribers.forEach(subscriber -> subscriber.onMessage(redisMessage, null));
+            return (long) subscribers.size();
+        }
+    }
+
+    private static class RecordingListener implements CacheInvalidationListener {
+
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> prefixes = new ArrayList<>();
+        private int flushes;
+
+        @Override
+        public void invalidate(String bucket, String key) {
+            keys.add(bucket + ":" + key);
+        }
+
+        @Override
+        public void invalidatePrefix(String bucket, String prefix) {
+            prefixes.add(bucket + ":" + prefix);
+        }
+
+        @Override
+        public void invalidateAll() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.projects.filestorage.service.cache;
+
+import com.projects.filestorage.config.properties.DownloadCacheProperties;
+import com.projects.filestorage.metrics.StorageCallTracker;
+import com.projects.filestorage.metrics.StorageMetrics;
+import com.projects.filestorage.repository.backend.ObjectMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownloadCacheTest {
+
+    private static final String BUCKET = "test-user-files";
+
+    @TempDir
+    private Path cacheDirectory;
+
+    private DownloadCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private DownloadCache downloadCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DownloadCacheProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(cacheDirectory);
+        properties.setMaxSize(DataSize.ofBytes(10));
+        properties.setAdmissionThreshold(2);
+        properties.setEvictionGracePeriod(Duration.ZERO);
+
+        meterRegistry = new SimpleMeterRegistry();
+        downloadCache = new DownloadCache(properties, new StorageMetrics(meterRegistry, new StorageCallTracker()));
+    }
+
+    @Test
+    void tryAdmit_shouldRejectObjectsBelowAdmissionThreshold() {
+        var metadata = metadata("hello");
+
+        assertThat(downloadCache.tryAdmit(BUCKET, "user-1-files/a.txt", metadata)).isEmpty();
+        try (var fill = downloadCache.tryAdmit(BUCKET, "user-1-files/a.txt", metadata).orElseThrow()) {
+            assertThat(fill).isNotNull();
+        }
+    }
+
+    @Test
+    void lookup_shouldReturnCachedFileAfterVerifiedFill() throws Exception {
+        var metadata = metadata("hello");
+
+        fill("user-1-files/a.txt", metadata, "hello");
+        fill("user-1-files/a.txt", metadata, "hello");
+
+        var cachedFile = downloadCache.lookup(BUCKET, "user-1-files/a.txt", metadata);
+        assertThat(cachedFile).hasValueSatisfying(file ->
+                assertThat(file).content(StandardCharsets.UTF_8).isEqualTo("hello"));
+        assertThat(downloadCache.getCachedBytes()).isEqualTo(5);
+        assertThat(meterRegistry.counter("filestorage.download.cache", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void lookup_shouldMissWhenEtagChanged() throws Exception {
+        fill("user-1-files/a.txt", metadata("hello"), "hello");
+        fill("user-1-files/a.txt", metadata("hello"), "hello");
+
+        assertThat(downloadCache.lookup(BUCKET, "user-1-files/a.txt", metadata("world"))).isEmpty();
+    }
+
+    @Test
+    void complete_shouldDiscardFillWhenContentDoesNotMatchEtag() throws Exception {
+        var metadata = metadata("hello");
+
+        fill("user-1-files/a.txt", metadata, "hello");
+        var clientBytes = fill("user-1-files/a.txt", metadata, "jelly");
+
+        assertThat(clientBytes).isEqualTo("jelly");
+        assertThat(downloadCache.lookup(BUCKET, "user-1-files/a.txt", metadata)).isEmpty();
+        assertThat(downloadCache.getCachedBytes()).isZero();
+        assertThat(meterRegistry.counter("filestorage.download.cache", "result", "verification_failed").count())
+                .isEqualTo(1);
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void complete_shouldEvictLeastRecentlyUsedEntriesWhenMaxSizeExceeded() throws Exception {
+        var first = metadata("12345");
+        var second = metadata("abcde");
+        var third = metadata("vwxyz");
+
+        for (int i = 0; i < 2; i++) {
+            fill("user-1-files/first.txt", first, "12345");
+            fill("user-1-files/second.txt", second, "abcde");
+        }
+        downloadCache.lookup(BUCKET, "user-1-files/first.txt", first);
+        for (int i = 0; i < 2; i++) {
+            fill("user-1-files/third.txt", third, "vwxyz");
+        }
+
+        assertThat(downloadCache.lookup(BUCKET, "user-1-files/first.txt", first)).isPresent();
+        assertThat(downloadCache.lookup(BUCKET, "user-1-files/second.txt", second)).isEmpty();
+        assertThat(downloadCache.lookup(BUCKET, "user-1-files/third.txt", third)).isPresent();
+        assertThat(downloadCache.getCachedBytes()).isEqualTo(10);
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files).hasSize(2);
+        }
+    }
+
+    @Test
+    void invalidate_shouldDropOnlyEntriesOfInvalidatedKey() throws Exception {
+        var metadata = metadata("hello");
+        for (int i = 0; i < 2; i++) {
+            fill("user-1-files/a.txt", metadata, "hello");
+            fill("user-1-files/a.txt.bak", metadata, "hello");
+        }
+
+        downloadCache.invalidate(BUCKET, "user-1-files/a.txt");
+
+        assertThat(downloadCache.lookup(BUCKET, "user-1-files/a.txt", metadata)).isEmpty();
+        assertThat(downloadCache.lookup(BUCKET, "user-1-files/a.txt.bak", metadata)).isPresent();
+        assertThat(downloadCache.getCachedBytes()).isEqualTo(5);
+    }
+
+    @Test
+    void invalidatePrefix_shouldDropEntriesUnderPrefix() throws Exception {
+        var metadata = metadata("hello");
+        for (int i = 0; i < 2; i++) {
+            fill("user-1-files/docs/a.txt", metadata, "hello");
+            fill("user-2-files/a.txt", metadata, "hello");
+        }
+
+        downloadCache.invalidatePrefix(BUCKET, "user-1-files/");
+
+        assertThat(downloadCache.lookup(BUCKET, "user-1-files/docs/a.txt", metadata)).isEmpty();
+        assertThat(downloadCache.lookup(BUCKET, "user-2-files/a.txt", metadata)).isPresent();
+
+        downloadCache.invalidateAll();
+
+        assertThat(downloadCache.lookup(BUCKET, "user-2-files/a.txt", metadata)).isEmpty();
+        assertThat(downloadCache.getCachedBytes()).isZero();
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void purgeExpiredDeletions_shouldDeleteEvictedFilesWithoutFurtherCacheActivity() throws Exception {
+        properties.setEvictionGracePeriod(Duration.ofMillis(50));
+        var metadata = metadata("hello");
+        for (int i = 0; i < 2; i++) {
+            fill("user-1-files/a.txt", metadata, "hello");
+        }
+        downloadCache.invalidate(BUCKET, "user-1-files/a.txt");
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files).hasSize(1);
+        }
+
+        Thread.sleep(100);
+        downloadCache.purgeExpiredDeletions();
+
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private String fill(String path, ObjectMetadata metadata, String content) throws Exception {
+        var clientStream = new ByteArrayOutputStream();
+        var fill = downloadCache.tryAdmit(BUCKET, path, metadata);
+        if (fill.isEmpty()) {
+            clientStream.writeBytes(content.getBytes(StandardCharsets.UTF_8));
+            return clientStream.toString(StandardCharsets.UTF_8);
+        }
+
+        try (var cacheFill = fill.get()) {
+            var bytes = content.getBytes(StandardCharsets.UTF_8);
+            cacheFill.tee(clientStream).write(bytes);
+            cacheFill.complete(bytes.length);
+        }
+        return clientStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ObjectMetadata metadata(String content) {
+        try {
+            var bytes = content.getBytes(StandardCharsets.UTF_8);
+            var etag = HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes));
+            return new ObjectMetadata(bytes.length, etag, "text/plain", Map.of(), Instant.EPOCH);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.projects.filestorage.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    private final AtomicReference<Duration> timeToLive = new AtomicReference<>(Duration.ofMinutes(1));
+
+    @Test
+    void get_shouldLoadOnceWithinTimeToLive() {
+        var cache = new ExpiringCache<String, String>(timeToLive::get, () -> 10);
+        var loads = new AtomicInteger();
+
+        var first = cache.get("key", () -> "value-" + loads.incrementAndGet());
+        var second = cache.get("key", () -> "value-" + loads.incrementAndGet());
+
+        assertThat(first).isEqualTo("value-1");
+        assertThat(second).isEqualTo("value-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_shouldReloadOnceTimeToLiveElapsed() throws Exception {
+        var cache = new ExpiringCache<String, String>(timeToLive::get, () -> 10);
+        var loads = new AtomicInteger();
+        cache.get("key", () -> "value-" + loads.incrementAndGet());
+
+        timeToLive.set(Duration.ofNanos(1));
+        Thread.sleep(1);
+
+        assertThat(cache.get("key")).isEmpty();
+        assertThat(cache.get("key", () -> "value-" + loads.incrementAndGet())).isEqualTo("value-2");
+    }
+
+    @Test
+    void get_shouldDropEntriesRejectedByExpiryCheck() {
+        var cache = new ExpiringCache<String, String>(timeToLive::get, () -> 10, value -> value.startsWith("expired"));
+
+        cache.put("fresh", "fresh-value");
+        cache.put("expired", "expired-value");
+
+        assertThat(cache.get("fresh")).contains("fresh-value");
+        assertThat(cache.get("expired")).isEmpty();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_whenFull_shouldEvictStaleEntriesBeforeAddingNewOnes() throws Exception {
+        var cache = new ExpiringCache<String, String>(timeToLive::get, () -> 2);
+        cache.put("first", "1");
+        cache.put("second", "2");
+
+        cache.put("third", "3");
+        assertThat(cache.get("third")).isEmpty();
+
+        timeToLive.set(Duration.ofNanos(1));
+        Thread.sleep(1);
+        cache.put("third", "3");
+        timeToLive.set(Duration.ofMinutes(1));
+
+        assertThat(cache.get("third")).contains("3");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_whenFull_shouldStillReplaceExistingKeys() {
+        var cache = new ExpiringCache<String, String>(timeToLive::get, () -> 1);
+        cache.put("key", "old");
+
+        cache.put("key", "new");
+
+        assertThat(cache.get("key")).contains("new");
+    }
+
+    @Test
+    void removeIf_shouldEvictMatchingKeys() {
+        var cache = new ExpiringCache<String, String>(timeToLive::get, () -> 10);
+        cache.put("session-1", "a");
+        cache.put("session-2", "b");
+        cache.put("other", "c");
+
+        cache.removeIf(key -> key.startsWith("session-"));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("other")).contains("c");
+    }
+}
@@ -0,0 +1,69 @@
+package com.projects.filestorage.service.preview;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThumbnailRendererTest {
+
+    @Test
+    void render_shouldScaleImageToMaxDimensionPreservingAspectRatio() throws IOException {
+        var source = createPng(1600, 800, true);
+
+        var thumbnail = ThumbnailRenderer.render(new ByteArrayInputStream(source), 256, 0.8f);
+
+        assertThat(thumbnail).hasValueSatisfying(content -> {
+            var image = readImage(content);
+            assertThat(image.getWidth()).isEqualTo(256);
+            assertThat(image.getHeight()).isEqualTo(128);
+        });
+    }
+
+    @Test
+    void render_shouldNotUpscaleSmallImages() throws IOException {
+        var source = createPng(100, 40, false);
+
+        var thumbnail = ThumbnailRenderer.render(new ByteArrayInputStream(source), 256, 0.8f);
+
+        assertThat(thumbnail).hasValueSatisfying(content -> {
+            var image = readImage(content);
+            assertThat(image.getWidth()).isEqualTo(100);
+            assertThat(image.getHeight()).isEqualTo(40);
+        });
+    }
+
+    @Test
+    void render_shouldReturnEmptyForNonImageContent() throws IOException {
+        var source = "plain text content".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(ThumbnailRenderer.render(new ByteArrayInputStream(source), 256, 0.8f)).isEmpty();
+    }
+
+    private static byte[] createPng(int width, int height, boolean withAlpha) throws IOException {
+        var image = new BufferedImage(width, height, withAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+
+        var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static BufferedImage readImage(byte[] content) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(content));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
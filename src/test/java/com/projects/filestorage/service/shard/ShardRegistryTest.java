@@ -0,0 +1,76 @@
+package com.projects.filestorage.service.shard;
+
+import com.projects.filestorage.config.properties.MinioClientProperties;
+import com.projects.filestorage.config.properties.ShardingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRegistryTest {
+
+    private static final long USERS = 10_000;
+
+    @Test
+    void selectShard_shouldNeverPlaceUsersOnDrainingShards() {
+        var registry = registry(shard("eu-1", "bucket-eu-1", 100, true), shard("eu-2", "bucket-eu-2", 100, false));
+
+        var shardIds = LongStream.rangeClosed(1, USERS).mapToObj(registry::selectShard).distinct().toList();
+
+        assertThat(shardIds).containsExactlyInAnyOrder(ShardRegistry.DEFAULT_SHARD_ID, "eu-2");
+    }
+
+    @Test
+    void selectShard_shouldSpreadUsersAccordingToWeights() {
+        var registry = registry(shard("eu-1", "bucket-eu-1", 300, false));
+
+        var placedOnNewShard = LongStream.rangeClosed(1, USERS)
+                .filter(userId -> registry.selectShard(userId).equals("eu-1"))
+                .count();
+
+        assertThat(placedOnNewShard / (double) USERS).isBetween(0.72, 0.78);
+    }
+
+    @Test
+    void selectShard_shouldOnlyMoveUsersToAddedShard() {
+        var before = registry(shard("eu-1", "bucket-eu-1", 100, false));
+        var after = registry(shard("eu-1", "bucket-eu-1", 100, false), shard("eu-2", "bucket-eu-2", 100, false));
+
+        var movedTo = LongStream.rangeClosed(1, USERS)
+                .filter(userId -> !before.selectShard(userId).equals(after.selectShard(userId)))
+                .mapToObj(after::selectShard)
+                .distinct()
+                .toList();
+
+        assertThat(movedTo).containsExactly("eu-2");
+    }
+
+    @Test
+    void constructor_shouldRejectSharedBuckets() {
+        assertThatThrownBy(() -> registry(shard("eu-1", "user-files", 100, false)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ShardRegistry registry(ShardingProperties.Shard... shards) {
+        var shardingProperties = new ShardingProperties();
+        shardingProperties.setEnabled(true);
+        shardingProperties.setShards(List.of(shards));
+
+        var minioClientProperties = new MinioClientProperties();
+        minioClientProperties.setBucketName("user-files");
+
+        return new ShardRegistry(shardingProperties, minioClientProperties);
+    }
+
+    private static ShardingProperties.Shard shard(String id, String bucket, int weight, boolean draining) {
+        var shard = new ShardingProperties.Shard();
+        shard.setId(id);
+        shard.setBucket(bucket);
+        shard.setWeight(weight);
+        shard.setDraining(draining);
+        return shard;
+    }
+}
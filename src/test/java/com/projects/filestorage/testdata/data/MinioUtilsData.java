@@ -27,4 +27,15 @@ public class MinioUtilsData {
                 Arguments.of("test/inner/2.txt", "test/inner/")
         );
     }
+
+    public static Stream<Arguments> userRootPathData() {
+        return Stream.of(
+                Arguments.of("user-1-files/", true),
+                Arguments.of("user-42-files/", true),
+                Arguments.of("user-1-files/docs/", false),
+                Arguments.of("user-1-files", false),
+                Arguments.of("user--files/", false),
+                Arguments.of("", false)
+        );
+    }
 }
@@ -0,0 +1,20 @@
+package com.projects.filestorage.testdata.data;
+
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.util.stream.Stream;
+
+public class ResourcePathData {
+
+    public static Stream<Arguments> nameMatchData() {
+        return Stream.of(
+                Arguments.of("report.pdf", "port", true),
+                Arguments.of("docs/Report.PDF", "report", true),
+                Arguments.of("docs/report.pdf", "docs", false),
+                Arguments.of("docs/", "doc", true),
+                Arguments.of("docs/", "docs/", false),
+                Arguments.of("папка/Файл.txt", "файл", true),
+                Arguments.of("1.txt", "2", false)
+        );
+    }
+}
@@ -0,0 +1,192 @@
+package com.projects.filestorage.testing.s3;
+
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.DeleteObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryS3ServerTest {
+
+    private static final String BUCKET = "test-user-files";
+    private static final int MULTIPART_PART_SIZE = 5 * 1024 * 1024;
+
+    private static InMemoryS3Server server;
+    private static MinioClient minioClient;
+
+    @BeforeAll
+    static void startServer() {
+        server = InMemoryS3Server.builder().build().start().createBucket(BUCKET);
+        minioClient = MinioClient.builder()
+                .endpoint(server.endpoint())
+                .credentials("access-key", "secret-key")
+                .build();
+    }
+
+    @AfterAll
+    static void stopServer() throws Exception {
+        minioClient.close();
+        server.close();
+    }
+
+    @BeforeEach
+    void clearStore() {
+        server.store().clear();
+    }
+
+    @Test
+    void putAndStat_shouldReturnSizeContentTypeAndUserMetadata() throws Exception {
+        putObject("user-1-files/docs/report 1.txt", "hello world", Map.of("owner", "user-1"));
+
+        var stat = minioClient.statObject(StatObjectArgs.builder()
+                .bucket(BUCKET)
+                .object("user-1-files/docs/report 1.txt")
+                .build());
+
+        assertThat(stat.size()).isEqualTo(11);
+        assertThat(stat.contentType()).isEqualTo("text/plain");
+        assertThat(stat.userMetadata()).containsEntry("owner", "user-1");
+    }
+
+    @Test
+    void statMissingObject_shouldFailWithNoSuchKey() {
+        assertThatThrownBy(() -> minioClient.statObject(StatObjectArgs.builder()
+                .bucket(BUCKET)
+                .object("user-1-files/missing.txt")
+                .build()))
+                .isInstanceOf(ErrorResponseException.class)
+                .satisfies(ex -> assertThat(((ErrorResponseException) ex).errorResponse().code()).isEqualTo("NoSuchKey"));
+    }
+
+    @Test
+    void listWithDelimiter_shouldReturnDirectObjectsAndCommonPrefixes() throws Exception {
+        putObject("user-1-files/docs/", "", Map.of());
+        putObject("user-1-files/docs/a.txt", "a", Map.of());
+        putObject("user-1-files/docs/nested/b.txt", "b", Map.of());
+        putObject("user-1-files/other.txt", "c", Map.of());
+
+        var objectNames = listObjectNames("user-1-files/docs/", false);
+
+        assertThat(objectNames).containsExactly(
+                "user-1-files/docs/",
+                "user-1-files/docs/a.txt",
+                "user-1-files/docs/nested/"
+        );
+    }
+
+    @Test
+    void recursiveList_shouldFollowContinuationTokens() throws Exception {
+        var expected = new ArrayList<String>();
+        for (var i = 0; i < 2_500; i++) {
+            var objectName = String.format("user-1-files/bulk/file-%05d.bin", i);
+            putObject(objectName, "x", Map.of());
+            expected.add(objectName);
+        }
+
+        assertThat(listObjectNames("user-1-files/bulk/", true)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void getWithRange_shouldReturnRequestedSlice() throws Exception {
+        putObject("user-1-files/range.txt", "0123456789", Map.of());
+
+        try (var response = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(BUCKET)
+                .object("user-1-files/range.txt")
+                .offset(2L)
+                .length(4L)
+                .build())) {
+            assertThat(new String(response.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("2345");
+        }
+    }
+
+    @Test
+    void copy_shouldDuplicateContentAndMetadata() throws Exception {
+        putObject("user-1-files/source.txt", "payload", Map.of("owner", "user-1"));
+
+        minioClient.copyObject(CopyObjectArgs.builder()
+                .bucket(BUCKET)
+                .object("user-1-files/moved/target.txt")
+                .source(CopySource.builder().bucket(BUCKET).object("user-1-files/source.txt").build())
+                .build());
+
+        var copy = server.store().getObject(BUCKET, "user-1-files/moved/target.txt");
+        assertThat(new String(copy.content(), StandardCharsets.UTF_8)).isEqualTo("payload");
+        assertThat(copy.userMetadata()).containsEntry("owner", "user-1");
+    }
+
+    @Test
+    void removeObjects_shouldDeleteAllRequestedKeys() throws Exception {
+        putObject("user-1-files/dir/a.txt", "a", Map.of());
+        putObject("user-1-files/dir/b.txt", "b", Map.of());
+        putObject("user-1-files/keep.txt", "c", Map.of());
+
+        var errors = minioClient.removeObjects(RemoveObjectsArgs.builder()
+                .bucket(BUCKET)
+                .objects(List.of(new DeleteObject("user-1-files/dir/a.txt"), new DeleteObject("user-1-files/dir/b.txt")))
+                .build());
+        for (var error : errors) {
+            error.get();
+        }
+
+        assertThat(listObjectNames("user-1-files/", true)).containsExactly("user-1-files/keep.txt");
+    }
+
+    @Test
+    void putOfUnknownSize_shouldUseMultipartUpload() throws Exception {
+        var content = new byte[MULTIPART_PART_SIZE + 1024];
+        new Random(42).nextBytes(content);
+
+        minioClient.putObject(PutObjectArgs.builder()
+                .bucket(BUCKET)
+                .object("user-1-files/large.bin")
+                .stream(new ByteArrayInputStream(content), -1, MULTIPART_PART_SIZE)
+                .build());
+
+        var stored = server.store().getObject(BUCKET, "user-1-files/large.bin");
+        assertThat(stored.content()).isEqualTo(content);
+        assertThat(stored.etag()).endsWith("-2");
+    }
+
+    private void putObject(String objectName, String content, Map<String, String> userMetadata) throws Exception {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        minioClient.putObject(PutObjectArgs.builder()
+                .bucket(BUCKET)
+                .object(objectName)
+                .stream(new ByteArrayInputStream(bytes), bytes.length, -1)
+                .contentType("text/plain")
+                .userMetadata(userMetadata)
+                .build());
+    }
+
+    private List<String> listObjectNames(String prefix, boolean recursive) throws Exception {
+        var objectNames = new ArrayList<String>();
+        for (var item : minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(BUCKET)
+                .prefix(prefix)
+                .recursive(recursive)
+                .build())) {
+            objectNames.add(item.get().objectName());
+        }
+        return objectNames;
+    }
+}
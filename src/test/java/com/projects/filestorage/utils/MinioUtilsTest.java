@@ -21,4 +21,11 @@ public class MinioUtilsTest {
         var extractParentPath = MinioUtils.extractParentPath(path);
         assertThat(extractParentPath).isEqualTo(expectedParent);
     }
+
+    @ParameterizedTest(name = "isUserRootPath(\"{0}\" => {1}")
+    @MethodSource("com.projects.filestorage.testdata.data.MinioUtilsData#userRootPathData")
+    public void isUserRootPath_ValidPath_ShouldMatchOnlyUserRoot(String path, boolean expectedUserRoot) {
+        var isUserRootPath = MinioUtils.isUserRootPath(path);
+        assertThat(isUserRootPath).isEqualTo(expectedUserRoot);
+    }
 }
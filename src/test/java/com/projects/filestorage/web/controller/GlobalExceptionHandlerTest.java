@@ -0,0 +1,82 @@
+package com.projects.filestorage.web.controller;
+
+import com.projects.filestorage.config.properties.DownloadExecutorProperties;
+import com.projects.filestorage.config.properties.PasswordHashingProperties;
+import com.projects.filestorage.config.properties.ShardingProperties;
+import com.projects.filestorage.metrics.StorageCallTracker;
+import com.projects.filestorage.metrics.StorageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private static final String ALLOWED_ORIGIN = "http://localhost:8081";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @BeforeEach
+    void setUp() {
+        var downloadExecutorProperties = new DownloadExecutorProperties();
+        downloadExecutorProperties.setRetryAfter(Duration.ofSeconds(7));
+
+        meterRegistry = new SimpleMeterRegistry();
+        globalExceptionHandler = new GlobalExceptionHandler(
+                downloadExecutorProperties,
+                new PasswordHashingProperties(),
+                new ShardingProperties(),
+                new StorageMetrics(meterRegistry, new StorageCallTracker())
+        );
+    }
+
+    @Test
+    void handleTaskRejectedException_shouldAnswerTooManyRequestsWithRetryAfter() {
+        var response = downloadResponse();
+
+        var errorResponse = globalExceptionHandler.handleTaskRejectedException(
+                new TaskRejectedException("Executor is saturated"), response);
+
+        assertThat(errorResponse.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(errorResponse.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+        assertThat(errorResponse.getBody()).isNotNull();
+        assertThat(meterRegistry.counter("filestorage.download.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void handleTaskRejectedException_shouldKeepCorsHeadersAndDropDownloadHeaders() {
+        var response = downloadResponse();
+
+        globalExceptionHandler.handleTaskRejectedException(new TaskRejectedException("Executor is saturated"), response);
+
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo(ALLOWED_ORIGIN);
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS)).isEqualTo("true");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ORIGIN, HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private static MockHttpServletResponse downloadResponse() {
+        var response = new MockHttpServletResponse();
+        response.addHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, ALLOWED_ORIGIN);
+        response.addHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report.txt\"");
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(1024);
+        return response;
+    }
+}
@@ -0,0 +1,163 @@
+package com.projects.filestorage.web.filter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.projects.filestorage.config.properties.StorageAccountingProperties;
+import com.projects.filestorage.metrics.StorageCallTracker;
+import com.projects.filestorage.metrics.StorageOperation;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorageCallAccountingFilterTest {
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final StorageCallTracker storageCallTracker = new StorageCallTracker();
+    private final StorageAccountingProperties properties = new StorageAccountingProperties();
+    private final Logger filterLogger = (Logger) LoggerFactory.getLogger(StorageCallAccountingFilter.class);
+    private ListAppender<ILoggingEvent> logAppender;
+    private StorageCallAccountingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSlowRequestCallThreshold(3);
+        properties.setSlowRequestLatencyThreshold(Duration.ofHours(1));
+        filter = new StorageCallAccountingFilter(storageCallTracker, properties);
+
+        logAppender = new ListAppender<>();
+        logAppender.start();
+        filterLogger.addAppender(logAppender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filterLogger.detachAppender(logAppender);
+    }
+
+    @Test
+    void doFilter_shouldWriteServerTimingForStorageCallsOfTheRequest() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(apiRequest(), response, (request, servletResponse) -> {
+            storageCallTracker.record(StorageOperation.STAT, TimeUnit.MILLISECONDS.toNanos(1));
+            storageCallTracker.record(StorageOperation.GET, TimeUnit.MILLISECONDS.toNanos(2));
+        });
+
+        assertThat(response.getHeader(SERVER_TIMING_HEADER)).isEqualTo(
+                "storage-stat;desc=\"1 calls\";dur=1.0, storage-get;desc=\"1 calls\";dur=2.0, storage;desc=\"2 calls\";dur=3.0");
+        assertThat(logAppender.list).isEmpty();
+    }
+
+    @Test
+    void doFilter_shouldWriteServerTimingBeforeTheResponseIsCommitted() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(apiRequest(), response, (request, servletResponse) -> {
+            storageCallTracker.record(StorageOperation.GET, TimeUnit.MILLISECONDS.toNanos(2));
+            servletResponse.getOutputStream().write('x');
+            servletResponse.flushBuffer();
+            storageCallTracker.record(StorageOperation.STAT, TimeUnit.MILLISECONDS.toNanos(1));
+        });
+
+        assertThat(response.getHeaders(SERVER_TIMING_HEADER)).containsExactly(
+                "storage-get;desc=\"1 calls\";dur=2.0, storage;desc=\"1 calls\";dur=2.0");
+    }
+
+    @Test
+    void doFilter_shouldLogRequestsReachingTheCallThreshold() throws Exception {
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), (request, servletResponse) -> {
+            for (var i = 0; i < properties.getSlowRequestCallThreshold(); i++) {
+                storageCallTracker.record(StorageOperation.LIST, TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        });
+
+        assertThat(logAppender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .startsWith("[Storage] Request GET /api/resource made 3 storage calls taking 3 ms")
+                .endsWith(": list=3/3.0ms");
+    }
+
+    @Test
+    void doFilter_shouldLogRequestsReachingTheLatencyThreshold() throws Exception {
+        properties.setSlowRequestLatencyThreshold(Duration.ofMillis(5));
+
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), (request, servletResponse) ->
+                storageCallTracker.record(StorageOperation.PUT, TimeUnit.MILLISECONDS.toNanos(5)));
+
+        assertThat(logAppender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("made 1 storage calls taking 5 ms");
+    }
+
+    @Test
+    void doFilter_shouldAccountCallsOfAsyncTasksAndFinishOnAsyncDispatch() throws Exception {
+        var request = apiRequest();
+        request.setAsyncSupported(true);
+        var response = new MockHttpServletResponse();
+        var executor = new SimpleAsyncTaskExecutor("async-test-");
+        executor.setTaskDecorator(storageCallTracker);
+        var asyncTask = new AtomicReference<Future<?>>();
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            storageCallTracker.record(StorageOperation.STAT, TimeUnit.MILLISECONDS.toNanos(1));
+            servletRequest.startAsync();
+            asyncTask.set(executor.submit(() -> {
+                storageCallTracker.record(StorageOperation.GET, TimeUnit.MILLISECONDS.toNanos(2));
+                storageCallTracker.record(StorageOperation.GET, TimeUnit.MILLISECONDS.toNanos(2));
+            }));
+        });
+        asyncTask.get().get();
+
+        assertThat(response.getHeader(SERVER_TIMING_HEADER)).isNull();
+        assertThat(logAppender.list).isEmpty();
+
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+        });
+
+        assertThat(response.getHeader(SERVER_TIMING_HEADER)).isEqualTo(
+                "storage-stat;desc=\"1 calls\";dur=1.0, storage-get;desc=\"2 calls\";dur=4.0, storage;desc=\"3 calls\";dur=5.0");
+        assertThat(logAppender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("made 3 storage calls taking 5 ms");
+    }
+
+    @Test
+    void decorate_shouldNotLeakAccountingIntoUnrelatedTasks() throws Exception {
+        var executor = new SimpleAsyncTaskExecutor("async-test-");
+        executor.setTaskDecorator(storageCallTracker);
+        var accounting = storageCallTracker.begin();
+        var accountedTask = executor.submit(() ->
+                storageCallTracker.record(StorageOperation.GET, TimeUnit.MILLISECONDS.toNanos(1)));
+        storageCallTracker.end();
+        var unrelatedTask = executor.submit(() ->
+                storageCallTracker.record(StorageOperation.GET, TimeUnit.MILLISECONDS.toNanos(1)));
+
+        accountedTask.get();
+        unrelatedTask.get();
+
+        assertThat(accounting.getTotalCalls()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/resource");
+    }
+}
@@ -0,0 +1,2 @@
+alter table file_storage.pending_uploads
+    add column closed_at timestamptz;
@@ -0,0 +1,19 @@
+create table file_storage.resource_change_sequences
+(
+    user_id       int    primary key references file_storage.users (id),
+    last_sequence bigint not null
+);
+
+create table file_storage.resource_changes
+(
+    id            bigserial primary key,
+    user_id       int         not null references file_storage.users (id),
+    sequence      bigint      not null,
+    change_type   varchar(16) not null,
+    resource_type varchar(16) not null,
+    path          varchar     not null,
+    previous_path varchar,
+    size          bigint,
+    created_at    timestamptz not null default now()
+);
+create unique index idx_resource_changes_user_sequence on file_storage.resource_changes (user_id, sequence);
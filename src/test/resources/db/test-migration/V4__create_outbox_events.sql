@@ -0,0 +1,12 @@
+create table file_storage.outbox_events
+(
+    id              bigserial primary key,
+    event_type      varchar(64) not null,
+    aggregate_id    bigint      not null,
+    attempts        int         not null default 0,
+    next_attempt_at timestamptz not null default now(),
+    last_error      varchar,
+    created_at      timestamptz not null default now(),
+    processed_at    timestamptz
+);
+create index idx_outbox_events_pending on file_storage.outbox_events (next_attempt_at) where processed_at is null;
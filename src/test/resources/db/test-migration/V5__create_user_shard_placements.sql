@@ -0,0 +1,11 @@
+create table file_storage.user_shard_placements
+(
+    user_id           int         primary key references file_storage.users (id),
+    shard_id          varchar(64) not null,
+    target_shard_id   varchar(64),
+    previous_shard_id varchar(64),
+    state             varchar(16) not null default 'ACTIVE',
+    lease_until       timestamptz not null default now(),
+    updated_at        timestamptz not null default now()
+);
+create index idx_user_shard_placements_shard on file_storage.user_shard_placements (shard_id);
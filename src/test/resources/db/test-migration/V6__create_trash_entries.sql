@@ -0,0 +1,14 @@
+create table file_storage.trash_entries
+(
+    id            bigserial primary key,
+    user_id       int         not null references file_storage.users (id),
+    path          varchar     not null,
+    resource_type varchar(16) not null,
+    trash_path    varchar,
+    state         varchar(16) not null,
+    deleted_at    timestamptz not null default now(),
+    expires_at    timestamptz not null,
+    lease_until   timestamptz not null default now()
+);
+create index idx_trash_entries_user_state on file_storage.trash_entries (user_id, state);
+create index idx_trash_entries_expires_at on file_storage.trash_entries (expires_at) where state = 'TRASHED';
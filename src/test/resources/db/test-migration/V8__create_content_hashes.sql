@@ -0,0 +1,13 @@
+create table file_storage.content_hashes
+(
+    id         bigserial primary key,
+    user_id    int         not null references file_storage.users (id),
+    bucket     varchar     not null,
+    path       varchar     not null,
+    sha256     varchar(64) not null,
+    size       bigint      not null,
+    etag       varchar     not null,
+    created_at timestamptz not null default now(),
+    constraint uq_content_hashes_bucket_path unique (bucket, path)
+);
+create index idx_content_hashes_sha256_size on file_storage.content_hashes (sha256, size);
@@ -0,0 +1,7 @@
+alter table file_storage.user_shard_placements
+    add column final_sync_started_at timestamptz;
+
+insert into file_storage.user_shard_placements (user_id, shard_id)
+select u.id, 'default'
+from file_storage.users u
+on conflict (user_id) do nothing;
@@ -0,0 +1,448 @@
+package com.projects.filestorage.testing.s3;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class InMemoryS3Server implements AutoCloseable {
+
+    private static final String USER_METADATA_PREFIX = "x-amz-meta-";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final int DEFAULT_MAX_KEYS = 1000;
+
+    private final InMemoryS3Store store = new InMemoryS3Store();
+    private final String host;
+    private final int port;
+    private final Duration latency;
+    private final long bandwidthBytesPerSecond;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private InMemoryS3Server(Builder builder) {
+        this.host = builder.host;
+        this.port = builder.port;
+        this.latency = builder.latency;
+        this.bandwidthBytesPerSecond = builder.bandwidthBytesPerSecond;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public synchronized InMemoryS3Server start() {
+        if (server != null) {
+            return this;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to bind in-memory S3 server on " + host + ":" + port, ex);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public String endpoint() {
+        if (server == null) {
+            throw new IllegalStateException("In-memory S3 server is not started");
+        }
+        return "http://" + host + ":" + server.getAddress().getPort();
+    }
+
+    public InMemoryS3Server createBucket(String bucket) {
+        store.createBucket(bucket);
+        return this;
+    }
+
+    public InMemoryS3Store store() {
+        return store;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        var resource = exchange.getRequestURI().getRawPath();
+        try {
+            injectLatency();
+            route(exchange, resource);
+        } catch (S3Exception ex) {
+            sendError(exchange, ex, resource);
+        } catch (RuntimeException ex) {
+            sendError(exchange, new S3Exception(500, "InternalError", String.valueOf(ex.getMessage())), resource);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String rawPath) throws IOException {
+        var path = rawPath.startsWith("/") ? rawPath.substring(1) : rawPath;
+        var separator = path.indexOf('/');
+        var bucket = decode(separator < 0 ? path : path.substring(0, separator));
+        var key = separator < 0 ? "" : decode(path.substring(separator + 1));
+        var query = parseQuery(exchange.getRequestURI().getRawQuery());
+        var method = exchange.getRequestMethod();
+
+        if (bucket.isEmpty()) {
+            throw new S3Exception(501, "NotImplemented", "Service level operations are not supported");
+        }
+
+        if (key.isEmpty()) {
+            handleBucket(exchange, method, bucket, query);
+        } else {
+            handleObject(exchange, method, bucket, key, query);
+        }
+    }
+
+    private void handleBucket(HttpExchange exchange, String method, String bucket, Map<String, String> query) throws IOException {
+        switch (method) {
+            case "HEAD" -> {
+                if (!store.bucketExists(bucket)) {
+                    throw S3Exception.noSuchBucket(bucket);
+                }
+                sendEmpty(exchange, 200);
+            }
+            case "PUT" -> {
+                drain(exchange);
+                store.createBucket(bucket);
+                sendEmpty(exchange, 200);
+            }
+            case "GET" -> {
+                if (query.containsKey("location")) {
+                    sendXml(exchange, 200, S3Xml.location());
+                } else {
+                    listObjects(exchange, bucket, query);
+                }
+            }
+            case "POST" -> {
+                if (!query.containsKey("delete")) {
+                    throw notImplemented(method, query);
+                }
+                deleteObjects(exchange, bucket);
+            }
+            default -> throw notImplemented(method, query);
+        }
+    }
+
+    private void handleObject(HttpExchange exchange, String method, String bucket, String key, Map<String, String> query) throws IOException {
+        switch (method) {
+            case "HEAD" -> {
+                var object = store.getObject(bucket, key);
+                writeObjectHeaders(exchange, object);
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.size()));
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "GET" -> getObject(exchange, bucket, key);
+            case "PUT" -> {
+                if (query.containsKey("uploadId")) {
+                    uploadPart(exchange, query);
+                } else if (exchange.getRequestHeaders().containsKey("x-amz-copy-source")) {
+                    copyObject(exchange, bucket, key);
+                } else {
+                    putObject(exchange, bucket, key);
+                }
+            }
+            case "POST" -> {
+                if (query.containsKey("uploads")) {
+                    drain(exchange);
+                    var uploadId = store.createMultipartUpload(bucket, key, contentType(exchange), userMetadata(exchange));
+                    sendXml(exchange, 200, S3Xml.initiateMultipartUploadResult(bucket, key, uploadId));
+                } else if (query.containsKey("uploadId")) {
+                    var body = new String(readBody(exchange), StandardCharsets.UTF_8);
+                    var object = store.completeMultipartUpload(query.get("uploadId"), S3Xml.parsePartNumbers(body));
+                    sendXml(exchange, 200, S3Xml.completeMultipartUploadResult(bucket, object));
+                } else {
+                    throw notImplemented(method, query);
+                }
+            }
+            case "DELETE" -> {
+                if (query.containsKey("uploadId")) {
+                    store.abortMultipartUpload(query.get("uploadId"));
+                } else {
+                    store.deleteObject(bucket, key);
+                }
+                sendEmpty(exchange, 204);
+            }
+            default -> throw notImplemented(method, query);
+        }
+    }
+
+    private void listObjects(HttpExchange exchange, String bucket, Map<String, String> query) throws IOException {
+        var prefix = query.getOrDefault("prefix", "");
+        var delimiter = emptyToNull(query.get("delimiter"));
+        var continuationToken = emptyToNull(query.get("continuation-token"));
+        var startAfter = emptyToNull(query.get("start-after"));
+        var maxKeys = query.containsKey("max-keys") ? Integer.parseInt(query.get("max-keys")) : DEFAULT_MAX_KEYS;
+
+        var result = store.list(bucket, prefix, delimiter,
+                continuationToken != null ? continuationToken : startAfter, Math.min(maxKeys, DEFAULT_MAX_KEYS));
+
+        sendXml(exchange, 200, S3Xml.listObjectsV2(bucket, prefix, delimiter, maxKeys, continuationToken, startAfter, result));
+    }
+
+    private void getObject(HttpExchange exchange, String bucket, String key) throws IOException {
+        var object = store.getObject(bucket, key);
+        var content = object.content();
+        var range = exchange.getRequestHeaders().getFirst("Range");
+
+        writeObjectHeaders(exchange, object);
+
+        var start = 0;
+        var end = content.length - 1;
+        var status = 200;
+        if (range != null) {
+            var bounds = parseRange(range, content.length);
+            start = bounds[0];
+            end = bounds[1];
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+        }
+
+        var length = end - start + 1;
+        exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+        if (length > 0) {
+            try (var out = ThrottledStreams.throttle(exchange.getResponseBody(), bandwidthBytesPerSecond)) {
+                out.write(content, start, length);
+            }
+        }
+    }
+
+    private void putObject(HttpExchange exchange, String bucket, String key) throws IOException {
+        var content = readBody(exchange);
+        var object = store.putObject(bucket, key, content, contentType(exchange), userMetadata(exchange));
+        exchange.getResponseHeaders().set("ETag", S3Xml.quote(object.etag()));
+        sendEmpty(exchange, 200);
+    }
+
+    private void uploadPart(HttpExchange exchange, Map<String, String> query) throws IOException {
+        var content = readBody(exchange);
+        var etag = store.uploadPart(query.get("uploadId"), Integer.parseInt(query.get("partNumber")), content);
+        exchange.getResponseHeaders().set("ETag", S3Xml.quote(etag));
+        sendEmpty(exchange, 200);
+    }
+
+    private void copyObject(HttpExchange exchange, String bucket, String key) throws IOException {
+        drain(exchange);
+        var copySource = decode(exchange.getRequestHeaders().getFirst("x-amz-copy-source"));
+        var source = copySource.startsWith("/") ? copySource.substring(1) : copySource;
+        var versionIndex = source.indexOf("?versionId=");
+        if (versionIndex >= 0) {
+            source = source.substring(0, versionIndex);
+        }
+        var separator = source.indexOf('/');
+        if (separator < 0) {
+            throw new S3Exception(400, "InvalidArgument", "Copy source must be in the form bucket/key");
+        }
+
+        var replaceMetadata = "REPLACE".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("x-amz-metadata-directive"));
+        var object = store.copyObject(source.substring(0, separator), source.substring(separator + 1), bucket, key,
+                exchange.getRequestHeaders().getFirst("Content-Type"), replaceMetadata ? userMetadata(exchange) : null);
+        sendXml(exchange, 200, S3Xml.copyObjectResult(object));
+    }
+
+    private void deleteObjects(HttpExchange exchange, String bucket) throws IOException {
+        var body = new String(readBody(exchange), StandardCharsets.UTF_8);
+        var deleted = new ArrayList<String>();
+        var failed = new ArrayList<String>();
+        for (var key : S3Xml.parseKeys(body)) {
+            try {
+                store.deleteObject(bucket, key);
+                deleted.add(key);
+            } catch (S3Exception ex) {
+                failed.add(key);
+            }
+        }
+        sendXml(exchange, 200, S3Xml.deleteResult(deleted, failed, S3Xml.parseQuiet(body)));
+    }
+
+    private void writeObjectHeaders(HttpExchange exchange, S3Object object) {
+        var headers = exchange.getResponseHeaders();
+        headers.set("ETag", S3Xml.quote(object.etag()));
+        headers.set("Last-Modified", S3Xml.formatHeaderDate(object.lastModified()));
+        headers.set("Content-Type", object.contentType());
+        headers.set("Accept-Ranges", "bytes");
+        object.userMetadata().forEach((name, value) -> headers.set(USER_METADATA_PREFIX + name, value));
+    }
+
+    private void sendXml(HttpExchange exchange, int status, String xml) throws IOException {
+        var body = xml.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    private void sendError(HttpExchange exchange, S3Exception ex, String resource) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(ex.getStatus(), -1);
+            return;
+        }
+        sendXml(exchange, ex.getStatus(), S3Xml.error(ex, resource));
+    }
+
+    private byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = ThrottledStreams.throttle(exchange.getRequestBody(), bandwidthBytesPerSecond)) {
+            var buffer = new ByteArrayOutputStream();
+            in.transferTo(buffer);
+            return buffer.toByteArray();
+        }
+    }
+
+    private void drain(HttpExchange exchange) throws IOException {
+        try (var in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private void injectLatency() {
+        if (latency.isZero() || latency.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String contentType(HttpExchange exchange) {
+        var contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+    }
+
+    private static Map<String, String> userMetadata(HttpExchange exchange) {
+        var metadata = new HashMap<String, String>();
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            var lowerName = name.toLowerCase(Locale.ROOT);
+            if (lowerName.startsWith(USER_METADATA_PREFIX) && !values.isEmpty()) {
+                metadata.put(lowerName.substring(USER_METADATA_PREFIX.length()), values.getFirst());
+            }
+        });
+        return metadata;
+    }
+
+    private static int[] parseRange(String range, int length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            throw S3Exception.invalidRange(range);
+        }
+        var spec = range.substring("bytes=".length()).trim();
+        var dash = spec.indexOf('-');
+        if (dash < 0) {
+            throw S3Exception.invalidRange(range);
+        }
+
+        long start;
+        long end;
+        try {
+            if (dash == 0) {
+                var suffixLength = Long.parseLong(spec.substring(1));
+                start = Math.max(0, length - suffixLength);
+                end = length - 1L;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1L : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1L);
+            }
+        } catch (NumberFormatException ex) {
+            throw S3Exception.invalidRange(range);
+        }
+
+        if (start >= length || start > end) {
+            throw S3Exception.invalidRange(range);
+        }
+        return new int[]{(int) start, (int) end};
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        var query = new HashMap<String, String>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (var parameter : rawQuery.split("&")) {
+            if (parameter.isEmpty()) continue;
+            var separator = parameter.indexOf('=');
+            var name = decode(separator < 0 ? parameter : parameter.substring(0, separator));
+            var value = separator < 0 ? "" : decode(parameter.substring(separator + 1));
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    private static String decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        return URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static S3Exception notImplemented(String method, Map<String, String> query) {
+        return new S3Exception(501, "NotImplemented", "Unsupported operation " + method + " " + query.keySet());
+    }
+
+    public static final class Builder {
+
+        private String host = "127.0.0.1";
+        private int port;
+        private Duration latency = Duration.ZERO;
+        private long bandwidthBytesPerSecond;
+
+        private Builder() {
+        }
+
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder latency(Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        public Builder bandwidthBytesPerSecond(long bandwidthBytesPerSecond) {
+            this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+            return this;
+        }
+
+        public InMemoryS3Server build() {
+            return new InMemoryS3Server(this);
+        }
+    }
+}
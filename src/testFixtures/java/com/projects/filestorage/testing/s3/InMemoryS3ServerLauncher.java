@@ -0,0 +1,37 @@
+package com.projects.filestorage.testing.s3;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+public class InMemoryS3ServerLauncher {
+
+    public static void main(String[] args) throws InterruptedException {
+        var builder = InMemoryS3Server.builder().port(9000);
+        var buckets = new ArrayList<String>();
+
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value argument but got: " + arg);
+            }
+            var name = arg.substring(2, separator);
+            var value = arg.substring(separator + 1);
+            switch (name) {
+                case "host" -> builder.host(value);
+                case "port" -> builder.port(Integer.parseInt(value));
+                case "latency" -> builder.latency(Duration.parse(value));
+                case "bandwidth" -> builder.bandwidthBytesPerSecond(Long.parseLong(value));
+                case "bucket" -> buckets.add(value);
+                default -> throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        var server = builder.build().start();
+        buckets.forEach(server::createBucket);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+
+        System.out.printf("In-memory S3 server is listening on %s, buckets=%s%n", server.endpoint(), buckets);
+        new CountDownLatch(1).await();
+    }
+}
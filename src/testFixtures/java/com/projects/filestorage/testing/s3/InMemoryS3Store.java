@@ -0,0 +1,200 @@
+package com.projects.filestorage.testing.s3;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class InMemoryS3Store {
+
+    private final Map<String, NavigableMap<String, S3Object>> buckets = new ConcurrentHashMap<>();
+    private final Map<String, MultipartUpload> multipartUploads = new ConcurrentHashMap<>();
+
+    public void createBucket(String bucket) {
+        buckets.putIfAbsent(bucket, new ConcurrentSkipListMap<>());
+    }
+
+    public boolean bucketExists(String bucket) {
+        return buckets.containsKey(bucket);
+    }
+
+    public void clear() {
+        buckets.values().forEach(Map::clear);
+        multipartUploads.clear();
+    }
+
+    public S3Object getObject(String bucket, String key) {
+        var object = bucket(bucket).get(key);
+        if (object == null) {
+            throw S3Exception.noSuchKey(key);
+        }
+        return object;
+    }
+
+    public S3Object putObject(String bucket, String key, byte[] content, String contentType, Map<String, String> userMetadata) {
+        var object = new S3Object(key, content, md5Hex(content), contentType, Map.copyOf(userMetadata), Instant.now());
+        bucket(bucket).put(key, object);
+        return object;
+    }
+
+    public S3Object copyObject(String sourceBucket, String sourceKey, String bucket, String key,
+                               String contentType, Map<String, String> replacedMetadata) {
+        var source = getObject(sourceBucket, sourceKey);
+        var metadata = replacedMetadata != null ? Map.copyOf(replacedMetadata) : source.userMetadata();
+        var type = replacedMetadata != null && contentType != null ? contentType : source.contentType();
+        var copy = new S3Object(key, source.content(), source.etag(), type, metadata, Instant.now());
+        bucket(bucket).put(key, copy);
+        return copy;
+    }
+
+    public boolean deleteObject(String bucket, String key) {
+        return bucket(bucket).remove(key) != null;
+    }
+
+    public ListResult list(String bucket, String prefix, String delimiter, String startAfter, int maxKeys) {
+        var objects = bucket(bucket);
+        var contents = new ArrayList<S3Object>();
+        var commonPrefixes = new ArrayList<String>();
+        var lastReturned = (String) null;
+        var truncated = false;
+
+        var from = startAfter != null && startAfter.compareTo(prefix) > 0 ? startAfter : prefix;
+        var inclusive = startAfter == null || startAfter.compareTo(prefix) <= 0;
+
+        for (var entry : objects.tailMap(from, inclusive).entrySet()) {
+            var key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+
+            var commonPrefix = commonPrefix(key, prefix, delimiter);
+            if (commonPrefix != null && (commonPrefix.equals(lastReturned) || isSkippedPrefix(commonPrefix, startAfter))) {
+                continue;
+            }
+
+            if (contents.size() + commonPrefixes.size() == maxKeys) {
+                truncated = true;
+                break;
+            }
+
+            if (commonPrefix != null) {
+                commonPrefixes.add(commonPrefix);
+                lastReturned = commonPrefix;
+            } else {
+                contents.add(entry.getValue());
+                lastReturned = key;
+            }
+        }
+
+        return new ListResult(contents, commonPrefixes, truncated, truncated ? lastReturned : null);
+    }
+
+    public String createMultipartUpload(String bucket, String key, String contentType, Map<String, String> userMetadata) {
+        bucket(bucket);
+        var uploadId = UUID.randomUUID().toString();
+        multipartUploads.put(uploadId, new MultipartUpload(bucket, key, contentType, Map.copyOf(userMetadata)));
+        return uploadId;
+    }
+
+    public String uploadPart(String uploadId, int partNumber, byte[] content) {
+        var upload = multipartUpload(uploadId);
+        upload.parts().put(partNumber, content);
+        return md5Hex(content);
+    }
+
+    public S3Object completeMultipartUpload(String uploadId, List<Integer> partNumbers) {
+        var upload = multipartUpload(uploadId);
+        var totalSize = 0;
+        for (var partNumber : partNumbers) {
+            totalSize += partContent(upload, uploadId, partNumber).length;
+        }
+
+        var content = new byte[totalSize];
+        var partDigests = new StringBuilder();
+        var offset = 0;
+        for (var partNumber : partNumbers) {
+            var part = partContent(upload, uploadId, partNumber);
+            System.arraycopy(part, 0, content, offset, part.length);
+            offset += part.length;
+            partDigests.append(md5Hex(part));
+        }
+
+        var etag = md5Hex(HexFormat.of().parseHex(partDigests)) + "-" + partNumbers.size();
+        var object = new S3Object(upload.key(), content, etag, upload.contentType(), upload.userMetadata(), Instant.now());
+        bucket(upload.bucket()).put(upload.key(), object);
+        multipartUploads.remove(uploadId);
+        return object;
+    }
+
+    public void abortMultipartUpload(String uploadId) {
+        multipartUploads.remove(uploadId);
+    }
+
+    private NavigableMap<String, S3Object> bucket(String bucket) {
+        var objects = buckets.get(bucket);
+        if (objects == null) {
+            throw S3Exception.noSuchBucket(bucket);
+        }
+        return objects;
+    }
+
+    private MultipartUpload multipartUpload(String uploadId) {
+        var upload = multipartUploads.get(uploadId);
+        if (upload == null) {
+            throw S3Exception.noSuchUpload(uploadId);
+        }
+        return upload;
+    }
+
+    private static byte[] partContent(MultipartUpload upload, String uploadId, int partNumber) {
+        var part = upload.parts().get(partNumber);
+        if (part == null) {
+            throw new S3Exception(400, "InvalidPart", "Part " + partNumber + " was not uploaded for " + uploadId);
+        }
+        return part;
+    }
+
+    private static String commonPrefix(String key, String prefix, String delimiter) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            return null;
+        }
+        var delimiterIndex = key.indexOf(delimiter, prefix.length());
+        return delimiterIndex < 0 ? null : key.substring(0, delimiterIndex + delimiter.length());
+    }
+
+    private static boolean isSkippedPrefix(String commonPrefix, String startAfter) {
+        return startAfter != null && startAfter.startsWith(commonPrefix);
+    }
+
+    static String md5Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public record ListResult(List<S3Object> contents,
+                             List<String> commonPrefixes,
+                             boolean truncated,
+                             String nextContinuationToken) {
+    }
+
+    private record MultipartUpload(String bucket,
+                                   String key,
+                                   String contentType,
+                                   Map<String, String> userMetadata,
+                                   Map<Integer, byte[]> parts) {
+
+        MultipartUpload(String bucket, String key, String contentType, Map<String, String> userMetadata) {
+            this(bucket, key, contentType, userMetadata, new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.projects.filestorage.testing.s3;
+
+public class S3Exception extends RuntimeException {
+
+    private final int status;
+    private final String code;
+
+    public S3Exception(int status, String code, String message) {
+        super(message);
+        this.status = status;
+        this.code = code;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static S3Exception noSuchBucket(String bucket) {
+        return new S3Exception(404, "NoSuchBucket", "The specified bucket does not exist: " + bucket);
+    }
+
+    public static S3Exception noSuchKey(String key) {
+        return new S3Exception(404, "NoSuchKey", "The specified key does not exist: " + key);
+    }
+
+    public static S3Exception noSuchUpload(String uploadId) {
+        return new S3Exception(404, "NoSuchUpload", "The specified multipart upload does not exist: " + uploadId);
+    }
+
+    public static S3Exception invalidRange(String range) {
+        return new S3Exception(416, "InvalidRange", "The requested range is not satisfiable: " + range);
+    }
+}
@@ -0,0 +1,16 @@
+package com.projects.filestorage.testing.s3;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record S3Object(String key,
+                       byte[] content,
+                       String etag,
+                       String contentType,
+                       Map<String, String> userMetadata,
+                       Instant lastModified) {
+
+    public long size() {
+        return content.length;
+    }
+}
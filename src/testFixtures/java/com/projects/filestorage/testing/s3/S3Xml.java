@@ -0,0 +1,161 @@
+package com.projects.filestorage.testing.s3;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+final class S3Xml {
+
+    static final String NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    static final DateTimeFormatter XML_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US).withZone(ZoneOffset.UTC);
+    static final DateTimeFormatter HEADER_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("<Key>(.*?)</Key>", Pattern.DOTALL);
+    private static final Pattern QUIET_PATTERN = Pattern.compile("<Quiet>\\s*true\\s*</Quiet>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PART_NUMBER_PATTERN = Pattern.compile("<PartNumber>\\s*(\\d+)\\s*</PartNumber>");
+
+    private S3Xml() {
+    }
+
+    static String error(S3Exception ex, String resource) {
+        return document("Error", false,
+                element("Code", ex.getCode())
+                        + element("Message", ex.getMessage())
+                        + element("Resource", resource)
+                        + element("RequestId", "in-memory")
+                        + element("HostId", "in-memory"));
+    }
+
+    static String location() {
+        return document("LocationConstraint", true, "");
+    }
+
+    static String listObjectsV2(String bucket, String prefix, String delimiter, int maxKeys,
+                                String continuationToken, String startAfter, InMemoryS3Store.ListResult result) {
+        var body = new StringBuilder()
+                .append(element("Name", bucket))
+                .append(element("Prefix", prefix))
+                .append(element("KeyCount", String.valueOf(result.contents().size() + result.commonPrefixes().size())))
+                .append(element("MaxKeys", String.valueOf(maxKeys)))
+                .append(element("IsTruncated", String.valueOf(result.truncated())));
+
+        if (delimiter != null) body.append(element("Delimiter", delimiter));
+        if (continuationToken != null) body.append(element("ContinuationToken", continuationToken));
+        if (startAfter != null) body.append(element("StartAfter", startAfter));
+        if (result.nextContinuationToken() != null) {
+            body.append(element("NextContinuationToken", result.nextContinuationToken()));
+        }
+
+        for (var object : result.contents()) {
+            body.append("<Contents>")
+                    .append(element("Key", object.key()))
+                    .append(element("LastModified", XML_DATE_FORMAT.format(object.lastModified())))
+                    .append(element("ETag", quote(object.etag())))
+                    .append(element("Size", String.valueOf(object.size())))
+                    .append(element("StorageClass", "STANDARD"))
+                    .append("</Contents>");
+        }
+        for (var commonPrefix : result.commonPrefixes()) {
+            body.append("<CommonPrefixes>").append(element("Prefix", commonPrefix)).append("</CommonPrefixes>");
+        }
+
+        return document("ListBucketResult", true, body.toString());
+    }
+
+    static String copyObjectResult(S3Object object) {
+        return document("CopyObjectResult", true,
+                element("LastModified", XML_DATE_FORMAT.format(object.lastModified()))
+                        + element("ETag", quote(object.etag())));
+    }
+
+    static String initiateMultipartUploadResult(String bucket, String key, String uploadId) {
+        return document("InitiateMultipartUploadResult", true,
+                element("Bucket", bucket) + element("Key", key) + element("UploadId", uploadId));
+    }
+
+    static String completeMultipartUploadResult(String bucket, S3Object object) {
+        return document("CompleteMultipartUploadResult", true,
+                element("Location", "/" + bucket + "/" + object.key())
+                        + element("Bucket", bucket)
+                        + element("Key", object.key())
+                        + element("ETag", quote(object.etag())));
+    }
+
+    static String deleteResult(List<String> deletedKeys, List<String> failedKeys, boolean quiet) {
+        var body = new StringBuilder();
+        if (!quiet) {
+            deletedKeys.forEach(key -> body.append("<Deleted>").append(element("Key", key)).append("</Deleted>"));
+        }
+        failedKeys.forEach(key -> body.append("<Error>")
+                .append(element("Key", key))
+                .append(element("Code", "InternalError"))
+                .append(element("Message", "Object could not be deleted"))
+                .append("</Error>"));
+        return document("DeleteResult", true, body.toString());
+    }
+
+    static List<String> parseKeys(String xml) {
+        var keys = new ArrayList<String>();
+        var matcher = KEY_PATTERN.matcher(xml);
+        while (matcher.find()) {
+            keys.add(unescape(matcher.group(1)));
+        }
+        return keys;
+    }
+
+    static boolean parseQuiet(String xml) {
+        return QUIET_PATTERN.matcher(xml).find();
+    }
+
+    static List<Integer> parsePartNumbers(String xml) {
+        var partNumbers = new ArrayList<Integer>();
+        var matcher = PART_NUMBER_PATTERN.matcher(xml);
+        while (matcher.find()) {
+            partNumbers.add(Integer.parseInt(matcher.group(1)));
+        }
+        return partNumbers;
+    }
+
+    static String formatHeaderDate(Instant instant) {
+        return HEADER_DATE_FORMAT.format(instant);
+    }
+
+    static String quote(String etag) {
+        return "\"" + etag + "\"";
+    }
+
+    private static String document(String root, boolean withNamespace, String body) {
+        var namespace = withNamespace ? " xmlns=\"" + NAMESPACE + "\"" : "";
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<" + root + namespace + ">" + body + "</" + root + ">";
+    }
+
+    private static String element(String name, String value) {
+        return "<" + name + ">" + escape(value) + "</" + name + ">";
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;")
+                .replace("'", "&apos;");
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+    }
+}
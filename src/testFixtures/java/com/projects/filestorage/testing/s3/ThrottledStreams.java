@@ -0,0 +1,88 @@
+package com.projects.filestorage.testing.s3;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+final class ThrottledStreams {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private ThrottledStreams() {
+    }
+
+    static InputStream throttle(InputStream in, long bytesPerSecond) {
+        if (bytesPerSecond <= 0) {
+            return in;
+        }
+        var pacer = new Pacer(bytesPerSecond);
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                var value = super.read();
+                if (value >= 0) pacer.consumed(1);
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                var read = super.read(buffer, offset, Math.min(length, CHUNK_SIZE));
+                if (read > 0) pacer.consumed(read);
+                return read;
+            }
+        };
+    }
+
+    static OutputStream throttle(OutputStream out, long bytesPerSecond) {
+        if (bytesPerSecond <= 0) {
+            return out;
+        }
+        var pacer = new Pacer(bytesPerSecond);
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int value) throws IOException {
+                out.write(value);
+                pacer.consumed(1);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) throws IOException {
+                while (length > 0) {
+                    var chunk = Math.min(length, CHUNK_SIZE);
+                    out.write(buffer, offset, chunk);
+                    pacer.consumed(chunk);
+                    offset += chunk;
+                    length -= chunk;
+                }
+            }
+        };
+    }
+
+    private static final class Pacer {
+
+        private final long bytesPerSecond;
+        private final long startNanos = System.nanoTime();
+        private long transferred;
+
+        private Pacer(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        void consumed(int bytes) throws IOException {
+            transferred += bytes;
+            var expectedNanos = transferred * 1_000_000_000L / bytesPerSecond;
+            var aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+            if (aheadNanos > 0) {
+                try {
+                    Thread.sleep(aheadNanos / 1_000_000L, (int) (aheadNanos % 1_000_000L));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Throttled transfer was interrupted");
+                }
+            }
+        }
+    }
+}